@@ -4,6 +4,7 @@ import com.dotcms.auth.providers.saml.v1.DotSamlResourceTest;
 import com.dotcms.auth.providers.saml.v1.SAMLHelperTest;
 import com.dotcms.cache.lettuce.DotObjectCodecTest;
 import com.dotcms.cache.lettuce.LettuceCacheTest;
+import com.dotcms.cache.lettuce.RedisCacheNearCacheTest;
 import com.dotcms.cache.lettuce.RedisClientTest;
 import com.dotcms.content.business.ObjectMapperTest;
 import com.dotcms.content.business.json.ContentletJsonAPITest;
@@ -352,6 +353,7 @@ import org.junit.runners.Suite.SuiteClasses;
         com.dotmarketing.portlets.structure.transform.ContentletRelationshipsTransformerTest.class,
         com.dotmarketing.portlets.categories.business.CategoryAPITest.class,
         com.dotmarketing.filters.FiltersTest.class,
+        com.dotmarketing.filters.CMSRouteCacheTest.class,
         com.dotmarketing.business.VersionableAPITest.class,
         com.dotmarketing.business.UserAPITest.class,
         com.dotmarketing.business.portal.PortletAPIImplTest.class,
@@ -514,6 +516,7 @@ import org.junit.runners.Suite.SuiteClasses;
         DotObjectCodecTest.class,
         RedisClientTest.class,
         LettuceCacheTest.class,
+        RedisCacheNearCacheTest.class,
         RedisPubSubImplTest.class,
         ManifestReaderFactoryTest.class,
         ResourceCollectorUtilTest.class,
@@ -0,0 +1,244 @@
+package com.dotcms.cache.lettuce;
+
+import io.vavr.Lazy;
+import org.apache.commons.lang3.concurrent.ConcurrentUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Test for the near-cache of {@link RedisCache}, uses an in-memory stand-in of redis shared by two caches in order to
+ * emulate two nodes of a cluster.
+ */
+public class RedisCacheNearCacheTest {
+
+    private static final String GROUP = "identifiercache";
+
+    private InMemoryRedisClient redis;
+    private RedisCache node1;
+    private RedisCache node2;
+
+    @Before
+    public void setup() {
+
+        RedisCache.prefixKey.set("PREFIX_UNSET");
+        this.redis = new InMemoryRedisClient();
+        this.node1 = new RedisCache(Lazy.of(() -> this.redis), true, 100);
+        this.node2 = new RedisCache(Lazy.of(() -> this.redis), true, 100);
+        this.node1.init();
+        this.node2.init();
+    }
+
+    @After
+    public void tearDown() {
+
+        this.node1.shutdown();
+        this.node2.shutdown();
+    }
+
+    /**
+     * Method to test: {@link RedisCache#get(String, String)}
+     * Given Scenario: An object is retrieved several times from a near-cache group
+     * ExpectedResult: Only the first get goes to redis, the rest are answered by the near-cache
+     */
+    @Test
+    public void test_near_cache_saves_round_trips() {
+
+        this.node1.put(GROUP, "key1", "value1");
+        final long redisGets = this.redis.gets.get();
+
+        for (int i = 0; i < 10; ++i) {
+            Assert.assertEquals("value1", this.node2.get(GROUP, "key1"));
+        }
+
+        Assert.assertEquals(redisGets + 1, this.redis.gets.get());
+        Assert.assertEquals(9, this.node2.getNearCacheHits());
+    }
+
+    /**
+     * Method to test: {@link RedisCache#remove(String, String)} and {@link RedisCache#remove(String)}
+     * Given Scenario: An object cached on the near-cache of node 2 is removed and then the group flushed on node 1
+     * ExpectedResult: The stale value is not served by node 2
+     */
+    @Test
+    public void test_near_cache_invalidated_across_nodes() {
+
+        this.node1.put(GROUP, "key1", "value1");
+        Assert.assertEquals("value1", this.node2.get(GROUP, "key1"));
+
+        this.node1.remove(GROUP, "key1");
+        Assert.assertNull(this.node2.get(GROUP, "key1"));
+
+        this.node1.put(GROUP, "key1", "value2");
+        Assert.assertEquals("value2", this.node2.get(GROUP, "key1"));
+
+        this.redis.data.clear();
+        this.node1.remove(GROUP);
+        Assert.assertNull(this.node2.get(GROUP, "key1"));
+    }
+
+    /**
+     * Method to test: {@link RedisCache#put(String, String, Object)}
+     * Given Scenario: An object cached on the near-cache of node 2 is overwritten on node 1 without removing it first
+     * ExpectedResult: Node 2 serves the new value and node 1 keeps its own near-cache entry
+     */
+    @Test
+    public void test_near_cache_invalidated_on_overwrite() {
+
+        this.node1.put(GROUP, "key1", "value1");
+        Assert.assertEquals("value1", this.node2.get(GROUP, "key1"));
+
+        this.node1.put(GROUP, "key1", "value2");
+        Assert.assertEquals("value2", this.node2.get(GROUP, "key1"));
+
+        final long redisGets = this.redis.gets.get();
+        Assert.assertEquals("value2", this.node1.get(GROUP, "key1"));
+        Assert.assertEquals(redisGets, this.redis.gets.get());
+    }
+
+    /**
+     * Method to test: {@link RedisCache#get(String, String)}
+     * Given Scenario: An object is retrieved several times from a group that is not configured for the near-cache
+     * ExpectedResult: Every get goes to redis
+     */
+    @Test
+    public void test_non_near_cache_group_always_hits_redis() {
+
+        this.node1.put("othergroup", "key1", "value1");
+        final long redisGets = this.redis.gets.get();
+
+        for (int i = 0; i < 5; ++i) {
+            Assert.assertEquals("value1", this.node2.get("othergroup", "key1"));
+        }
+
+        Assert.assertEquals(redisGets + 5, this.redis.gets.get());
+    }
+
+    /**
+     * Method to test: {@link RedisCache#put(String, String, Object)}
+     * Given Scenario: A key missed on node 1 is loaded and put, as a cache miss is filled
+     * ExpectedResult: Nothing is published to the other nodes, and the filled value is served by the near-cache
+     */
+    @Test
+    public void test_filling_a_miss_is_not_published() {
+
+        this.node2.put(GROUP, "key2", "value2");
+        Assert.assertEquals("value2", this.node2.get(GROUP, "key2"));
+
+        final long publishes = this.redis.publishes.get();
+        Assert.assertNull(this.node1.get(GROUP, "key1"));
+        this.node1.put(GROUP, "key1", "value1");
+        Assert.assertEquals(publishes, this.redis.publishes.get());
+
+        final long redisGets = this.redis.gets.get();
+        Assert.assertEquals("value1", this.node1.get(GROUP, "key1"));
+        Assert.assertEquals("value2", this.node2.get(GROUP, "key2"));
+        Assert.assertEquals(redisGets, this.redis.gets.get());
+    }
+
+    /**
+     * Method to test: {@link RedisCache#put(String, String, Object)}
+     * Given Scenario: A key is missed on node 1, removed on node 2, and then node 1 puts the value it loaded
+     * before the remove
+     * ExpectedResult: The late put is dropped, neither the near-cache nor redis keep the stale value
+     */
+    @Test
+    public void test_late_fill_after_invalidation_is_dropped() {
+
+        Assert.assertNull(this.node1.get(GROUP, "key1"));
+        this.node2.remove(GROUP, "key1");
+        this.node1.put(GROUP, "key1", "stale");
+
+        Assert.assertNull(this.node1.get(GROUP, "key1"));
+        Assert.assertNull(this.node2.get(GROUP, "key1"));
+    }
+
+    /**
+     * Method to test: {@link RedisCache#put(String, String, Object)}
+     * Given Scenario: A list is put and then changed by the caller
+     * ExpectedResult: The near-cache serves the list as it was put
+     */
+    @Test
+    public void test_near_cache_keeps_a_copy_of_the_value() {
+
+        final ArrayList<String> values = new ArrayList<>();
+        values.add("value1");
+        this.node1.put(GROUP, "key1", values);
+        values.add("value2");
+
+        final long redisGets = this.redis.gets.get();
+        Assert.assertEquals(1, ((List<?>) this.node1.get(GROUP, "key1")).size());
+        Assert.assertEquals(redisGets, this.redis.gets.get());
+    }
+
+    /**
+     * Minimal in-memory redis stand-in, keys and values are kept on a map and published messages are delivered
+     * synchronously to the subscribers.
+     */
+    private static class InMemoryRedisClient extends NullLettuceClient<String, Object> {
+
+        private final Map<Object, Object> data = new ConcurrentHashMap<>();
+        private final List<Consumer<Object>> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicLong gets = new AtomicLong();
+        private final AtomicLong publishes = new AtomicLong();
+
+        @Override
+        public Object get(final Object key) {
+            this.gets.incrementAndGet();
+            return this.data.get(key);
+        }
+
+        @Override
+        public SetResult set(final Object key, final Object value) {
+            this.data.put(key, value);
+            return SetResult.SUCCESS;
+        }
+
+        @Override
+        public SetResult setIfAbsent(final Object key, final Object value) {
+            return null == this.data.putIfAbsent(key, value) ? SetResult.SUCCESS : SetResult.FAIL;
+        }
+
+        @Override
+        public Future<String> setAsync(final Object key, final Object value, final long ttlMillis) {
+            this.data.put(key, value);
+            return ConcurrentUtils.constantFuture("OK");
+        }
+
+        @Override
+        public Future<Long> addAsyncMembers(final Object key, final Object... values) {
+            return ConcurrentUtils.constantFuture(0L);
+        }
+
+        @Override
+        public Future<Long> deleteNonBlocking(final Object... keys) {
+            for (final Object key : keys) {
+                this.data.remove(key);
+            }
+            return ConcurrentUtils.constantFuture((long) keys.length);
+        }
+
+        @Override
+        public String subscribe(final Consumer messageConsumer, final Object channel) {
+            this.subscribers.add(messageConsumer);
+            return String.valueOf(this.subscribers.size());
+        }
+
+        @Override
+        public Future<Long> publishMessage(final Object message, final Object channel) {
+            this.publishes.incrementAndGet();
+            this.subscribers.forEach(subscriber -> subscriber.accept(message));
+            return ConcurrentUtils.constantFuture((long) this.subscribers.size());
+        }
+    }
+}
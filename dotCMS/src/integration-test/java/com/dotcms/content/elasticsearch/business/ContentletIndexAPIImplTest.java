@@ -4,9 +4,11 @@ import static com.dotcms.content.elasticsearch.business.ESIndexAPI.INDEX_OPERATI
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.dotcms.IntegrationTestBase;
+import com.dotcms.content.elasticsearch.business.ContentletIndexAPIImpl.AddContentToIndexRunnable;
 import com.dotcms.content.elasticsearch.util.RestHighLevelClientProvider;
 import com.dotcms.contenttype.business.ContentTypeAPI;
 import com.dotcms.contenttype.business.FieldAPI;
@@ -1184,4 +1186,40 @@ public class ContentletIndexAPIImplTest extends IntegrationTestBase {
     public void testGetIndexDocumentCountWithInvalidIndexNameFails(){
         indexAPI.getIndexDocumentCount("invalidIndexName");
     }
+
+    /**
+     * Method to test: {@link AddContentToIndexRunnable#merge(AddContentToIndexRunnable)}
+     * Given Scenario: A contentlet is added with {@link IndexPolicy#FORCE}, then a newer version of it with the
+     * same inode is added with {@link IndexPolicy#DEFER}, and another contentlet the other way around
+     * ExpectedResult: Each inode is indexed once, with the contentlet that was added last and the strongest
+     * policy of the two
+     */
+    @Test
+    public void test_merge_keeps_the_latest_contentlet_with_the_strongest_policy() {
+
+        final ContentletIndexAPIImpl contentletIndexAPI = new ContentletIndexAPIImpl();
+        final Contentlet forced  = contentlet("inode1", IndexPolicy.FORCE);
+        final Contentlet latest1 = contentlet("inode1", IndexPolicy.DEFER);
+        final Contentlet deferred = contentlet("inode2", IndexPolicy.DEFER);
+        final Contentlet latest2  = contentlet("inode2", IndexPolicy.WAIT_FOR);
+
+        final AddContentToIndexRunnable runnable =
+                contentletIndexAPI.new AddContentToIndexRunnable(ImmutableList.of(forced, deferred));
+        runnable.merge(contentletIndexAPI.new AddContentToIndexRunnable(ImmutableList.of(latest1, latest2)));
+
+        final List<Contentlet> contentToIndex = new ArrayList<>(runnable.getContentToIndex());
+        assertEquals(2, contentToIndex.size());
+        assertSame(latest1, contentToIndex.get(0));
+        assertEquals(IndexPolicy.FORCE, contentToIndex.get(0).getIndexPolicy());
+        assertSame(latest2, contentToIndex.get(1));
+        assertEquals(IndexPolicy.WAIT_FOR, contentToIndex.get(1).getIndexPolicy());
+    }
+
+    private static Contentlet contentlet(final String inode, final IndexPolicy indexPolicy) {
+
+        final Contentlet contentlet = new Contentlet();
+        contentlet.setInode(inode);
+        contentlet.setIndexPolicy(indexPolicy);
+        return contentlet;
+    }
 }
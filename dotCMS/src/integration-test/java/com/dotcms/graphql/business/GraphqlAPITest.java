@@ -22,7 +22,9 @@ import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -842,6 +844,74 @@ public class GraphqlAPITest extends IntegrationTestBase {
         assertEquals(nonCachedSchema, cachedSchema);
     }
 
+    /**
+     * Method to test: {@link GraphqlAPI#getSchema()}
+     * Given scenario: the schema is invalidated and regenerated, only one of the content types changed
+     * Expected result: the GraphQL types of the unchanged content types are reused, the changed one is rebuilt
+     */
+    @Test
+    public void testGetSchema_GivenOneTypeChanged_OnlyThatTypeShouldBeRebuilt()
+            throws DotDataException, DotSecurityException {
+        ContentType unchangedType = null;
+        ContentType changedType = null;
+        try {
+            unchangedType = new ContentTypeDataGen().nextPersisted();
+            changedType = new ContentTypeDataGen().nextPersisted();
+
+            final GraphqlAPI api = APILocator.getGraphqlAPI();
+            api.invalidateSchema();
+            final GraphQLSchema schema = api.getSchema();
+
+            final Field newField = new FieldDataGen().contentTypeId(changedType.id())
+                    .type(TextField.class).nextPersisted();
+            final GraphQLSchema regeneratedSchema = api.getSchema();
+
+            assertSame(schema.getObjectType(unchangedType.variable()),
+                    regeneratedSchema.getObjectType(unchangedType.variable()));
+            assertNotSame(schema.getObjectType(changedType.variable()),
+                    regeneratedSchema.getObjectType(changedType.variable()));
+            assertNotNull(regeneratedSchema.getObjectType(changedType.variable())
+                    .getFieldDefinition(newField.variable()));
+        } finally {
+            if (null != unchangedType) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(unchangedType);
+            }
+            if (null != changedType) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(changedType);
+            }
+        }
+    }
+
+    /**
+     * Method to test: {@link GraphqlAPI#getSchema()}
+     * Given scenario: background rebuild enabled and a schema previously generated, the schema is invalidated
+     * Expected result: the previous schema is returned right away and the new one is generated in the background
+     */
+    @Test
+    public void testGetSchema_GivenBackgroundRebuild_PreviousSchemaShouldBeServed()
+            throws DotDataException, InterruptedException {
+        final boolean backgroundRebuild = Config.getBooleanProperty("GRAPHQL_SCHEMA_BACKGROUND_REBUILD", false);
+        try {
+            final GraphqlAPIImpl api = new GraphqlAPIImpl();
+            api.invalidateSchema();
+            final GraphQLSchema previousSchema = api.getSchema();
+
+            Config.setProperty("GRAPHQL_SCHEMA_BACKGROUND_REBUILD", true);
+            api.invalidateSchema();
+            assertSame(previousSchema, api.getSchema());
+
+            GraphQLSchema regeneratedSchema = previousSchema;
+            for (int i = 0; i < 100 && regeneratedSchema == previousSchema; i++) {
+                Thread.sleep(100);
+                regeneratedSchema = api.getSchema();
+            }
+
+            assertNotSame(previousSchema, regeneratedSchema);
+        } finally {
+            Config.setProperty("GRAPHQL_SCHEMA_BACKGROUND_REBUILD", backgroundRebuild);
+        }
+    }
+
     @NotNull
     private void setMockRelationshipAPI(Field relationshipField)
             throws DotDataException, DotSecurityException {
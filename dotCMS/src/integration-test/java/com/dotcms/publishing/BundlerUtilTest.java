@@ -2,12 +2,19 @@ package com.dotcms.publishing;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import com.dotcms.util.CollectionsUtils;
 import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.util.Config;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.Map;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -43,4 +50,50 @@ public class BundlerUtilTest {
         assertEquals(2, result.get("secondItem").intValue());
     }
 
+    /**
+     * <b>Method to test:</b> {@link BundlerUtil#objectToXML(Object, File)} and {@link BundlerUtil#xmlToObject(File)}<br></br>
+     * <b>Given Scenario:</b> A compacted contentlet, as the ones kept in cache, is written to a bundle file as XML
+     * and as a binary record, then read back<br></br>
+     * <b>ExpectedResult:</b> The XML keeps the properties map in the form older versions can read, and the contentlet
+     * read back has the same properties and a map that can still be changed
+     * @throws IOException
+     */
+    @Test
+    public void test_contentlet_round_trip_keeps_the_properties_wire_form() throws IOException {
+        final Contentlet contentlet = new Contentlet();
+        contentlet.setInode("roundTripInode");
+        contentlet.setIdentifier("roundTripIdentifier");
+        contentlet.setContentTypeId("roundTripType");
+        contentlet.setStringProperty("title", "My Title");
+        contentlet.compact();
+        final Map<String, Object> properties = new HashMap<>(contentlet.getMap());
+
+        final File xmlFile = File.createTempFile("testContentletRoundTrip", ".xml");
+        BundlerUtil.objectToXML(contentlet, xmlFile);
+        final String xml = new String(Files.readAllBytes(xmlFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(xml.contains("class=\"com.dotmarketing.portlets.contentlet.model.Contentlet$ContentletHashMap\""));
+        assertReadBack(properties, (Contentlet) BundlerUtil.xmlToObject(xmlFile));
+
+        final boolean binaryBundle = Config.getBooleanProperty("PUSH_PUBLISHING_BINARY_BUNDLE", false);
+        Config.setProperty("PUSH_PUBLISHING_BINARY_BUNDLE", true);
+        try {
+            final File binaryFile = File.createTempFile("testContentletRoundTrip", ".xml");
+            BundlerUtil.objectToXML(contentlet, binaryFile);
+            assertReadBack(properties, (Contentlet) BundlerUtil.xmlToObject(binaryFile));
+        } finally {
+            Config.setProperty("PUSH_PUBLISHING_BINARY_BUNDLE", binaryBundle);
+        }
+    }
+
+    private static void assertReadBack(final Map<String, Object> properties, final Contentlet readBack) {
+        assertNotNull(readBack);
+        assertEquals(properties, readBack.getMap());
+        assertEquals("My Title", readBack.getStringProperty("title"));
+
+        readBack.setStringProperty("title", null);
+        assertNull(readBack.getStringProperty("title"));
+        readBack.setStringProperty("title", "New Title");
+        assertEquals("New Title", readBack.getStringProperty("title"));
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.dotcms.rendering.velocity.viewtools.navigation;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -158,6 +159,41 @@ public class NavToolCacheTest extends IntegrationTestBase {
     
   }
   
+  /**
+   * Method to test: {@link NavTool#snapshotTree(Host, long, User)}
+   * Given Scenario: The nav cache is flushed and the menu tree of a site with three levels of menu folders is built,
+   * then one of the folders is removed from the cache and the tree is built again
+   * ExpectedResult: Every level is cached by the first build, and the second one builds the removed folder again
+   * while the others stay cached
+   */
+  @Test
+  public void test_snapshotTree_caches_every_level_of_the_site() throws Exception {
+
+    final Host navSite = new SiteDataGen().nextPersisted();
+    final Folder level1 = new FolderDataGen().showOnMenu(true).site(navSite).nextPersisted();
+    final Folder level2 = new FolderDataGen().showOnMenu(true).parent(level1).nextPersisted();
+    final Folder level3 = new FolderDataGen().showOnMenu(true).parent(level2).nextPersisted();
+    final long languageId = APILocator.getLanguageAPI().getDefaultLanguage().getId();
+
+    final NavToolCache navCache = CacheLocator.getNavToolCache();
+    navCache.clearCache();
+
+    final NavTool navTool = new NavTool();
+    navTool.snapshotTree(navSite, languageId, APILocator.systemUser());
+
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level1.getInode(), languageId));
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level2.getInode(), languageId));
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level3.getInode(), languageId));
+
+    navCache.removeNav(navSite.getIdentifier(), level2.getInode());
+    assertNull(navCache.getNav(navSite.getIdentifier(), level2.getInode(), languageId));
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level1.getInode(), languageId));
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level3.getInode(), languageId));
+
+    navTool.snapshotTree(navSite, languageId, APILocator.systemUser());
+    assertNotNull(navCache.getNav(navSite.getIdentifier(), level2.getInode(), languageId));
+  }
+
   /**
    * This helper loads a hierarchy of navs as a flat List<NavResult>
    * @param nav
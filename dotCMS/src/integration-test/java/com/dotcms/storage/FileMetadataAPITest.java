@@ -43,6 +43,9 @@ import io.vavr.Tuple2;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -1012,4 +1015,31 @@ public class FileMetadataAPITest {
         assertFalse(emptyMapMetadata.isImage());
 
     }
+
+    /**
+     * Method to test: {@link MetadataGeneratorImpl#tikaBasedMetadata(File, long)}
+     * Given Scenario: Two binaries with different names but the same content are parsed
+     * ExpectedResult: The second one reuses the metadata of the first one, since both have the same sha256
+     * @throws Exception
+     */
+    @Test
+    public void Test_Tika_Metadata_Is_Reused_For_Same_Content() throws Exception {
+        prepareIfNecessary();
+
+        final Path folder = Files.createTempDirectory("tika-metadata");
+        final File first  = Files.write(folder.resolve("first.txt"),
+                "Some content to parse".getBytes(StandardCharsets.UTF_8)).toFile();
+        final File second = Files.write(folder.resolve("second.txt"),
+                "Some content to parse".getBytes(StandardCharsets.UTF_8)).toFile();
+
+        MetadataGeneratorImpl.clearTikaMetadataCache();
+        final MetadataGeneratorImpl metadataGenerator = new MetadataGeneratorImpl();
+
+        final Map<String, Serializable> firstMetadata  = metadataGenerator.tikaBasedMetadata(first, 1000);
+        final Map<String, Serializable> secondMetadata = metadataGenerator.tikaBasedMetadata(second, 1000);
+
+        assertTrue(firstMetadata.containsKey(FileAssetAPI.CONTENT_FIELD));
+        assertEquals(firstMetadata, secondMetadata);
+        assertEquals(1, MetadataGeneratorImpl.tikaMetadataCacheSize());
+    }
 }
@@ -7,11 +7,16 @@ import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 
 import com.dotcms.datagen.TestDataUtils.TestFile;
+import com.dotcms.exception.ExceptionUtil;
 import com.dotcms.storage.StoragePersistenceProvider.INSTANCE;
 import com.dotcms.util.ConfigTestHelper;
 import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.exception.DoesNotExistException;
+import com.dotmarketing.exception.DotCorruptedDataException;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.util.Config;
 import com.google.common.collect.ImmutableMap;
@@ -19,6 +24,7 @@ import com.liferay.util.Encryptor;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import io.vavr.control.Try;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -327,6 +333,67 @@ public class StoragePersistenceAPITest {
 
     }
 
+    /**
+     * Method to test: {@link DataBaseStoragePersistenceAPIImpl#pullObject(String, String, ObjectReaderDelegate)}
+     * Given Scenario: An object that was never pushed is pulled
+     * ExpectedResult: The pull fails with a {@link DotDataException} caused by a {@link DoesNotExistException},
+     * as {@link DataBaseStoragePersistenceAPIImpl#pullFile(String, String)} does
+     */
+    @Test
+    public void Test_Pull_Object_That_Does_Not_Exist() throws DotDataException {
+        final StoragePersistenceAPI storage = persistenceProvider.getStorage(StorageType.DB);
+        final String groupName = RandomStringUtils.randomAlphanumeric(10);
+        assertTrue(storage.createGroup(groupName));
+
+        try {
+            storage.pullObject(groupName, "not-pushed-path", stream -> stream);
+            fail("Pulling an object that was never pushed should fail");
+        } catch (DotDataException e) {
+            assertTrue(ExceptionUtil.causedBy(e, DoesNotExistException.class));
+        }
+    }
+
+    /**
+     * Method to test: {@link DataBaseStoragePersistenceAPIImpl#pullObject(String, String, ObjectReaderDelegate)}
+     * Given Scenario: The last chunk of a pushed object is lost, and the object is pulled by a reader that
+     * only reads its first byte
+     * ExpectedResult: The pull fails since the object is read to the end and its hash does not match
+     */
+    @Test
+    public void Test_Pull_Object_Checks_The_Hash_When_The_Reader_Stops_Early() throws Exception {
+        final StoragePersistenceAPI storage = persistenceProvider.getStorage(StorageType.DB);
+        final String groupName = RandomStringUtils.randomAlphanumeric(10);
+        final String path = "chunked-path";
+        assertTrue(storage.createGroup(groupName));
+        storage.pushFile(groupName, path, generateTestFile(1024 * 10), ImmutableMap.of());
+
+        final String hash = new DotConnect()
+                .setSQL("SELECT hash FROM storage WHERE group_name = ? AND path = ?")
+                .addParam(groupName.toLowerCase()).addParam(path)
+                .getString("hash");
+        final int lastOrder = new DotConnect()
+                .setSQL("SELECT MAX(data_order) AS last_order FROM storage_x_data WHERE storage_hash = ?")
+                .addParam(hash)
+                .getInt("last_order");
+        assertTrue(lastOrder > 1);
+        new DotConnect()
+                .setSQL("DELETE FROM storage_x_data WHERE storage_hash = ? AND data_order = ?")
+                .addParam(hash).addParam(lastOrder)
+                .loadResult();
+
+        // one chunk at a time, so the reader stops before the end of the object is fetched
+        final int readAhead = Config.getIntProperty("DB_STORAGE_READ_AHEAD_CHUNKS", 64);
+        Config.setProperty("DB_STORAGE_READ_AHEAD_CHUNKS", 1);
+        try {
+            storage.pullObject(groupName, path, stream -> Try.of(stream::read).get());
+            fail("the object hash should not match");
+        } catch (DotDataException e) {
+            assertTrue(ExceptionUtil.causedBy(e, DotCorruptedDataException.class));
+        } finally {
+            Config.setProperty("DB_STORAGE_READ_AHEAD_CHUNKS", readAhead);
+        }
+    }
+
     @DataProvider
     public static Object[] getRandomTestCases() throws Exception{
         final String path = "any-path";
@@ -0,0 +1,81 @@
+package com.dotcms.tika;
+
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.portlets.fileassets.business.FileAssetAPI;
+import com.dotmarketing.util.Config;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for the {@link TikaWorkerPool}
+ */
+public class TikaWorkerPoolTest {
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+        // a single worker, so every parse of the test runs on the same thread
+        Config.setProperty("TIKA_WORKER_POOL_SIZE", 1);
+    }
+
+    /**
+     * Method to test: {@link TikaWorkerPool#getForcedMetaDataMap(File, int)}
+     * Given Scenario: A text file is parsed, then an image and then the text file again, one after the other
+     * ExpectedResult: The second parse of the text file has the same keys as the first one, none of the image
+     * metadata leaks into it
+     * @throws Exception
+     */
+    @Test
+    public void test_metadata_does_not_leak_between_parses() throws Exception {
+
+        final File text = File.createTempFile("tika-worker-pool", ".txt");
+        Files.write(text.toPath(), "Some content to parse".getBytes(StandardCharsets.UTF_8));
+        final File image = new File(Thread.currentThread()
+                .getContextClassLoader().getResource("images/test.jpg").getFile());
+
+        final TikaWorkerPool pool = TikaWorkerPool.getInstance();
+        final Map<String, Object> textMetadata  = pool.getForcedMetaDataMap(text, 1000);
+        final Map<String, Object> imageMetadata = pool.getForcedMetaDataMap(image, 1000);
+        final Map<String, Object> textMetadataAgain = pool.getForcedMetaDataMap(text, 1000);
+
+        Assert.assertTrue(textMetadata.containsKey(FileAssetAPI.CONTENT_FIELD));
+        final Set<String> imageOnlyKeys = new HashSet<>(imageMetadata.keySet());
+        imageOnlyKeys.removeAll(textMetadata.keySet());
+        Assert.assertFalse(imageOnlyKeys.isEmpty());
+
+        Assert.assertEquals(textMetadata.keySet(), textMetadataAgain.keySet());
+    }
+
+    /**
+     * Method to test: {@link TikaWorkerPool#getForcedMetaDataMap(File, int)}
+     * Given Scenario: A text file bigger than TIKA_PARSE_MAX_FILE_SIZE is parsed
+     * ExpectedResult: The file is not parsed, but its size, length and content type are returned
+     * @throws Exception
+     */
+    @Test
+    public void test_files_over_the_max_size_get_the_basic_metadata() throws Exception {
+
+        final File text = File.createTempFile("tika-worker-pool", ".txt");
+        Files.write(text.toPath(), "Some content to parse".getBytes(StandardCharsets.UTF_8));
+
+        Config.setProperty("TIKA_PARSE_MAX_FILE_SIZE", 1);
+        try {
+            final Map<String, Object> metadata = TikaWorkerPool.getInstance().getForcedMetaDataMap(text, 1000);
+
+            Assert.assertFalse(metadata.containsKey(FileAssetAPI.CONTENT_FIELD));
+            Assert.assertEquals(text.length(), metadata.get(FileAssetAPI.SIZE_FIELD));
+            Assert.assertEquals(text.length(), metadata.get("length"));
+            Assert.assertEquals("text/plain", metadata.get("contentType"));
+        } finally {
+            Config.setProperty("TIKA_PARSE_MAX_FILE_SIZE", 104857600L);
+        }
+    }
+}
@@ -60,6 +60,7 @@ import com.dotmarketing.portlets.workflows.model.WorkflowAction;
 import com.dotmarketing.portlets.workflows.model.WorkflowState;
 import com.dotmarketing.portlets.workflows.model.WorkflowStep;
 import com.dotmarketing.portlets.workflows.model.WorkflowTask;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.ImportUtil;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UUIDGenerator;
@@ -80,9 +81,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.servlet.http.HttpServletRequest;
 import org.glassfish.jersey.internal.util.Base64;
 import org.junit.BeforeClass;
@@ -2360,4 +2365,178 @@ public class ImportUtilTest extends BaseWorkflowIntegrationTest {
             }
         }
     }
+
+    @DataProvider
+    public static Object[] saveThreads() {
+        // 1 saves the lines on the importing thread, 4 saves them in parallel
+        return new Object[]{1, 4};
+    }
+
+    /**
+     * Method to test: {@link ImportUtil#importFile(Long, String, String, String[], boolean, boolean, User, long, String[], CsvReader, int, int, Reader, String, HttpServletRequest)}
+     * Given Scenario: 12 existing contents are updated by their key field, in batches of 5 lines
+     * ExpectedResult: The batched lookup finds every content, all of them are updated and none is created
+     */
+    @UseDataProvider("saveThreads")
+    @Test
+    public void importFile_batchedKeyLookup_updatesExistingContent(final int saveThreads) throws Exception {
+
+        final long time = System.currentTimeMillis();
+        final ContentType contentType = createTestContentType("BatchedKeyLookup_" + time + "_" + saveThreads,
+                "batchedKeyLookup" + time + saveThreads);
+        try {
+            final com.dotcms.contenttype.model.field.Field titleField =
+                    fieldAPI.byContentTypeAndVar(contentType, TITLE_FIELD_NAME);
+            final Set<String> identifiers = new HashSet<>();
+            final StringBuilder csv = new StringBuilder(TITLE_FIELD_NAME + "," + BODY_FIELD_NAME + "\r\n");
+            for (int i = 0; i < 12; i++) {
+                identifiers.add(new ContentletDataGen(contentType.id())
+                        .setProperty(TITLE_FIELD_NAME, "Key" + i + "-" + time)
+                        .setProperty(BODY_FIELD_NAME, "original").nextPersisted().getIdentifier());
+                csv.append("Key").append(i).append("-").append(time).append(",updated\r\n");
+            }
+
+            final HashMap<String, List<String>> results = importBatches(saveThreads, contentType, titleField,
+                    csv.toString(), false);
+
+            assertEquals(0, results.get("errors").size());
+            assertTrue(results.get("counters").contains("newContent=0"));
+            assertTrue(results.get("counters").contains("contentToUpdate=12"));
+            final List<Contentlet> savedData = contentletAPI
+                    .findByStructure(contentType.inode(), user, false, 0, 0);
+            assertEquals(12, savedData.size());
+            for (final Contentlet contentlet : savedData) {
+                assertTrue(identifiers.contains(contentlet.getIdentifier()));
+                assertEquals("updated", contentlet.getStringProperty(BODY_FIELD_NAME));
+            }
+        } finally {
+            contentTypeApi.delete(contentType);
+        }
+    }
+
+    /**
+     * Method to test: {@link ImportUtil#importFile(Long, String, String, String[], boolean, boolean, User, long, String[], CsvReader, int, int, Reader, String, HttpServletRequest)}
+     * Given Scenario: Within one batch, an existing content is updated twice, and a new key is created, updated
+     * and then imported in another language
+     * ExpectedResult: No duplicates, each key keeps one identifier with one content per language and the value
+     * of its last line
+     */
+    @UseDataProvider("saveThreads")
+    @Test
+    public void importFile_duplicateAndMultilingualKeysInOneBatch(final int saveThreads) throws Exception {
+
+        final long time = System.currentTimeMillis();
+        final ContentType contentType = createTestContentType("BatchedDuplicateKeys_" + time + "_" + saveThreads,
+                "batchedDuplicateKeys" + time + saveThreads);
+        try {
+            final com.dotcms.contenttype.model.field.Field titleField =
+                    fieldAPI.byContentTypeAndVar(contentType, TITLE_FIELD_NAME);
+            final String existingKey = "Existing-" + time;
+            final String newKey = "New-" + time;
+            final String existingIdentifier = new ContentletDataGen(contentType.id())
+                    .setProperty(TITLE_FIELD_NAME, existingKey)
+                    .setProperty(BODY_FIELD_NAME, "original").nextPersisted().getIdentifier();
+
+            final HashMap<String, List<String>> results = importBatches(saveThreads, contentType, titleField,
+                    "languageCode,countryCode," + TITLE_FIELD_NAME + "," + BODY_FIELD_NAME + "\r\n" +
+                    "en,US," + existingKey + ",first\r\n" +
+                    "en,US," + existingKey + ",second\r\n" +
+                    "en,US," + newKey + ",first\r\n" +
+                    "en,US," + newKey + ",second\r\n" +
+                    "es,ES," + newKey + ",segundo\r\n", true);
+
+            assertEquals(0, results.get("errors").size());
+            final List<Contentlet> savedData = contentletAPI
+                    .findByStructure(contentType.inode(), user, false, 0, 0);
+            assertEquals(3, savedData.size());
+            String newIdentifier = null;
+            final Set<Long> newKeyLanguages = new HashSet<>();
+            for (final Contentlet contentlet : savedData) {
+                if (existingKey.equals(contentlet.getStringProperty(TITLE_FIELD_NAME))) {
+                    assertEquals(existingIdentifier, contentlet.getIdentifier());
+                    assertEquals("second", contentlet.getStringProperty(BODY_FIELD_NAME));
+                } else {
+                    assertEquals(newKey, contentlet.getStringProperty(TITLE_FIELD_NAME));
+                    assertTrue(null == newIdentifier || newIdentifier.equals(contentlet.getIdentifier()));
+                    newIdentifier = contentlet.getIdentifier();
+                    newKeyLanguages.add(contentlet.getLanguageId());
+                    if (contentlet.getLanguageId() == defaultLanguage.getId()) {
+                        assertEquals("second", contentlet.getStringProperty(BODY_FIELD_NAME));
+                    } else {
+                        assertEquals("segundo", contentlet.getStringProperty(BODY_FIELD_NAME));
+                    }
+                }
+            }
+            assertEquals(2, newKeyLanguages.size());
+        } finally {
+            contentTypeApi.delete(contentType);
+        }
+    }
+
+    /**
+     * Method to test: {@link ImportUtil#importFile(Long, String, String, String[], boolean, boolean, User, long, String[], CsvReader, int, int, Reader, String, HttpServletRequest)}
+     * Given Scenario: The first line updates a content locked by another user, so it fails when it is saved, and
+     * a later line of the batch fails right away since its identifier does not exist
+     * ExpectedResult: Both errors are reported in line order, on the serial and on the parallel save path
+     */
+    @UseDataProvider("saveThreads")
+    @Test
+    public void importFile_errorsAreReportedInLineOrder(final int saveThreads) throws Exception {
+
+        final long time = System.currentTimeMillis();
+        final ContentType contentType = createTestContentType("BatchedErrorOrder_" + time + "_" + saveThreads,
+                "batchedErrorOrder" + time + saveThreads);
+        try {
+            final Contentlet locked = new ContentletDataGen(contentType.id())
+                    .setProperty(TITLE_FIELD_NAME, "Locked-" + time)
+                    .setProperty(BODY_FIELD_NAME, "original").nextPersisted();
+            contentletAPI.lock(locked, user, false);
+
+            final HashMap<String, List<String>> results = importBatches(saveThreads, contentType, null,
+                    "Identifier," + TITLE_FIELD_NAME + "," + BODY_FIELD_NAME + "\r\n" +
+                    locked.getIdentifier() + ",Locked-" + time + ",updated\r\n" +
+                    ",New-" + time + ",created\r\n" +
+                    UUIDGenerator.generateUuid() + ",Missing-" + time + ",missing\r\n", false);
+
+            final Pattern linePattern = Pattern.compile("^Line #(\\d+)");
+            final List<Integer> errorLines = new ArrayList<>();
+            for (final String error : results.get("errors")) {
+                final Matcher matcher = linePattern.matcher(error);
+                if (matcher.find()) {
+                    errorLines.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+            assertEquals(errorLines.toString(), 2, errorLines.size());
+            assertTrue(errorLines.toString(), errorLines.get(0) < errorLines.get(1));
+            assertTrue(results.get("counters").contains("errors=2"));
+        } finally {
+            contentTypeApi.delete(contentType);
+        }
+    }
+
+    /**
+     * Imports the given csv as chrisPublisher, 5 lines per batch and with the given amount of save threads
+     */
+    private HashMap<String, List<String>> importBatches(final int saveThreads, final ContentType contentType,
+            final com.dotcms.contenttype.model.field.Field keyField, final String csv,
+            final boolean multilingual) throws Exception {
+
+        final int previousSaveThreads = Config.getIntProperty("CSV_IMPORT_SAVE_THREADS", 1);
+        final int previousBatchSize = Config.getIntProperty("CSV_IMPORT_BATCH_SIZE", 100);
+        Config.setProperty("CSV_IMPORT_SAVE_THREADS", saveThreads);
+        Config.setProperty("CSV_IMPORT_BATCH_SIZE", 5);
+        try {
+            final Reader reader = createTempFile(csv);
+            final CsvReader csvreader = new CsvReader(reader);
+            csvreader.setSafetySwitch(false);
+            final String[] csvHeaders = csvreader.getHeaders();
+            return ImportUtil.importFile(0L, defaultSite.getInode(), contentType.inode(),
+                    null != keyField ? new String[]{keyField.id()} : new String[]{}, false, multilingual,
+                    chrisPublisher, multilingual ? -1 : defaultLanguage.getId(), csvHeaders, csvreader,
+                    multilingual ? 0 : -1, multilingual ? 1 : -1, reader, null, getHttpRequest());
+        } finally {
+            Config.setProperty("CSV_IMPORT_SAVE_THREADS", previousSaveThreads);
+            Config.setProperty("CSV_IMPORT_BATCH_SIZE", previousBatchSize);
+        }
+    }
 }
\ No newline at end of file
@@ -196,6 +196,32 @@ public class PermissionAPIIntegrationTest extends IntegrationTestBase {
     }
 
 
+    /**
+     * Method to test: {@link PermissionAPI#resetPermissionsUnder(Permissionable)}
+     * Given Scenario: A folder tree with individual permissions whose permissions are cached
+     * ExpectedResult: The subfolders inherit their permissions, no stale permission is read from the cache
+     */
+    @Test
+    public void resetPermissionsUnder_removesTheResetAssetsFromTheCache() throws DotDataException, DotSecurityException {
+
+        folderAPI.createFolders("/f6/f1/f1/", host, systemUser, false);
+        final Folder f1 = folderAPI.findFolderByPath("/f6/", host, systemUser, false);
+        final Folder f2 = folderAPI.findFolderByPath("/f6/f1", host, systemUser, false);
+        final Folder f3 = folderAPI.findFolderByPath("/f6/f1/f1", host, systemUser, false);
+
+        permissionAPI.permissionIndividually(host, f3, systemUser);
+        permissionAPI.permissionIndividually(host, f2, systemUser);
+        permissionAPI.permissionIndividually(host, f1, systemUser);
+
+        assertFalse(permissionAPI.isInheritingPermissions(f2));
+        assertFalse(permissionAPI.isInheritingPermissions(f3));
+
+        permissionAPI.resetPermissionsUnder(f1);
+
+        assertTrue(permissionAPI.isInheritingPermissions(f2));
+        assertTrue(permissionAPI.isInheritingPermissions(f3));
+    }
+
     /**
      * https://github.com/dotCMS/core/issues/11850
      * @throws DotDataException
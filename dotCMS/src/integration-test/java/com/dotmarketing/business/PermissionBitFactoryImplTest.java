@@ -2,18 +2,28 @@ package com.dotmarketing.business;
 
 import static com.dotcms.util.CollectionsUtils.list;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.dotcms.contenttype.model.type.ContentType;
 import com.dotcms.datagen.ContentTypeDataGen;
 import com.dotcms.datagen.ContentletDataGen;
+import com.dotcms.datagen.FolderDataGen;
+import com.dotcms.datagen.RoleDataGen;
+import com.dotcms.datagen.SiteDataGen;
+import com.dotcms.datagen.TemplateDataGen;
 import com.dotcms.datagen.UserDataGen;
 import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Permission;
 import com.dotmarketing.beans.PermissionType;
 import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.reindex.ReindexThread;
 import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.dotmarketing.portlets.templates.model.Template;
 import com.liferay.portal.model.User;
 import java.util.List;
 import java.util.Map;
@@ -86,4 +96,104 @@ public class PermissionBitFactoryImplTest {
         assertTrue(hasContentlet1Permission);
         assertTrue(hasContentlet2Permission);
     }
+
+    /**
+     * Method to test: {@link PermissionBitFactoryImpl#cascadePermissionUnder(Permissionable, Role)}
+     * When: A site has inheritable permissions for a role on folders, templates and contents, and a folder,
+     * a template and a content of the site override the inheritance. The role is cascaded from the site
+     * Should: Save the permission of the role on each of the three children, and queue the content for reindex
+     *
+     * @throws DotDataException
+     * @throws DotSecurityException
+     */
+    @Test
+    public void cascadePermissionUnder_childrenOverridingInheritance() throws DotDataException, DotSecurityException {
+
+        final User systemUser = APILocator.systemUser();
+        final PermissionAPI permissionAPI = APILocator.getPermissionAPI();
+        final int permission = PermissionAPI.PERMISSION_READ | PermissionAPI.PERMISSION_EDIT;
+
+        final Host site = new SiteDataGen().nextPersisted();
+        final Role role = new RoleDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(site).nextPersisted();
+        final Template template = new TemplateDataGen().site(site).nextPersisted();
+        final ContentType contentType = new ContentTypeDataGen().host(site).nextPersisted();
+        final Contentlet contentlet = new ContentletDataGen(contentType).host(site).folder(folder).nextPersisted();
+
+        permissionAPI.permissionIndividually(site, folder, systemUser);
+        permissionAPI.permissionIndividually(site, template, systemUser);
+        permissionAPI.permissionIndividually(folder, contentlet, systemUser);
+
+        permissionAPI.save(list(
+                new Permission(PermissionType.FOLDER.getKey(), site.getPermissionId(), role.getId(), permission, true),
+                new Permission(PermissionType.TEMPLATE.getKey(), site.getPermissionId(), role.getId(), permission, true),
+                new Permission(PermissionType.CONTENTLET.getKey(), site.getPermissionId(), role.getId(), permission, true)),
+                site, systemUser, false);
+
+        // the reindex thread would take the entries off the queue before they are checked
+        ReindexThread.pause();
+        try {
+            permissionAPI.cascadePermissionUnder(site, role);
+
+            assertEquals(permission, getIndividualPermission(folder.getPermissionId(), role));
+            assertEquals(permission, getIndividualPermission(template.getPermissionId(), role));
+            assertEquals(permission, getIndividualPermission(contentlet.getPermissionId(), role));
+
+            final DotConnect dotConnect = new DotConnect();
+            dotConnect.setSQL("SELECT * from dist_reindex_journal WHERE inode_to_index = ?");
+            dotConnect.addParam(contentlet.getIdentifier());
+            assertFalse(dotConnect.loadObjectResults().isEmpty());
+        } finally {
+            ReindexThread.unpause();
+        }
+    }
+
+    /**
+     * Method to test: {@link PermissionBitFactoryImpl#cascadePermissionUnder(Permissionable, Role)}
+     * When: A folder overriding the inheritance already has a cached individual permission for a role, and the
+     * site changes the inheritable permission of the role on folders before cascading it
+     * Should: Update the permission the role had on the folder instead of adding a new one, and not read the
+     * old permission from the cache
+     *
+     * @throws DotDataException
+     * @throws DotSecurityException
+     */
+    @Test
+    public void cascadePermissionUnder_updatesTheExistingPermission() throws DotDataException, DotSecurityException {
+
+        final User systemUser = APILocator.systemUser();
+        final PermissionAPI permissionAPI = APILocator.getPermissionAPI();
+        final int permission = PermissionAPI.PERMISSION_READ | PermissionAPI.PERMISSION_EDIT;
+
+        final Host site = new SiteDataGen().nextPersisted();
+        final Role role = new RoleDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(site).nextPersisted();
+
+        permissionAPI.permissionIndividually(site, folder, systemUser);
+        permissionAPI.save(new Permission(folder.getPermissionId(), role.getId(), PermissionAPI.PERMISSION_READ, true),
+                folder, systemUser, false);
+        assertTrue(permissionAPI.getPermissions(folder, true).stream().anyMatch(p -> role.getId().equals(p.getRoleId())
+                && p.getPermission() == PermissionAPI.PERMISSION_READ));
+
+        permissionAPI.save(list(new Permission(PermissionType.FOLDER.getKey(), site.getPermissionId(), role.getId(),
+                permission, true)), site, systemUser, false);
+        permissionAPI.cascadePermissionUnder(site, role);
+
+        assertEquals(permission, getIndividualPermission(folder.getPermissionId(), role));
+        assertTrue(permissionAPI.getPermissions(folder, true).stream().anyMatch(p -> role.getId().equals(p.getRoleId())
+                && p.getPermission() == permission));
+    }
+
+    private static int getIndividualPermission(final String permissionId, final Role role) throws DotDataException {
+
+        final DotConnect dotConnect = new DotConnect();
+        dotConnect.setSQL("SELECT permission from permission WHERE inode_id = ? AND roleid = ? AND permission_type = ?");
+        dotConnect.addParam(permissionId);
+        dotConnect.addParam(role.getId());
+        dotConnect.addParam(PermissionAPI.INDIVIDUAL_PERMISSION_TYPE);
+
+        final List<Map<String, Object>> maps = dotConnect.loadObjectResults();
+        assertEquals(1, maps.size());
+        return Integer.parseInt(maps.get(0).get("permission").toString());
+    }
 }
@@ -18,8 +18,11 @@ import com.liferay.portal.model.User;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -232,5 +235,51 @@ public class HibernateUtilTest {
         }
     }
 
+    /**
+     * Method to test: {@link HibernateUtil#addMergeableSyncCommitListener(String, MergeableRunnable)}
+     * Given Scenario: 5000 listeners of the same kind are added with the same tag in a transaction, some of them twice
+     * ExpectedResult: One listener is queued, and it runs once after the commit with the work of all of them
+     */
+    @Test
+    public void testAddMergeableCommitListener() throws Exception {
+
+        final List<Set<Integer>> runs = new CopyOnWriteArrayList<>();
+
+        HibernateUtil.startTransaction();
+        try {
+            for (int i = 0; i < 5000; i++) {
+                HibernateUtil.addMergeableSyncCommitListener("mergeable", new CollectingRunnable(runs, i % 4000));
+            }
+
+            assertEquals(1, HibernateUtil.syncCommitListeners.get().size());
+        } finally {
+            HibernateUtil.commitTransaction();
+        }
+
+        assertEquals(1, runs.size());
+        assertEquals(4000, runs.get(0).size());
+    }
+
+    private static class CollectingRunnable implements MergeableRunnable<CollectingRunnable> {
+
+        private final List<Set<Integer>> runs;
+        private final Set<Integer> ids = new LinkedHashSet<>();
+
+        CollectingRunnable(final List<Set<Integer>> runs, final int id) {
+            this.runs = runs;
+            this.ids.add(id);
+        }
+
+        @Override
+        public void merge(final CollectingRunnable listener) {
+            this.ids.addAll(listener.ids);
+        }
+
+        @Override
+        public void run() {
+            this.runs.add(this.ids);
+        }
+    }
+
 
 }
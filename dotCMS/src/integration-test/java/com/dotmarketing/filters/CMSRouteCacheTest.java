@@ -0,0 +1,87 @@
+package com.dotmarketing.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.business.CacheLocator;
+import com.dotmarketing.filters.CMSFilter.IAm;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.UUIDGenerator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CMSRouteCacheTest {
+
+    private static CMSRouteCache routeCache;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        IntegrationTestInitService.getInstance().init();
+        routeCache = CacheLocator.getCMSRouteCache();
+    }
+
+    /**
+     * Method to test: {@link CMSRouteCache#get(String, long, String)}
+     * Given Scenario: Routes are cached for the same path with and without trailing slash and in two languages
+     * ExpectedResult: Each variant keeps its own resolution, including the negative (404) one
+     */
+    @Test
+    public void test_routes_are_cached_by_language_and_slash() {
+
+        final String siteId = UUIDGenerator.generateUuid();
+        routeCache.put(siteId, 1, "/about-us", IAm.FOLDER);
+        routeCache.put(siteId, 1, "/about-us/", IAm.PAGE);
+        routeCache.put(siteId, 2, "/about-us/", IAm.NOTHING_IN_THE_CMS);
+
+        assertEquals(IAm.FOLDER, routeCache.get(siteId, 1, "/about-us").get());
+        assertEquals(IAm.PAGE, routeCache.get(siteId, 1, "/about-us/").get());
+        assertEquals(IAm.NOTHING_IN_THE_CMS, routeCache.get(siteId, 2, "/about-us/").get());
+        assertFalse(routeCache.get(siteId, 2, "/about-us").isPresent());
+    }
+
+    /**
+     * Method to test: {@link CMSRouteCache#remove(String, String)}
+     * Given Scenario: The index page of a folder is removed from the cache
+     * ExpectedResult: The routes of the page and of its folder are gone in every language
+     */
+    @Test
+    public void test_remove_index_page_removes_folder_routes() {
+
+        final String siteId = UUIDGenerator.generateUuid();
+        routeCache.put(siteId, 1, "/about-us/", IAm.PAGE);
+        routeCache.put(siteId, 2, "/about-us", IAm.FOLDER);
+        routeCache.put(siteId, 1, "/about-us/index", IAm.PAGE);
+        routeCache.put(siteId, 1, "/contact", IAm.PAGE);
+
+        routeCache.remove(siteId, "/about-us/" + CMSFilter.CMS_INDEX_PAGE);
+
+        assertFalse(routeCache.get(siteId, 1, "/about-us/").isPresent());
+        assertFalse(routeCache.get(siteId, 2, "/about-us").isPresent());
+        assertFalse(routeCache.get(siteId, 1, "/about-us/index").isPresent());
+        assertEquals(IAm.PAGE, routeCache.get(siteId, 1, "/contact").get());
+    }
+
+    /**
+     * Method to test: {@link CMSRouteCache#get(String, long, String)}
+     * Given Scenario: A 404 and a page are cached with CMS_ROUTE_CACHE_404_TTL_SECONDS set to 0
+     * ExpectedResult: The 404 expires, the page does not
+     */
+    @Test
+    public void test_not_found_routes_expire() throws InterruptedException {
+
+        final String siteId = UUIDGenerator.generateUuid();
+        Config.setProperty("CMS_ROUTE_CACHE_404_TTL_SECONDS", 0);
+        try {
+            routeCache.put(siteId, 1, "/missing", IAm.NOTHING_IN_THE_CMS);
+            routeCache.put(siteId, 1, "/contact", IAm.PAGE);
+        } finally {
+            Config.setProperty("CMS_ROUTE_CACHE_404_TTL_SECONDS", 60);
+        }
+
+        Thread.sleep(10);
+        assertFalse(routeCache.get(siteId, 1, "/missing").isPresent());
+        assertTrue(routeCache.get(siteId, 1, "/contact").isPresent());
+    }
+}
@@ -839,6 +839,52 @@ public class CategoryAPITest extends IntegrationTestBase {
         }
     }
 
+    /**
+     * Method to test: {@link CategoryAPI#getAllChildren(Category, User, boolean)} and
+     * {@link CategoryAPI#getCategoryTreeUp(Category, User, boolean)}
+     * Given Scenario: A three level tree is read, then a new grandchild is added and the tree is read again
+     * ExpectedResult: The descendants come breadth-first and in sort order, the new grandchild is returned after it is
+     * added (the tree index is invalidated) and the tree up goes from the top level to the grandchild
+     */
+    @Test
+    public void getAllChildren_threeLevels_returnsDescendantsBreadthFirst() throws DotDataException, DotSecurityException {
+
+        final long time = System.currentTimeMillis();
+        final Category root = newCategory("root", time, 1, null);
+        final Category childB = newCategory("childB", time, 2, root);
+        final Category childA = newCategory("childA", time, 1, root);
+        final Category grandChildA = newCategory("grandChildA", time, 1, childA);
+
+        try {
+            List<Category> descendants = categoryAPI.getAllChildren(root, user, false);
+            assertEquals(3, descendants.size());
+            assertEquals(childA.getInode(), descendants.get(0).getInode());
+            assertEquals(childB.getInode(), descendants.get(1).getInode());
+            assertEquals(grandChildA.getInode(), descendants.get(2).getInode());
+
+            final Category grandChildB = newCategory("grandChildB", time, 1, childB);
+            descendants = categoryAPI.getAllChildren(root, user, false);
+            assertEquals(4, descendants.size());
+            assertEquals(grandChildB.getInode(), descendants.get(3).getInode());
+
+            final List<Category> treeUp = categoryAPI.getCategoryTreeUp(grandChildB, user, false);
+            assertEquals(4, treeUp.size());
+            assertEquals(root.getInode(), treeUp.get(1).getInode());
+            assertEquals(childB.getInode(), treeUp.get(2).getInode());
+            assertEquals(grandChildB.getInode(), treeUp.get(3).getInode());
+        } finally {
+            for (final Category category : categoryAPI.getAllChildren(root, user, false)) {
+                categoryAPI.delete(category, user, false);
+            }
+            categoryAPI.delete(root, user, false);
+        }
+    }
+
+    private Category newCategory(final String name, final long time, final int sortOrder, final Category parent) {
+        return new CategoryDataGen().setCategoryName(name + time).setKey(name + time)
+                .setCategoryVelocityVarName(name + time).setSortOrder(sortOrder).parent(parent).nextPersisted();
+    }
+
     /**
      * Test cases:
      * 1. Creating a new category without a key (with valid varName)
@@ -7,10 +7,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.dotcms.IntegrationTestBase;
+import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.FactoryLocator;
+import com.dotmarketing.db.LocalTransaction;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.portlets.categories.model.Category;
+import java.util.Collections;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.junit.BeforeClass;
@@ -276,4 +279,28 @@ public class CategoryFactoryTest extends IntegrationTestBase {
         assertTrue(categoryFactory.hasDependencies(root));
     }
 
+    /**
+     * Method to test: {@link CategoryFactory#addChild(Categorizable, Category, String)}
+     * Given Scenario: A child category is added within a transaction, and before the commit another
+     * reader caches a tree index loaded without the new child
+     * ExpectedResult: The tree index is removed from the cache once the transaction is committed
+     * @throws Exception
+     */
+    @Test
+    public void Test_Tree_Index_Is_Removed_After_Commit() throws Exception {
+
+        final Category root = newCategory();
+        final Category leaf = newCategory();
+        final CategoryCache categoryCache = CacheLocator.getCategoryCache();
+
+        LocalTransaction.wrapReturnWithListeners(() -> {
+            categoryFactory.addChild(root, leaf, null);
+            // a reader outside the transaction loads the index without the new child
+            categoryCache.putTreeIndex(new CategoryTreeIndex(Collections.emptyList(), Collections.emptyList()));
+            return null;
+        });
+
+        assertNull(categoryCache.getTreeIndex());
+    }
+
 }
@@ -27,9 +27,11 @@ import com.dotcms.datagen.LanguageDataGen;
 import com.dotcms.datagen.TestDataUtils;
 import com.dotcms.datagen.TestUserUtils;
 import com.dotcms.datagen.TestWorkflowUtils;
+import com.dotcms.rest.api.v1.workflow.BulkActionsResultView;
 import com.dotcms.system.event.local.model.EventSubscriber;
 import com.dotcms.util.CollectionsUtils;
 import com.dotcms.util.IntegrationTestInitService;
+import com.dotcms.workflow.form.AdditionalParamsBean;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Permission;
 import com.dotmarketing.business.APILocator;
@@ -75,6 +77,7 @@ import com.dotmarketing.portlets.workflows.model.WorkflowScheme;
 import com.dotmarketing.portlets.workflows.model.WorkflowState;
 import com.dotmarketing.portlets.workflows.model.WorkflowStep;
 import com.dotmarketing.portlets.workflows.model.WorkflowTask;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
@@ -4070,4 +4073,71 @@ public class WorkflowAPITest extends IntegrationTestBase {
 
     }
 
+    /**
+     * Method to test: {@link WorkflowAPI#fireBulkActions(WorkflowAction, User, String, AdditionalParamsBean)}
+     * Given Scenario: An action that moves the contents to the next step is fired on 12 contents of the first
+     * step, 5 contents at a time
+     * ExpectedResult: Every content is moved, even though each round takes the contents of the previous
+     * one out of the step the query looks for
+     */
+    @Test
+    public void fireBulkActions_moves_every_content_when_there_are_more_than_one_fetch_step()
+            throws DotDataException, DotSecurityException, ExecutionException, InterruptedException {
+
+        final int fetchStep = Config.getIntProperty("workflow.action.bulk.fetch.step", 350);
+        final boolean adaptive = Config.getBooleanProperty(AdaptiveBulkActionsController.BULK_ACTIONS_ADAPTIVE, false);
+        final int sleep = Config.getIntProperty(WorkflowAPIImpl.BULK_ACTIONS_SLEEP_THRESHOLD,
+                WorkflowAPIImpl.BULK_ACTIONS_SLEEP_THRESHOLD_DEFAULT);
+
+        final long time = System.currentTimeMillis();
+        final WorkflowScheme scheme = addWorkflowScheme("BulkActionsFetchStepScheme_" + time);
+        final WorkflowStep firstStep = addWorkflowStep("BulkActionsFetchStepFirst_" + time, 1, false, false,
+                scheme.getId());
+        final WorkflowStep secondStep = addWorkflowStep("BulkActionsFetchStepSecond_" + time, 2, false, false,
+                scheme.getId());
+        final WorkflowAction moveAction = addWorkflowAction("BulkActionsFetchStepMove_" + time, 1,
+                secondStep.getId(), false, firstStep.getId(), roleAPI.loadCMSAdminRole(), scheme.getId());
+        addSubActionClass("Save content", moveAction.getId(), SaveContentActionlet.class, 1);
+
+        ContentType bulkContentType = null;
+        try {
+
+            Config.setProperty("workflow.action.bulk.fetch.step", 5);
+            Config.setProperty(AdaptiveBulkActionsController.BULK_ACTIONS_ADAPTIVE, false);
+            Config.setProperty(WorkflowAPIImpl.BULK_ACTIONS_SLEEP_THRESHOLD, 0);
+
+            bulkContentType = new ContentTypeDataGen().workflowId(scheme.getId()).nextPersisted();
+            final List<Contentlet> contentlets = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                contentlets.add(new ContentletDataGen(bulkContentType.id()).setPolicy(IndexPolicy.FORCE)
+                        .nextPersisted());
+            }
+
+            for (final Contentlet contentlet : contentlets) {
+                assertEquals(firstStep.getId(), workflowAPI.findTaskByContentlet(contentlet).getStatus());
+            }
+
+            final BulkActionsResultView result = workflowAPI.fireBulkActions(moveAction, user,
+                    "+contentType:" + bulkContentType.variable(),
+                    new AdditionalParamsBean(null, null, null));
+
+            assertEquals(12, result.getSuccessCount().intValue());
+            assertTrue(result.getFails().isEmpty());
+            for (final Contentlet contentlet : contentlets) {
+                assertEquals(secondStep.getId(), workflowAPI.findTaskByContentlet(contentlet).getStatus());
+            }
+        } finally {
+
+            Config.setProperty("workflow.action.bulk.fetch.step", fetchStep);
+            Config.setProperty(AdaptiveBulkActionsController.BULK_ACTIONS_ADAPTIVE, adaptive);
+            Config.setProperty(WorkflowAPIImpl.BULK_ACTIONS_SLEEP_THRESHOLD, sleep);
+
+            if (null != bulkContentType) {
+                contentTypeAPI.delete(bulkContentType);
+            }
+            workflowAPI.archive(scheme, user);
+            workflowAPI.deleteScheme(scheme, user).get();
+        }
+    }
+
 }
@@ -0,0 +1,160 @@
+package com.dotmarketing.webdav;
+
+import com.dotcms.datagen.FileAssetDataGen;
+import com.dotcms.datagen.FolderDataGen;
+import com.dotcms.datagen.SiteDataGen;
+import com.dotcms.repackage.com.bradmcevoy.http.Resource;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.portlets.contentlet.business.ContentletAPI;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.fileassets.business.FileAssetAPI;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.liferay.portal.model.User;
+import com.liferay.util.FileUtil;
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for the {@link FileListingCache} and the file resources the {@link DotWebdavHelper} builds from it
+ */
+public class FileListingCacheTest {
+
+    private static User systemUser;
+    private static long languageId;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+        systemUser = APILocator.systemUser();
+        languageId = APILocator.getLanguageAPI().getDefaultLanguage().getId();
+    }
+
+    /**
+     * Method to test: {@link FileListingCache#get(Folder, long, boolean)}
+     * Given Scenario: A folder with a file is listed, then a second file is saved on the folder
+     * ExpectedResult: The first listing has the metadata of the file, the second one has both files since
+     * saving the file drops the cached listing
+     * @throws Exception
+     */
+    @Test
+    public void test_get_lists_the_files_and_is_invalidated_on_save() throws Exception {
+
+        final Host host = new SiteDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(host).nextPersisted();
+        final Contentlet first = newFile(folder, "first", "helloworld");
+
+        final List<FileListing> listing = FileListingCache.getInstance().get(folder, languageId, false);
+        Assert.assertEquals(1, listing.size());
+        final FileListing firstListing = listing.get(0);
+        Assert.assertEquals(first.getIdentifier(), firstListing.getIdentifier());
+        Assert.assertEquals(first.getInode(), firstListing.getInode());
+        Assert.assertEquals(first.getBinary(FileAssetAPI.BINARY_FIELD).getName(), firstListing.getName());
+        Assert.assertEquals(languageId, firstListing.getLanguageId());
+        Assert.assertEquals("helloworld".length(), firstListing.getFileSize());
+        Assert.assertFalse(firstListing.isArchived());
+
+        final Contentlet second = newFile(folder, "second", "hello");
+
+        final List<FileListing> listingAfterSave = FileListingCache.getInstance().get(folder, languageId, false);
+        Assert.assertEquals(2, listingAfterSave.size());
+        Assert.assertTrue(find(listingAfterSave, second).isPresent());
+    }
+
+    /**
+     * Method to test: {@link FileListingCache#get(Folder, long, boolean)}
+     * Given Scenario: A listed file is archived and then deleted
+     * ExpectedResult: The listing shows the file as archived after the archive, and drops it after the delete
+     * @throws Exception
+     */
+    @Test
+    public void test_get_is_invalidated_on_archive_and_delete() throws Exception {
+
+        final ContentletAPI contentletAPI = APILocator.getContentletAPI();
+        final Host host = new SiteDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(host).nextPersisted();
+        final Contentlet file = newFile(folder, "archived", "helloworld");
+
+        Assert.assertFalse(find(FileListingCache.getInstance().get(folder, languageId, false), file).get().isArchived());
+
+        contentletAPI.archive(file, systemUser, false);
+        Assert.assertTrue(find(FileListingCache.getInstance().get(folder, languageId, false), file).get().isArchived());
+
+        contentletAPI.delete(file, systemUser, false);
+        Assert.assertFalse(find(FileListingCache.getInstance().get(folder, languageId, false), file).isPresent());
+    }
+
+    /**
+     * Method to test: {@link DotWebdavHelper#move(String, String, User, boolean)}
+     * Given Scenario: Both folders are listed, then a file is moved from one to the other over WebDAV
+     * ExpectedResult: The file leaves the listing of the first folder and shows up on the listing of the second
+     * @throws Exception
+     */
+    @Test
+    public void test_move_invalidates_the_listings() throws Exception {
+
+        final Host host = new SiteDataGen().nextPersisted();
+        final Folder from = new FolderDataGen().site(host).nextPersisted();
+        final Folder to = new FolderDataGen().site(host).nextPersisted();
+        final Contentlet file = newFile(from, "moved", "helloworld");
+        final String fileName = file.getBinary(FileAssetAPI.BINARY_FIELD).getName();
+
+        Assert.assertTrue(find(FileListingCache.getInstance().get(from, languageId, false), file).isPresent());
+        Assert.assertTrue(FileListingCache.getInstance().get(to, languageId, false).isEmpty());
+
+        new DotWebdavHelper().move(
+                String.format("http://localhost:8080/webdav/working/%d/%s/%s/%s", languageId, host.getName(), from.getName(), fileName),
+                String.format("http://localhost:8080/webdav/working/%d/%s/%s/%s", languageId, host.getName(), to.getName(), fileName),
+                systemUser, false);
+
+        Assert.assertFalse(find(FileListingCache.getInstance().get(from, languageId, false), file).isPresent());
+        Assert.assertTrue(find(FileListingCache.getInstance().get(to, languageId, false), file).isPresent());
+    }
+
+    /**
+     * Method to test: {@link DotWebdavHelper#getChildrenOfFolder(Folder, User, boolean, long)}
+     * Given Scenario: A folder with a file is listed over WebDAV
+     * ExpectedResult: The file resource answers its name, size and date from the listing, and loads the file
+     * asset when it is asked for it
+     * @throws Exception
+     */
+    @Test
+    public void test_getChildrenOfFolder_loads_the_file_lazily() throws Exception {
+
+        final Host host = new SiteDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(host).nextPersisted();
+        final Contentlet file = newFile(folder, "lazy", "helloworld");
+        final FileListing listing = find(FileListingCache.getInstance().get(folder, languageId, false), file).get();
+
+        final List<Resource> children = new DotWebdavHelper().getChildrenOfFolder(folder, systemUser, false, languageId);
+        Assert.assertEquals(1, children.size());
+        Assert.assertTrue(children.get(0) instanceof FileResourceImpl);
+
+        final FileResourceImpl resource = (FileResourceImpl) children.get(0);
+        Assert.assertEquals(listing.getName(), resource.getName());
+        Assert.assertEquals(Long.valueOf("helloworld".length()), resource.getContentLength());
+        Assert.assertEquals(listing.getModDate(), resource.getModifiedDate());
+
+        Assert.assertNotNull(resource.getFile());
+        Assert.assertEquals(file.getInode(), resource.getFile().getInode());
+        Assert.assertEquals(file.getIdentifier(), resource.getFile().getIdentifier());
+    }
+
+    private static Contentlet newFile(final Folder folder, final String prefix, final String content) throws Exception {
+
+        final File file = File.createTempFile(prefix, ".txt");
+        FileUtil.write(file, content);
+        return new FileAssetDataGen(folder, file).nextPersisted();
+    }
+
+    private static Optional<FileListing> find(final List<FileListing> listing, final Contentlet contentlet) {
+
+        return listing.stream().filter(file -> file.getIdentifier().equals(contentlet.getIdentifier())).findFirst();
+    }
+}
@@ -0,0 +1,239 @@
+package com.dotcms.content.elasticsearch.business;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.dotcms.content.elasticsearch.constants.ESMappingConstants;
+import com.dotcms.contenttype.model.field.DataTypes;
+import com.dotcms.contenttype.model.field.Field;
+import com.dotcms.contenttype.model.field.ImmutableDateTimeField;
+import com.dotcms.contenttype.model.field.ImmutableTextAreaField;
+import com.dotcms.contenttype.model.field.ImmutableTextField;
+import com.dotcms.contenttype.model.type.ContentType;
+import com.dotcms.contenttype.model.type.ImmutableSimpleContentType;
+import com.dotcms.storage.FileMetadataAPI;
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.beans.Identifier;
+import com.dotmarketing.beans.Permission;
+import com.dotmarketing.business.BenchmarkAPILocator;
+import com.dotmarketing.business.IdentifierAPI;
+import com.dotmarketing.business.PermissionAPI;
+import com.dotmarketing.business.Permissionable;
+import com.dotmarketing.business.RelationshipAPI;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.portlets.categories.business.CategoryAPI;
+import com.dotmarketing.portlets.contentlet.business.ContentletAPI;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
+import com.dotmarketing.portlets.folders.business.FolderAPI;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.dotmarketing.portlets.structure.business.FieldAPI;
+import com.dotmarketing.portlets.structure.model.Relationship;
+import com.dotmarketing.portlets.workflows.business.WorkflowAPI;
+import com.dotmarketing.tag.business.TagAPI;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.InodeUtils;
+import com.liferay.portal.model.User;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ESMappingAPIImpl#toMap(Contentlet)}, the conversion of a contentlet into the
+ * document sent to the index. The content type, the permissions, the identifier and the version
+ * info come from in memory stubs. The relationships are read from an in memory tree instead of the
+ * <code>tree</code> table, the rest of the mapping is the one used on a reindex. The metadata is
+ * not generated, since it is read from the file system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ESMappingAPIImplBenchmark {
+
+    private static final String CONTENT_TYPE_ID = "benchmark-content-type";
+    private static final String RELATION_TYPE   = "Blog-Comment";
+
+    @Param({"0", "50"})
+    private int relatedContents;
+
+    private ESMappingAPIImpl mappingAPI;
+    private Contentlet contentlet;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkAPILocator.install();
+        Config.setProperty(ESMappingAPIImpl.WRITE_METADATA_ON_REINDEX, false);
+
+        final ContentType contentType = ImmutableSimpleContentType.builder()
+                .id(CONTENT_TYPE_ID)
+                .name("Benchmark")
+                .variable("benchmark")
+                .host(Host.SYSTEM_HOST)
+                .build();
+        contentType.constructWithFields(Arrays.asList(
+                field(ImmutableTextField.builder(), "title", DataTypes.TEXT, "text1"),
+                field(ImmutableTextField.builder(), "author", DataTypes.TEXT, "text2"),
+                field(ImmutableTextField.builder(), "views", DataTypes.INTEGER, "integer1"),
+                ImmutableTextAreaField.builder().id("field-body").name("body").variable("body")
+                        .contentTypeId(CONTENT_TYPE_ID).dataType(DataTypes.LONG_TEXT)
+                        .dbColumn("text_area1").indexed(true).build(),
+                ImmutableDateTimeField.builder().id("field-postingDate").name("postingDate")
+                        .variable("postingDate").contentTypeId(CONTENT_TYPE_ID).dataType(DataTypes.DATE)
+                        .dbColumn("date1").indexed(true).build()));
+        when(BenchmarkAPILocator.contentTypeAPI.find(CONTENT_TYPE_ID)).thenReturn(contentType);
+
+        this.contentlet = new Contentlet();
+        this.contentlet.setIdentifier("benchmark-identifier");
+        this.contentlet.setInode("benchmark-inode");
+        this.contentlet.setContentTypeId(CONTENT_TYPE_ID);
+        this.contentlet.setLanguageId(1);
+        this.contentlet.setHost(Host.SYSTEM_HOST);
+        this.contentlet.setModDate(new Date());
+        this.contentlet.setModUser(BenchmarkAPILocator.systemUser.getUserId());
+        this.contentlet.setOwner(BenchmarkAPILocator.systemUser.getUserId());
+        this.contentlet.setStringProperty("title", "Measuring the mapping of a contentlet");
+        this.contentlet.setStringProperty("author", "Benchmark Author");
+        this.contentlet.setLongProperty("views", 1234L);
+        this.contentlet.setStringProperty("body", String.join(" ",
+                Collections.nCopies(200, "Lorem ipsum dolor sit amet")));
+        this.contentlet.setDateProperty("postingDate", new Date());
+        when(BenchmarkAPILocator.versionableAPI.isLive(this.contentlet)).thenReturn(true);
+        when(BenchmarkAPILocator.versionableAPI.isWorking(this.contentlet)).thenReturn(true);
+
+        final Identifier identifier = new Identifier();
+        identifier.setId(this.contentlet.getIdentifier());
+        identifier.setHostId(Host.SYSTEM_HOST);
+        identifier.setParentPath("/blog/");
+        identifier.setAssetName("measuring-the-mapping");
+        final IdentifierAPI identifierAPI = BenchmarkAPILocator.stub(IdentifierAPI.class);
+        when(identifierAPI.find(any(Contentlet.class))).thenReturn(identifier);
+
+        final ContentletVersionInfo versionInfo = new ContentletVersionInfo();
+        versionInfo.setIdentifier(identifier.getId());
+        versionInfo.setLang(1);
+        versionInfo.setVersionTs(new Date());
+        when(BenchmarkAPILocator.versionableAPI.getContentletVersionInfo(anyString(), anyLong()))
+                .thenReturn(Optional.of(versionInfo));
+        when(BenchmarkAPILocator.hostAPI.find(anyString(), any(User.class), anyBoolean()))
+                .thenReturn(BenchmarkAPILocator.systemHost);
+
+        final Folder folder = new Folder();
+        folder.setInode("blog-folder-inode");
+        folder.setIdentifier("blog-folder-id");
+        final FolderAPI folderAPI = BenchmarkAPILocator.stub(FolderAPI.class);
+        when(folderAPI.findFolderByPath(anyString(), anyString(), any(User.class), anyBoolean()))
+                .thenReturn(folder);
+
+        final PermissionAPI permissionAPI = BenchmarkAPILocator.stub(PermissionAPI.class);
+        when(permissionAPI.getPermissions(any(Permissionable.class), anyBoolean(), anyBoolean(), anyBoolean()))
+                .thenReturn(Arrays.asList(
+                        new Permission(identifier.getId(), BenchmarkAPILocator.adminRole.getId(),
+                                PermissionAPI.PERMISSION_PUBLISH),
+                        new Permission(identifier.getId(), BenchmarkAPILocator.ownerRole.getId(),
+                                PermissionAPI.PERMISSION_WRITE),
+                        new Permission(identifier.getId(), BenchmarkAPILocator.anonRole.getId(),
+                                PermissionAPI.PERMISSION_READ)));
+
+        final Relationship relationship = new Relationship();
+        relationship.setInode("relationship-inode");
+        relationship.setRelationTypeValue(RELATION_TYPE);
+        final RelationshipAPI relationshipAPI = BenchmarkAPILocator.stub(RelationshipAPI.class);
+        when(relationshipAPI.byTypeValue(RELATION_TYPE)).thenReturn(relationship);
+
+        final List<Map<String, Object>> tree = new ArrayList<>(this.relatedContents);
+        for (int i = 0; i < this.relatedContents; i++) {
+
+            final Map<String, Object> row = new HashMap<>();
+            row.put(ESMappingConstants.CHILD, "related-identifier-" + i);
+            row.put(ESMappingConstants.RELATION_TYPE, RELATION_TYPE);
+            tree.add(row);
+        }
+
+        final WorkflowAPI workflowAPI = BenchmarkAPILocator.stub(WorkflowAPI.class);
+        this.mappingAPI = new InMemoryTreeMappingAPI(tree, identifierAPI, folderAPI, permissionAPI,
+                relationshipAPI, workflowAPI);
+    }
+
+    private static Field field(final ImmutableTextField.Builder builder, final String variable,
+            final DataTypes dataType, final String dbColumn) {
+
+        return builder.id("field-" + variable).name(variable).variable(variable)
+                .contentTypeId(CONTENT_TYPE_ID).dataType(dataType).dbColumn(dbColumn)
+                .indexed(true).build();
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() throws Exception {
+        return this.mappingAPI.toMap(this.contentlet);
+    }
+
+    /**
+     * Reads the relationships from the given rows of the <code>tree</code> table instead of the db
+     */
+    private static class InMemoryTreeMappingAPI extends ESMappingAPIImpl {
+
+        private final List<Map<String, Object>> tree;
+        private final RelationshipAPI relationshipAPI;
+
+        InMemoryTreeMappingAPI(final List<Map<String, Object>> tree,
+                final IdentifierAPI identifierAPI,
+                final FolderAPI folderAPI,
+                final PermissionAPI permissionAPI,
+                final RelationshipAPI relationshipAPI,
+                final WorkflowAPI workflowAPI) {
+
+            super(BenchmarkAPILocator.userAPI, folderAPI, identifierAPI, BenchmarkAPILocator.versionableAPI,
+                    permissionAPI, BenchmarkAPILocator.stub(ContentletAPI.class),
+                    BenchmarkAPILocator.stub(FileMetadataAPI.class), BenchmarkAPILocator.hostAPI,
+                    BenchmarkAPILocator.stub(FieldAPI.class), BenchmarkAPILocator.stub(ESIndexAPI.class),
+                    relationshipAPI, BenchmarkAPILocator.stub(TagAPI.class),
+                    BenchmarkAPILocator.stub(CategoryAPI.class), BenchmarkAPILocator.roleAPI,
+                    () -> BenchmarkAPILocator.contentTypeAPI, () -> workflowAPI);
+            this.tree = tree;
+            this.relationshipAPI = relationshipAPI;
+        }
+
+        @Override
+        protected void loadRelationshipFields(final Contentlet contentlet,
+                final Map<String, Object> esMap, final StringWriter catchallWriter)
+                throws DotDataException {
+
+            for (final Map<String, Object> relatedEntry : this.tree) {
+
+                final String childId = relatedEntry.get(ESMappingConstants.CHILD).toString();
+                final String relType = relatedEntry.get(ESMappingConstants.RELATION_TYPE).toString();
+                final Relationship relationship = this.relationshipAPI.byTypeValue(relType);
+
+                if (relationship != null && InodeUtils.isSet(relationship.getInode())) {
+                    List.class.cast(esMap.computeIfAbsent(relType, k -> new ArrayList<>())).add(childId);
+                    catchallWriter.append(childId).append(' ');
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dotcms.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what the instrumentation adds to the hot paths: incrementing a {@link Counter} and recording a
+ * value on a {@link Histogram}, both shared by 8 threads as they are by the request threads. An
+ * {@link AtomicLong} increment is measured as well, as the baseline a contended counter would cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final Counter counter = new Counter();
+    private final AtomicLong atomicCounter = new AtomicLong();
+    private final Histogram histogram = new Histogram();
+
+    @Benchmark
+    public void counterIncrement() {
+
+        this.counter.inc();
+    }
+
+    @Benchmark
+    public long atomicLongIncrement() {
+
+        return this.atomicCounter.incrementAndGet();
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+
+        // durations in microseconds, from a fast cache hit to a slow page
+        this.histogram.record(ThreadLocalRandom.current().nextLong(1, 1_000_000));
+    }
+
+    @Benchmark
+    public void histogramRecordSince() {
+
+        this.histogram.recordSince(System.nanoTime());
+    }
+}
@@ -0,0 +1,117 @@
+package com.dotcms.rendering.velocity.util;
+
+import com.dotmarketing.business.BenchmarkAPILocator;
+import com.liferay.util.SystemProperties;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the merge of a template with the {@link VelocityUtil#getEngine()} engine, once parsing
+ * the code on each call (like {@link VelocityUtil#eval(String, org.apache.velocity.context.Context)})
+ * and once merging an already parsed template (like a template coming from the resource cache).
+ * <p>
+ * The engine uses the plain velocity resource cache instead of the dotCMS one and does not load the
+ * macro libraries, so it does not need the cache or the file system of a running instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VelocityMergeBenchmark {
+
+    private static final String TEMPLATE_NAME = "benchmark.vtl";
+
+    private static final String CODE =
+            "<h1>$page.title</h1>\n"
+            + "#set($count = 0)\n"
+            + "<ul>\n"
+            + "#foreach($item in $items)\n"
+            + "  #if($item.published)\n"
+            + "    #set($count = $count + 1)\n"
+            + "    <li class=\"item-$velocityCount\"><a href=\"$item.url\">$item.title</a> $item.tags.size()</li>\n"
+            + "  #else\n"
+            + "    <li class=\"draft\">$!item.title</li>\n"
+            + "  #end\n"
+            + "#end\n"
+            + "</ul>\n"
+            + "<p>$count of $items.size() published</p>\n";
+
+    @Param({"10", "200"})
+    private int items;
+
+    private VelocityEngine engine;
+    private VelocityContext context;
+    private Template template;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkAPILocator.install();
+        SystemProperties.set("resource.manager.cache.class",
+                "org.apache.velocity.runtime.resource.ResourceCacheImpl");
+        SystemProperties.set("velocimacro.library", "");
+        this.engine = VelocityUtil.getEngine();
+
+        final Map<String, Object> page = new HashMap<>();
+        page.put("title", "Benchmark page");
+
+        final List<Map<String, Object>> itemList = new ArrayList<>(this.items);
+        for (int i = 0; i < this.items; i++) {
+
+            final Map<String, Object> item = new HashMap<>();
+            item.put("title", "Item " + i);
+            item.put("url", "/blog/item-" + i);
+            item.put("published", i % 3 != 0);
+            item.put("tags", List.of("news", "tag-" + i));
+            itemList.add(item);
+        }
+
+        this.context = new VelocityContext();
+        this.context.put("page", page);
+        this.context.put("items", itemList);
+
+        final RuntimeInstance runtime = this.engine.getRuntimeServices();
+        this.template = new Template();
+        this.template.setName(TEMPLATE_NAME);
+        this.template.setData(runtime.parse(new StringReader(CODE), TEMPLATE_NAME));
+        this.template.initDocument();
+    }
+
+    @Benchmark
+    public String evaluate() {
+
+        final StringWriter writer = new StringWriter();
+        this.engine.evaluate(this.context, writer, TEMPLATE_NAME, CODE);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String mergeParsed() {
+
+        final StringWriter writer = new StringWriter();
+        this.template.merge(this.context, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.dotcms.vanityurl.business;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.when;
+
+import com.dotcms.vanityurl.cache.VanityUrlCache;
+import com.dotcms.vanityurl.model.CachedVanityUrl;
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.business.BenchmarkAPILocator;
+import com.dotmarketing.portlets.contentlet.business.ContentletAPI;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.languagesmanager.business.LanguageAPI;
+import com.dotmarketing.portlets.languagesmanager.model.Language;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link VanityUrlAPIImpl#resolveVanityUrl(String, Host, Language)} when the url is not
+ * on the direct mapping cache, so the vanity urls of the site are matched: by url, by pattern and
+ * with no match at all (which also goes through the vanity urls of the System Host).
+ * The vanity urls of each site come from an in memory {@link VanityUrlCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VanityUrlResolveBenchmark {
+
+    @Param({"100", "1000"})
+    private int vanities;
+
+    private VanityUrlAPIImpl vanityUrlAPI;
+    private Host site;
+    private Language language;
+    private String exactUrl;
+    private String patternUrl;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkAPILocator.install();
+
+        this.language = new Language(1);
+        this.site = new Host(new Contentlet());
+        this.site.setIdentifier("benchmark-site");
+        this.site.setInode("benchmark-site-inode");
+        this.site.setHostname("benchmark.dotcms.com");
+
+        // half of the vanity urls are plain urls, the other half are patterns
+        final List<CachedVanityUrl> siteMappings = new ArrayList<>(this.vanities);
+        for (int i = 0; i < this.vanities; i++) {
+
+            final String url = i % 2 == 0 ? "/promo-" + i : "/section-" + i + "/(.*)";
+            siteMappings.add(new CachedVanityUrl("vanity-" + i, url, this.language.getId(),
+                    this.site.getIdentifier(), "/forward-" + i, 200, i));
+        }
+        this.exactUrl   = "/promo-" + (this.vanities - 2);
+        this.patternUrl = "/section-" + (this.vanities - 1) + "/some/page";
+
+        // the direct mapping must be a miss (null) for the site mappings to be matched
+        final VanityUrlCache cache = BenchmarkAPILocator.stub(VanityUrlCache.class);
+        when(cache.getDirectMapping(anyString(), any(Host.class), any(Language.class))).thenReturn(null);
+        when(cache.getSiteMappings(same(this.site), any(Language.class))).thenReturn(siteMappings);
+        when(cache.getSiteMappings(same(BenchmarkAPILocator.systemHost), any(Language.class)))
+                .thenReturn(Collections.emptyList());
+
+        final LanguageAPI languageAPI = BenchmarkAPILocator.stub(LanguageAPI.class);
+        when(languageAPI.getDefaultLanguage()).thenReturn(this.language);
+
+        this.vanityUrlAPI = new VanityUrlAPIImpl(BenchmarkAPILocator.stub(ContentletAPI.class), languageAPI,
+                BenchmarkAPILocator.userAPI, cache);
+    }
+
+    @Benchmark
+    public Optional<CachedVanityUrl> resolveExact() {
+        return this.vanityUrlAPI.resolveVanityUrl(this.exactUrl, this.site, this.language);
+    }
+
+    @Benchmark
+    public Optional<CachedVanityUrl> resolvePattern() {
+        return this.vanityUrlAPI.resolveVanityUrl(this.patternUrl, this.site, this.language);
+    }
+
+    @Benchmark
+    public Optional<CachedVanityUrl> resolveNoMatch() {
+        return this.vanityUrlAPI.resolveVanityUrl("/not/a/vanity", this.site, this.language);
+    }
+}
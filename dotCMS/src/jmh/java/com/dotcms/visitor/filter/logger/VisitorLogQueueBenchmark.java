@@ -0,0 +1,131 @@
+package com.dotcms.visitor.filter.logger;
+
+import com.dotcms.metrics.MetricsRegistry;
+import com.dotcms.visitor.filter.logger.VisitorLogQueue.QueueFullPolicy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time the visitor logging adds to each request: building the entry only (off),
+ * serializing and writing it to a flushed file on the request thread as before (sync), or handing it
+ * to the {@link VisitorLogQueue} (async). It runs on 8 request threads and samples the time of each
+ * call, so the percentiles show what a burst of requests pays; at 2k requests per second each one
+ * has 4ms of a thread, to compare with the p99 of the sync mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+public class VisitorLogQueueBenchmark {
+
+    @Param({"off", "sync", "async"})
+    private String logging;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private File folder;
+    private Writer file;
+    private VisitorLogQueue queue;
+
+    @Setup
+    public void setup() throws IOException {
+
+        this.folder = Files.createTempDirectory("visitorlog").toFile();
+        this.file = Files.newBufferedWriter(new File(this.folder, "visitor-v3.log").toPath(), StandardCharsets.UTF_8);
+        this.queue = new VisitorLogQueue(4096, 256, QueueFullPolicy.DROP, 0, this::serialize, this::write,
+                MetricsRegistry.getInstance().counter("benchmark_visitor_log_dropped_total", "benchmark"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+
+        this.queue.shutdown(5000);
+        this.file.close();
+        FileUtils.deleteQuietly(this.folder);
+    }
+
+    @Benchmark
+    public Object log() {
+
+        final Map<String, Serializable> entry = entry();
+        switch (this.logging) {
+            case "sync":
+                this.write(this.serialize(entry));
+                return entry;
+            case "async":
+                return this.queue.offer(entry);
+            default:
+                return entry;
+        }
+    }
+
+    private Map<String, Serializable> entry() {
+
+        final Map<String, Serializable> entry = new LinkedHashMap<>();
+        entry.put("id", "a2a2d1e5-1d3c-4f4b-bc5b-6b0c3f0d6e11");
+        entry.put("time", System.currentTimeMillis());
+        entry.put("uri", "/blog/post/measuring-the-visitor-logger");
+        entry.put("host", "demo.dotcms.com");
+        entry.put("language", "en");
+        entry.put("status", 200);
+        entry.put("ip", "10.0.0.12");
+        entry.put("userAgent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko)");
+        entry.put("referer", "https://www.google.com/");
+        entry.put("persona", "wealthy-prospect");
+        entry.put("geo.country", "US");
+        entry.put("geo.city", "Miami");
+        entry.put("rulesFired", "[\"Set persona\", \"Redirect mobile\"]");
+        entry.put("processingTime", 42L);
+        return entry;
+    }
+
+    private String serialize(final Map<String, Serializable> entry) {
+        try {
+            return this.mapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes and flushes as the log appender does, serialized on the file as the appender is
+     */
+    private void write(final String message) {
+        synchronized (this.file) {
+            try {
+                this.file.write(message);
+                this.file.write(System.lineSeparator());
+                this.file.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
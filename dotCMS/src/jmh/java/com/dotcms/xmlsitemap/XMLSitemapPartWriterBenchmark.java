@@ -0,0 +1,61 @@
+package com.dotcms.xmlsitemap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing the sitemap of a site with 500,000 urls through the {@link XMLSitemapPartWriter},
+ * the way the {@link XMLSitemapJob} writes the pages of the scroll. It runs on a 64MB heap, so it
+ * fails if the urls are held in memory; run it with <code>-PjmhArgs="-prof gc"</code> to see the
+ * allocation and the gc time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx64m"})
+public class XMLSitemapPartWriterBenchmark {
+
+    @Param({"500000"})
+    private int urls;
+
+    private File folder;
+
+    @Setup
+    public void setup() throws IOException {
+        this.folder = Files.createTempDirectory("xmlsitemap").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteQuietly(this.folder);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+
+        try (XMLSitemapPartWriter writer = new XMLSitemapPartWriter(this.folder, "XMLSitemapGenerated",
+                File::delete)) {
+            for (int i = 0; i < this.urls; i++) {
+                writer.write("http://demo.dotcms.com/blog/post/" + i + "/measuring-the-sitemap-job", "2022-01-31");
+            }
+            return writer.getParts();
+        }
+    }
+}
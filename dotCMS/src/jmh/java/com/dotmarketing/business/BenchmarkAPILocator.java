@@ -0,0 +1,126 @@
+package com.dotmarketing.business;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.dotcms.company.CompanyAPI;
+import com.dotcms.contenttype.business.ContentTypeAPI;
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.portlets.contentlet.business.HostAPI;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.util.Config;
+import com.liferay.portal.model.Company;
+import com.liferay.portal.model.User;
+import java.util.TimeZone;
+
+/**
+ * {@link APILocator} for the JMH benchmarks. The APIs the benchmarks go through are in memory
+ * stubs, so they run without a database, an index or a cache cluster. {@link #install()} must be
+ * called on the setup of each benchmark.
+ * <p>
+ * The stubs are created as stub only mocks, so they do not record the invocations made on the
+ * measured loops.
+ */
+public class BenchmarkAPILocator extends APILocator {
+
+    public static final RoleAPI        roleAPI        = stub(RoleAPI.class);
+    public static final UserAPI        userAPI        = stub(UserAPI.class);
+    public static final LayoutAPI      layoutAPI      = stub(LayoutAPI.class);
+    public static final HostAPI        hostAPI        = stub(HostAPI.class);
+    public static final VersionableAPI versionableAPI = stub(VersionableAPI.class);
+    public static final CompanyAPI     companyAPI     = stub(CompanyAPI.class);
+    public static final ContentTypeAPI contentTypeAPI = stub(ContentTypeAPI.class);
+
+    public static final User systemUser    = new User(UserAPI.SYSTEM_USER_ID);
+    public static final User anonymousUser = new User(UserAPI.CMS_ANON_USER_ID);
+    public static final Host systemHost    = new Host(new Contentlet());
+
+    public static final Role adminRole    = role("admin-role", Role.CMS_ADMINISTRATOR_ROLE);
+    public static final Role anonRole     = role("anonymous-role", Role.CMS_ANONYMOUS_ROLE);
+    public static final Role loggedInRole = role("logged-in-role", Role.DOTCMS_FRONT_END_USER);
+    public static final Role ownerRole    = role("owner-role", Role.CMS_OWNER_ROLE);
+    public static final Role backendRole  = role("backend-role", Role.DOTCMS_BACK_END_USER);
+
+    private static boolean installed = false;
+
+    public static <T> T stub(final Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    private static Role role(final String id, final String key) {
+
+        final Role role = new Role();
+        role.setId(id);
+        role.setRoleKey(key);
+        role.setName(key);
+        return role;
+    }
+
+    /**
+     * Makes the {@link APILocator} return the stubs, it is safe to call it more than once
+     */
+    public static synchronized void install() throws Exception {
+
+        if (installed) {
+            return;
+        }
+
+        Config.initializeConfig();
+        Config.setProperty("API_LOCATOR_IMPLEMENTATION", BenchmarkAPILocator.class.getName());
+        Config.setProperty("SYSTEM_EXIT_ON_STARTUP_FAILURE", false);
+        APILocator.destroyAndForceInit();
+
+        final Company company = stub(Company.class);
+        when(company.getTimeZone()).thenReturn(TimeZone.getDefault());
+        when(companyAPI.getDefaultCompany()).thenReturn(company);
+
+        systemHost.setIdentifier(Host.SYSTEM_HOST);
+        systemHost.setInode(Host.SYSTEM_HOST);
+        systemHost.setHostname("System Host");
+        when(hostAPI.findSystemHost()).thenReturn(systemHost);
+
+        when(userAPI.getSystemUser()).thenReturn(systemUser);
+        when(userAPI.getAnonymousUser()).thenReturn(anonymousUser);
+
+        when(roleAPI.loadCMSAdminRole()).thenReturn(adminRole);
+        when(roleAPI.loadCMSAnonymousRole()).thenReturn(anonRole);
+        when(roleAPI.loadLoggedinSiteRole()).thenReturn(loggedInRole);
+        when(roleAPI.loadCMSOwnerRole()).thenReturn(ownerRole);
+        when(roleAPI.loadBackEndUserRole()).thenReturn(backendRole);
+        when(roleAPI.loadRoleByKey("anonymous")).thenReturn(anonRole);
+
+        installed = true;
+    }
+
+    @Override
+    protected Object createService(final APIIndex index) {
+
+        switch (index) {
+            case ROLE_API:
+                return roleAPI;
+            case USER_API:
+                return userAPI;
+            case LAYOUT_API:
+                return layoutAPI;
+            case HOST_API:
+                return hostAPI;
+            case VERSIONABLE_API:
+                return versionableAPI;
+            case COMPANY_API:
+                return companyAPI;
+            default:
+                return super.createService(index);
+        }
+    }
+
+    @Override
+    protected ContentTypeAPI getContentTypeAPIImpl(final User user, final boolean respectFrontendRoles) {
+        return contentTypeAPI;
+    }
+
+    @Override
+    protected CompanyAPI getCompanyAPIImpl() {
+        return companyAPI;
+    }
+}
@@ -0,0 +1,105 @@
+package com.dotmarketing.business;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.dotcms.api.system.event.SystemEventsAPI;
+import com.dotmarketing.beans.Permission;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.liferay.portal.model.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PermissionBitAPIImpl#doesUserHavePermission(Permissionable, int, User, boolean)}
+ * and {@link PermissionBitAPIImpl#filterCollection(List, int, boolean, User)} for a backend user
+ * that is not an admin. The permissions come from an in memory {@link PermissionFactory}, half of
+ * the folders can be read by one of the roles of the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionBitAPIImplBenchmark {
+
+    @Param({"100", "1000"})
+    private int folders;
+
+    private PermissionBitAPIImpl permissionAPI;
+    private User user;
+    private Folder readableFolder;
+    private List<Folder> folderList;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkAPILocator.install();
+
+        final Role editorRole = new Role();
+        editorRole.setId("editor-role");
+        final Role reviewerRole = new Role();
+        reviewerRole.setId("reviewer-role");
+
+        this.user = new User("benchmark-user");
+        when(BenchmarkAPILocator.roleAPI.loadRolesForUser("benchmark-user"))
+                .thenReturn(Arrays.asList(editorRole, reviewerRole, BenchmarkAPILocator.backendRole));
+        when(BenchmarkAPILocator.roleAPI.doesUserHaveRole(any(User.class), eq(BenchmarkAPILocator.backendRole)))
+                .thenReturn(true);
+
+        final Map<String, List<Permission>> permissions = new HashMap<>();
+        this.folderList = new ArrayList<>(this.folders);
+        for (int i = 0; i < this.folders; i++) {
+
+            final Folder folder = new Folder();
+            folder.setInode("folder-inode-" + i);
+            folder.setIdentifier("folder-id-" + i);
+            folder.setOwner("someone-else");
+            final String roleId = i % 2 == 0 ? editorRole.getId() : "other-role-" + i;
+            permissions.put(folder.getPermissionId(), Arrays.asList(
+                    new Permission(folder.getPermissionId(), BenchmarkAPILocator.adminRole.getId(),
+                            PermissionAPI.PERMISSION_READ | PermissionAPI.PERMISSION_EDIT, true),
+                    new Permission(folder.getPermissionId(), roleId, PermissionAPI.PERMISSION_READ, true)));
+            this.folderList.add(folder);
+        }
+
+        // a single stub answering from the map, one stub per folder would make each lookup linear
+        final PermissionFactory permissionFactory = BenchmarkAPILocator.stub(PermissionFactory.class);
+        when(permissionFactory.getPermissions(any(Permissionable.class), anyBoolean())).thenAnswer(
+                invocation -> permissions.get(invocation.<Permissionable>getArgument(0).getPermissionId()));
+
+        this.readableFolder = this.folderList.get(0);
+        this.permissionAPI = new PermissionBitAPIImpl(permissionFactory,
+                BenchmarkAPILocator.stub(SystemEventsAPI.class));
+    }
+
+    @Benchmark
+    public boolean doesUserHavePermission() throws Exception {
+        return this.permissionAPI.doesUserHavePermission(this.readableFolder, PermissionAPI.PERMISSION_READ,
+                this.user, false);
+    }
+
+    @Benchmark
+    public List<Folder> filterCollection() throws Exception {
+        return this.permissionAPI.filterCollection(this.folderList, PermissionAPI.PERMISSION_READ, false,
+                this.user);
+    }
+}
@@ -0,0 +1,137 @@
+package com.dotmarketing.business.cache.provider;
+
+import com.dotmarketing.business.BenchmarkAPILocator;
+import com.dotmarketing.business.cache.provider.caffine.CaffineCache;
+import com.dotmarketing.business.cache.provider.guava.GuavaCache;
+import com.dotmarketing.business.cache.provider.h22.H22Cache;
+import com.dotmarketing.business.cache.provider.redis.RedisProvider;
+import com.dotmarketing.util.Config;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.embedded.RedisServer;
+
+/**
+ * Measures the get (hits and misses) and put of each {@link CacheProvider}. The H22 cache writes to
+ * a temporary folder and the Redis provider talks to an embedded Redis server started on a free
+ * port, so no external service is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CacheProviderBenchmark {
+
+    private static final String GROUP = "benchmarkcache";
+    private static final int KEYS = 10_000;
+
+    @Param({"caffeine", "guava", "h22", "redis"})
+    private String provider;
+
+    private CacheProvider cache;
+    private RedisServer redisServer;
+    private String[] keys;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkAPILocator.install();
+        Config.setProperty("cache." + GROUP + ".size", KEYS * 2);
+        // puts must be measured on the calling thread
+        Config.setProperty("cache_h22_async", false);
+
+        this.cache = this.createProvider();
+        this.cache.init();
+
+        this.keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            this.keys[i] = "key-" + i;
+            this.cache.put(GROUP, this.keys[i], this.value(i));
+        }
+    }
+
+    private CacheProvider createProvider() throws IOException {
+
+        switch (this.provider) {
+            case "caffeine":
+                return new CaffineCache();
+            case "guava":
+                return new GuavaCache();
+            case "h22":
+                return new H22Cache(Files.createTempDirectory("h22benchmark").toString());
+            case "redis":
+                final int port = freePort();
+                this.redisServer = new RedisServer(port);
+                this.redisServer.start();
+                Config.setProperty("redis.server.address", "127.0.0.1");
+                Config.setProperty("redis.server.port", port);
+                return new RedisProvider();
+            default:
+                throw new IllegalArgumentException("Unknown cache provider: " + this.provider);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A small map, like most of the cached objects, so the serializing providers do real work
+     */
+    private HashMap<String, Object> value(final int index) {
+
+        final HashMap<String, Object> value = new HashMap<>();
+        value.put("identifier", "identifier-" + index);
+        value.put("title", "Benchmark value " + index);
+        value.put("languageId", 1L);
+        value.put("modDate", System.currentTimeMillis());
+        return value;
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        this.cache.removeAll();
+        this.cache.shutdown();
+        if (null != this.redisServer) {
+            this.redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return this.cache.get(GROUP, this.keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return this.cache.get(GROUP, "missing-" + ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public void put() {
+        final int index = ThreadLocalRandom.current().nextInt(KEYS);
+        this.cache.put(GROUP, this.keys[index], this.value(index));
+    }
+}
@@ -0,0 +1,141 @@
+package com.dotmarketing.servlets;
+
+import com.dotmarketing.business.BenchmarkAPILocator;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the body copy of the {@link BinaryExporterServlet} for a 100KB js file and a 20MB video:
+ * the former 4KB stream copy against the positional {@link FileChannel} copy, a 1MB range of the
+ * video, and serving the js gzipped on each request against serving its precompressed version.
+ * Run it with <code>-PjmhArgs="-prof gc"</code> to see the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssetDeliveryBenchmark {
+
+    private static final int RANGE_LENGTH = 1024 * 1024;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private Path folder;
+    private File script;
+    private File video;
+
+    @Setup
+    public void setup() throws IOException {
+
+        BenchmarkAPILocator.install();
+        this.folder = Files.createTempDirectory("assetdelivery");
+
+        final StringBuilder js = new StringBuilder();
+        for (int i = 0; js.length() < 100 * 1024; i++) {
+            js.append("function handler").append(i).append("(event) { return dotcms.render(event, ")
+                    .append(i).append("); }\n");
+        }
+        this.script = Files.writeString(this.folder.resolve("app.js"), js).toFile();
+
+        final byte[] videoBytes = new byte[20 * 1024 * 1024];
+        new Random(42).nextBytes(videoBytes);
+        this.video = Files.write(this.folder.resolve("video.mp4"), videoBytes).toFile();
+
+        // builds the gzip version, so the precompressed benchmark measures the lookup and the copy
+        PrecompressedAssetUtil.getVariant("gzip", this.script, "application/javascript",
+                this.folder.resolve("precompressed")).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(this.folder)) {
+            paths.sorted((first, second) -> second.compareTo(first)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * The copy used by the servlet before, a 4KB heap buffer
+     */
+    private void streamCopy(final File file) throws IOException {
+
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[4096];
+            int count;
+            while ((count = is.read(buffer)) > 0) {
+                this.out.write(buffer, 0, count);
+            }
+        }
+    }
+
+    private void channelCopy(final File file, final long start, final long length) throws IOException {
+
+        try (FileChannel input = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            SpeedyAssetServletUtil.copy(input, this.out, start, length);
+        }
+    }
+
+    @Benchmark
+    public void script_streamCopy() throws IOException {
+        this.streamCopy(this.script);
+    }
+
+    @Benchmark
+    public void script_channelCopy() throws IOException {
+        this.channelCopy(this.script, 0, this.script.length());
+    }
+
+    @Benchmark
+    public void script_gzipOnEachRequest() throws IOException {
+
+        try (OutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            Files.copy(this.script.toPath(), gzip);
+        }
+    }
+
+    @Benchmark
+    public void script_precompressed() throws IOException {
+
+        final File variant = PrecompressedAssetUtil.getVariant("gzip", this.script, "application/javascript",
+                this.folder.resolve("precompressed")).orElseThrow();
+        this.channelCopy(variant, 0, variant.length());
+    }
+
+    @Benchmark
+    public void video_streamCopy() throws IOException {
+        this.streamCopy(this.video);
+    }
+
+    @Benchmark
+    public void video_channelCopy() throws IOException {
+        this.channelCopy(this.video, 0, this.video.length());
+    }
+
+    @Benchmark
+    public void video_rangeChannelCopy() throws IOException {
+
+        final long start = ThreadLocalRandom.current().nextLong(this.video.length() - RANGE_LENGTH);
+        this.channelCopy(this.video, start, RANGE_LENGTH);
+    }
+}
@@ -24,6 +24,11 @@ public class CloseDBIfOpenedMethodInterceptor implements MethodInterceptor<Objec
         final CloseDBIfOpened closeDB =
                 getMethodAnnotation(delegate.getMethod(), CloseDBIfOpened.class);
         Object methodReturn = null;
+        final boolean readOnly = isNewConnection && null != closeDB && closeDB.connection() && closeDB.readOnly();
+
+        if (readOnly) {
+            DbConnectionFactory.startReadOnly();
+        }
 
         try {
             methodReturn = delegate.proceed();
@@ -34,6 +39,10 @@ public class CloseDBIfOpenedMethodInterceptor implements MethodInterceptor<Objec
 
                 DbConnectionFactory.closeSilently();
             }
+
+            if (readOnly) {
+                DbConnectionFactory.endReadOnly();
+            }
         }
 
         return methodReturn;
@@ -2,6 +2,7 @@ package com.dotcms.aspects.interceptors;
 
 import com.dotcms.aspects.DelegateMethodInvocation;
 import com.dotcms.aspects.MethodInterceptor;
+import com.dotcms.metrics.MethodTimings;
 import com.dotcms.repackage.com.google.common.annotations.VisibleForTesting;
 import com.dotcms.util.LogTime;
 import com.dotcms.util.LogTimeUtil;
@@ -34,11 +35,18 @@ public class LogTimeMethodInterceptor implements MethodInterceptor<Object> {
         final Method method  = delegate.getMethod();
         final LogTime annotation = method.getAnnotation(LogTime.class);
 
-        return  this.logTimeUtil.logTime(
-                delegate::proceed,
-                () -> "Call for class: " +
-                            ((null != target)? target.getClass().getName(): "Null" ) + "#" +
-                            ((null != method)?method.getName():"Null"),
-                            annotation.loggingLevel()) ;
+        final long start = System.nanoTime();
+        try {
+            return this.logTimeUtil.logTime(
+                    delegate::proceed,
+                    () -> "Call for class: " +
+                            ((null != target) ? target.getClass().getName() : "Null") + "#" +
+                            ((null != method) ? method.getName() : "Null"),
+                    annotation.loggingLevel());
+        } finally {
+            if (null != method) {
+                MethodTimings.getInstance().recordSilently(method.getDeclaringClass(), method.getName(), start);
+            }
+        }
     } // invoke.
 } // E:O:F:LogTimeMethodInterceptor.
\ No newline at end of file
@@ -17,4 +17,11 @@ public @interface CloseDBIfOpened {
      */
     boolean connection() default true;
 
+    /**
+     * Set to true if the method only reads, so the connection it opens goes to the read replica when there is one.
+     * Ignored if the method runs on a connection already opened
+     * @return boolean
+     */
+    boolean readOnly() default false;
+
 } // E:O:F:LogTime
\ No newline at end of file
@@ -21,7 +21,13 @@ public class CloseDBIfOpenedAdvice {
 
     @Advice.OnMethodEnter(inline = false)
     public static boolean enter(final @Advice.Origin Method method) {
-        return !DbConnectionFactory.connectionExists();
+
+        final boolean isNewConnection = !DbConnectionFactory.connectionExists();
+        if (isNewConnection && isReadOnly(getMethodAnnotation(method, CloseDBIfOpened.class))) {
+
+            DbConnectionFactory.startReadOnly();
+        }
+        return isNewConnection;
     }
 
 
@@ -38,5 +44,14 @@ public class CloseDBIfOpenedAdvice {
 
             DbConnectionFactory.closeSilently();
         }
+
+        if (isNewConnection && isReadOnly(closeDB)) {
+
+            DbConnectionFactory.endReadOnly();
+        }
+    }
+
+    public static boolean isReadOnly(final CloseDBIfOpened closeDB) {
+        return null != closeDB && closeDB.connection() && closeDB.readOnly();
     }
 }
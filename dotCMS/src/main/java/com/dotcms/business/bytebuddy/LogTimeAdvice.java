@@ -1,61 +1,24 @@
 package com.dotcms.business.bytebuddy;
 
-import com.dotcms.business.CloseDBIfOpened;
+import com.dotcms.metrics.MethodTimings;
 import com.dotcms.util.LogTime;
-import com.dotmarketing.util.Logger;
 import net.bytebuddy.asm.Advice;
-import org.apache.commons.lang.time.StopWatch;
-import org.apache.logging.log4j.Level;
 
-import java.lang.reflect.Method;
-import java.util.function.Supplier;
 /**
- * This Advice handles the @{@link LogTime} with ByteBuddy
+ * This Advice handles the @{@link LogTime} with ByteBuddy, the duration of each call is logged and
+ * recorded on {@link MethodTimings}
  * @author spbolton
  */
 public class LogTimeAdvice {
 
     @Advice.OnMethodEnter
-    static TimerInfo enter(final @Advice.Origin Method method) {
-        return new TimerInfo(method,method.getAnnotation(LogTime.class).loggingLevel());
+    static long enter() {
+        return System.nanoTime();
     }
 
-    @Advice.OnMethodExit
-    static void exit(@Advice.Enter TimerInfo timerInfo) {
-        if (timerInfo!=null)
-        {
-            timerInfo.stop();
-        }
-    }
-
-    public static class TimerInfo {
-        private StopWatch stopWatch;
-        private String loggingLevel;
-        private Supplier<String> messageSupplier;
-        private Class<?> clazz;
-
-        public TimerInfo(final Method method, final String loggingLevel) {
-            clazz = method.getDeclaringClass();
-            messageSupplier = () -> "Call for class: " +
-                    clazz.getName() + "#" +
-                    method.getName();
-
-            stopWatch = new StopWatch();
-            stopWatch.start();
-            this.loggingLevel = loggingLevel;
-        }
-
-        public void stop() {
-            stopWatch.stop();
-            if (Level.INFO.toString().equals(loggingLevel)) {
-                Logger.info(clazz, messageSupplier.get() +
-                        ", duration:" +
-                        stopWatch.getTime() + " millis");
-            } else {
-                Logger.debug(clazz, messageSupplier.get() +
-                        ", duration:" +
-                        stopWatch.getTime() + " millis");
-            }
-        }
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    static void exit(final @Advice.Origin Class<?> clazz, final @Advice.Origin("#m") String methodName,
+            final @Advice.Enter long startNanos) {
+        MethodTimings.getInstance().record(clazz, methodName, startNanos);
     }
 }
@@ -8,7 +8,10 @@ import com.dotmarketing.business.cache.provider.CacheStats;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UUIDUtil;
 import com.dotmarketing.util.UtilMethods;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.liferay.util.StringPool;
@@ -16,11 +19,13 @@ import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.vavr.Lazy;
 import io.vavr.control.Try;
+import org.apache.commons.lang3.SerializationUtils;
 
 import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -29,7 +34,11 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +57,13 @@ import java.util.stream.Collectors;
  * 4) Objects that implements {@link DotCloneable}, the cache will returns a Clone of the object stored on the cache instead of the actual copy on the cache
  * this will helps
  *
+ * 5) Optionally (REDIS_NEAR_CACHE_ENABLED), hot groups (REDIS_NEAR_CACHE_GROUPS) are kept in a bounded local near-cache
+ * so repeated gets do not need a round trip to redis. Every remove, group flush, flush all and overwrite is published
+ * on the REDIS_NEAR_CACHE_CHANNEL pub/sub channel, so the near-cache of the other nodes drops the same entries. A put
+ * that fills a miss of this node is not published, since no other node can hold the key. The near-cache keeps a copy
+ * of what is put, and a fill is dropped if the key was invalidated after the miss, so a value loaded before an
+ * invalidation is not cached again.
+ *
  */
 public class RedisCache extends CacheProvider {
 
@@ -66,11 +82,48 @@ public class RedisCache extends CacheProvider {
     final static AtomicReference<String> prefixKey = new AtomicReference(PREFIX_UNSET);
     private final Map<String, Long> groupTTLMap    = new ConcurrentHashMap<>();
 
+    private static final String NEAR_CACHE_ALL_GROUPS = "*";
+    private static final String NEAR_CACHE_MSG_DELIMITER = "|";
+    private static final int NEAR_CACHE_STRIPES = 1024;
+    private final String nearCacheChannel = Config.getStringProperty("REDIS_NEAR_CACHE_CHANNEL", "dotcms_near_cache_invalidation");
+    private final String nearCacheOrigin  = UUIDUtil.uuid();
+    private final Set<String> nearCacheGroups;
+    private final Cache<String, Object> nearCache;
+    private final LongAdder nearCacheHits   = new LongAdder();
+    private final LongAdder nearCacheMisses = new LongAdder();
+    /*
+     * Invalidation counters: one for the group and full flushes, and one per stripe of keys for the single key
+     * removes. A fill is only cached if neither changed since its miss
+     */
+    private final AtomicLong nearCacheGeneration = new AtomicLong();
+    private final AtomicLongArray nearCacheKeyGenerations = new AtomicLongArray(NEAR_CACHE_STRIPES);
+    /*
+     * Stamp of the keys this node missed and is expected to fill
+     */
+    private final Cache<String, Long> pendingNearCacheFills;
+    private volatile String nearCacheSubscriberId = null;
+
     public RedisCache(final Lazy<RedisClient<String,Object>> client) {
 
+        this(client, Config.getBooleanProperty("REDIS_NEAR_CACHE_ENABLED", false),
+                Config.getIntProperty("REDIS_NEAR_CACHE_SIZE", 10000));
+    }
+
+    @VisibleForTesting
+    RedisCache(final Lazy<RedisClient<String,Object>> client, final boolean nearCacheEnabled, final int nearCacheSize) {
+
         this.client           = client;
         this.REDIS_GROUP_KEY  =  "REDIS_GROUP_KEY";
         this.REDIS_PREFIX_KEY = "REDIS_PREFIX_KEY";
+        this.nearCache        = nearCacheEnabled ?
+                Caffeine.newBuilder().maximumSize(nearCacheSize)
+                        .expireAfterWrite(Config.getLongProperty("REDIS_NEAR_CACHE_TTL_SECONDS", 300), TimeUnit.SECONDS)
+                        .build() : null;
+        this.pendingNearCacheFills = nearCacheEnabled ?
+                Caffeine.newBuilder().maximumSize(nearCacheSize).expireAfterWrite(1, TimeUnit.MINUTES).build() : null;
+        this.nearCacheGroups  = Arrays.stream(Config.getStringArrayProperty("REDIS_NEAR_CACHE_GROUPS",
+                new String[]{"identifiercache", "hostcache", "contenttypecache"}))
+                .map(String::trim).map(String::toLowerCase).collect(Collectors.toSet());
     }
 
     public RedisCache() {
@@ -210,9 +263,130 @@ public class RedisCache extends CacheProvider {
         Logger.info(this.getClass(), "*** Initializing [" + getName() + "].");
         Logger.info(this.getClass(), "          prefix [" + this.loadPrefix() + "]");
         Logger.info(this.getClass(), "          inited [" + this.isInitialized() + "]");
+        if (this.isNearCacheEnabled()) {
+
+            this.nearCacheSubscriberId = this.getClient().subscribe(this::onNearCacheInvalidation, this.nearCacheChannel);
+            Logger.info(this.getClass(), "      near-cache [" + this.nearCacheGroups + "]");
+        }
         Logger.info(this.getClass(), "*** Initialized  [" + getName() + "].");
     }
 
+    @VisibleForTesting
+    boolean isNearCacheEnabled() {
+
+        return null != this.nearCache;
+    }
+
+    private boolean isNearCacheGroup(final String group) {
+
+        return this.isNearCacheEnabled() && null != group &&
+                (this.nearCacheGroups.contains(NEAR_CACHE_ALL_GROUPS) || this.nearCacheGroups.contains(group.toLowerCase()));
+    }
+
+    /**
+     * Drops the given cache key (or every key starting with it, when it ends with a star) from the local
+     * near-cache and tells the rest of the cluster to do the same.
+     * @param cacheKey {@link String}
+     */
+    private void invalidateNearCache(final String cacheKey) {
+
+        if (this.isNearCacheEnabled()) {
+
+            this.invalidateNearCacheLocalOnly(cacheKey);
+            this.publishNearCacheInvalidation(cacheKey);
+        }
+    }
+
+    /**
+     * Tells the rest of the cluster to drop the given cache key from their near-cache, the local one is untouched
+     * @param cacheKey {@link String}
+     */
+    private void publishNearCacheInvalidation(final String cacheKey) {
+
+        this.getClient().publishMessage(this.nearCacheOrigin + NEAR_CACHE_MSG_DELIMITER + cacheKey, this.nearCacheChannel);
+    }
+
+    private void invalidateNearCacheLocalOnly(final String cacheKey) {
+
+        if (cacheKey.endsWith(StringPool.STAR)) {
+
+            this.nearCacheGeneration.incrementAndGet();
+            final String prefix = cacheKey.substring(0, cacheKey.length() - 1);
+            if (prefix.isEmpty()) {
+                this.nearCache.invalidateAll();
+            } else {
+                this.nearCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            }
+        } else {
+
+            this.nearCacheKeyGenerations.incrementAndGet(this.nearCacheStripe(cacheKey));
+            this.nearCache.invalidate(cacheKey);
+        }
+    }
+
+    private int nearCacheStripe(final String cacheKey) {
+
+        return Math.floorMod(cacheKey.hashCode(), NEAR_CACHE_STRIPES);
+    }
+
+    /**
+     * Both invalidation counters only grow, so their sum changes as soon as either of them does
+     */
+    private long nearCacheStamp(final String cacheKey) {
+
+        return this.nearCacheGeneration.get() + this.nearCacheKeyGenerations.get(this.nearCacheStripe(cacheKey));
+    }
+
+    /**
+     * Caches the value on the near-cache unless the key was invalidated since the stamp was taken. The check runs
+     * inside the entry's compute, so an invalidation either lands before and rejects the value, or after and
+     * removes it
+     */
+    private void fillNearCache(final String cacheKey, final Object value, final long stamp) {
+
+        this.nearCache.asMap().compute(cacheKey, (key, current) ->
+                stamp == this.nearCacheStamp(cacheKey) ? value : current);
+    }
+
+    /**
+     * Copy of the value for the near-cache, so the caller changing its object afterwards does not change the
+     * cached one
+     * @return Object copy, null if it can not be copied
+     */
+    private Object nearCacheCopy(final Object content) {
+
+        return content instanceof DotCloneable ?
+                Try.of(() -> ((DotCloneable) content).clone()).getOrNull() :
+                Try.of(() -> (Object) SerializationUtils.clone((Serializable) content)).getOrNull();
+    }
+
+    /**
+     * Handles the invalidations published by other nodes, the ones sent by this node are ignored since they were
+     * already applied locally.
+     * @param message {@link Object} origin|cacheKey
+     */
+    @VisibleForTesting
+    void onNearCacheInvalidation(final Object message) {
+
+        final String messageString = String.valueOf(message);
+        final int delimiterIndex   = messageString.indexOf(NEAR_CACHE_MSG_DELIMITER);
+        if (delimiterIndex > 0 && this.isNearCacheEnabled() &&
+                !this.nearCacheOrigin.equals(messageString.substring(0, delimiterIndex))) {
+
+            this.invalidateNearCacheLocalOnly(messageString.substring(delimiterIndex + 1));
+        }
+    }
+
+    /**
+     * Number of gets answered by the near-cache, each one is a round trip to redis saved
+     * @return long
+     */
+    @VisibleForTesting
+    long getNearCacheHits() {
+
+        return this.nearCacheHits.sum();
+    }
+
     @Override
     public boolean isInitialized()  {
 
@@ -234,6 +408,12 @@ public class RedisCache extends CacheProvider {
                 Logger.debug(this, () -> "Redis, putting group: " + group + "key" + key);
                 final long ttl = this.getTTL(group);
                 final String cacheKey = this.cacheKey(group, key);
+                if (this.isNearCacheGroup(group) && !this.putOnNearCache(cacheKey, content)) {
+
+                    Logger.debug(this, () -> "Redis, the key was invalidated since it was missed, skipping the put of group: "
+                            + group + "key: " + key);
+                    return;
+                }
                 final Future<String> future = this.getClient().setAsync(cacheKey, content, ttl);
                 this.getClient().addAsyncMembers(REDIS_GROUP_KEY, group);
                 if (Logger.isDebugEnabled(this.getClass())) {
@@ -258,6 +438,38 @@ public class RedisCache extends CacheProvider {
         }
     }
 
+    /**
+     * Puts a copy of the content on the near-cache. A put that fills a miss of this node is only cached if the key
+     * was not invalidated since the miss, and it is not published. Any other put overwrites the key, so it bumps
+     * the key's counter (a fill in flight of the previous value is then dropped) and tells the other nodes to drop it
+     * @return false if the put fills a miss of a key invalidated since then, and must be skipped
+     */
+    private boolean putOnNearCache(final String cacheKey, final Object content) {
+
+        final Long missStamp = this.pendingNearCacheFills.asMap().remove(cacheKey);
+        final Object copy    = this.nearCacheCopy(content);
+        if (null != missStamp) {
+
+            if (missStamp != this.nearCacheStamp(cacheKey)) {
+                return false;
+            }
+            if (null != copy) {
+                this.fillNearCache(cacheKey, copy, missStamp);
+            }
+            return true;
+        }
+
+        this.nearCacheKeyGenerations.incrementAndGet(this.nearCacheStripe(cacheKey));
+        if (null != copy) {
+            this.nearCache.put(cacheKey, copy);
+        } else {
+            this.nearCache.invalidate(cacheKey);
+        }
+        // the other nodes may hold the previous value of the key on their near-cache
+        this.publishNearCacheInvalidation(cacheKey);
+        return true;
+    }
+
     private long getTTL (final String group) {
 
         // try to figured out if any time out by group, otherwise uses the default ttl
@@ -280,6 +492,29 @@ public class RedisCache extends CacheProvider {
             final String cacheKey = this.cacheKey(group, key);
             try {
 
+                if (this.isNearCacheGroup(group)) {
+
+                    final Object nearObject = this.nearCache.getIfPresent(cacheKey);
+                    if (null != nearObject) {
+
+                        this.nearCacheHits.increment();
+                        return this.extractObject(nearObject);
+                    }
+
+                    this.nearCacheMisses.increment();
+                    final long stamp    = this.nearCacheStamp(cacheKey);
+                    final Object object = this.getClient().get(cacheKey);
+                    if (null != object) {
+
+                        this.fillNearCache(cacheKey, object, stamp);
+                    } else {
+
+                        // the caller is expected to load the value and put it
+                        this.pendingNearCacheFills.put(cacheKey, stamp);
+                    }
+                    return this.extractObject(object);
+                }
+
                 return this.extractObject(this.getClient().get(cacheKey));
             } catch (CacheTimeoutException e) {
 
@@ -322,6 +557,10 @@ public class RedisCache extends CacheProvider {
 
         final String cacheKey = this.cacheKey(group, key);
         this.removeKeys(cacheKey);
+        if (this.isNearCacheGroup(group)) {
+
+            this.invalidateNearCache(cacheKey);
+        }
     }
 
     @Override
@@ -330,6 +569,10 @@ public class RedisCache extends CacheProvider {
         if (!UtilMethods.isEmpty(group)) {
 
             final String prefix = cacheKey(group) + StringPool.STAR;
+            if (this.isNearCacheGroup(group)) {
+
+                this.invalidateNearCache(prefix);
+            }
             // Getting all the keys for the given groups
             DotConcurrentFactory.getInstance().getSingleSubmitter
                     (CacheWiper.class.getSimpleName()).submit(new CacheWiper(prefix));
@@ -341,6 +584,7 @@ public class RedisCache extends CacheProvider {
 
         final String prefix = loadPrefix() + "." +  StringPool.STAR;
         this.cycleKey();
+        this.invalidateNearCache(StringPool.STAR);
         // Getting all the keys for the given groups
         DotConcurrentFactory.getInstance().getSingleSubmitter
                 (CacheWiper.class.getSimpleName()).submit(new CacheWiper(prefix));
@@ -429,6 +673,19 @@ public class RedisCache extends CacheProvider {
         }
 
         final NumberFormat nf = DecimalFormat.getInstance();
+        if (this.isNearCacheEnabled()) {
+
+            final CacheStats stats = new CacheStats();
+            stats.addStat(CacheStats.REGION, "near-cache: " + this.nearCacheGroups);
+            stats.addStat(CacheStats.REGION_SIZE, nf.format(this.nearCache.estimatedSize()));
+            final long hits  = this.nearCacheHits.sum();
+            final long loads = hits + this.nearCacheMisses.sum();
+            stats.addStat(CacheStats.REGION_LOAD, nf.format(loads));
+            stats.addStat(CacheStats.REGION_HITS, nf.format(hits));
+            stats.addStat(CacheStats.REGION_HIT_RATE, NumberFormat.getPercentInstance().format(loads > 0 ? (double) hits / loads : 0d));
+            cacheProviderStats.addStatRecord(stats);
+        }
+
         // Getting the list of groups
         final Set<String> currentGroups = getGroups();
 
@@ -449,6 +706,16 @@ public class RedisCache extends CacheProvider {
 
         Logger.info(this.getClass(), "*** Shutdown [" + getName() + "] .");
         prefixKey.set(PREFIX_UNSET);
+        if (this.isNearCacheEnabled()) {
+
+            if (null != this.nearCacheSubscriberId) {
+
+                this.getClient().unsubscribeSubscriber(this.nearCacheSubscriberId, this.nearCacheChannel);
+                this.nearCacheSubscriberId = null;
+            }
+            this.nearCache.invalidateAll();
+            this.pendingNearCacheFills.invalidateAll();
+        }
     }
 
     /**
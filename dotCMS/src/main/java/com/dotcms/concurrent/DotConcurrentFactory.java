@@ -25,6 +25,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import com.dotcms.concurrent.lock.ClusterLockManager;
 import com.dotcms.concurrent.lock.DotKeyLockManager;
@@ -32,6 +33,7 @@ import com.dotcms.concurrent.lock.DotKeyLockManagerBuilder;
 import com.dotcms.concurrent.lock.DotKeyLockManagerFactory;
 import com.dotcms.concurrent.lock.IdentifierStripedLock;
 import com.dotcms.concurrent.lock.ClusterLockManagerFactory;
+import com.dotcms.metrics.MetricsRegistry;
 import com.dotcms.util.ReflectionUtils;
 import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.init.DotInitScheduler;
@@ -505,10 +507,48 @@ public class DotConcurrentFactory implements DotConcurrentFactoryMBean, Serializ
                 );
 
         this.submitterMap.put(name, submitter);
+        this.registerSubmitterMetrics(name);
 
         return submitter;
     }
 
+    /**
+     * The gauges read the submitter registered under the name at scrape time, so they follow the
+     * submitter when it is shutdown and created again
+     */
+    private void registerSubmitterMetrics(final String name) {
+
+        final MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("dotcms_submitter_active_threads", "Threads running a task on the submitter",
+                "submitter", name, () -> this.submitterValue(name, DotSubmitter::getActiveCount));
+        metrics.gauge("dotcms_submitter_pool_size", "Threads on the submitter pool",
+                "submitter", name, () -> this.submitterValue(name, DotSubmitter::getPoolSize));
+        metrics.gauge("dotcms_submitter_queue_size", "Tasks waiting on the submitter queue",
+                "submitter", name, () -> this.threadPoolValue(name, executor -> executor.getQueue().size()));
+        metrics.gauge("dotcms_submitter_completed_tasks", "Tasks completed by the submitter",
+                "submitter", name, () -> this.threadPoolValue(name, ThreadPoolExecutor::getCompletedTaskCount));
+    }
+
+    /**
+     * Reads a value of the submitter registered under the name, null (no sample) if there is none
+     */
+    private Number submitterValue(final String name, final Function<DotSubmitter, Number> value) {
+
+        final DotSubmitter submitter = this.submitterMap.get(name);
+        return null != submitter ? value.apply(submitter) : null;
+    }
+
+    /**
+     * Reads a value of the thread pool of the submitter registered under the name, null (no sample)
+     * if the submitter is not backed by a {@link ThreadPoolExecutor}
+     */
+    private Number threadPoolValue(final String name, final Function<ThreadPoolExecutor, Number> value) {
+
+        final DotSubmitter submitter = this.submitterMap.get(name);
+        return submitter instanceof DotConcurrentImpl ?
+                value.apply(((DotConcurrentImpl) submitter).threadPoolExecutor) : null;
+    }
+
     /**
      * Gets or creates a cluster wide lock manager lock
      * @param name {@link String}
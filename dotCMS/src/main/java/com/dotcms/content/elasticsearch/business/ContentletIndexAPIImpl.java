@@ -29,6 +29,7 @@ import com.dotmarketing.common.reindex.ReindexQueueAPI;
 import com.dotmarketing.common.reindex.ReindexThread;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.db.HibernateUtil;
+import com.dotmarketing.db.MergeableRunnable;
 import com.dotmarketing.db.ReindexRunnable;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotHibernateException;
@@ -63,6 +64,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -98,6 +100,7 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
     private static final String TIMEOUT_INDEX_WAIT_FOR = "TIMEOUT_INDEX_WAIT_FOR";
     private static final int TIME_INDEX_FORCE_DEFAULT = 30000;
     private static final String TIMEOUT_INDEX_FORCE = "TIMEOUT_INDEX_FORCE";
+    private static final String ADD_CONTENT_TO_INDEX = "addContentToIndex";
 
     private static final String SELECT_CONTENTLET_VERSION_INFO =
             "select working_inode,live_inode from contentlet_version_info where identifier=?";
@@ -505,7 +508,8 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
         } else if (!DbConnectionFactory.inTransaction()) {
             addContentToIndex(contentToIndex);
         } else {
-            HibernateUtil.addSyncCommitListener(() -> addContentToIndex(contentToIndex));
+            HibernateUtil.addMergeableSyncCommitListener(ADD_CONTENT_TO_INDEX,
+                    new AddContentToIndexRunnable(contentToIndex));
         }
     }
 
@@ -928,6 +932,46 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
                 content.getIndexPolicyDependencies());
     } // handleRemoveIndexNotDefer.
 
+    /**
+     * Indexes all the contentlets saved in a transaction with one bulk request after the commit. A contentlet
+     * added more than once is indexed once, as it was added the last time but with the strongest
+     * {@link IndexPolicy} it was added with
+     */
+    @VisibleForTesting
+    class AddContentToIndexRunnable implements MergeableRunnable<AddContentToIndexRunnable> {
+
+        private final Map<String, Contentlet> contentToIndex = new LinkedHashMap<>();
+
+        AddContentToIndexRunnable(final List<Contentlet> contentToIndex) {
+            contentToIndex.forEach(this::add);
+        }
+
+        private void add(final Contentlet contentlet) {
+
+            this.contentToIndex.merge(contentlet.getInode(), contentlet, (added, contentletToAdd) -> {
+                if (added.getIndexPolicy().ordinal() > contentletToAdd.getIndexPolicy().ordinal()) {
+                    contentletToAdd.setIndexPolicy(added.getIndexPolicy());
+                }
+                return contentletToAdd;
+            });
+        }
+
+        @Override
+        public void merge(final AddContentToIndexRunnable listener) {
+            listener.contentToIndex.values().forEach(this::add);
+        }
+
+        @VisibleForTesting
+        Collection<Contentlet> getContentToIndex() {
+            return this.contentToIndex.values();
+        }
+
+        @Override
+        public void run() {
+            addContentToIndex(new ArrayList<>(this.contentToIndex.values()));
+        }
+    }
+
     /**
      * Remove ReindexRunnable runnable
      */
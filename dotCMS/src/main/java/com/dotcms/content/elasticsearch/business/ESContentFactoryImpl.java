@@ -24,6 +24,7 @@ import com.dotcms.exception.ExceptionUtil;
 import com.dotcms.notifications.bean.NotificationLevel;
 import com.dotcms.notifications.bean.NotificationType;
 import com.dotcms.notifications.business.NotificationAPI;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotcms.repackage.net.sf.hibernate.ObjectNotFoundException;
 import com.dotcms.repackage.org.apache.commons.io.FileUtils;
 import com.dotcms.rest.api.v1.DotObjectMapperProvider;
@@ -87,6 +88,7 @@ import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
 import com.liferay.portal.model.User;
 import io.vavr.control.Try;
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -105,9 +107,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.TotalHits.Relation;
 import org.elasticsearch.ElasticsearchException;
@@ -119,6 +123,7 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.client.core.CountResponse;
 import org.elasticsearch.common.unit.TimeValue;
@@ -130,6 +135,7 @@ import org.elasticsearch.search.Scroll;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.jetbrains.annotations.NotNull;
@@ -1530,6 +1536,7 @@ public class ESContentFactoryImpl extends ContentletFactory {
         if(optionalHits.isPresent()) {
             return optionalHits.get();
         }
+        RenderProfiler.esQuery();
         try {
             SearchResponse response = RestHighLevelClientProvider.getInstance().getClient().search(searchRequest, RequestOptions.DEFAULT);
             SearchHits hits  = response.getHits();
@@ -1587,6 +1594,7 @@ public class ESContentFactoryImpl extends ContentletFactory {
         if(optionalCount.isPresent()) {
             return optionalCount.get();
         }
+        RenderProfiler.esQuery();
         try {
             final CountResponse response = RestHighLevelClientProvider.getInstance().getClient().count(countRequest, RequestOptions.DEFAULT);
             final long count = response.getCount();
@@ -1794,6 +1802,81 @@ public class ESContentFactoryImpl extends ContentletFactory {
 
     }
 
+    /**
+     * Scrolls over every hit of the query a page at a time and hands the source of the hits of each
+     * page to the consumer, so the hits are never held together in memory. Only the identifier, the
+     * inode and the given fields are read from the source of each hit.
+     * @param query        lucene query
+     * @param sortBy       sort of the hits, the order of the index (the cheapest one) if it is not set
+     * @param fields       fields of the source to read besides the identifier and the inode
+     * @param pageConsumer receives the source of the hits of each page
+     * @return number of hits read
+     */
+    long indexSearchScroll(final String query, final String sortBy, final String[] fields,
+            final Consumer<List<Map<String, Object>>> pageConsumer) {
+
+        final String formattedQuery = LuceneQueryDateTimeFormatter
+                .findAndReplaceQueryDates(translateQuery(query, sortBy).getQuery());
+
+        final SearchSourceBuilder searchSourceBuilder = createSearchSourceBuilder(formattedQuery, sortBy);
+        searchSourceBuilder.fetchSource(ArrayUtils.addAll(ES_FIELDS, fields), null);
+        searchSourceBuilder.size(Config.getIntProperty("ES_SCROLL_PAGE_SIZE", 1000));
+        if (UtilMethods.isSet(sortBy)) {
+            addBuilderSort(sortBy, searchSourceBuilder);
+        } else {
+            searchSourceBuilder.sort(SortBuilders.fieldSort(FieldSortBuilder.DOC_FIELD_NAME));
+        }
+
+        final SearchRequest searchRequest = new SearchRequest(inferIndexToHit(query));
+        final Scroll scroll = new Scroll(TimeValue.timeValueMinutes(1L));
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.scroll(scroll);
+
+        final RestHighLevelClient client = RestHighLevelClientProvider.getInstance().getClient();
+        String scrollId = null;
+        long hitsRead = 0;
+        try {
+            SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+            scrollId = searchResponse.getScrollId();
+
+            while (searchResponse.getHits().getHits().length > 0) {
+
+                final SearchHit[] hits = searchResponse.getHits().getHits();
+                final List<Map<String, Object>> page = new ArrayList<>(hits.length);
+                for (final SearchHit hit : hits) {
+                    page.add(hit.getSourceAsMap());
+                }
+                pageConsumer.accept(page);
+                hitsRead += hits.length;
+
+                final SearchScrollRequest scrollRequest = new SearchScrollRequest(scrollId);
+                scrollRequest.scroll(scroll);
+                searchResponse = client.scroll(scrollRequest, RequestOptions.DEFAULT);
+                scrollId = searchResponse.getScrollId();
+            }
+        } catch (final IllegalStateException e) {
+            rebuildRestHighLevelClientIfNeeded(e);
+            Logger.warnAndDebug(ESContentFactoryImpl.class, e);
+            throw new DotRuntimeException(e);
+        } catch (final IOException | ElasticsearchException e) {
+            final String errorMsg = String.format("An error occurred when scrolling the Lucene Query [ %s ] : %s",
+                    searchRequest.source().toString(), e.getMessage());
+            Logger.warnAndDebug(ESContentFactoryImpl.class, errorMsg, e);
+            throw new DotRuntimeException(errorMsg, e);
+        } finally {
+            // the scroll is released even if the consumer fails, instead of waiting for its keep alive
+            if (null != scrollId) {
+                final ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+                clearScrollRequest.addScrollId(scrollId);
+                Try.run(() -> client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT))
+                        .onFailure(e -> Logger.warn(ESContentFactoryImpl.class,
+                                "Unable to clear the scroll: " + e.getMessage()));
+            }
+        }
+
+        return hitsRead;
+    }
+
     private List<ContentletSearch> getContentletSearchFromSearchHits(final SearchHits searchHits) {
         PaginatedArrayList<ContentletSearch> list=new PaginatedArrayList<>();
         list.setTotalResults(searchHits.getTotalHits().value);
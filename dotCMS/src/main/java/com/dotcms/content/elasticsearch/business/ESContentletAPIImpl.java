@@ -52,6 +52,7 @@ import com.dotcms.system.event.local.type.content.CommitListenerEvent;
 import com.dotcms.util.CollectionsUtils;
 import com.dotcms.util.ConversionUtils;
 import com.dotcms.util.DotPreconditions;
+import com.dotcms.util.LogTime;
 import com.dotcms.util.FunctionUtils;
 import com.dotcms.util.JsonUtil;
 import com.dotcms.util.ThreadContextUtil;
@@ -200,6 +201,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -650,6 +652,7 @@ public class ESContentletAPIImpl implements ContentletAPI {
     }
 
 
+    @LogTime
     @CloseDBIfOpened
     @Override
     public List<Contentlet> findContentletsByIdentifiers(final String[] identifiers, final boolean live, final long languageId, final User user, final boolean respectFrontendRoles)
@@ -665,6 +668,7 @@ public class ESContentletAPIImpl implements ContentletAPI {
         return contentlets;
     }
 
+    @LogTime
     @CloseDBIfOpened
     @Override
     public List<Contentlet> findContentlets(List<String> inodes)throws DotDataException, DotSecurityException {
@@ -8644,6 +8648,25 @@ public class ESContentletAPIImpl implements ContentletAPI {
         return contentFactory.indexCount(buffy.toString());
     }
 
+    @Override
+    public long indexSearchScroll(final String luceneQuery, final String sortBy, final String[] fields,
+            final User user, final boolean respectFrontendRoles,
+            final Consumer<List<Map<String, Object>>> pageConsumer) throws DotDataException, DotSecurityException {
+
+        if(user == null && !respectFrontendRoles){
+            throw new DotSecurityException("You must specify a user if you are not respecting frontend roles");
+        }
+
+        final StringBuffer buffy = new StringBuffer(luceneQuery);
+        if (user == null || !APILocator.getRoleAPI().doesUserHaveRole(user, APILocator.getRoleAPI().loadCMSAdminRole())) {
+            final List<Role> roles = user != null ? APILocator.getRoleAPI().loadRolesForUser(user.getUserId())
+                    : new ArrayList<>();
+            addPermissionsToQuery(buffy, user, roles, respectFrontendRoles);
+        }
+
+        return contentFactory.indexSearchScroll(buffy.toString(), sortBy, fields, pageConsumer);
+    }
+
     @CloseDBIfOpened
     @Override
     public List<Map<String, String>> getMostViewedContent(String structureVariableName, String startDateStr, String endDateStr, User user) {
@@ -39,6 +39,8 @@ public class ContentTypeCache2Impl implements ContentTypeCache2 {
     	synchronized (MASTER_STRUCTURE) {
         	cache.remove(primaryGroup + MASTER_STRUCTURE,primaryGroup);	
 		}
+    	// routes resolved (or not found) before the URL Map patterns changed are no longer valid
+    	CacheLocator.getCMSRouteCache().clearCache();
     }
     @Override
     public void addURLMasterPattern(String pattern){
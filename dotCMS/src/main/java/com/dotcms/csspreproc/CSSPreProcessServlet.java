@@ -1,7 +1,9 @@
 package com.dotcms.csspreproc;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Date;
 
@@ -24,6 +26,7 @@ import com.dotmarketing.exception.DotHibernateException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
 import com.dotmarketing.portlets.fileassets.business.FileAsset;
+import com.dotmarketing.servlets.PrecompressedAssetUtil;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.InodeUtils;
 import com.dotmarketing.util.Logger;
@@ -78,6 +81,12 @@ public class CSSPreProcessServlet extends HttpServlet {
                 }
             }
             
+            if(live && SassAheadOfTimeCompiler.isEnabled()) {
+                // live stylesheets are compiled ahead of time, see SassAheadOfTimeCompiler
+                serveCompiled(req, resp, SassAheadOfTimeCompiler.getInstance().get(host, actualUri), fileUri);
+                return;
+            }
+
             CachedCSS cache = CacheLocator.getCSSCache().get(host.getIdentifier(), actualUri, live, user);
             
             byte[] responseData=null;
@@ -244,4 +253,47 @@ public class CSSPreProcessServlet extends HttpServlet {
             }
         }
     }
+
+    /**
+     * Writes the stored css, or its gzip version if the client accepts it, with the strong etag of the
+     * version served
+     */
+    private void serveCompiled(final HttpServletRequest req, final HttpServletResponse resp,
+            final CompiledCSS compiledCSS, final String fileUri) throws IOException {
+
+        final Optional<File> gzip = PrecompressedAssetUtil.getVariant(req.getHeader("Accept-Encoding"),
+                compiledCSS.file, "text/css");
+        // the gzip and the identity bodies differ, so they can not share a strong etag
+        final String etag = gzip.isPresent() ? variantEtag(compiledCSS.etag, PrecompressedAssetUtil.GZIP)
+                : compiledCSS.etag;
+
+        final int seconds = Config.getIntProperty("asset.cache.control.max.days", 30) * 24 * 60 * 60;
+        resp.setHeader("Cache-Control", "public, max-age=" + seconds);
+        resp.setHeader("ETag", etag);
+        resp.setHeader("Vary", "Accept-Encoding");
+        if (etag.equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType("text/css");
+        resp.setHeader("Content-Disposition",
+                "inline; filename=\"" + fileUri.substring(fileUri.lastIndexOf('/'), fileUri.length()) + "\"");
+
+        if (gzip.isPresent()) {
+            resp.setHeader("Content-Encoding", PrecompressedAssetUtil.GZIP);
+        }
+        final File body = gzip.orElse(compiledCSS.file);
+        resp.setContentLengthLong(body.length());
+        Files.copy(body.toPath(), resp.getOutputStream());
+    }
+
+    /**
+     * Returns the etag of an encoded version of the css, "sha" becomes "sha-gzip"
+     */
+    private static String variantEtag(final String etag, final String encoding) {
+
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + "-" + encoding + "\""
+                : etag + "-" + encoding;
+    }
 }
@@ -0,0 +1,42 @@
+package com.dotcms.csspreproc;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A live stylesheet compiled ahead of time, as kept by the {@link CompiledCSSStore}: the css file,
+ * its strong etag and the live inodes it was compiled from, by identifier, for the stylesheet and
+ * for every file it imports.
+ */
+public class CompiledCSS {
+
+    public final String hostId;
+    public final String uri;
+    public final String identifier;
+    public final String etag;
+    public final File file;
+    public final Map<String, String> inodes;
+    public final List<String> importedUris;
+
+    CompiledCSS(final String hostId, final String uri, final String identifier, final String etag,
+            final File file, final Map<String, String> inodes, final List<String> importedUris) {
+        this.hostId = hostId;
+        this.uri = uri;
+        this.identifier = identifier;
+        this.etag = etag;
+        this.file = file;
+        this.inodes = Collections.unmodifiableMap(inodes);
+        this.importedUris = Collections.unmodifiableList(importedUris);
+    }
+
+    /**
+     * Returns true if the stylesheet was compiled from the file or one of its imports
+     * @param identifier {@link String} identifier of the file
+     * @return boolean
+     */
+    public boolean dependsOn(final String identifier) {
+        return this.inodes.containsKey(identifier);
+    }
+}
@@ -0,0 +1,204 @@
+package com.dotcms.csspreproc;
+
+import com.dotmarketing.util.ConfigUtils;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UUIDGenerator;
+import com.google.common.annotations.VisibleForTesting;
+import com.liferay.util.StringPool;
+import io.vavr.Lazy;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Keeps the live stylesheets compiled ahead of time on the dotGenerated folder, so they survive
+ * cache flushes and restarts. Each stylesheet is stored as a css file and a properties file with
+ * the inodes of the files it imports, which together make the import dependency graph used to find
+ * the stylesheets to recompile when a file is published.
+ */
+class CompiledCSSStore {
+
+    private static final String COMPILED_CSS_FOLDER = "css_compiled";
+    private static final String CSS_EXTENSION = ".css";
+    private static final String PROPERTIES_EXTENSION = ".properties";
+
+    private final Path folder;
+
+    /**
+     * Stylesheets by host and uri, loaded from the folder the first time they are needed
+     */
+    private final Lazy<Map<String, CompiledCSS>> compiled = Lazy.of(this::load);
+
+    CompiledCSSStore() {
+        this(Paths.get(ConfigUtils.getDotGeneratedPath(), COMPILED_CSS_FOLDER));
+    }
+
+    @VisibleForTesting
+    CompiledCSSStore(final Path folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Returns the compiled stylesheet, if any
+     * @param hostId {@link String} host of the stylesheet
+     * @param uri    {@link String} uri of the stylesheet
+     * @return Optional compiled stylesheet
+     */
+    Optional<CompiledCSS> get(final String hostId, final String uri) {
+        return Optional.ofNullable(this.compiled.get().get(key(hostId, uri)));
+    }
+
+    /**
+     * Stores the compiled stylesheet, replacing the former one. The files are written to temporal
+     * files and moved into place, so a concurrent request never reads half of them.
+     * @param hostId       {@link String} host of the stylesheet
+     * @param uri          {@link String} uri of the stylesheet
+     * @param identifier   {@link String} identifier of the stylesheet
+     * @param inodes       live inodes the stylesheet was compiled from, by identifier, including its own
+     * @param importedUris uris of the imported files
+     * @param css          compiled css
+     * @return the stored {@link CompiledCSS}
+     * @throws IOException
+     */
+    CompiledCSS put(final String hostId, final String uri, final String identifier,
+            final Map<String, String> inodes, final List<String> importedUris, final byte[] css) throws IOException {
+
+        final String key = key(hostId, uri);
+        final String name = DigestUtils.sha256Hex(key);
+        final CompiledCSS compiledCSS = new CompiledCSS(hostId, uri, identifier,
+                "\"" + DigestUtils.sha256Hex(css) + "\"", this.folder.resolve(name + CSS_EXTENSION).toFile(),
+                new LinkedHashMap<>(inodes), new ArrayList<>(importedUris));
+
+        Files.createDirectories(this.folder);
+        this.write(compiledCSS.file.toPath(), out -> out.write(css));
+        this.write(this.folder.resolve(name + PROPERTIES_EXTENSION), out -> toProperties(compiledCSS)
+                .store(out, null));
+
+        this.compiled.get().put(key, compiledCSS);
+        return compiledCSS;
+    }
+
+    /**
+     * Removes the compiled stylesheet, if any
+     * @param hostId {@link String} host of the stylesheet
+     * @param uri    {@link String} uri of the stylesheet
+     */
+    void remove(final String hostId, final String uri) {
+
+        final String key = key(hostId, uri);
+        this.compiled.get().remove(key);
+        final String name = DigestUtils.sha256Hex(key);
+        Try.run(() -> Files.deleteIfExists(this.folder.resolve(name + PROPERTIES_EXTENSION)));
+        Try.run(() -> Files.deleteIfExists(this.folder.resolve(name + CSS_EXTENSION)));
+    }
+
+    /**
+     * Returns the stylesheets compiled from the file or importing it
+     * @param identifier {@link String} identifier of the file
+     * @return list of {@link CompiledCSS}
+     */
+    List<CompiledCSS> getDependents(final String identifier) {
+        return this.compiled.get().values().stream()
+                .filter(compiledCSS -> compiledCSS.dependsOn(identifier)).collect(Collectors.toList());
+    }
+
+    private static String key(final String hostId, final String uri) {
+        return hostId + StringPool.COLON + uri;
+    }
+
+    private void write(final Path path, final Writer writer) throws IOException {
+
+        final Path temporal = path.resolveSibling(path.getFileName() + StringPool.PERIOD
+                + UUIDGenerator.shorty() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporal)) {
+                writer.write(out);
+            }
+            Files.move(temporal, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private Map<String, CompiledCSS> load() {
+
+        final Map<String, CompiledCSS> loaded = new ConcurrentHashMap<>();
+        if (!Files.isDirectory(this.folder)) {
+            return loaded;
+        }
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(this.folder, "*" + PROPERTIES_EXTENSION)) {
+            for (final Path path : paths) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    final Properties properties = new Properties();
+                    properties.load(in);
+                    final CompiledCSS compiledCSS = fromProperties(properties, path.resolveSibling(
+                            path.getFileName().toString().replace(PROPERTIES_EXTENSION, CSS_EXTENSION)));
+                    if (compiledCSS.file.exists()) {
+                        loaded.put(key(compiledCSS.hostId, compiledCSS.uri), compiledCSS);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    Logger.warnAndDebug(CompiledCSSStore.class, "Unable to load the compiled css " + path
+                            + ": " + e.getMessage(), e);
+                }
+            }
+        } catch (IOException e) {
+            Logger.warnAndDebug(CompiledCSSStore.class, "Unable to load the compiled css from " + this.folder
+                    + ": " + e.getMessage(), e);
+        }
+
+        Logger.info(CompiledCSSStore.class, "Loaded " + loaded.size() + " compiled stylesheets from " + this.folder);
+        return loaded;
+    }
+
+    private static Properties toProperties(final CompiledCSS compiledCSS) {
+
+        final Properties properties = new Properties();
+        properties.setProperty("hostId", compiledCSS.hostId);
+        properties.setProperty("uri", compiledCSS.uri);
+        properties.setProperty("identifier", compiledCSS.identifier);
+        properties.setProperty("etag", compiledCSS.etag);
+        properties.setProperty("inodes", compiledCSS.inodes.entrySet().stream()
+                .map(entry -> entry.getKey() + StringPool.EQUAL + entry.getValue())
+                .collect(Collectors.joining(StringPool.COMMA)));
+        properties.setProperty("importedUris", String.join(StringPool.COMMA, compiledCSS.importedUris));
+        return properties;
+    }
+
+    private static CompiledCSS fromProperties(final Properties properties, final Path file) {
+
+        final Map<String, String> inodes = new LinkedHashMap<>();
+        for (final String entry : properties.getProperty("inodes", StringPool.BLANK).split(StringPool.COMMA)) {
+            final int separator = entry.indexOf(StringPool.EQUAL);
+            if (separator > 0) {
+                inodes.put(entry.substring(0, separator), entry.substring(separator + 1));
+            }
+        }
+        final String importedUris = properties.getProperty("importedUris", StringPool.BLANK);
+
+        return new CompiledCSS(properties.getProperty("hostId"), properties.getProperty("uri"),
+                properties.getProperty("identifier"), properties.getProperty("etag"), file.toFile(), inodes,
+                importedUris.isEmpty() ? new ArrayList<>() : Arrays.asList(importedUris.split(StringPool.COMMA)));
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
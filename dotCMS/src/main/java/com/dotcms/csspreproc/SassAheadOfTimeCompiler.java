@@ -0,0 +1,198 @@
+package com.dotcms.csspreproc;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.content.elasticsearch.business.event.ContentletPublishEvent;
+import com.dotcms.system.event.local.model.EventSubscriber;
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.beans.Identifier;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotSecurityException;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
+import com.dotmarketing.servlets.PrecompressedAssetUtil;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.InodeUtils;
+import com.dotmarketing.util.Logger;
+import com.liferay.util.StringPool;
+import io.vavr.Lazy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the live SASS stylesheets ahead of time into the {@link CompiledCSSStore}, so requests
+ * serve the stored css instead of compiling it. When a file is published or unpublished, every
+ * stylesheet compiled from it or importing it is recompiled in the background, and meanwhile the
+ * former css is served. Only the first request for a stylesheet that was never compiled waits for
+ * the compilation.
+ */
+public class SassAheadOfTimeCompiler implements EventSubscriber<ContentletPublishEvent> {
+
+    private static final String SUBMITTER_NAME = "sassaotcompiler";
+
+    private static final Lazy<SassAheadOfTimeCompiler> INSTANCE = Lazy.of(SassAheadOfTimeCompiler::new);
+
+    private final CompiledCSSStore store;
+
+    /**
+     * Stylesheets waiting to be recompiled, so a burst of publishes compiles each one once
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private SassAheadOfTimeCompiler() {
+        this.store = new CompiledCSSStore();
+    }
+
+    public static SassAheadOfTimeCompiler getInstance() {
+        return INSTANCE.get();
+    }
+
+    public static boolean isEnabled() {
+        return Config.getBooleanProperty("SASS_AOT_COMPILE_ENABLED", true);
+    }
+
+    /**
+     * Returns the compiled stylesheet, compiling it if it was never compiled. A stylesheet compiled
+     * from files that are not live anymore is served as it is while it is recompiled in the background.
+     * @param host {@link Host} host of the stylesheet
+     * @param uri  {@link String} uri of the stylesheet, with the scss extension
+     * @return {@link CompiledCSS}
+     */
+    public CompiledCSS get(final Host host, final String uri)
+            throws DotDataException, DotSecurityException, IOException {
+
+        Optional<CompiledCSS> compiledCSS = this.store.get(host.getIdentifier(), uri);
+        if (compiledCSS.isPresent()) {
+
+            if (!this.isCurrent(compiledCSS.get())) {
+                this.recompile(host.getIdentifier(), uri);
+            }
+            return compiledCSS.get();
+        }
+
+        synchronized ((host.getIdentifier() + uri).intern()) {
+            compiledCSS = this.store.get(host.getIdentifier(), uri);
+            return compiledCSS.isPresent() ? compiledCSS.get() : this.compile(host, uri);
+        }
+    }
+
+    /**
+     * Recompiles the stylesheets compiled from the published or unpublished file
+     */
+    @Override
+    public void notify(final ContentletPublishEvent event) {
+
+        final Contentlet contentlet = event.getContentlet();
+        if (!isEnabled() || null == contentlet || null == contentlet.getIdentifier()) {
+            return;
+        }
+
+        for (final CompiledCSS compiledCSS : this.store.getDependents(contentlet.getIdentifier())) {
+
+            if (!event.isPublish() && contentlet.getIdentifier().equals(compiledCSS.identifier)) {
+                // the stylesheet itself is not live anymore
+                this.store.remove(compiledCSS.hostId, compiledCSS.uri);
+            } else {
+                this.recompile(compiledCSS.hostId, compiledCSS.uri);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the stylesheet and all its imports still have the live inodes it was compiled from
+     */
+    private boolean isCurrent(final CompiledCSS compiledCSS) {
+
+        final long defaultLanguage = APILocator.getLanguageAPI().getDefaultLanguage().getId();
+        for (final Map.Entry<String, String> inode : compiledCSS.inodes.entrySet()) {
+            final Optional<ContentletVersionInfo> info = APILocator.getVersionableAPI()
+                    .getContentletVersionInfo(inode.getKey(), defaultLanguage);
+            if (!info.isPresent() || !inode.getValue().equals(info.get().getLiveInode())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recompile(final String hostId, final String uri) {
+
+        final String key = hostId + StringPool.COLON + uri;
+        if (!this.pending.add(key)) {
+            return;
+        }
+
+        DotConcurrentFactory.getInstance().getSubmitter(SUBMITTER_NAME,
+                new DotConcurrentFactory.SubmitterConfigBuilder().poolSize(1).maxPoolSize(1).build()).submit(() -> {
+
+            this.pending.remove(key);
+            try {
+                final Host host = APILocator.getHostAPI().find(hostId, APILocator.systemUser(), false);
+                if (null != host) {
+                    this.compile(host, uri);
+                }
+            } catch (Exception e) {
+                // requests compile it again, and show the error to the editors
+                Logger.error(this, "Error compiling " + hostId + ":" + uri + " in the background", e);
+                this.store.remove(hostId, uri);
+            } finally {
+                DbConnectionFactory.closeSilently();
+            }
+        });
+    }
+
+    /**
+     * Compiles the live stylesheet and stores it along with the live inodes it was compiled from and
+     * its gzip version
+     */
+    private CompiledCSS compile(final Host host, final String uri)
+            throws DotDataException, DotSecurityException, IOException {
+
+        Logger.debug(this, "compiling css data ahead of time for " + host.getHostname() + ":" + uri);
+        final DotLibSassCompiler compiler = new DotLibSassCompiler(host, uri, true);
+        compiler.compile();
+
+        final Map<String, String> inodes = new LinkedHashMap<>();
+        final List<String> importedUris = new ArrayList<>();
+        final Identifier identifier = APILocator.getIdentifierAPI().find(host, uri);
+        this.addLiveInode(identifier, inodes);
+
+        for (String importUri : compiler.getAllImportedURI()) {
+            importedUris.add(importUri);
+            final Identifier importIdentifier;
+            if (importUri.startsWith("//")) {
+                importUri = importUri.substring(2);
+                final String hostName = importUri.substring(0, importUri.indexOf('/'));
+                importIdentifier = APILocator.getIdentifierAPI().find(
+                        APILocator.getHostAPI().findByName(hostName, APILocator.systemUser(), true),
+                        importUri.substring(importUri.indexOf('/')));
+            } else {
+                importIdentifier = APILocator.getIdentifierAPI().find(host, importUri);
+            }
+            this.addLiveInode(importIdentifier, inodes);
+        }
+
+        final CompiledCSS compiledCSS = this.store.put(host.getIdentifier(), uri, identifier.getId(), inodes,
+                importedUris, compiler.getOutput());
+        PrecompressedAssetUtil.getVariant(PrecompressedAssetUtil.GZIP, compiledCSS.file, "text/css");
+        return compiledCSS;
+    }
+
+    private void addLiveInode(final Identifier identifier, final Map<String, String> inodes) {
+
+        if (null == identifier || !InodeUtils.isSet(identifier.getId())) {
+            return;
+        }
+
+        final Optional<ContentletVersionInfo> info = APILocator.getVersionableAPI().getContentletVersionInfo(
+                identifier.getId(), APILocator.getLanguageAPI().getDefaultLanguage().getId());
+        inodes.put(identifier.getId(), info.isPresent() && null != info.get().getLiveInode()
+                ? info.get().getLiveInode() : StringPool.BLANK);
+    }
+}
@@ -22,6 +22,7 @@ import com.dotcms.contenttype.model.field.ImageField;
 import com.dotcms.contenttype.model.field.JSONField;
 import com.dotcms.contenttype.model.field.KeyValueField;
 import com.dotcms.contenttype.model.field.MultiSelectField;
+import com.dotcms.contenttype.model.field.RelationshipField;
 import com.dotcms.contenttype.model.field.RelationshipsTabField;
 import com.dotcms.contenttype.model.field.RowField;
 import com.dotcms.contenttype.model.field.StoryBlockField;
@@ -63,13 +64,17 @@ import graphql.schema.PropertyDataFetcher;
 import io.vavr.control.Try;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * This singleton class provides all the {@link GraphQLType}s needed for the Content Delivery API
@@ -86,6 +91,12 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
 
     private final Map<String, GraphQLType> typesMap = new HashMap<>();
 
+    /**
+     * GraphQL types already generated for each Content Type, keyed by Content Type id, so only the
+     * types that changed since the last generation need to be rebuilt
+     */
+    private final Map<String, TypeFragment> typeFragments = new ConcurrentHashMap<>();
+
     ContentAPIGraphQLTypesProvider() {
         // custom type mappings
         this.fieldClassGraphqlTypeMap.put(BinaryField.class, CustomFieldType.BINARY.getType());
@@ -162,9 +173,16 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
             localTypesMap.put(type.variable(), type);
         });
 
+        // the type references of the relationship fields are resolved in place when the schema
+        // is built, so the types with relationships can only be reused if nothing else changed
+        final Set<String> typeIds = allTypes.stream().map(ContentType::id).collect(Collectors.toSet());
+        final boolean anyTypeChanged = !typeIds.containsAll(typeFragments.keySet())
+                || allTypes.stream().anyMatch((type) -> !isFragmentCurrent(type));
+        typeFragments.keySet().retainAll(typeIds);
+
         allTypes.forEach((type) -> {
             try {
-                contentAPITypes.add(createType(type));
+                contentAPITypes.add(getOrCreateType(type, anyTypeChanged));
             }catch (IllegalArgumentException e) {
                 Logger.error(this, "Unable to generate GraphQL Type for type: " + type.variable());
             }
@@ -173,6 +191,44 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
         return contentAPITypes;
     }
 
+    private GraphQLObjectType getOrCreateType(final ContentType contentType,
+            final boolean anyTypeChanged) {
+
+        final TypeFragment fragment = typeFragments.get(contentType.id());
+        if (isFragmentCurrent(contentType) && !(anyTypeChanged && fragment.hasRelationships)) {
+            return fragment.type;
+        }
+
+        typeFragments.remove(contentType.id());
+        final GraphQLObjectType graphQLType = createType(contentType);
+        typeFragments.put(contentType.id(), new TypeFragment(contentType, graphQLType));
+        return graphQLType;
+    }
+
+    private boolean isFragmentCurrent(final ContentType contentType) {
+        final TypeFragment fragment = typeFragments.get(contentType.id());
+        return null != fragment && Objects.equals(fragment.modDate, contentType.modDate())
+                && fragment.type.getName().equals(contentType.variable());
+    }
+
+    /**
+     * Discards the GraphQL type generated for the given Content Type, so it is rebuilt the next
+     * time the schema is generated
+     * @param contentTypeId the id of the Content Type
+     */
+    public void invalidateTypeFragment(final String contentTypeId) {
+        if (UtilMethods.isSet(contentTypeId)) {
+            typeFragments.remove(contentTypeId);
+        }
+    }
+
+    /**
+     * Discards all the GraphQL types generated for the Content Types
+     */
+    public void invalidateTypeFragments() {
+        typeFragments.clear();
+    }
+
     private GraphQLObjectType createType(ContentType contentType) {
         DotPreconditions.checkArgument(contentType.variable()
                 .matches(TYPES_AND_FIELDS_VALID_NAME_REGEX),
@@ -291,5 +347,29 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
     protected void setFieldGeneratorFactory(
             GraphQLFieldGeneratorFactory fieldGeneratorFactory) {
         this.fieldGeneratorFactory = fieldGeneratorFactory;
+        invalidateTypeFragments();
+    }
+
+    @VisibleForTesting
+    int getTypeFragmentsCount() {
+        return typeFragments.size();
+    }
+
+    /**
+     * The {@link GraphQLObjectType} generated for a Content Type along with the mod date of the
+     * Content Type it was generated from
+     */
+    private static final class TypeFragment {
+
+        private final Date modDate;
+        private final GraphQLObjectType type;
+        private final boolean hasRelationships;
+
+        private TypeFragment(final ContentType contentType, final GraphQLObjectType type) {
+            this.modDate = contentType.modDate();
+            this.type = type;
+            this.hasRelationships = contentType.fields().stream()
+                    .anyMatch((field) -> field instanceof RelationshipField);
+        }
     }
 }
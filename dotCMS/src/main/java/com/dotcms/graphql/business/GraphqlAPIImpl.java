@@ -8,6 +8,7 @@ import static graphql.schema.GraphQLNonNull.nonNull;
 import static graphql.schema.GraphQLObjectType.newObject;
 
 import com.dotcms.concurrent.Debouncer;
+import com.dotcms.concurrent.DotConcurrentFactory;
 import com.dotcms.graphql.InterfaceType;
 import com.dotcms.graphql.datafetcher.ContentletDataFetcher;
 import com.dotcms.util.LogTime;
@@ -35,6 +36,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GraphqlAPIImpl implements GraphqlAPI {
 
@@ -43,6 +46,19 @@ public class GraphqlAPIImpl implements GraphqlAPI {
 
     private GraphQLSchemaCache schemaCache;
 
+    /**
+     * Last schema generated by this node, served while a new one is generated in the background
+     */
+    private volatile GraphQLSchema lastSchema;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    /**
+     * Incremented on each invalidation, so a schema generated from data older than the last
+     * invalidation is not put into cache
+     */
+    private final AtomicLong schemaVersion = new AtomicLong();
+
     @VisibleForTesting
     protected GraphqlAPIImpl(final GraphQLSchemaCache schemaCache) {
         typesProviders.add(ContentAPIGraphQLTypesProvider.INSTANCE);
@@ -61,7 +77,10 @@ public class GraphqlAPIImpl implements GraphqlAPI {
     /**
      * Returns the {@link GraphQLSchema}.
      * <p>
-     * If the schema hasn't been generated it will generate it and put it into cache.
+     * If the schema hasn't been generated it will generate it and put it into cache. If a schema
+     * was already generated before the invalidation, that schema keeps being returned while the new
+     * one is generated in the background (see GRAPHQL_SCHEMA_BACKGROUND_REBUILD). Only the types of
+     * the Content Types that changed are rebuilt, see {@link ContentAPIGraphQLTypesProvider}.
      * <p>
      * The actions that invalidate the cache are:
      * <ul>
@@ -78,20 +97,53 @@ public class GraphqlAPIImpl implements GraphqlAPI {
         if(schema.isPresent()) {
             return schema.get();
         }
+
+        final GraphQLSchema previousSchema = this.lastSchema;
+        if (null != previousSchema && Config.getBooleanProperty("GRAPHQL_SCHEMA_BACKGROUND_REBUILD", true)) {
+            rebuildSchemaInBackground();
+            return previousSchema;
+        }
+
+        return generateAndCacheSchema();
+    }
+
+    private GraphQLSchema generateAndCacheSchema() {
         synchronized (this) {
-            schema = schemaCache.getSchema();
+            final Optional<GraphQLSchema> schema = schemaCache.getSchema();
             if(schema.isPresent()) {
                 return schema.get();
             }
+            final long version = schemaVersion.get();
             final GraphQLSchema generatedSchema = generateSchema();
-            schemaCache.putSchema(generatedSchema);
+            if (version == schemaVersion.get()) {
+                schemaCache.putSchema(generatedSchema);
+            }
+            this.lastSchema = generatedSchema;
             return generatedSchema;
         }
+    }
+
+    private void rebuildSchemaInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
 
+        DotConcurrentFactory.getInstance().getSubmitter().submit(() -> {
+            try {
+                generateAndCacheSchema();
+            } catch (Exception e) {
+                Logger.error(this, "Unable to generate the GraphQL schema: " + e.getMessage(), e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
     }
 
     final Debouncer debouncer = new Debouncer();
-    final Runnable removeSchema = ()->{schemaCache.removeSchema();};
+    final Runnable removeSchema = ()->{
+        schemaVersion.incrementAndGet();
+        schemaCache.removeSchema();
+    };
 
     /**
      * Nullifies the schema so it is regenerated next time it is fetched
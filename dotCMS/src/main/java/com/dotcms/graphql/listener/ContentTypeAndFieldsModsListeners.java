@@ -4,6 +4,7 @@ import com.dotcms.contenttype.model.event.ContentTypeDeletedEvent;
 import com.dotcms.contenttype.model.event.ContentTypeSavedEvent;
 import com.dotcms.contenttype.model.field.event.FieldDeletedEvent;
 import com.dotcms.contenttype.model.field.event.FieldSavedEvent;
+import com.dotcms.graphql.business.ContentAPIGraphQLTypesProvider;
 import com.dotcms.graphql.business.GraphqlAPI;
 import com.dotcms.system.event.local.model.Subscriber;
 import com.dotmarketing.business.APILocator;
@@ -13,21 +14,27 @@ public class ContentTypeAndFieldsModsListeners {
 
     @Subscriber
     public void onContentTypeSaved(final ContentTypeSavedEvent event) {
+        ContentAPIGraphQLTypesProvider.INSTANCE.invalidateTypeFragment(event.getContentType().id());
         APILocator.getGraphqlAPI().invalidateSchema();
     }
 
     @Subscriber
     public void onContentTypeDeleted(final ContentTypeDeletedEvent event) {
+        // other types may have relationship fields pointing to the deleted one
+        ContentAPIGraphQLTypesProvider.INSTANCE.invalidateTypeFragments();
         APILocator.getGraphqlAPI().invalidateSchema();
     }
 
     @Subscriber
     public void onFieldCreated(final FieldSavedEvent event) {
+        ContentAPIGraphQLTypesProvider.INSTANCE.invalidateTypeFragment(event.getField().contentTypeId());
         APILocator.getGraphqlAPI().invalidateSchema();
     }
 
     @Subscriber
     public void onFieldDeleted(final FieldDeletedEvent event) {
+        // the event only carries the field variable, so the content type is unknown
+        ContentAPIGraphQLTypesProvider.INSTANCE.invalidateTypeFragments();
         APILocator.getGraphqlAPI().invalidateSchema();
     }
 
@@ -0,0 +1,27 @@
+package com.dotcms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, backed by a {@link LongAdder} so concurrent increments do not contend on a
+ * single memory location.
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void inc() {
+        this.value.increment();
+    }
+
+    public void inc(final long amount) {
+        this.value.add(amount);
+    }
+
+    public long get() {
+        return this.value.sum();
+    }
+}
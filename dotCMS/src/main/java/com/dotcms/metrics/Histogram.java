@@ -0,0 +1,112 @@
+package com.dotcms.metrics;
+
+import com.dotmarketing.util.Config;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Distribution of values (usually durations in microseconds) backed by an HDR histogram.
+ * <p>
+ * Recording goes to a {@link Recorder}, which is wait-free for the writers; the values recorded
+ * since the previous read are moved to the histogram when the registry is scraped. The quantiles
+ * only cover the last METRICS_SUMMARY_WINDOW_SECONDS (60 by default), split in
+ * METRICS_SUMMARY_WINDOW_SLOTS slots, so they follow the current latency instead of the latency
+ * since startup. The count and the sum are cumulative, as Prometheus expects for a summary.
+ */
+public final class Histogram {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final org.HdrHistogram.Histogram[] slots;
+    private final long slotMillis;
+    private org.HdrHistogram.Histogram interval;
+    private int current;
+    private long currentSlotStart;
+    private long count;
+    private double sum;
+
+    Histogram() {
+        this(TimeUnit.SECONDS.toMillis(Config.getLongProperty("METRICS_SUMMARY_WINDOW_SECONDS", 60)),
+                Config.getIntProperty("METRICS_SUMMARY_WINDOW_SLOTS", 6), System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    Histogram(final long windowMillis, final int slotCount, final long nowMillis) {
+
+        final int slotsInWindow = Math.max(1, slotCount);
+        this.slotMillis = Math.max(1, windowMillis / slotsInWindow);
+        this.slots = new org.HdrHistogram.Histogram[slotsInWindow];
+        for (int i = 0; i < slotsInWindow; i++) {
+            this.slots[i] = new org.HdrHistogram.Histogram(SIGNIFICANT_DIGITS);
+        }
+        this.currentSlotStart = nowMillis;
+    }
+
+    /**
+     * Records a value, negative values are ignored
+     * @param value long
+     */
+    public void record(final long value) {
+        if (value >= 0) {
+            this.recorder.recordValue(value);
+        }
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()}, in microseconds
+     * @param startNanos long
+     */
+    public void recordSince(final long startNanos) {
+        this.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Returns a copy of the values recorded during the window
+     * @return org.HdrHistogram.Histogram
+     */
+    org.HdrHistogram.Histogram snapshot() {
+        return this.snapshot(System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    synchronized org.HdrHistogram.Histogram snapshot(final long nowMillis) {
+
+        final long elapsedSlots = (nowMillis - this.currentSlotStart) / this.slotMillis;
+        for (long i = 0; i < Math.min(elapsedSlots, this.slots.length); i++) {
+            this.current = (this.current + 1) % this.slots.length;
+            this.slots[this.current].reset();
+        }
+        if (elapsedSlots > 0) {
+            this.currentSlotStart += elapsedSlots * this.slotMillis;
+        }
+
+        // the values recorded since the previous scrape go to the newest slot, so the window is
+        // accurate up to one scrape interval
+        this.interval = this.recorder.getIntervalHistogram(this.interval);
+        this.slots[this.current].add(this.interval);
+        this.count += this.interval.getTotalCount();
+        this.sum   += this.interval.getMean() * this.interval.getTotalCount();
+
+        final org.HdrHistogram.Histogram window = new org.HdrHistogram.Histogram(SIGNIFICANT_DIGITS);
+        for (final org.HdrHistogram.Histogram slot : this.slots) {
+            window.add(slot);
+        }
+        return window;
+    }
+
+    /**
+     * @return long values recorded since startup, up to the last {@link #snapshot()}
+     */
+    synchronized long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return double sum of the values recorded since startup, up to the last {@link #snapshot()}
+     */
+    synchronized double getSum() {
+        return this.sum;
+    }
+}
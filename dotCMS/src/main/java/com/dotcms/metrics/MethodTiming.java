@@ -0,0 +1,108 @@
+package com.dotcms.metrics;
+
+import com.dotcms.util.LogTime;
+import java.util.Arrays;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency of a single {@link LogTime} method over a sliding window.
+ * <p>
+ * Calls are recorded on a {@link Recorder} (wait-free for the callers). The window is split in
+ * slots, when the current slot expires the recorded values are moved into it and the oldest slot
+ * is reset, so reading the latency only aggregates the slots of the window.
+ */
+final class MethodTiming {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+    private final String loggingLevel;
+    private final long slotMillis;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram[] slots;
+    private Histogram interval;
+    private int current;
+    private long currentSlotStart;
+    private volatile long nextRotation;
+
+    MethodTiming(final Class<?> clazz, final String methodName, final long windowMillis, final int slotCount) {
+
+        this.name         = clazz.getName() + "#" + methodName;
+        this.loggingLevel = loggingLevel(clazz, methodName);
+        this.slotMillis   = Math.max(1, windowMillis / slotCount);
+        this.slots        = new Histogram[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            this.slots[i] = new Histogram(SIGNIFICANT_DIGITS);
+        }
+        this.currentSlotStart = System.currentTimeMillis();
+        this.nextRotation     = this.currentSlotStart + this.slotMillis;
+    }
+
+    private static String loggingLevel(final Class<?> clazz, final String methodName) {
+
+        return Arrays.stream(clazz.getDeclaredMethods())
+                .filter(method -> method.getName().equals(methodName) && method.isAnnotationPresent(LogTime.class))
+                .map(method -> method.getAnnotation(LogTime.class).loggingLevel())
+                .findFirst().orElse("DEBUG");
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    String getLoggingLevel() {
+        return this.loggingLevel;
+    }
+
+    /**
+     * Records a call
+     * @param micros  long duration of the call in microseconds
+     * @param nowMillis long current time
+     */
+    void record(final long micros, final long nowMillis) {
+
+        this.recorder.recordValue(Math.max(0, micros));
+        if (nowMillis >= this.nextRotation) {
+            this.rotateIfExpired(nowMillis);
+        }
+    }
+
+    private synchronized void rotateIfExpired(final long nowMillis) {
+        // another caller may have rotated while this one was waiting for the lock
+        if (nowMillis >= this.nextRotation) {
+            this.rotate(nowMillis);
+        }
+    }
+
+    private synchronized void rotate(final long nowMillis) {
+
+        final long elapsedSlots = (nowMillis - this.currentSlotStart) / this.slotMillis;
+        for (long i = 0; i < Math.min(elapsedSlots, this.slots.length); i++) {
+            this.current = (this.current + 1) % this.slots.length;
+            this.slots[this.current].reset();
+        }
+        if (elapsedSlots > 0) {
+            this.currentSlotStart += elapsedSlots * this.slotMillis;
+        }
+        this.nextRotation = this.currentSlotStart + this.slotMillis;
+
+        // the pending values go to the newest slot, so the window is accurate up to one slot
+        this.interval = this.recorder.getIntervalHistogram(this.interval);
+        this.slots[this.current].add(this.interval);
+    }
+
+    /**
+     * Returns the latency of the calls made during the window
+     * @return Histogram with the values in microseconds
+     */
+    synchronized Histogram snapshot() {
+
+        this.rotate(System.currentTimeMillis());
+        final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        for (final Histogram slot : this.slots) {
+            total.add(slot);
+        }
+        return total;
+    }
+}
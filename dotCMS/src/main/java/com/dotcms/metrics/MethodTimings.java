@@ -0,0 +1,121 @@
+package com.dotcms.metrics;
+
+import com.dotcms.util.LogTime;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.Level;
+
+/**
+ * Per method latency of the methods annotated with {@link LogTime}.
+ * <p>
+ * Each method gets a {@link MethodTiming} with the calls of the last LOGTIME_WINDOW_SECONDS
+ * (60 by default). Recording a call is a lookup by class and method name plus a histogram record,
+ * the percentiles are only computed when they are read, see {@link #getSlowest(int)}.
+ */
+public final class MethodTimings {
+
+    private final long windowMillis = TimeUnit.SECONDS.toMillis(Config.getLongProperty("LOGTIME_WINDOW_SECONDS", 60));
+    private final int slots = Config.getIntProperty("LOGTIME_WINDOW_SLOTS", 6);
+
+    private final ClassValue<Map<String, MethodTiming>> timings = new ClassValue<Map<String, MethodTiming>>() {
+        @Override
+        protected Map<String, MethodTiming> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final Map<String, MethodTiming> allTimings = new ConcurrentHashMap<>();
+
+    private MethodTimings() {
+    }
+
+    private static class SingletonHolder {
+        private static final MethodTimings INSTANCE = new MethodTimings();
+    }
+
+    public static MethodTimings getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Records a call to a {@link LogTime} method and logs its duration on the level of the annotation
+     * @param clazz      {@link Class} declaring the method
+     * @param methodName {@link String} name of the method
+     * @param startNanos long {@link System#nanoTime()} when the call started
+     */
+    public void record(final Class<?> clazz, final String methodName, final long startNanos) {
+
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final MethodTiming timing = this.getTiming(clazz, methodName);
+        timing.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), System.currentTimeMillis());
+
+        if (Level.INFO.toString().equals(timing.getLoggingLevel())) {
+            Logger.info(clazz, "Call for class: " + timing.getName() + ", duration:"
+                    + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " millis");
+        } else if (Logger.isDebugEnabled(clazz)) {
+            Logger.debug(clazz, "Call for class: " + timing.getName() + ", duration:"
+                    + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " millis");
+        }
+    }
+
+    /**
+     * Records a call to a {@link LogTime} method without logging it, for callers that already log
+     * the duration
+     * @param clazz      {@link Class} declaring the method
+     * @param methodName {@link String} name of the method
+     * @param startNanos long {@link System#nanoTime()} when the call started
+     */
+    public void recordSilently(final Class<?> clazz, final String methodName, final long startNanos) {
+
+        this.getTiming(clazz, methodName).record(
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), System.currentTimeMillis());
+    }
+
+    private MethodTiming getTiming(final Class<?> clazz, final String methodName) {
+
+        final Map<String, MethodTiming> classTimings = this.timings.get(clazz);
+        final MethodTiming timing = classTimings.get(methodName);
+        return null != timing ? timing : classTimings.computeIfAbsent(methodName, key -> {
+            final MethodTiming newTiming = new MethodTiming(clazz, methodName, this.windowMillis, this.slots);
+            this.allTimings.put(newTiming.getName(), newTiming);
+            return newTiming;
+        });
+    }
+
+    /**
+     * Returns the methods with the highest p99 latency over the window, in milliseconds
+     * @param limit int max amount of methods
+     * @return List of maps with the method, count, p50, p99 and max
+     */
+    public List<Map<String, Object>> getSlowest(final int limit) {
+
+        return this.allTimings.values().stream()
+                .map(MethodTimings::toMap)
+                .filter(timing -> ((Long) timing.get("count")) > 0)
+                .sorted(Comparator.comparing((Map<String, Object> timing) -> (Double) timing.get("p99")).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> toMap(final MethodTiming timing) {
+
+        final org.HdrHistogram.Histogram snapshot = timing.snapshot();
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("method", timing.getName());
+        map.put("count", snapshot.getTotalCount());
+        map.put("p50", toMillis(snapshot.getValueAtPercentile(50)));
+        map.put("p99", toMillis(snapshot.getValueAtPercentile(99)));
+        map.put("max", toMillis(snapshot.getMaxValue()));
+        return map;
+    }
+
+    private static double toMillis(final long micros) {
+        return micros / 1000d;
+    }
+}
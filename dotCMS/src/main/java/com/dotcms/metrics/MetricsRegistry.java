@@ -0,0 +1,299 @@
+package com.dotcms.metrics;
+
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.liferay.util.StringPool;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of the dotCMS metrics: counters, gauges and histograms, exposed in the
+ * Prometheus text format by {@link #writePrometheus(Writer)}.
+ * <p>
+ * Metrics are grouped by name, each name can have several children distinguished by a single
+ * label (e.g. the cache group or the submitter name). Getting a metric from the registry involves
+ * a map lookup, so code on hot paths should keep the reference to the {@link Counter} or
+ * {@link Histogram} instead of asking the registry on each event.
+ * <p>
+ * Histograms record microseconds and are exported in seconds.
+ * The export can be turned off with <code>METRICS_ENABLED=false</code>.
+ */
+public final class MetricsRegistry {
+
+    private static final double MICROS_PER_SECOND = 1_000_000d;
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+
+    private enum Type {
+        COUNTER, GAUGE, SUMMARY
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    private static class SingletonHolder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return Config.getBooleanProperty("METRICS_ENABLED", true);
+    }
+
+    /**
+     * Gets or creates a counter without labels
+     * @param name {@link String} metric name, e.g. dotcms_cache_hits_total
+     * @param help {@link String} description of the metric
+     * @return Counter
+     */
+    public Counter counter(final String name, final String help) {
+        return this.counter(name, help, null, null);
+    }
+
+    /**
+     * Gets or creates the counter with the given label
+     * @param name       {@link String} metric name
+     * @param help       {@link String} description of the metric
+     * @param labelName  {@link String} label name, e.g. group
+     * @param labelValue {@link String} label value
+     * @return Counter
+     */
+    public Counter counter(final String name, final String help, final String labelName, final String labelValue) {
+        return (Counter) this.family(name, help, Type.COUNTER, labelName)
+                .children.computeIfAbsent(labelKey(labelValue), key -> new Counter());
+    }
+
+    /**
+     * Gets or creates a histogram without labels
+     * @param name {@link String} metric name, e.g. dotcms_page_render_seconds
+     * @param help {@link String} description of the metric
+     * @return Histogram
+     */
+    public Histogram histogram(final String name, final String help) {
+        return this.histogram(name, help, null, null);
+    }
+
+    /**
+     * Gets or creates the histogram with the given label
+     * @param name       {@link String} metric name
+     * @param help       {@link String} description of the metric
+     * @param labelName  {@link String} label name
+     * @param labelValue {@link String} label value
+     * @return Histogram
+     */
+    public Histogram histogram(final String name, final String help, final String labelName, final String labelValue) {
+        return (Histogram) this.family(name, help, Type.SUMMARY, labelName)
+                .children.computeIfAbsent(labelKey(labelValue), key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge, its value is read every time the registry is scraped. Registering the same
+     * gauge again replaces the supplier.
+     * @param name     {@link String} metric name
+     * @param help     {@link String} description of the metric
+     * @param supplier {@link Supplier} of the current value
+     */
+    public void gauge(final String name, final String help, final Supplier<Number> supplier) {
+        this.gauge(name, help, null, null, supplier);
+    }
+
+    /**
+     * Registers a gauge with the given label, see {@link #gauge(String, String, Supplier)}
+     * @param name       {@link String} metric name
+     * @param help       {@link String} description of the metric
+     * @param labelName  {@link String} label name
+     * @param labelValue {@link String} label value
+     * @param supplier   {@link Supplier} of the current value
+     */
+    public void gauge(final String name, final String help, final String labelName, final String labelValue,
+            final Supplier<Number> supplier) {
+        this.family(name, help, Type.GAUGE, labelName).children.put(labelKey(labelValue), supplier);
+    }
+
+    /**
+     * Registers a gauge whose value is expensive to read, e.g. it runs a query. The value is read at
+     * most once every <code>ttlMillis</code>, the scrapes in between get the last value read.
+     * @param name      {@link String} metric name
+     * @param help      {@link String} description of the metric
+     * @param supplier  {@link Supplier} of the current value
+     * @param ttlMillis long millis the value is kept
+     */
+    public void gauge(final String name, final String help, final Supplier<Number> supplier, final long ttlMillis) {
+        this.gauge(name, help, new CachedValue(supplier, ttlMillis));
+    }
+
+    private static String labelKey(final String labelValue) {
+        return null != labelValue ? labelValue : StringPool.BLANK;
+    }
+
+    private Family family(final String name, final String help, final Type type, final String labelName) {
+        final Family family = this.families.computeIfAbsent(name, key -> new Family(name, help, type, labelName));
+        if (family.type != type) {
+            throw new IllegalArgumentException(
+                    String.format("Metric [%s] is already registered as a %s", name, family.type));
+        }
+        return family;
+    }
+
+    /**
+     * Writes all the metrics in the Prometheus text exposition format
+     * @param writer {@link Writer}
+     * @throws IOException
+     */
+    public void writePrometheus(final Writer writer) throws IOException {
+
+        if (!this.isEnabled()) {
+            return;
+        }
+
+        for (final Family family : this.families.values()) {
+
+            writer.write("# HELP " + family.name + " " + escapeHelp(family.help) + "\n");
+            writer.write("# TYPE " + family.name + " " + family.type.name().toLowerCase() + "\n");
+
+            for (final Map.Entry<String, Object> child : new TreeMap<>(family.children).entrySet()) {
+                switch (family.type) {
+                    case COUNTER:
+                        writeSample(writer, family.name, family.labels(child.getKey(), null),
+                                ((Counter) child.getValue()).get());
+                        break;
+                    case GAUGE:
+                        writeGauge(writer, family, child.getKey(), (Supplier<?>) child.getValue());
+                        break;
+                    case SUMMARY:
+                        writeSummary(writer, family, child.getKey(), (Histogram) child.getValue());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    private static void writeGauge(final Writer writer, final Family family, final String labelValue,
+            final Supplier<?> supplier) throws IOException {
+
+        final Object value = Try.of(supplier::get).onFailure(e ->
+                Logger.debug(MetricsRegistry.class, () -> "Unable to read gauge " + family.name + ": " + e.getMessage()))
+                .getOrNull();
+        if (value instanceof Number) {
+            writeSample(writer, family.name, family.labels(labelValue, null), (Number) value);
+        }
+    }
+
+    private static void writeSummary(final Writer writer, final Family family, final String labelValue,
+            final Histogram histogram) throws IOException {
+
+        final org.HdrHistogram.Histogram window;
+        final long count;
+        final double sum;
+        synchronized (histogram) {
+            window = histogram.snapshot();
+            count  = histogram.getCount();
+            sum    = histogram.getSum();
+        }
+        for (final double quantile : QUANTILES) {
+            writeSample(writer, family.name, family.labels(labelValue, String.valueOf(quantile)),
+                    window.getValueAtPercentile(quantile * 100) / MICROS_PER_SECOND);
+        }
+        writeSample(writer, family.name + "_sum", family.labels(labelValue, null), sum / MICROS_PER_SECOND);
+        writeSample(writer, family.name + "_count", family.labels(labelValue, null), count);
+    }
+
+    private static void writeSample(final Writer writer, final String name, final String labels, final Number value)
+            throws IOException {
+        writer.write(name);
+        writer.write(labels);
+        writer.write(' ');
+        writer.write(value instanceof Double || value instanceof Float ?
+                formatDouble(value.doubleValue()) : String.valueOf(value.longValue()));
+        writer.write('\n');
+    }
+
+    private static String formatDouble(final double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return String.valueOf(value);
+    }
+
+    private static String escapeHelp(final String help) {
+        return null != help ? help.replace("\\", "\\\\").replace("\n", "\\n") : StringPool.BLANK;
+    }
+
+    private static String escapeLabel(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Value of a gauge kept for a while, so scraping does not read it every time
+     */
+    private static final class CachedValue implements Supplier<Number> {
+
+        private final Supplier<Number> supplier;
+        private final long ttlMillis;
+        private Number value;
+        private long expiresAt;
+
+        private CachedValue(final Supplier<Number> supplier, final long ttlMillis) {
+            this.supplier  = supplier;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        public synchronized Number get() {
+
+            final long now = System.currentTimeMillis();
+            if (null == this.value || now >= this.expiresAt) {
+                this.value     = this.supplier.get();
+                this.expiresAt = now + this.ttlMillis;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * All the children of a metric name
+     */
+    private static final class Family {
+
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final String labelName;
+        private final Map<String, Object> children = new ConcurrentHashMap<>();
+
+        private Family(final String name, final String help, final Type type, final String labelName) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelName = labelName;
+        }
+
+        private String labels(final String labelValue, final String quantile) {
+
+            final StringBuilder builder = new StringBuilder();
+            if (null != this.labelName) {
+                builder.append(this.labelName).append("=\"").append(escapeLabel(labelValue)).append('"');
+            }
+            if (null != quantile) {
+                builder.append(builder.length() > 0 ? "," : StringPool.BLANK)
+                        .append("quantile=\"").append(quantile).append('"');
+            }
+            return builder.length() > 0 ? "{" + builder + "}" : StringPool.BLANK;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.dotcms.publisher.receiver;
+
+import com.dotcms.publisher.receiver.handler.IHandler;
+import com.dotmarketing.util.Logger;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the {@link IHandler}s of a bundle by the order they depend on each other: a stage only starts
+ * once the previous one is done (hosts before folders, types before content), and a stage is made of
+ * chains of handlers that do not depend on the other chains of the same stage, so they can run at the
+ * same time. The handlers of a chain always run one after the other.
+ * <p>
+ * Run sequentially, the handlers run in the order they were added, all in the caller's transaction.
+ * Run in parallel, each chain runs on its own thread and in its own transaction, so a bundle is
+ * committed in chunks: a failure rolls back the failing chain only, the stages before it stay applied.
+ */
+public class BundleHandlerStages {
+
+    /**
+     * Runs a chain of handlers in a transaction of its own
+     */
+    @FunctionalInterface
+    public interface ChainTransaction {
+        void run(List<IHandler> chain, File bundleFolder) throws Exception;
+    }
+
+    private final List<List<List<IHandler>>> stages = new ArrayList<>();
+
+    /**
+     * Adds a stage that runs after the ones already added
+     * @param chains chains of handlers independent of each other
+     * @return BundleHandlerStages
+     */
+    @SafeVarargs
+    public final BundleHandlerStages stage(final List<IHandler>... chains) {
+
+        this.stages.add(Arrays.asList(chains));
+        return this;
+    }
+
+    /**
+     * @return the handlers in the order they run sequentially
+     */
+    public List<IHandler> getHandlers() {
+
+        final List<IHandler> handlers = new ArrayList<>();
+        this.stages.forEach(stage -> stage.forEach(handlers::addAll));
+        return Collections.unmodifiableList(handlers);
+    }
+
+    /**
+     * Runs the handlers one after the other on the calling thread
+     * @param bundleFolder folder the bundle was extracted to
+     */
+    public void runSequentially(final File bundleFolder) throws Exception {
+
+        for (final IHandler handler : this.getHandlers()) {
+            runHandler(handler, bundleFolder);
+        }
+    }
+
+    /**
+     * Runs each stage after the previous one, with the chains of a stage on the executor. If a chain
+     * fails the rest of the stage is waited for and no further stage is started.
+     * @param bundleFolder folder the bundle was extracted to
+     * @param executor executor to run the chains on
+     * @param transaction wraps each chain in its own transaction
+     */
+    public void runInParallel(final File bundleFolder, final Executor executor,
+            final ChainTransaction transaction) throws Exception {
+
+        for (final List<List<IHandler>> stage : this.stages) {
+
+            if (stage.size() == 1) {
+                transaction.run(stage.get(0), bundleFolder);
+                continue;
+            }
+
+            final CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+            for (final List<IHandler> chain : stage) {
+                completionService.submit(() -> {
+                    transaction.run(chain, bundleFolder);
+                    return null;
+                });
+            }
+
+            Exception failure = null;
+            for (int i = 0; i < stage.size(); i++) {
+                try {
+                    completionService.take().get();
+                } catch (ExecutionException e) {
+                    if (null == failure) {
+                        failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+
+            if (null != failure) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Runs the handlers of a chain one after the other
+     * @param chain handlers to run
+     * @param bundleFolder folder the bundle was extracted to
+     */
+    public static void runChain(final List<IHandler> chain, final File bundleFolder) throws Exception {
+
+        for (final IHandler handler : chain) {
+            runHandler(handler, bundleFolder);
+        }
+    }
+
+    private static void runHandler(final IHandler handler, final File bundleFolder) throws Exception {
+
+        final long start = System.nanoTime();
+        handler.handle(bundleFolder);
+        Logger.debug(BundleHandlerStages.class, () -> handler.getName() + " took "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+}
@@ -2,6 +2,7 @@ package com.dotcms.publisher.receiver;
 
 import static com.dotcms.util.CollectionsUtils.map;
 
+import com.dotcms.concurrent.DotConcurrentFactory;
 import com.dotcms.enterprise.LicenseUtil;
 import com.dotcms.enterprise.license.LicenseLevel;
 import com.dotcms.enterprise.publishing.remote.handler.BundleXMLascHandler;
@@ -51,6 +52,7 @@ import com.dotcms.util.CloseUtils;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.db.HibernateUtil;
+import com.dotmarketing.db.LocalTransaction;
 import com.dotmarketing.exception.DotHibernateException;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.ConfigUtils;
@@ -67,6 +69,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.tools.tar.TarBuffer;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -74,10 +77,12 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -90,6 +95,10 @@ import java.util.zip.GZIPInputStream;
  * files (i.e., a Container handler will only read Container data files),
  * retrieve the Java objects that they represent, and imports their content in
  * the destination server.
+ * <p>
+ * The handlers are grouped in {@link BundleHandlerStages}. With
+ * <code>PUSH_PUBLISHING_PARALLEL_HANDLERS=true</code> the independent handlers of a stage run at the same
+ * time, each chain of handlers committing on its own.
  *
  * @author Alberto
  * @version 1.0
@@ -101,40 +110,42 @@ public class BundlePublisher extends Publisher {
 
     boolean bundleSuccess = true;
 
-    private List<IHandler> handlers = new ArrayList<IHandler>();
+    private static final String PARALLEL_HANDLERS_SUBMITTER_NAME = "bundlehandlers";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private BundleHandlerStages handlerStages = new BundleHandlerStages();
 
     @Override
     public PublisherConfig init(PublisherConfig config) throws DotPublishingException {
         if (LicenseUtil.getLevel() < LicenseLevel.STANDARD.level) {
             throw new RuntimeException("need an enterprise license to run this");
         }
-        handlers = new ArrayList<IHandler>();
-        handlers.add(new BundleXMLascHandler(config));
-        //The order is really important
-        handlers.add(new UserHandler(config));
-        handlers.add(new CategoryHandler(config));
-        handlers.add(new CategoryFullHandler(config));
-        handlers.add(new HostHandler(config));
-        handlers.add(new FolderHandler(config));
-        handlers.add(new WorkflowHandler(config));
+        //The order is really important, run sequentially the handlers keep the order they are added in
+        handlerStages = new BundleHandlerStages()
+                .stage(chain(new BundleXMLascHandler(config)))
+                .stage(chain(new UserHandler(config)),
+                        chain(new CategoryHandler(config), new CategoryFullHandler(config)))
+                .stage(chain(new HostHandler(config)))
+                .stage(chain(new FolderHandler(config)), chain(new WorkflowHandler(config)));
         if (Config.getBooleanProperty("PUSH_PUBLISHING_PUSH_STRUCTURES", true)) {
-            handlers.add(new ContentTypeHandler(config));
-            handlers.add(new RelationshipHandler(config));
+            handlerStages.stage(chain(new ContentTypeHandler(config), new RelationshipHandler(config)));
         }
-        handlers.add(new ContainerHandler(config));
-        handlers.add(new TemplateHandler(config));
-        handlers.add(new LanguageHandler(config));
-        handlers.add(new LanguageVariablesHandler(config));
-        handlers.add(new ContentHandler(config));
-        handlers.add(new ContentWorkflowHandler(config));
-        handlers.add(new OSGIHandler(config));
-        handlers.add(new LinkHandler(config));
-        handlers.add(new RuleHandler(config));
+        handlerStages
+                .stage(chain(new ContainerHandler(config), new TemplateHandler(config)),
+                        chain(new LanguageHandler(config), new LanguageVariablesHandler(config)))
+                .stage(chain(new ContentHandler(config), new ContentWorkflowHandler(config)))
+                .stage(chain(new OSGIHandler(config)), chain(new LinkHandler(config)),
+                        chain(new RuleHandler(config)));
         auditAPI = PublishAuditAPI.getInstance();
         this.config = super.init(config);
         return this.config;
     }
 
+    private static List<IHandler> chain(final IHandler... handlers) {
+        return Arrays.asList(handlers);
+    }
+
     /**
      * Processes the contents of a bundle. The process consists of uncompressing
      * the bundle file, and having each {@link IHandler} class analyze and
@@ -187,9 +198,10 @@ public class BundlePublisher extends Publisher {
         folderOut.mkdir();
 
         // Extract file to a directory
+        final long start = System.nanoTime();
         InputStream bundleIS = null;
         try {
-            bundleIS = Files.newInputStream(Paths.get(bundlePath + bundleName));
+            bundleIS = new BufferedInputStream(Files.newInputStream(Paths.get(bundlePath + bundleName)), COPY_BUFFER_SIZE);
             untar(bundleIS, folderOut.getAbsolutePath() + File.separator + bundleName, bundleName);
         } catch (IOException e) {
 
@@ -213,12 +225,27 @@ public class BundlePublisher extends Publisher {
             Logger.error(BundlePublisher.class, "Unable to get assets list from received bundle with ID '" + bundleName + "': " + e.getMessage(), e);
         }
 
+        final long extracted = System.nanoTime();
+        final boolean parallel = Config.getBooleanProperty("PUSH_PUBLISHING_PARALLEL_HANDLERS", false);
         try {
-            HibernateUtil.startTransaction();
             // Execute the handlers
-            for (IHandler handler : handlers) {
-                handler.handle(folderOut);
+            if (parallel) {
+                handlerStages.runInParallel(folderOut, DotConcurrentFactory.getInstance().getSubmitter(
+                        PARALLEL_HANDLERS_SUBMITTER_NAME, new DotConcurrentFactory.SubmitterConfigBuilder()
+                                .poolSize(Config.getIntProperty("PUSH_PUBLISHING_PARALLEL_HANDLERS_THREADS", 4))
+                                .maxPoolSize(Config.getIntProperty("PUSH_PUBLISHING_PARALLEL_HANDLERS_THREADS", 4))
+                                .queueCapacity(100).build()),
+                        (chain, bundleFolder) -> LocalTransaction.wrapReturnWithListeners(() -> {
+                            BundleHandlerStages.runChain(chain, bundleFolder);
+                            return null;
+                        }));
+            } else {
+                HibernateUtil.startTransaction();
+                handlerStages.runSequentially(folderOut);
+                HibernateUtil.commitTransaction();
+            }
 
+            for (IHandler handler : handlerStages.getHandlers()) {
                 if (!handler.getWarnings().isEmpty()){
                     detail.setStatus(Status.SUCCESS_WITH_WARNINGS.getCode());
                     if (!hasWarnings) {
@@ -229,13 +256,19 @@ public class BundlePublisher extends Publisher {
                     hasWarnings = true;
                 }
             }
-            HibernateUtil.commitTransaction();
+            final long handled = System.nanoTime();
+            Logger.info(BundlePublisher.class, "Bundle '" + bundleName + "' extracted in "
+                    + TimeUnit.NANOSECONDS.toMillis(extracted - start) + "ms and handled "
+                    + (parallel ? "in parallel" : "sequentially") + " in "
+                    + TimeUnit.NANOSECONDS.toMillis(handled - extracted) + "ms");
         } catch (Exception e) {
             bundleSuccess = false;
-            try {
-                HibernateUtil.rollbackTransaction();
-            } catch (DotHibernateException e1) {
-                Logger.error(BundlePublisher.class, e.getMessage(), e1);
+            if (!parallel) {
+                try {
+                    HibernateUtil.rollbackTransaction();
+                } catch (DotHibernateException e1) {
+                    Logger.error(BundlePublisher.class, e.getMessage(), e1);
+                }
             }
             Logger.error(BundlePublisher.class, "Error publishing bundle with ID '" + bundleName + "': " + e.getMessage(), e);
 
@@ -321,13 +354,14 @@ public class BundlePublisher extends Publisher {
                 FileUtils.cleanDirectory(previousFolder);
             }
             // get a stream to tar file
-            InputStream gstream = new GZIPInputStream(bundle);
+            InputStream gstream = new GZIPInputStream(bundle, COPY_BUFFER_SIZE);
             inputStream =
                 new TarArchiveInputStream(gstream, TarBuffer.DEFAULT_BLKSIZE, TarBuffer.DEFAULT_RCDSIZE,
                     UtilMethods.getCharsetConfiguration());
 
             // For each entry in the tar, extract and save the entry to the file
             // system
+            final byte[] buf = new byte[COPY_BUFFER_SIZE];
             while (null != (entry = inputStream.getNextTarEntry())) {
                 // for each entry to be extracted
                 int bytesRead;
@@ -364,9 +398,8 @@ public class BundlePublisher extends Publisher {
                 fileOrDir.getParentFile().mkdirs();
 
                 // write to file
-                byte[] buf = new byte[1024];
                 outputStream = Files.newOutputStream(fileOrDir.toPath());
-                while ((bytesRead = inputStream.read(buf, 0, 1024)) > -1) {
+                while ((bytesRead = inputStream.read(buf, 0, COPY_BUFFER_SIZE)) > -1) {
                     outputStream.write(buf, 0, bytesRead);
                 }
                 try {
@@ -1,9 +1,8 @@
 package com.dotcms.publisher.util;
 
 import com.dotcms.publisher.pusher.wrapper.CategoryWrapper;
+import com.dotcms.publishing.BundlerUtil;
 import com.dotcms.publishing.DotPublishingException;
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,21 +14,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.commons.io.IOUtils;
 
 
 public class PushCategoryUtil {
 
-	private XStream xstream;
-
 	private Map<String, File> categoriesByInode;
 	private Set<String> categoriesTopLevel;
 
 	private int categoriesCount;
 	
 	public PushCategoryUtil(Collection<File> categories, String categoryExtension) throws DotPublishingException {
-		xstream=new XStream(new DomDriver());
-
 		categoriesByInode = new HashMap<>();
 		categoriesTopLevel = new HashSet<>();
 		categoriesCount = 0;
@@ -75,15 +69,14 @@ public class PushCategoryUtil {
 		return (categoryFile != null) ? getCategoryWrapperFromFile(categoryFile) : null;
 	}
 	
+	/**
+	 * Reads the wrapper the way the other bundle files are read, so a category written as a
+	 * binary record is read as well as one written as XML
+	 */
 	private CategoryWrapper getCategoryWrapperFromFile(final File category) throws IOException {
-		final InputStream fis = Files.newInputStream(category.toPath());
-		CategoryWrapper categoryWrapper;
-		try {
-            categoryWrapper = (CategoryWrapper) xstream.fromXML(fis);
-		} finally {
-			IOUtils.closeQuietly(fis);
+		try (final InputStream input = Files.newInputStream(category.toPath())) {
+			return (CategoryWrapper) BundlerUtil.xmlToObject(input);
 		}
-		return categoryWrapper;
 	}
 	
 	public int getCategoryXMLCount(){
@@ -0,0 +1,94 @@
+package com.dotcms.publishing;
+
+import com.dotmarketing.util.Config;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact format for the records of a bundle: the same object tree XStream writes as XML, written as
+ * XStream binary tokens (element names are sent once and then referenced by id), after a header made
+ * of a magic number and the version of the format. A record can not be mistaken for an XML file, which
+ * never starts with a zero byte, so the receiver reads both formats from the same files.
+ * <p>
+ * The bundles are written in this format with <code>PUSH_PUBLISHING_BINARY_BUNDLE=true</code>, every
+ * endpoint the bundles are pushed to must be able to read it.
+ */
+public class BinaryBundleRecord {
+
+    private static final byte[] MAGIC = {0, 'D', 'B', 'R'};
+
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    private BinaryBundleRecord() {
+    }
+
+    /**
+     * @return true if the bundle records must be written in this format
+     */
+    public static boolean isEnabled() {
+        return Config.getBooleanProperty("PUSH_PUBLISHING_BINARY_BUNDLE", false);
+    }
+
+    /**
+     * Writes the object as a binary record, the stream is flushed but not closed
+     * @param object object to write
+     * @param outputStream stream to write to
+     */
+    public static void write(final Object object, final OutputStream outputStream) throws IOException {
+
+        outputStream.write(MAGIC);
+        outputStream.write(VERSION);
+        final BinaryStreamWriter writer = new BinaryStreamWriter(outputStream);
+        XMLSerializerUtil.getInstance().getXmlSerializer().marshal(object, writer);
+        writer.flush();
+    }
+
+    /**
+     * Tells if the stream starts with a binary record, the stream must support mark and is left at its start
+     * @param inputStream stream to check
+     * @return true if a binary record, false if anything else (such as XML)
+     */
+    public static boolean isBinaryRecord(final InputStream inputStream) throws IOException {
+
+        inputStream.mark(HEADER_LENGTH);
+        try {
+            final byte[] magic = new byte[MAGIC.length];
+            return inputStream.read(magic) == MAGIC.length && Arrays.equals(MAGIC, magic);
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Reads the object of a binary record
+     * @param inputStream stream positioned at the start of the record
+     * @return Object read
+     * @throws IOException if the stream is not a binary record or its version is not supported
+     */
+    public static Object read(final InputStream inputStream) throws IOException {
+
+        final InputStream input = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        if (!isBinaryRecord(input)) {
+            throw new IOException("Not a binary bundle record");
+        }
+
+        final byte[] header = new byte[HEADER_LENGTH];
+        if (input.read(header) != HEADER_LENGTH) {
+            throw new IOException("Truncated binary bundle record");
+        }
+        final byte version = header[MAGIC.length];
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary bundle record version " + version
+                    + ", this server reads version " + VERSION);
+        }
+
+        return XMLSerializerUtil.getInstance().getXmlSerializer().unmarshal(new BinaryStreamReader(input));
+    }
+}
@@ -262,7 +262,24 @@ public class BundlerUtil {
         }
     }
 
+    /**
+     * Serialize a given object to xml, or to a {@link BinaryBundleRecord} if the binary bundles are enabled.
+     * A record that can not be written fails the bundle instead of leaving a truncated file in it
+     *
+     * @param obj          Object to serialize
+     * @param outputStream Stream to write to
+     * @throws DotRuntimeException if the binary record can not be written
+     */
     public static void objectToXML(final Object obj, final OutputStream outputStream) {
+        if (BinaryBundleRecord.isEnabled()) {
+            try {
+                BinaryBundleRecord.write(obj, outputStream);
+            } catch (IOException e) {
+                throw new DotRuntimeException("Unable to write binary record: " + e.getMessage(), e);
+            }
+            return;
+        }
+
         HierarchicalStreamWriter xmlWriter = new DotPrettyPrintWriter(new OutputStreamWriter(outputStream));
         XMLSerializerUtil.getInstance().marshal(obj, xmlWriter);
     }
@@ -344,18 +361,38 @@ public class BundlerUtil {
             return xmlToObject(input);
 		} catch (Exception e) {
 			Logger.warnAndDebug(BundlerUtil.class,e.getMessage(),e);
+			if (isBinaryRecord(f)) {
+				throw new DotRuntimeException("Unable to deserialize binary record: " + f + " " + e.getMessage(), e);
+			}
 			return xmlToObjectWithPrologue(f);
 		}
 	}
 
+    /**
+     * Deserialize an object back from XML, or from a {@link BinaryBundleRecord}
+     *
+     * @param inputStream stream to deserialize
+     * @return A deserialized object
+     */
     public static Object xmlToObject(final InputStream inputStream) throws IOException {
         final XStream xstream = XMLSerializerUtil.getInstance().getXmlSerializer();
 
         try (InputStream input = new BufferedInputStream(inputStream)) {
+            if (BinaryBundleRecord.isBinaryRecord(input)) {
+                return BinaryBundleRecord.read(input);
+            }
             return xstream.fromXML(input);
         }
     }
 
+    private static boolean isBinaryRecord(final File file) {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            return BinaryBundleRecord.isBinaryRecord(input);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     /**
      * Adds a XML 1.1 Prologue before trying to deserialize
      * @param file
@@ -3,6 +3,7 @@ package com.dotcms.rendering.velocity.directive;
 import com.dotcms.contenttype.model.type.BaseContentType;
 import com.dotcms.contenttype.model.type.ContentType;
 import com.dotcms.rendering.velocity.services.VelocityType;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
@@ -74,6 +75,11 @@ public class ContentletDetail extends DotDirective {
 
     }
 
+    @Override
+    String getProfileType() {
+        return RenderProfiler.CONTENT;
+    }
+
     @Override
     String resolveTemplatePath(final Context context, final Writer writer, final RenderParams params, final String[] arguments) {
 
@@ -20,6 +20,7 @@ import org.apache.velocity.runtime.parser.node.SimpleNode;
 
 import com.dotcms.rendering.velocity.directive.RenderParams;
 import com.dotcms.rendering.velocity.services.VelocityType;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotcms.rendering.velocity.util.VelocityUtil;
 
 import com.dotmarketing.util.Logger;
@@ -41,6 +42,13 @@ abstract class DotDirective extends InputBase {
 
   abstract String resolveTemplatePath(Context context, Writer writer, RenderParams params, String[] arguments);
 
+  /**
+   * Kind of node this directive opens on the {@link RenderProfiler} tree
+   */
+  String getProfileType() {
+    return RenderProfiler.PARSE;
+  }
+
   final Template loadTemplate(InternalContextAdapter context,  String templatePath){
     
     try {
@@ -92,6 +100,7 @@ abstract class DotDirective extends InputBase {
 
     RenderParams params = new RenderParams(request);
 
+    final RenderProfiler.Frame frame = RenderProfiler.enter(this.getProfileType(), args > 0 ? arguments[0] : null);
     try{
       String templatePath = this.resolveTemplatePath(context, writer, params, arguments);
       if(null ==templatePath) {
@@ -103,6 +112,10 @@ abstract class DotDirective extends InputBase {
       context.remove("ContentIdentifier");
       postRender(context);
       return true;
+    } finally {
+      if (null != frame) {
+        frame.exit();
+      }
     }
 
   }
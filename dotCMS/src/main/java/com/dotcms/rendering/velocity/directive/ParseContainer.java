@@ -1,5 +1,6 @@
 package com.dotcms.rendering.velocity.directive;
 
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotmarketing.beans.MultiTree;
 import com.dotmarketing.business.web.WebAPILocator;
 import com.dotmarketing.portlets.templates.design.bean.ContainerUUID;
@@ -42,6 +43,11 @@ public class ParseContainer extends DotDirective {
 		return "parseContainer";
 	}
 
+	@Override
+	String getProfileType() {
+		return RenderProfiler.CONTAINER;
+	}
+
 	public void init(RuntimeServices rs, InternalContextAdapter context, Node node) throws TemplateInitException {
 		super.init(rs, context, node);
 
@@ -3,6 +3,7 @@ package com.dotcms.rendering.velocity.servlet;
 import com.dotcms.api.web.HttpServletRequestThreadLocal;
 import com.dotcms.enterprise.LicenseUtil;
 import com.dotcms.rendering.velocity.services.VelocityResourceKey;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotcms.rendering.velocity.util.VelocityUtil;
 import com.dotcms.security.ContentSecurityPolicyUtil;
 import com.dotcms.vanityurl.model.CachedVanityUrl;
@@ -170,6 +171,11 @@ public class VelocityLiveMode extends VelocityModeHandler {
                 response.setHeader("Cache-Control",  cacheControl);
             }
             
+            if (RenderProfiler.isRequested(request)) {
+                this.serveProfile(context, out);
+                return;
+            }
+
             if (shouldCache) {
 
                 final String cachedPage = CacheLocator.getBlockPageCache().get(htmlPage, cacheParameters);
@@ -1,7 +1,10 @@
 package com.dotcms.rendering.velocity.servlet;
 
+import com.dotcms.api.web.HttpServletRequestThreadLocal;
 import com.dotcms.rendering.velocity.services.VelocityType;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotcms.rendering.velocity.util.VelocityUtil;
+import com.dotcms.rest.api.v1.DotObjectMapperProvider;
 import com.dotcms.security.ContentSecurityPolicyUtil;
 import com.dotmarketing.beans.Identifier;
 import com.google.common.collect.ImmutableMap;
@@ -20,7 +23,10 @@ import com.dotmarketing.util.PageMode;
 import com.liferay.portal.model.User;
 import com.liferay.util.StringPool;
 import java.nio.charset.StandardCharsets;
+import javax.ws.rs.core.MediaType;
+import org.apache.commons.io.output.NullWriter;
 import org.apache.velocity.Template;
+import org.apache.velocity.context.Context;
 import org.apache.velocity.exception.ParseErrorException;
 
 import javax.servlet.http.HttpServletRequest;
@@ -148,6 +154,30 @@ public abstract class VelocityModeHandler {
         return modeHandler(mode, request, response, request.getRequestURI(), hostWebAPI.getCurrentHostNoThrow(request));
     }
 
+    /**
+     * Renders the page collecting its {@link RenderProfiler} tree, the html is discarded and the tree
+     * is written as json instead. It is only meant for the requests where
+     * {@link RenderProfiler#isRequested(HttpServletRequest)}, the response is never cached.
+     * @param context {@link Context} velocity context of the page
+     * @param out     {@link OutputStream} where the profile is written
+     */
+    protected final void serveProfile(final Context context, final OutputStream out)
+            throws IOException, DotDataException {
+
+        final RenderProfiler.Frame root = RenderProfiler.start(this.htmlPage.getURI());
+        try {
+
+            HttpServletRequestThreadLocal.INSTANCE.setRequest(request);
+            this.getTemplate(htmlPage, mode).merge(context, NullWriter.NULL_WRITER);
+        } finally {
+            RenderProfiler.stop(root);
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON);
+        response.setHeader("Cache-Control", "no-cache");
+        DotObjectMapperProvider.getInstance().getDefaultObjectMapper().writeValue(out, root.toMap());
+    }
+
     public final Template getTemplate(final IHTMLPage page, final PageMode mode) {
 
         return VelocityUtil.getEngine().getTemplate(mode.name() + File.separator + page.getIdentifier() + "_"
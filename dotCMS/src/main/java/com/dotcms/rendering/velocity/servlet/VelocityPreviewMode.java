@@ -2,6 +2,7 @@ package com.dotcms.rendering.velocity.servlet;
 
 import com.dotcms.rendering.velocity.events.PreviewEditParseErrorException;
 import com.dotcms.rendering.velocity.services.PageRenderUtil;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotcms.rendering.velocity.util.VelocityUtil;
 import com.dotcms.rendering.velocity.viewtools.content.ContentMap;
 import com.dotmarketing.beans.Host;
@@ -68,6 +69,11 @@ public class VelocityPreviewMode extends VelocityModeHandler {
         context.put("dotPageContent", new ContentMap(((Contentlet) htmlPage), user, mode, host, context));
 
         request.setAttribute("velocityContext", context);
+        if (RenderProfiler.isRequested(request)) {
+            this.serveProfile(context, out);
+            return;
+        }
+
         try(final Writer outStr = new BufferedWriter(new OutputStreamWriter(out))){
             this.getTemplate(htmlPage, mode).merge(context, outStr);
         } catch (PreviewEditParseErrorException e) {
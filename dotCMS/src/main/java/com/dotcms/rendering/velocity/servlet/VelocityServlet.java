@@ -5,6 +5,8 @@ import static com.dotmarketing.util.WebKeys.LOGIN_MODE_PARAMETER;
 import com.dotcms.business.CloseDB;
 import com.dotcms.enterprise.LicenseUtil;
 import com.dotcms.enterprise.license.LicenseLevel;
+import com.dotcms.metrics.Histogram;
+import com.dotcms.metrics.MetricsRegistry;
 import com.dotcms.rendering.velocity.viewtools.VelocityRequestWrapper;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.web.UserWebAPI;
@@ -35,6 +37,9 @@ import java.io.IOException;
 public class VelocityServlet extends HttpServlet {
 
 
+    private static final Histogram renderTime = MetricsRegistry.getInstance().histogram(
+            "dotcms_page_render_seconds", "Time to render a page on the front end");
+
     private final UserWebAPIImpl userApi;
     private final HTMLPageAssetRenderedAPI htmlPageAssetRenderedAPI;
 
@@ -117,6 +122,7 @@ public class VelocityServlet extends HttpServlet {
         
         // try to get the page
         try {
+            final long start = System.nanoTime();
             final String pageHtml = htmlPageAssetRenderedAPI.getPageHtml(
                     PageContextBuilder.builder()
                             .setPageUri(uri)
@@ -127,6 +133,7 @@ public class VelocityServlet extends HttpServlet {
                     request,
                     response
             );
+            renderTime.recordSince(start);
             response.getOutputStream().write(pageHtml.getBytes());
         } catch (ResourceNotFoundException rnfe) {
             Logger.warnAndDebug(this.getClass(), "ResourceNotFoundException" + rnfe.toString(), rnfe);
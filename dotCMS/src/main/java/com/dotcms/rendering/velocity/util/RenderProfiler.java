@@ -0,0 +1,232 @@
+package com.dotcms.rendering.velocity.util;
+
+import com.dotmarketing.business.web.WebAPILocator;
+import com.liferay.portal.model.User;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequest;
+import org.apache.velocity.tools.view.tools.ViewTool;
+
+/**
+ * Builds a timed call tree of a single page render: the template, each container, each contentlet,
+ * each <code>#parse</code> / <code>#dotParse</code> and each viewtool call, with the cache misses,
+ * DB queries and ES queries made by each node.
+ * <p>
+ * It is requested by a CMS admin sending the {@link #PROFILE_HEADER} header, in that case the page
+ * is rendered but the profile is returned instead of the html, see
+ * {@link com.dotcms.rendering.velocity.servlet.VelocityModeHandler}. The tree is written on the
+ * d3-flame-graph format (<code>name</code>, <code>value</code> and <code>children</code>).
+ * <p>
+ * While no render is being profiled every hook is a single check of {@link #activeProfiles}.
+ */
+public final class RenderProfiler {
+
+    public static final String PROFILE_HEADER = "X-Dot-Render-Profile";
+
+    public static final String TEMPLATE  = "template";
+    public static final String CONTAINER = "container";
+    public static final String CONTENT   = "content";
+    public static final String PARSE     = "parse";
+    public static final String VIEWTOOL  = "viewtool";
+
+    private static final AtomicInteger activeProfiles = new AtomicInteger();
+    private static final ThreadLocal<Frame> currentFrame = new ThreadLocal<>();
+
+    private RenderProfiler() {
+    }
+
+    /**
+     * Returns true if the request asks for the render profile and the user is a CMS admin
+     * @param request {@link HttpServletRequest}
+     * @return boolean
+     */
+    public static boolean isRequested(final HttpServletRequest request) {
+
+        if (!Boolean.parseBoolean(request.getHeader(PROFILE_HEADER))) {
+            return false;
+        }
+
+        final User user = WebAPILocator.getUserWebAPI().getLoggedInUser(request);
+        return null != user && user.isAdmin();
+    }
+
+    /**
+     * Starts profiling the render made by the current thread, {@link #stop(Frame)} must be called
+     * on a finally block
+     * @param name {@link String} name of the page
+     * @return Frame the root of the tree
+     */
+    public static Frame start(final String name) {
+
+        final Frame root = new Frame(null, TEMPLATE, name);
+        currentFrame.set(root);
+        activeProfiles.incrementAndGet();
+        return root;
+    }
+
+    /**
+     * Stops profiling the current thread
+     * @param root {@link Frame} returned by {@link #start(String)}
+     */
+    public static void stop(final Frame root) {
+
+        root.exit();
+        currentFrame.remove();
+        activeProfiles.decrementAndGet();
+    }
+
+    /**
+     * Opens a node of the tree as a child of the current one
+     * @param type {@link String} kind of node, {@link #CONTAINER}, {@link #PARSE}...
+     * @param name {@link String} name of the node
+     * @return Frame to {@link Frame#exit()} when the node is done, null if the thread is not profiled
+     */
+    public static Frame enter(final String type, final String name) {
+
+        if (activeProfiles.get() == 0) {
+            return null;
+        }
+
+        final Frame parent = currentFrame.get();
+        if (null == parent) {
+            return null;
+        }
+
+        final Frame frame = parent.child(type, name);
+        currentFrame.set(frame);
+        return frame;
+    }
+
+    /**
+     * Opens a node for a method call made by the template, only calls to a {@link ViewTool} are
+     * profiled
+     * @param tool       {@link Object} the called object
+     * @param methodName {@link String} the called method
+     * @return Frame to {@link Frame#exit()} when the call is done, null if nothing is profiled
+     */
+    public static Frame enterViewTool(final Object tool, final String methodName) {
+
+        if (activeProfiles.get() == 0) {
+            return null;
+        }
+
+        return tool instanceof ViewTool ?
+                enter(VIEWTOOL, tool.getClass().getSimpleName() + "." + methodName) : null;
+    }
+
+    public static void cacheMiss() {
+
+        if (activeProfiles.get() != 0) {
+            final Frame frame = currentFrame.get();
+            if (null != frame) {
+                frame.cacheMisses++;
+            }
+        }
+    }
+
+    public static void dbQuery() {
+
+        if (activeProfiles.get() != 0) {
+            final Frame frame = currentFrame.get();
+            if (null != frame) {
+                frame.dbQueries++;
+            }
+        }
+    }
+
+    public static void esQuery() {
+
+        if (activeProfiles.get() != 0) {
+            final Frame frame = currentFrame.get();
+            if (null != frame) {
+                frame.esQueries++;
+            }
+        }
+    }
+
+    /**
+     * A node of the tree, repeated calls with the same type and name under the same parent
+     * (a viewtool called on a loop) are merged, so {@link #calls} says how many there were.
+     * The counters only include what the node did itself, not its children.
+     */
+    public static final class Frame {
+
+        private final Frame parent;
+        private final String type;
+        private final String name;
+        private final Map<String, Frame> children = new LinkedHashMap<>();
+        private long startNanos;
+        private long nanos;
+        private int calls;
+        private int cacheMisses;
+        private int dbQueries;
+        private int esQueries;
+
+        private Frame(final Frame parent, final String type, final String name) {
+
+            this.parent = parent;
+            this.type   = type;
+            this.name   = name;
+            this.begin();
+        }
+
+        private void begin() {
+
+            this.calls++;
+            this.startNanos = System.nanoTime();
+        }
+
+        private Frame child(final String childType, final String childName) {
+
+            final String key = childType + ":" + childName;
+            final Frame child = this.children.get(key);
+            if (null != child) {
+                child.begin();
+                return child;
+            }
+
+            final Frame newChild = new Frame(this, childType, childName);
+            this.children.put(key, newChild);
+            return newChild;
+        }
+
+        /**
+         * Closes the node and makes its parent the current one
+         */
+        public void exit() {
+
+            this.nanos += System.nanoTime() - this.startNanos;
+            if (null != this.parent) {
+                currentFrame.set(this.parent);
+            }
+        }
+
+        /**
+         * Returns the node and its children on the d3-flame-graph format, value is in microseconds
+         * @return Map
+         */
+        public Map<String, Object> toMap() {
+
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", this.type + " " + this.name);
+            map.put("value", TimeUnit.NANOSECONDS.toMicros(this.nanos));
+            map.put("type", this.type);
+            map.put("millis", this.nanos / 1_000_000d);
+            map.put("calls", this.calls);
+            map.put("cacheMisses", this.cacheMisses);
+            map.put("dbQueries", this.dbQueries);
+            map.put("esQueries", this.esQueries);
+
+            final List<Map<String, Object>> childList = new ArrayList<>(this.children.size());
+            for (final Frame child : this.children.values()) {
+                childList.add(child.toMap());
+            }
+            map.put("children", childList);
+            return map;
+        }
+    }
+}
@@ -112,7 +112,7 @@ public class SQLResultsViewTool implements ViewTool {
      *
      * @return The results returned by the SQL query.
      */
-    @CloseDBIfOpened
+    @CloseDBIfOpened(readOnly = true)
     private ArrayList<HashMap<String, String>> getResults(final String dataSource, final String sql, final
     ArrayList<Object> parameterList, int startRow, int maxRow) {
         if (dataSource.equals(DEFAULT_DATASOURCE) && !Config.getBooleanProperty
@@ -2,12 +2,14 @@ package com.dotcms.rendering.velocity.viewtools.navigation;
 
 
 import com.dotcms.api.web.HttpServletRequestThreadLocal;
+import com.dotcms.concurrent.DotConcurrentFactory;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Identifier;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.Versionable;
 import com.dotmarketing.business.web.WebAPILocator;
+import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.portlets.browser.ajax.BrowserAjax;
@@ -18,6 +20,7 @@ import com.dotmarketing.portlets.folders.model.Folder;
 import com.dotmarketing.portlets.htmlpageasset.model.IHTMLPage;
 import com.dotmarketing.portlets.links.model.Link;
 import com.dotmarketing.portlets.links.model.Link.LinkType;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.PageMode;
 import com.dotmarketing.util.RegEX;
@@ -26,10 +29,17 @@ import com.dotmarketing.util.UtilMethods;
 import com.google.common.annotations.VisibleForTesting;
 import com.liferay.portal.model.User;
 import com.liferay.util.StringPool;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
 import io.vavr.control.Try;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.beanutils.BeanUtils;
@@ -38,6 +48,13 @@ import org.apache.velocity.tools.view.tools.ViewTool;
 
 public class NavTool implements ViewTool {
 
+    private static final String SNAPSHOT_SUBMITTER_NAME = "navtreesnapshot";
+
+    /**
+     * Site and language trees being built in the background, so a tree is not built twice at once
+     */
+    private static final Set<String> SNAPSHOTS_IN_PROGRESS = ConcurrentHashMap.newKeySet();
+
     private Host currenthost = null;
     private static User systemUser = null;
     private HttpServletRequest request = null;
@@ -70,9 +87,21 @@ public class NavTool implements ViewTool {
         return getNav(host, path, this.currentLanguage, this.systemUser);
     }
 
-    protected NavResultHydrated getNav(final Host host, String path, final long languageId, final User systemUserParam)
+    protected NavResultHydrated getNav(final Host host, final String path, final long languageId, final User systemUserParam)
             throws DotDataException, DotSecurityException {
 
+        return this.buildNav(host, path, languageId, systemUserParam, true);
+    }
+
+    /**
+     * Builds the nav of the folder on the given path. When it is not cached yet and we are rendering a live view the
+     * menu tree of the whole site is built in the background (see {@link #snapshotTree(Host, long, User)}), so a deep
+     * menu rendered right after a flush does not hit the database level by level, while the request only builds
+     * the folder it asked for.
+     */
+    private NavResultHydrated buildNav(final Host host, String path, final long languageId, final User systemUserParam,
+            final boolean snapshot) throws DotDataException, DotSecurityException {
+
         if (path != null && path.contains(".")) {
             path = path.substring(0, path.lastIndexOf("/"));
         }
@@ -226,14 +255,112 @@ public class NavTool implements ViewTool {
                 }
             }
         }
+        //the cached result is shared by every request, nobody should change its children
+        result.setChildren(Collections.unmodifiableList(children));
         //we only want to store things in cache for live views.
         //It makes no sense putting things in cache when we're browsing in Preview or Edit mode
         if(pageMode.showLive) {
             navToolCache.putNav(host.getIdentifier(), folder.getInode(), result, languageId);
+            if (snapshot) {
+                this.scheduleSnapshot(host, languageId, systemUserParam);
+            }
         }
         return new NavResultHydrated(result, this.context);
     }
 
+    /**
+     * Submits the build of the menu tree of the site and language, unless it is already being built
+     */
+    private void scheduleSnapshot(final Host host, final long languageId, final User user) {
+
+        final String key = host.getIdentifier() + StringPool.COLON + languageId;
+        if (!SNAPSHOTS_IN_PROGRESS.add(key)) {
+            return;
+        }
+
+        try {
+            DotConcurrentFactory.getInstance().getSubmitter(SNAPSHOT_SUBMITTER_NAME).submit(() -> {
+                try {
+                    new NavTool().snapshotTree(host, languageId, user);
+                } finally {
+                    SNAPSHOTS_IN_PROGRESS.remove(key);
+                    DbConnectionFactory.closeSilently();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            SNAPSHOTS_IN_PROGRESS.remove(key);
+            Logger.debug(NavTool.class, () -> "The nav tree of " + key + " could not be scheduled: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds and caches the live nav of the menu folders of the site, breadth-first from its root, up to
+     * NAV_TREE_SNAPSHOT_DEPTH levels and NAV_TREE_SNAPSHOT_MAX_FOLDERS folders built. The cached navs are shared,
+     * read only, by every request. Folders already cached are not built again, so when a single folder is removed
+     * from the cache only that folder is built, the walk goes on through the cached ones.
+     */
+    @VisibleForTesting
+    void snapshotTree(final Host host, final long languageId, final User user) {
+
+        final int maxDepth   = Config.getIntProperty("NAV_TREE_SNAPSHOT_DEPTH", 5);
+        final int maxFolders = Config.getIntProperty("NAV_TREE_SNAPSHOT_MAX_FOLDERS", 1000);
+        final NavToolCache navToolCache = CacheLocator.getNavToolCache();
+        final NavResultHydrated root = Try.of(() -> this.buildNav(host, StringPool.SLASH, languageId, user, false))
+                .onFailure(e -> Logger.warnAndDebug(NavTool.class, "Unable to build the nav of the site "
+                        + host.getHostname() + ": " + e.getMessage(), e))
+                .getOrNull();
+        if (null == root) {
+            return;
+        }
+
+        final LinkedList<Tuple2<NavResult, Integer>> pending = new LinkedList<>();
+        pending.add(Tuple.of(root.getUnhydratedNavResult(), 1));
+        int built = 0;
+
+        while (!pending.isEmpty() && built < maxFolders) {
+
+            final Tuple2<NavResult, Integer> next = pending.poll();
+            if (next._2 >= maxDepth) {
+                continue;
+            }
+
+            for (final NavResult child : Try.of(next._1::getChildren).getOrElse(Collections.emptyList())) {
+
+                if (!child.isFolder()) {
+                    continue;
+                }
+
+                NavResult childNav = navToolCache.getNav(host.getIdentifier(), child.getFolderId(), languageId);
+                if (null == childNav) {
+
+                    if (built >= maxFolders) {
+                        break;
+                    }
+
+                    final String childPath = child.getHref().endsWith(StringPool.SLASH) ?
+                            child.getHref() : child.getHref() + StringPool.SLASH;
+                    try {
+
+                        final NavResultHydrated hydrated = this.buildNav(host, childPath, languageId, user, false);
+                        built++;
+                        childNav = null != hydrated ? hydrated.getUnhydratedNavResult() : null;
+                    } catch (DotDataException | DotSecurityException e) {
+                        Logger.warnAndDebug(NavTool.class, String.format("Unable to build the nav of [%s]: %s",
+                                childPath, e.getMessage()), e);
+                    }
+                }
+
+                if (null != childNav) {
+                    pending.add(Tuple.of(childNav, next._2 + 1));
+                }
+            }
+        }
+
+        final int builtFolders = built;
+        Logger.debug(NavTool.class, () -> String.format("Nav tree of site %s and language %d built, %d folders were not cached",
+                host.getHostname(), languageId, builtFolders));
+    }
+
     private List<?> filterNonLiveItems(final List<?> menuItems) {
         if (!menuItems.isEmpty()) {
             final List<Versionable> nonLive = menuItems.stream()
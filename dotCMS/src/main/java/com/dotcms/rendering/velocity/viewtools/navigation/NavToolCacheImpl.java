@@ -67,46 +67,62 @@ public class NavToolCacheImpl implements NavToolCache {
         List<Language> allLanguages = APILocator.getLanguageAPI().getLanguages();
 
         if (null != folderInode) {
+            // the folder is looked up once, not once per language
+            final boolean recursive = this.shouldRemoveRecursively(folderInode);
             for (Language language : allLanguages) {
-                removeNav(hostid, folderInode, language.getId());
+                removeNav(hostid, folderInode, language.getId(), recursive);
             }
         }
     }
 
     @Override
     public void removeNav(String hostid, String folderInode, long languageId) {
+        removeNav(hostid, folderInode, languageId, this.shouldRemoveRecursively(folderInode));
+    }
+
+    /**
+     * if the folder have been deleted or should not be shown on menu the cache of its
+     * sub folders has to be removed as well
+     */
+    private boolean shouldRemoveRecursively(final String folderInode) {
+        if(FolderAPI.SYSTEM_FOLDER.equals(folderInode)) {
+            return false;
+        }
+
         Folder folder;
         try {
-            if(!FolderAPI.SYSTEM_FOLDER.equals(folderInode)) {
-                try {
-                    folder = APILocator.getFolderAPI().find(folderInode, APILocator.getUserAPI().getSystemUser(), false);
-                }
-                catch(Exception ex) {
-                    // here we catch the when it have been deleted
-                    folder = null;
-                }
-                if(folder==null || !UtilMethods.isSet(folder.getIdentifier()) || !folder.isShowOnMenu()) {
-                    // if the folder have been deleted or should not be shown on menu lets 
-                    // remove cache recursively
-                    LinkedList<String> ids=new LinkedList<String>();
-                    ids.add(folderInode);
-                    while(!ids.isEmpty()) {
-                        String fid=ids.pop();
-                        NavResult nav=getNav(hostid, fid, languageId);
-                        if(nav!=null)
-                            ids.addAll(nav.getChildrenFolderIds());
-                        cache.remove(key(hostid,fid, languageId), GROUP);
-                    }
-                    return;
+            folder = APILocator.getFolderAPI().find(folderInode, APILocator.getUserAPI().getSystemUser(), false);
+        }
+        catch(Exception ex) {
+            // here we catch the when it have been deleted
+            folder = null;
+        }
+        return folder==null || !UtilMethods.isSet(folder.getIdentifier()) || !folder.isShowOnMenu();
+    }
+
+    private void removeNav(String hostid, String folderInode, long languageId, boolean recursive) {
+        try {
+            if(recursive) {
+                // the snapshot of the subtree is only removed when the folder is gone from the menu,
+                // otherwise only the folder is built again
+                LinkedList<String> ids=new LinkedList<String>();
+                ids.add(folderInode);
+                while(!ids.isEmpty()) {
+                    String fid=ids.pop();
+                    NavResult nav=getNav(hostid, fid, languageId);
+                    if(nav!=null)
+                        ids.addAll(nav.getChildrenFolderIds());
+                    cache.remove(key(hostid,fid, languageId), GROUP);
                 }
+                return;
             }
-            
+
             cache.remove(key(hostid,folderInode, languageId), GROUP);
-            
+
         } catch (Exception e) {
             Logger.warn(this, e.getMessage(), e);
         }
-        
+
     }
 
     @Override
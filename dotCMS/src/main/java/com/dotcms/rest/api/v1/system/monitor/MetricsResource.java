@@ -0,0 +1,78 @@
+package com.dotcms.rest.api.v1.system.monitor;
+
+import com.dotcms.business.CloseDBIfOpened;
+import com.dotcms.metrics.MethodTimings;
+import com.dotcms.metrics.MetricsRegistry;
+import com.dotcms.rest.ResponseEntityView;
+import com.dotcms.rest.annotation.NoCache;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.glassfish.jersey.server.JSONP;
+
+/**
+ * Exposes the {@link MetricsRegistry} in the Prometheus text format, so it can be scraped, and the
+ * latency of the {@link com.dotcms.util.LogTime} methods.
+ * Access is granted to the same IPs as the system status checks (SYSTEM_STATUS_API_IP_ACL).
+ */
+@Path("/v1/system-status/metrics")
+public class MetricsResource {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int    FORBIDDEN               = 403;
+
+    @NoCache
+    @GET
+    @Path("/")
+    @Produces(PROMETHEUS_CONTENT_TYPE)
+    @CloseDBIfOpened
+    public Response metrics(final @Context HttpServletRequest request) throws Throwable {
+        // Cannot require authentication, same as the system status checks
+
+        final MonitorHelper helper = new MonitorHelper(request);
+        if (!helper.accessGranted) {
+            return Response.status(FORBIDDEN).build();
+        }
+
+        final StreamingOutput output = outputStream -> {
+            final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            MetricsRegistry.getInstance().writePrometheus(writer);
+            writer.flush();
+        };
+
+        return Response.ok(output, PROMETHEUS_CONTENT_TYPE).build();
+    }
+
+    /**
+     * Returns the {@link com.dotcms.util.LogTime} methods with the highest p99 latency on the last
+     * window (see {@link MethodTimings}), times are in milliseconds
+     * @param request {@link HttpServletRequest}
+     * @param limit   int max amount of methods, 20 by default
+     * @return Response with the list of methods
+     */
+    @NoCache
+    @GET
+    @JSONP
+    @Path("/methods")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response slowestMethods(final @Context HttpServletRequest request,
+            final @DefaultValue("20") @QueryParam("limit") int limit) throws Throwable {
+
+        final MonitorHelper helper = new MonitorHelper(request);
+        if (!helper.accessGranted) {
+            return Response.status(FORBIDDEN).build();
+        }
+
+        return Response.ok(new ResponseEntityView(MethodTimings.getInstance().getSlowest(limit))).build();
+    }
+}
@@ -7,12 +7,21 @@ public class BulkActionsResultView {
     private final Long successCount;
     private final Long skippedCount;
     private final List<ActionFail> fails;
+    private final Long elapsedMillis;
+    private final Double throughput;
 
 
     public BulkActionsResultView(final Long successCount, final Long skippedCount, final List<ActionFail> fails) {
+        this(successCount, skippedCount, fails, null, null);
+    }
+
+    public BulkActionsResultView(final Long successCount, final Long skippedCount, final List<ActionFail> fails,
+            final Long elapsedMillis, final Double throughput) {
         this.successCount = successCount;
         this.skippedCount = skippedCount;
         this.fails = fails;
+        this.elapsedMillis = elapsedMillis;
+        this.throughput = throughput;
     }
 
     public Long getSuccessCount() {
@@ -26,4 +35,18 @@ public class BulkActionsResultView {
     public List<ActionFail> getFails() {
         return fails;
     }
+
+    /**
+     * @return Long millis spent firing the actions, null if not measured
+     */
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return Double contents processed per second, null if not measured
+     */
+    public Double getThroughput() {
+        return throughput;
+    }
 }
@@ -51,6 +51,7 @@ import com.dotcms.rest.api.v1.system.UpgradeTaskResource;
 import com.dotcms.rest.api.v1.system.cache.CacheResource;
 import com.dotcms.rest.api.v1.system.i18n.I18NResource;
 import com.dotcms.rest.api.v1.system.logger.LoggerResource;
+import com.dotcms.rest.api.v1.system.monitor.MetricsResource;
 import com.dotcms.rest.api.v1.system.monitor.MonitorResource;
 import com.dotcms.rest.api.v1.system.permission.PermissionResource;
 import com.dotcms.rest.api.v1.system.redis.RedisResource;
@@ -151,6 +152,7 @@ public class DotRestApplication extends javax.ws.rs.core.Application {
 			.add(PersonasResourcePortlet.class)
 			.add(ConditionletsResource.class)
 			.add(MonitorResource.class)
+			.add(MetricsResource.class)
 			.add(ActionResource.class)
 			.add(ActionletsResource.class)
 			.add(I18NResource.class)
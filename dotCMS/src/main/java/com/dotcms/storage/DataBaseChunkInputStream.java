@@ -0,0 +1,175 @@
+package com.dotcms.storage;
+
+import com.dotmarketing.exception.DotCorruptedDataException;
+import com.liferay.util.HashBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads an object of the {@link DataBaseStoragePersistenceAPIImpl} straight from its chunks, without
+ * joining them first into a temporal file. The chunks are fetched by their order, a few at a time
+ * (the read ahead), and only from the chunk that holds the offset the stream starts at or is skipped
+ * to, so a ranged read of a big object only loads the chunks that overlap the range.
+ * <p>
+ * The chunk a position falls in is known since all the chunks of an object have the size of the
+ * first one, but the last. A shorter chunk followed by another one fails the read.
+ * <p>
+ * Read from the start without skipping, the hash of the whole object is checked at the end of the
+ * stream as {@link DataBaseStoragePersistenceAPIImpl#pullFile(String, String)} does.
+ */
+class DataBaseChunkInputStream extends InputStream {
+
+    /**
+     * Reads the chunks of an object
+     */
+    @FunctionalInterface
+    interface ChunkReader {
+
+        /**
+         * @param fromOrder order of the first chunk to read, the first chunk of an object is 1
+         * @param count max number of chunks to read
+         * @return the bytes of the chunks in order, empty once past the last chunk
+         */
+        List<byte[]> read(int fromOrder, int count) throws IOException;
+    }
+
+    private final ChunkReader reader;
+    private final int readAhead;
+    private final String objectHash;
+
+    private HashBuilder hashBuilder;
+    private long position;
+    private int chunkSize = -1;
+
+    private List<byte[]> window = Collections.emptyList();
+    private int windowFirstOrder = 1;
+    private boolean shortChunkRead = false;
+    private boolean endOfObject = false;
+
+    /**
+     * @param reader reads the chunks of the object
+     * @param offset position of the first byte to read
+     * @param readAhead number of chunks fetched at a time
+     * @param objectHash hash of the object to check at the end when read from the start, null to not check it
+     * @param hashBuilder builds the hash of the object, null to not check it
+     */
+    DataBaseChunkInputStream(final ChunkReader reader, final long offset, final int readAhead,
+            final String objectHash, final HashBuilder hashBuilder) {
+
+        this.reader = reader;
+        this.readAhead = Math.max(1, readAhead);
+        this.position = Math.max(0, offset);
+        this.objectHash = objectHash;
+        this.hashBuilder = 0 == this.position && null != objectHash ? hashBuilder : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        final byte[] single = new byte[1];
+        return -1 == this.read(single, 0, 1) ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+
+        if (0 == length) {
+            return 0;
+        }
+
+        final byte[] chunk = this.chunkAt(this.position);
+        if (null == chunk) {
+            return -1;
+        }
+
+        final int chunkOffset = (int) (this.position % this.chunkSize);
+        final int read = Math.min(length, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, buffer, offset, read);
+        this.position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(final long bytes) {
+
+        if (bytes <= 0) {
+            return 0;
+        }
+
+        // the bytes skipped are not hashed, so the object can not be checked anymore
+        this.hashBuilder = null;
+        this.position += bytes;
+        return bytes;
+    }
+
+    /**
+     * Returns the chunk the position falls in, fetching it with the chunks after it if not loaded
+     * @return the chunk, null if the position is past the end of the object
+     */
+    private byte[] chunkAt(final long position) throws IOException {
+
+        if (this.chunkSize < 0) {
+            this.load(1, 0 == position ? this.readAhead : 1);
+            if (this.window.isEmpty()) {
+                return null;
+            }
+        }
+
+        final long chunkIndex = position / this.chunkSize;
+        if (chunkIndex > Integer.MAX_VALUE - 1) {
+            return null;
+        }
+
+        final int order = (int) chunkIndex + 1;
+        int windowIndex = order - this.windowFirstOrder;
+        if (windowIndex < 0 || windowIndex >= this.window.size()) {
+            if (this.endOfObject && windowIndex >= this.window.size()) {
+                return null;
+            }
+            this.load(order, this.readAhead);
+            windowIndex = 0;
+        }
+
+        if (this.window.isEmpty()) {
+            return null;
+        }
+
+        final byte[] chunk = this.window.get(windowIndex);
+        return position % this.chunkSize < chunk.length ? chunk : null;
+    }
+
+    private void load(final int fromOrder, final int count) throws IOException {
+
+        final boolean sequential = this.windowFirstOrder + this.window.size() == fromOrder;
+        this.window = this.reader.read(fromOrder, count);
+        this.windowFirstOrder = fromOrder;
+        this.endOfObject = this.window.size() < count;
+        if (this.chunkSize < 0 && !this.window.isEmpty()) {
+            this.chunkSize = this.window.get(0).length;
+        }
+
+        for (final byte[] chunk : this.window) {
+            if (this.shortChunkRead) {
+                throw new IOException("The chunks of the object " + this.objectHash
+                        + " do not have the same size, it can not be read by position");
+            }
+            this.shortChunkRead = this.chunkSize > 0 && chunk.length < this.chunkSize;
+        }
+
+        if (null != this.hashBuilder) {
+            if (!sequential) {
+                this.hashBuilder = null;
+                return;
+            }
+            this.window.forEach(this.hashBuilder::append);
+            if (this.endOfObject && !this.objectHash.equals(this.hashBuilder.buildUnixHash())) {
+                final String message = String.format(
+                        "The file hash `%s` isn't valid. it doesn't match the records in `storage_data/storage_x_data`",
+                        this.objectHash);
+                throw new IOException(message, new DotCorruptedDataException(message));
+            }
+        }
+    }
+}
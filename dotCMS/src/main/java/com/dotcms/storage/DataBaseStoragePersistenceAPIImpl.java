@@ -3,6 +3,7 @@ package com.dotcms.storage;
 import static com.dotcms.storage.model.BasicMetadataFields.SHA256_META_KEY;
 
 import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.exception.ExceptionUtil;
 import com.dotcms.util.CloseUtils;
 import com.dotcms.util.CollectionsUtils;
 import com.dotcms.util.FileByteSplitter;
@@ -40,6 +41,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
@@ -65,6 +67,7 @@ public class DataBaseStoragePersistenceAPIImpl implements StoragePersistenceAPI
 
     private static final String DATABASE_STORAGE_JDBC_POOL_NAME = "DATABASE_STORAGE_JDBC_POOL_NAME";
     private static final String DB_STORAGE_CHUNK_SIZE = "DB_STORAGE_CHUNK_SIZE";
+    private static final String DB_STORAGE_READ_AHEAD_CHUNKS = "DB_STORAGE_READ_AHEAD_CHUNKS";
 
     /**
      * custom external connection provider method in case we want to store stuff outside our db
@@ -738,19 +741,95 @@ public class DataBaseStoragePersistenceAPIImpl implements StoragePersistenceAPI
     public Object pullObject(final String groupName, final String path,
             final ObjectReaderDelegate readerDelegate) throws DotDataException {
 
-        Object object = null;
-        final File file = pullFile(groupName, path);
+        try (InputStream inputStream = this.pullStream(groupName, path, 0)) {
+            final Try<Object> object = Try.of(() -> readerDelegate.read(inputStream));
+            if (object.isFailure() && ExceptionUtil.causedBy(object.getCause(), DotCorruptedDataException.class)) {
+                throw new DotDataException(object.getCause().getMessage(), object.getCause());
+            }
 
-        if (null != file) {
-            object = Try.of(() -> {
-                        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
-                            return readerDelegate.read(inputStream);
-                        }
+            // the delegate may stop before the end, the hash of the object is only checked once it is all read
+            final byte[] buffer = new byte[8192];
+            while (inputStream.read(buffer) != -1) {
+                // reading to the end
+            }
+            return object.getOrNull();
+        } catch (IOException | DotCorruptedDataException e) {
+            throw new DotDataException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The object is read straight from its chunks, only the ones from the offset on are fetched, a few
+     * at a time, and no temporal file is written, see {@link DataBaseChunkInputStream}
+     */
+    @Override
+    public InputStream pullStream(final String groupName, final String path, final long offset)
+            throws DotDataException {
+
+        final String groupNameLC = groupName.toLowerCase();
+        final String pathLC = path.toLowerCase();
+
+        try (Connection connection = getConnection()) {
+            final List<Map<String, Object>> storageResult = new DotConnect()
+                    .setSQL("SELECT hash FROM storage WHERE group_name = ? AND path = ?")
+                    .addParam(groupNameLC).addParam(pathLC)
+                    .loadObjectResults(connection);
+
+            final String objectHash = storageResult.isEmpty() ? null : (String) storageResult.get(0).get("hash");
+            if (!UtilMethods.isSet(objectHash)) {
+                throw new DoesNotExistException(
+                        "The storage, group: " + groupName + ", path: " + path
+                                + " does not exists");
+            }
+
+            return new DataBaseChunkInputStream(
+                    (fromOrder, count) -> this.readChunks(objectHash, fromOrder, count), offset,
+                    Config.getIntProperty(DB_STORAGE_READ_AHEAD_CHUNKS, 64), objectHash,
+                    Try.of(Hashing::sha256).getOrElseThrow(DotRuntimeException::new));
+        } catch (SQLException | DoesNotExistException e) {
+            Logger.error(DataBaseStoragePersistenceAPIImpl.class, String.format("error pulling stream for group `%s`, and path `%s`", groupName, pathLC), e);
+            throw new DotDataException(e);
+        }
+    }
+
+    /**
+     * Reads some chunks of an object checking the hash of each one, on a connection of its own so no
+     * connection is held while the stream is consumed
+     */
+    private List<byte[]> readChunks(final String objectHash, final int fromOrder, final int count) throws IOException {
+
+        final List<byte[]> chunks = new ArrayList<>(count);
+        try (Connection connection = getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                "SELECT storage_data.hash_id AS hash, storage_data.data AS data FROM storage_data , storage_x_data " +
+                        "WHERE storage_x_data.data_hash  =  storage_data.hash_id " +
+                        "AND storage_x_data.storage_hash = ? AND storage_x_data.data_order >= ? " +
+                        "AND storage_x_data.data_order < ? order by data_order ASC ")) {
+
+            preparedStatement.setString(1, objectHash);
+            preparedStatement.setInt(2, fromOrder);
+            preparedStatement.setInt(3, fromOrder + count);
+            preparedStatement.setFetchSize(count);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    final String hash = resultSet.getString("hash");
+                    final byte[] bytes = resultSet.getBytes("data");
+                    final String recoveredHash = Try
+                            .of(() -> Encryptor.Hashing.sha256().append(bytes).buildUnixHash())
+                            .getOrElseThrow(DotRuntimeException::new);
+                    if (!hash.equals(recoveredHash)) {
+                        throw new DotCorruptedDataException(
+                                " Checksum hash verification failure. The chunk is not valid");
                     }
-            ).getOrNull();
+                    chunks.add(bytes);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
         }
 
-        return object;
+        return chunks;
     }
 
     @Override
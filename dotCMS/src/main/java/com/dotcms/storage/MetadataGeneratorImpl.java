@@ -12,14 +12,19 @@ import static com.dotcms.storage.model.BasicMetadataFields.SIZE_META_KEY;
 import static com.dotcms.storage.model.BasicMetadataFields.TITLE_META_KEY;
 import static com.dotcms.storage.model.BasicMetadataFields.WIDTH_META_KEY;
 
-import com.dotcms.tika.TikaUtils;
+import com.dotcms.tika.TikaWorkerPool;
 import com.dotcms.util.MimeTypeUtils;
 import com.dotmarketing.image.filter.ImageFilterAPI;
 import com.dotmarketing.image.filter.ImageFilterApiImpl;
+import com.dotmarketing.portlets.fileassets.business.FileAssetAPI;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.ConfigUtils;
 import com.dotmarketing.util.FileUtil;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.liferay.util.StringPool;
 import io.vavr.control.Try;
@@ -34,9 +39,29 @@ import java.util.stream.Collectors;
 
 /**
  * Tika based metadata generator.
+ * <p>
+ * The Tika metadata is keyed by the SHA-256 of the binary, so the same content uploaded again (another
+ * version, a copy on another site, a re-import) is not parsed twice. The parsing itself runs on the
+ * {@link TikaWorkerPool}.
  */
 class MetadataGeneratorImpl implements MetadataGenerator {
 
+    /**
+     * Tika metadata by sha256 and max length, weighted by the length of the parsed content
+     */
+    private static final Cache<String, Map<String, Serializable>> tikaMetadataCache = Caffeine.newBuilder()
+            .maximumWeight(Config.getLongProperty("METADATA_TIKA_CACHE_MAX_CHARS", 50_000_000L))
+            .weigher((String key, Map<String, Serializable> metadata) -> weight(metadata))
+            .build();
+
+    /**
+     * sha256 by absolute path, mod date and length, so the hash is computed once per binary for both
+     * the tika based and the stand alone metadata
+     */
+    private static final Cache<String, String> sha256Cache = Caffeine.newBuilder()
+            .maximumSize(Config.getLongProperty("METADATA_SHA256_CACHE_SIZE", 5000L))
+            .build();
+
     /**
      * {@inheritDoc}
      * @param binary     {@link File} binary to generate the metadata
@@ -46,20 +71,71 @@ class MetadataGeneratorImpl implements MetadataGenerator {
     @Override
     public Map<String, Serializable> tikaBasedMetadata(final File binary, final long maxLength) {
         try {
-            final TikaUtils tikaUtils = new TikaUtils();
-
-            final Map<String, Object> metaDataMap = tikaUtils
-                    .getForcedMetaDataMap(binary, (int) maxLength);
-            return metaDataMap.entrySet().stream()
-                    .filter(entry -> entry.getValue() instanceof Serializable).
-                            collect(Collectors.toMap(Entry::getKey,
-                                    e -> (Serializable) e.getValue()));
+            if (!Config.getBooleanProperty("METADATA_TIKA_CACHE_ENABLED", true)) {
+                return this.parse(binary, maxLength);
+            }
+
+            final String sha256 = sha256(binary);
+            if (null == sha256) {
+                return this.parse(binary, maxLength);
+            }
+
+            final String key = sha256 + StringPool.COLON + maxLength;
+            final Map<String, Serializable> cached = tikaMetadataCache.getIfPresent(key);
+            if (null != cached) {
+                Logger.debug(this, () -> String.format("Reusing the metadata of sha256 [%s] for binary [%s]", sha256, binary));
+                return new TreeMap<>(cached);
+            }
+
+            final Map<String, Serializable> metadata = this.parse(binary, maxLength);
+            // a binary that could not be parsed (timeout, tika not available) gets another chance next time
+            if (metadata.containsKey(FileAssetAPI.CONTENT_FIELD)) {
+                tikaMetadataCache.put(key, ImmutableMap.copyOf(metadata));
+            }
+            return metadata;
         } catch (Exception e) {
             Logger.warnAndDebug(MetadataGeneratorImpl.class, e.getMessage(), e);
         }
         return ImmutableMap.of();
     }
 
+    private Map<String, Serializable> parse(final File binary, final long maxLength) {
+
+        final Map<String, Object> metaDataMap = TikaWorkerPool.getInstance()
+                .getForcedMetaDataMap(binary, (int) maxLength);
+        return metaDataMap.entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof Serializable).
+                        collect(Collectors.toMap(Entry::getKey,
+                                e -> (Serializable) e.getValue(), (e1, e2) -> e1, TreeMap::new));
+    }
+
+    private static int weight(final Map<String, Serializable> metadata) {
+        final Serializable content = metadata.get(FileAssetAPI.CONTENT_FIELD);
+        return 1 + metadata.size() + (content instanceof String ? ((String) content).length() : 0);
+    }
+
+    /**
+     * Returns the sha256 of the binary, computing it only if the file changed since the last time
+     * @param binary {@link File}
+     * @return String sha256 or null if it could not be computed
+     */
+    private static String sha256(final File binary) {
+        final String key = binary.getAbsolutePath() + StringPool.COLON + binary.lastModified()
+                + StringPool.COLON + binary.length();
+        return sha256Cache.get(key, k -> Try.of(() -> FileUtil.sha256toUnixHash(binary)).getOrNull());
+    }
+
+    @VisibleForTesting
+    static void clearTikaMetadataCache() {
+        tikaMetadataCache.invalidateAll();
+    }
+
+    @VisibleForTesting
+    static long tikaMetadataCacheSize() {
+        tikaMetadataCache.cleanUp();
+        return tikaMetadataCache.estimatedSize();
+    }
+
     @Override
     public TreeMap<String, Serializable> standAloneMetadata(final File binary){
         final TreeMap<String, Serializable> metadataMap = new TreeMap<>(Comparator.naturalOrder());
@@ -75,8 +151,8 @@ class MetadataGeneratorImpl implements MetadataGenerator {
         metadataMap.put(SIZE_META_KEY.key(), length);
         metadataMap.put(CONTENT_TYPE_META_KEY.key(), MimeTypeUtils.getMimeType(binary));
         metadataMap.put(MOD_DATE_META_KEY.key(), binary.lastModified());
-        metadataMap.put(SHA256_META_KEY.key(),
-                Try.of(() -> FileUtil.sha256toUnixHash(binary)).getOrElse("unknown"));
+        final String sha256 = sha256(binary);
+        metadataMap.put(SHA256_META_KEY.key(), null != sha256 ? sha256 : "unknown");
 
         final boolean isImage = UtilMethods.isImage(relativePath);
         metadataMap.put(IS_IMAGE_META_KEY.key(), isImage);
@@ -2,10 +2,14 @@ package com.dotcms.storage;
 
 import com.dotmarketing.exception.DotDataException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
+import org.apache.commons.io.IOUtils;
 
 /**
  * Encapsulates an abstract storage, it provide the API to interact with whatever is behind the real storage:
@@ -147,6 +151,31 @@ public interface StoragePersistenceAPI {
     Object pullObject (final String groupName, final String path, final ObjectReaderDelegate readerDelegate)
             throws DotDataException;
 
+    /**
+     * Opens a stream over the object on the path, from the offset on. The default implementation pulls
+     * the file and skips up to the offset, implementations able to read just a range of an object
+     * override it so a ranged read does not pull the whole object.
+     *
+     * @param groupName {@link String} group name
+     * @param path {@link String} path to pull the file
+     * @param offset long position of the first byte to read
+     * @return InputStream, the caller must close it
+     */
+    default InputStream pullStream (final String groupName, final String path, final long offset)
+            throws DotDataException {
+
+        final File file = this.pullFile(groupName, path);
+        InputStream inputStream = null;
+        try {
+            inputStream = Files.newInputStream(file.toPath());
+            IOUtils.skipFully(inputStream, offset);
+            return inputStream;
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new DotDataException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Returns a local with the path contains on the storage, keep in mind that depending on the implementation it could be the actual file
      * or it could be a temporal file that will be deleted.
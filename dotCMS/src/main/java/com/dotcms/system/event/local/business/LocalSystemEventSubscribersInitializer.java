@@ -2,6 +2,8 @@ package com.dotcms.system.event.local.business;
 
 import com.dotcms.config.DotInitializer;
 import com.dotcms.content.elasticsearch.business.event.ContentletCheckinEvent;
+import com.dotcms.content.elasticsearch.business.event.ContentletPublishEvent;
+import com.dotcms.csspreproc.SassAheadOfTimeCompiler;
 import com.dotcms.graphql.listener.ContentTypeAndFieldsModsListeners;
 import com.dotcms.publishing.listener.PushPublishKeyResetEventListener;
 import com.dotcms.rest.api.v1.system.logger.ChangeLoggerLevelEvent;
@@ -19,6 +21,7 @@ import com.dotmarketing.portlets.folders.model.Folder;
 import com.dotmarketing.portlets.workflows.business.UnassignedWorkflowContentletCheckinListener;
 import com.dotmarketing.util.Constants;
 import com.dotmarketing.util.Logger;
+import com.dotmarketing.webdav.FileListingCache;
 import com.liferay.portal.model.User;
 
 import java.util.List;
@@ -43,6 +46,10 @@ public class LocalSystemEventSubscribersInitializer implements DotInitializer {
 
         APILocator.getLocalSystemEventsAPI().subscribe(ContentletCheckinEvent.class,  UnassignedWorkflowContentletCheckinListener.getInstance());
 
+        APILocator.getLocalSystemEventsAPI().subscribe(ContentletPublishEvent.class,  SassAheadOfTimeCompiler.getInstance());
+
+        APILocator.getLocalSystemEventsAPI().subscribe(FileListingCache.getInstance());
+
         APILocator.getLocalSystemEventsAPI().subscribe(CompanyKeyResetEvent.class,    PushPublishKeyResetEventListener.INSTANCE.get());
 
         APILocator.getLocalSystemEventsAPI().subscribe(CompanyKeyResetEvent.class,    AppsKeyResetEventListener.INSTANCE.get());
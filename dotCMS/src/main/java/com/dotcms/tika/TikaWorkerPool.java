@@ -0,0 +1,170 @@
+package com.dotcms.tika;
+
+import static com.dotcms.storage.model.BasicMetadataFields.CONTENT_TYPE_META_KEY;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.concurrent.DotSubmitter;
+import com.dotcms.util.MimeTypeUtils;
+import com.dotmarketing.portlets.fileassets.business.FileAssetAPI;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import io.vavr.Lazy;
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of threads that run the Tika parsing of binaries.
+ * <p>
+ * Each parse gets its own {@link TikaUtils} (and therefore its own Tika service), the Tika service keeps
+ * the metadata of the last binary it parsed so it can not be shared by two parses. The pool size, the
+ * amount of pending parses and the time a single binary can take are bounded:
+ * <ul>
+ *     <li>TIKA_WORKER_POOL_SIZE: amount of workers, by default the available processors</li>
+ *     <li>TIKA_WORKER_QUEUE_SIZE: pending parses, when full the caller runs the parse itself</li>
+ *     <li>TIKA_PARSE_TIMEOUT_SECONDS: time to wait for a single binary, after that the parse is
+ *     cancelled and only the basic metadata (size, length and content type) is returned</li>
+ *     <li>TIKA_PARSE_MAX_FILE_SIZE: binaries bigger than this amount of bytes are not parsed, 100 MB by
+ *     default, 0 means no limit</li>
+ *     <li>TIKA_WORKER_POOL_MAX_STUCK: Tika parsers do not check the interrupt flag, so a cancelled parse
+ *     may keep its worker. Once this many workers are still busy with cancelled parses (half the pool by
+ *     default) the pool is abandoned to them and a new one takes the next parses</li>
+ * </ul>
+ */
+public final class TikaWorkerPool {
+
+    private static final String SUBMITTER_NAME = "tikaworkerpool";
+
+    private static final long DEFAULT_MAX_FILE_SIZE = 100L * 1024L * 1024L;
+
+    private static final int RUNNING   = 0;
+    private static final int DONE      = 1;
+    private static final int ABANDONED = 2;
+
+    private static final Lazy<TikaWorkerPool> INSTANCE = Lazy.of(TikaWorkerPool::new);
+
+    /**
+     * Workers of the current pool still busy with a parse that timed out
+     */
+    private volatile AtomicInteger stuckWorkers = new AtomicInteger();
+
+    private TikaWorkerPool() {
+    }
+
+    public static TikaWorkerPool getInstance() {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Parses the binary on the pool, see {@link TikaUtils#getForcedMetaDataMap(File, int)}
+     * @param binary    {@link File} binary to parse
+     * @param maxLength {@link Integer} max length of the content to parse
+     * @return Map with the metadata, only the basic metadata if the binary could not be parsed on time
+     */
+    public Map<String, Object> getForcedMetaDataMap(final File binary, final int maxLength) {
+
+        final long maxFileSize = Config.getLongProperty("TIKA_PARSE_MAX_FILE_SIZE", DEFAULT_MAX_FILE_SIZE);
+        if (maxFileSize > 0 && binary.length() > maxFileSize) {
+
+            Logger.warn(this, String.format("Binary [%s] of %d bytes exceeds TIKA_PARSE_MAX_FILE_SIZE, it won't be parsed",
+                    binary.getName(), binary.length()));
+            return this.basicMetaDataMap(binary);
+        }
+
+        final AtomicInteger stuck = this.stuckWorkers;
+        final AtomicInteger state = new AtomicInteger(RUNNING);
+        final Future<Map<String, Object>> future = this.getSubmitter().submit(() -> {
+
+            try {
+                return new TikaUtils().getForcedMetaDataMap(binary, maxLength);
+            } finally {
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    stuck.decrementAndGet();
+                }
+            }
+        });
+        final long timeout = Config.getLongProperty("TIKA_PARSE_TIMEOUT_SECONDS", 60L);
+
+        try {
+
+            return future.get(timeout, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+
+            future.cancel(true);
+            Logger.warn(this, String.format("Parsing binary [%s] took more than %d seconds, it has been cancelled",
+                    binary.getName(), timeout));
+            if (state.compareAndSet(RUNNING, ABANDONED)) {
+                stuck.incrementAndGet();
+                this.recycleIfStuck(stuck);
+            }
+        } catch (InterruptedException e) {
+
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+
+            Logger.warnAndDebug(TikaWorkerPool.class, e.getCause().getMessage(), e.getCause());
+        } catch (CancellationException e) {
+
+            Logger.warn(this, String.format("Parsing binary [%s] was cancelled, the pool was recycled", binary.getName()));
+        }
+
+        return this.basicMetaDataMap(binary);
+    }
+
+    /**
+     * Abandons the current pool to its stuck workers once there are too many of them, the pending parses are
+     * cancelled and the next ones go to a new pool
+     */
+    private synchronized void recycleIfStuck(final AtomicInteger stuck) {
+
+        final int maxStuck = Config.getIntProperty("TIKA_WORKER_POOL_MAX_STUCK",
+                Math.max(1, this.getPoolSize() / 2));
+        // a pool already recycled is not recycled again
+        if (stuck != this.stuckWorkers || stuck.get() < maxStuck) {
+            return;
+        }
+
+        Logger.error(this, String.format("%d Tika workers are stuck on cancelled parses, recycling the pool", stuck.get()));
+        this.stuckWorkers = new AtomicInteger();
+        this.getSubmitter().shutdownNow().stream()
+                .filter(Future.class::isInstance)
+                .forEach(pending -> ((Future<?>) pending).cancel(true));
+    }
+
+    /**
+     * Metadata that does not need Tika, returned when the binary is not parsed
+     */
+    private Map<String, Object> basicMetaDataMap(final File binary) {
+
+        final Map<String, Object> metaMap = new TreeMap<>();
+        metaMap.put(FileAssetAPI.SIZE_FIELD, binary.length());
+        metaMap.put("length", binary.length());
+        metaMap.put(CONTENT_TYPE_META_KEY.key(), MimeTypeUtils.getMimeType(binary));
+        return metaMap;
+    }
+
+    private int getPoolSize() {
+
+        return Config.getIntProperty("TIKA_WORKER_POOL_SIZE", Runtime.getRuntime().availableProcessors());
+    }
+
+    private DotSubmitter getSubmitter() {
+
+        final int poolSize = this.getPoolSize();
+        return DotConcurrentFactory.getInstance().getSubmitter(SUBMITTER_NAME,
+                new DotConcurrentFactory.SubmitterConfigBuilder()
+                        .poolSize(poolSize)
+                        .maxPoolSize(poolSize)
+                        .queueCapacity(Config.getIntProperty("TIKA_WORKER_QUEUE_SIZE", poolSize * 10))
+                        .rejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+                        .build());
+    }
+}
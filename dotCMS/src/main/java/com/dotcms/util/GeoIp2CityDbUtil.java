@@ -8,11 +8,18 @@ import java.net.UnknownHostException;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -59,10 +66,96 @@ import io.vavr.control.Try;
  */
 public class GeoIp2CityDbUtil {
 
-	private static DatabaseReader databaseReader = null;
-	private static long lastModified = 0;
+	private static final long CHECK_INTERVAL_MS = Config.getLongProperty("GEOIP2_CITY_DATABASE_CHECK_INTERVAL_MS", 10000);
+
+	private static volatile GeoDatabase database = null;
+	private static volatile long lastCheck = 0;
 	private static String dbPath = null;
 
+	/**
+	 * Immutable pairing of a {@link DatabaseReader} and the per-IP lookup cache
+	 * built on top of it. Both are swapped together when the database file is
+	 * updated, so a cached response can never outlive the file it came from.
+	 * <p>
+	 * The reader is reference counted: the util holds one reference while the
+	 * database is the current one, and every lookup holds another while it
+	 * runs. A retired database is closed by whoever releases the last
+	 * reference, so lookups already running on it are never cut short.
+	 * </p>
+	 */
+	@VisibleForTesting
+	static final class GeoDatabase {
+
+		private final DatabaseReader reader;
+		private final Cache<String, Optional<CityResponse>> responses;
+		private final long lastModified;
+		private final AtomicInteger references = new AtomicInteger(1);
+
+		private GeoDatabase(final DatabaseReader reader, final long lastModified) {
+			this.reader = reader;
+			this.lastModified = lastModified;
+			this.responses = Caffeine.newBuilder()
+					.maximumSize(Config.getIntProperty("GEOIP2_CITY_CACHE_SIZE", 10000))
+					.expireAfterAccess(Config.getIntProperty("GEOIP2_CITY_CACHE_TTL_SECONDS", 3600), TimeUnit.SECONDS)
+					.build();
+		}
+
+		/**
+		 * Takes a reference on the reader
+		 * @return false if the database has been retired and closed already
+		 */
+		@VisibleForTesting
+		boolean acquire() {
+			int current;
+			do {
+				current = this.references.get();
+				if (current == 0) {
+					return false;
+				}
+			} while (!this.references.compareAndSet(current, current + 1));
+			return true;
+		}
+
+		/**
+		 * Releases a reference on the reader, closing it when it was the last one
+		 */
+		@VisibleForTesting
+		void release() {
+			if (this.references.decrementAndGet() == 0) {
+				Try.run(this.reader::close).onFailure(e -> Logger.warn(GeoIp2CityDbUtil.class,
+						"Unable to close the previous GeoIP2 database reader: " + e.getMessage()));
+			}
+		}
+
+		@VisibleForTesting
+		boolean isClosed() {
+			return this.references.get() == 0;
+		}
+
+		/**
+		 * Returns the {@link CityResponse} for the given address, decoding it
+		 * from the database only the first time the address is seen. Addresses
+		 * that are not present in the database are cached as well, so repeated
+		 * lookups of private or unknown IPs do not hit the reader again.
+		 */
+		private CityResponse city(final InetAddress inetAddress) throws IOException, GeoIp2Exception {
+			final String key = inetAddress.getHostAddress();
+			Optional<CityResponse> response = this.responses.getIfPresent(key);
+			if (response == null) {
+				try {
+					response = Optional.of(this.reader.city(inetAddress));
+				} catch (AddressNotFoundException e) {
+					response = Optional.empty();
+				}
+				this.responses.put(key, response);
+			}
+			if (!response.isPresent()) {
+				throw new AddressNotFoundException("The address " + key + " is not in the database.");
+			}
+			return response.get();
+		}
+	}
+
     /**
      * Singleton holder based on the initialization-on-demand approach.
      * The use of the Try on the Config gives us the ability to Unit test this.
@@ -104,14 +197,36 @@ public class GeoIp2CityDbUtil {
 	@VisibleForTesting
 	public static long getLastModified() {
 	    GeoIp2CityDbUtil.getInstance();
-	    GeoIp2CityDbUtil.getDatabaseReader();
-	    return new Long(lastModified);
+	    GeoIp2CityDbUtil.getDatabase(true);
+	    return new Long(database.lastModified);
 	}
 	
     @VisibleForTesting
     public static String getDbPath() {
         return new String(dbPath);
     }
+
+	@VisibleForTesting
+	static GeoDatabase getCurrentDatabase() {
+		GeoIp2CityDbUtil.getInstance();
+		return database;
+	}
+
+	/**
+	 * Points the util to another database file, so tests can update a copy of the bundled one
+	 */
+	@VisibleForTesting
+	static synchronized void connectTo(final String databasePath) {
+		GeoIp2CityDbUtil.getInstance();
+		dbPath = databasePath;
+		connectToDatabase(new File(databasePath));
+	}
+
+	@VisibleForTesting
+	public static long getCachedLookups() {
+		GeoIp2CityDbUtil.getInstance();
+		return database.responses.estimatedSize();
+	}
 	
 	/**
 	 * Private constructor that will initialize the connection to the local
@@ -133,27 +248,40 @@ public class GeoIp2CityDbUtil {
 
 	/**
 	 * Establishes the connection with the IP database. If a previous connection
-	 * has already been created, it will be closed. Such a scenario would mean
-	 * that the database file has been updated, so the database reader must be
-	 * re-built to load the new information.
+	 * has already been created, the new one is swapped in first and the old
+	 * reader is closed once the lookups still running on it are done, so
+	 * lookups keep being answered while the new file is loaded. Such a scenario would mean that the database file has
+	 * been updated, so the database reader must be re-built to load the new
+	 * information.
+	 * <p>
+	 * The file is memory-mapped by default ({@code GEOIP2_CITY_DATABASE_FILE_MODE=MEMORY_MAPPED}),
+	 * which keeps the decoded tree out of the heap. When updating a mapped
+	 * database, the new file should be moved over the old one rather than
+	 * written in place.
+	 * </p>
 	 * 
-	 * @param database
+	 * @param databaseFile
 	 *            - The {@link File} reference to the database file.
 	 * @throws DotRuntimeException
 	 *             If the connection to the GeoIP2 database file cannot be
 	 *             established.
 	 */
-	private static void connectToDatabase(final File database) {
+	private static void connectToDatabase(final File databaseFile) {
 		try {
-			if (databaseReader != null) {
-				databaseReader.close();
+			Logger.info(GeoIp2CityDbUtil.class,
+					"Connecting to GeoIP2 database:" + databaseFile);
+
+			final long fileLastModified = databaseFile.lastModified();
+			final Reader.FileMode fileMode = Reader.FileMode.valueOf(
+					Config.getStringProperty("GEOIP2_CITY_DATABASE_FILE_MODE", Reader.FileMode.MEMORY_MAPPED.name()));
+			final DatabaseReader reader = new DatabaseReader.Builder(databaseFile).fileMode(fileMode).build();
+
+			final GeoDatabase previous = database;
+			database = new GeoDatabase(reader, fileLastModified);
+			if (previous != null) {
+				previous.responses.invalidateAll();
+				previous.release();
 			}
-	         Logger.info(GeoIp2CityDbUtil.class,
-	                         "Connecting to GeoIP2 database:" + database);
-			
-			
-			databaseReader = new DatabaseReader.Builder(database).build();
-			lastModified = database.lastModified();
 		} catch (IOException e) {
 			Logger.error(GeoIp2CityDbUtil.class,
 					"Connection to the GeoIP2 database could not be established.");
@@ -164,30 +292,56 @@ public class GeoIp2CityDbUtil {
 	}
 
 	/**
-	 * Returns the {@link DatabaseReader} object used to perform the queries to
+	 * Returns the {@link GeoDatabase} object used to perform the queries to
 	 * the IP database.
 	 * <p>
 	 * When the class is initially instantiated, the modification date of the
 	 * database file is kept in memory. This method will read the last modified
-	 * date of the requested database file in order to determine whether it must
-	 * be re-loaded or not. If it has to, synchronization will be used to load
-	 * the new database file.
+	 * date of the requested database file, at most once every
+	 * {@code GEOIP2_CITY_DATABASE_CHECK_INTERVAL_MS} milliseconds, in order to
+	 * determine whether it must be re-loaded or not. If it has to,
+	 * synchronization will be used to load the new database file.
 	 * </p>
 	 * 
-	 * @return The {@link DatabaseReader} object with the latest content of the
+	 * @param forceCheck
+	 *            - If {@code true}, the modification date of the file is
+	 *            checked regardless of the check interval.
+	 * @return The {@link GeoDatabase} object with the latest content of the
 	 *         database.
 	 */
-	private static DatabaseReader getDatabaseReader() {
-		File database = new File(dbPath);
-		long fileLastModified = database.lastModified();
-		if (fileLastModified != lastModified) {
-			synchronized (GeoIp2CityDbUtil.class) {
-				if (fileLastModified != lastModified) {
-					connectToDatabase(database);
+	private static GeoDatabase getDatabase(final boolean forceCheck) {
+		final long now = System.currentTimeMillis();
+		if (forceCheck || now - lastCheck > CHECK_INTERVAL_MS) {
+			lastCheck = now;
+			final File databaseFile = new File(dbPath);
+			final long fileLastModified = databaseFile.lastModified();
+			if (fileLastModified != database.lastModified) {
+				synchronized (GeoIp2CityDbUtil.class) {
+					if (fileLastModified != database.lastModified) {
+						connectToDatabase(databaseFile);
+					}
+				}
+			}
+		}
+		return database;
+	}
+
+	/**
+	 * Looks up the {@link CityResponse} of the given address through the
+	 * per-IP cache of the current database.
+	 */
+	private static CityResponse city(final InetAddress inetAddress) throws IOException, GeoIp2Exception {
+		while (true) {
+			final GeoDatabase current = getDatabase(false);
+			// if it was retired and closed in between, the next round gets the new one
+			if (current.acquire()) {
+				try {
+					return current.city(inetAddress);
+				} finally {
+					current.release();
 				}
 			}
 		}
-		return databaseReader;
 	}
 
 	/**
@@ -210,7 +364,7 @@ public class GeoIp2CityDbUtil {
 	public String getSubdivisionIsoCode(String ipAddress)
 			throws UnknownHostException, IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse city = getDatabaseReader().city(inetAddress);
+		CityResponse city = city(inetAddress);
 		Subdivision subdivision = city.getMostSpecificSubdivision();
 		return subdivision.getIsoCode();
 	}
@@ -234,7 +388,7 @@ public class GeoIp2CityDbUtil {
 	public String getCountryIsoCode(String ipAddress)
 			throws UnknownHostException, IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse city = getDatabaseReader().city(inetAddress);
+		CityResponse city = city(inetAddress);
 		Country country = city.getCountry();
 		return country.getIsoCode();
 	}
@@ -253,7 +407,7 @@ public class GeoIp2CityDbUtil {
 	 */
 	public String getContinent(String ipAddress) throws IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse city = getDatabaseReader().city(inetAddress);
+		CityResponse city = city(inetAddress);
 		return city.getContinent().getCode();
 	}
 
@@ -261,7 +415,7 @@ public class GeoIp2CityDbUtil {
 	private com.maxmind.geoip2.record.Location getLocation(String ipAddress)
 			throws IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse city = getDatabaseReader().city(inetAddress);
+		CityResponse city = city(inetAddress);
 		return city.getLocation();
 	}
 
@@ -325,7 +479,7 @@ public class GeoIp2CityDbUtil {
 	public String getCityName(String ipAddress) throws UnknownHostException,
 			IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse cityResponse = getDatabaseReader().city(inetAddress);
+		CityResponse cityResponse = city(inetAddress);
 		City city = cityResponse.getCity();
 		return city.getName();
 	}
@@ -349,7 +503,7 @@ public class GeoIp2CityDbUtil {
 	public TimeZone getTimeZone(String ipAddress) throws UnknownHostException,
 			IOException, GeoIp2Exception {
 		InetAddress inetAddress = InetAddress.getByName(ipAddress);
-		CityResponse city = getDatabaseReader().city(inetAddress);
+		CityResponse city = city(inetAddress);
 		String zone = city.getLocation().getTimeZone();
 		return TimeZone.getTimeZone(zone);
 	}
@@ -401,7 +555,7 @@ public class GeoIp2CityDbUtil {
 	
     public Geolocation getGeolocation(final InetAddress ipAddress) {
 
-        CityResponse cityResponse = Try.of(()-> getDatabaseReader().city(ipAddress)).getOrElseThrow(e->new DotRuntimeException("unable to get geolocation for ip:" + ipAddress,e));
+        CityResponse cityResponse = Try.of(()-> city(ipAddress)).getOrElseThrow(e->new DotRuntimeException("unable to get geolocation for ip:" + ipAddress,e));
         Geolocation.Builder builder = new Geolocation.Builder();
         builder.withCity(cityResponse.getCity().getName())
         .withContinent(cityResponse.getContinent().getName())
@@ -123,7 +123,7 @@ public class VanityUrlAPIImpl implements VanityUrlAPI {
    * @return The list of Vanity URLs.
    */
   @Override
-  @CloseDBIfOpened
+  @CloseDBIfOpened(readOnly = true)
   public List<CachedVanityUrl> findInDb(final Host site, final Language language) {
 
     try {
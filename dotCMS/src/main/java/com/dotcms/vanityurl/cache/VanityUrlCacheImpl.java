@@ -55,6 +55,7 @@ public class VanityUrlCacheImpl extends VanityUrlCache {
     public void clearCache() {
         cache.flushGroup(VANITY_URL_SITE_GROUP);
         cache.flushGroup(VANITY_URL_DIRECT_GROUP);
+        CacheLocator.getCMSRouteCache().clearCache();
 
     }
 
@@ -105,6 +106,7 @@ public class VanityUrlCacheImpl extends VanityUrlCache {
 
         cache.remove(key(hostId, langId), VANITY_URL_SITE_GROUP);
         cache.flushGroup(VANITY_URL_DIRECT_GROUP);
+        CacheLocator.getCMSRouteCache().clearCache();
 
     }
 
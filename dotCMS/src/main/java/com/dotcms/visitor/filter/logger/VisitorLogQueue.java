@@ -0,0 +1,188 @@
+package com.dotcms.visitor.filter.logger;
+
+import com.dotcms.metrics.Counter;
+import com.dotcms.metrics.MetricsRegistry;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.google.common.annotations.VisibleForTesting;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded ring the visitor log entries go through, so the request threads only hand the entry over
+ * and a single writer thread serializes and writes them. The writer joins the entries it finds on the
+ * ring into one message of up to <code>VISITOR_LOGGER_BATCH_SIZE</code> lines, one write per batch.
+ * <p>
+ * When the ring is full the entry is dropped and counted on
+ * <code>dotcms_visitor_log_dropped_total</code>, or with <code>VISITOR_LOGGER_QUEUE_FULL_POLICY=BLOCK</code>
+ * the request thread waits for a free slot, up to <code>VISITOR_LOGGER_BLOCK_TIMEOUT_MILLIS</code> (100 by
+ * default), before the entry is dropped and counted the same way. Once the queue is shut down the entries
+ * are dropped right away.
+ */
+class VisitorLogQueue {
+
+    enum QueueFullPolicy {
+        DROP, BLOCK
+    }
+
+    private static final EventTranslatorOneArg<LogEntry, Map<String, Serializable>> TRANSLATOR =
+            (entry, sequence, map) -> entry.map = map;
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Disruptor<LogEntry> disruptor;
+    private final RingBuffer<LogEntry> ringBuffer;
+    private final QueueFullPolicy policy;
+    private final long blockTimeoutNanos;
+    private final Counter dropped;
+    private volatile boolean running = true;
+
+    VisitorLogQueue(final Function<Map<String, Serializable>, String> serializer) {
+
+        this(Config.getIntProperty("VISITOR_LOGGER_RING_SIZE", 4096),
+                Config.getIntProperty("VISITOR_LOGGER_BATCH_SIZE", 256),
+                QueueFullPolicy.valueOf(Config.getStringProperty("VISITOR_LOGGER_QUEUE_FULL_POLICY",
+                        QueueFullPolicy.DROP.name()).toUpperCase()),
+                Config.getLongProperty("VISITOR_LOGGER_BLOCK_TIMEOUT_MILLIS", 100),
+                serializer, message -> Logger.info(VisitorLogger.class, message),
+                MetricsRegistry.getInstance().counter("dotcms_visitor_log_dropped_total",
+                        "Visitor log entries dropped because the logging ring was full"));
+    }
+
+    @VisibleForTesting
+    VisitorLogQueue(final int ringSize, final int batchSize, final QueueFullPolicy policy,
+            final long blockTimeoutMillis, final Function<Map<String, Serializable>, String> serializer, final Consumer<String> writer,
+            final Counter dropped) {
+
+        this.policy = policy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMillis));
+        this.dropped = dropped;
+        this.disruptor = new Disruptor<>(LogEntry::new, ringSize(ringSize), runnable -> {
+            final Thread thread = new Thread(runnable, "VisitorLoggerWriter");
+            thread.setDaemon(true);
+            return thread;
+        }, ProducerType.MULTI, new BlockingWaitStrategy());
+        this.disruptor.handleEventsWith(new BatchWriter(batchSize, serializer, writer));
+        this.ringBuffer = this.disruptor.start();
+    }
+
+    /**
+     * Hands the entry over to the writer thread
+     * @param map entry to log, it must not be changed afterwards
+     * @return boolean false if the ring was full, or the queue shut down, and the entry was dropped
+     */
+    boolean offer(final Map<String, Serializable> map) {
+
+        if (this.running && (this.ringBuffer.tryPublishEvent(TRANSLATOR, map)
+                || (QueueFullPolicy.BLOCK == this.policy && this.publishWithinTimeout(map)))) {
+            return true;
+        }
+
+        this.dropped.inc();
+        return false;
+    }
+
+    /**
+     * Waits for a free slot up to the block timeout, a stalled writer or a shutdown do not keep the
+     * request thread waiting
+     */
+    private boolean publishWithinTimeout(final Map<String, Serializable> map) {
+
+        final long deadline = System.nanoTime() + this.blockTimeoutNanos;
+        while (this.running && !Thread.currentThread().isInterrupted() && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (this.ringBuffer.tryPublishEvent(TRANSLATOR, map)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return long entries dropped so far
+     */
+    long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Writes the entries left on the ring and stops the writer thread, the entries offered from now on are dropped
+     * @param timeoutMillis long max millis to wait for the writer
+     */
+    void shutdown(final long timeoutMillis) {
+
+        this.running = false;
+        try {
+            this.disruptor.shutdown(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Logger.warn(VisitorLogQueue.class, "Visitor log entries were still pending after " + timeoutMillis + "ms");
+            this.disruptor.halt();
+        }
+    }
+
+    private static int ringSize(final int size) {
+        // the ring size must be a power of 2
+        return Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+    }
+
+    private static class LogEntry {
+        Map<String, Serializable> map;
+    }
+
+    private static class BatchWriter implements EventHandler<LogEntry> {
+
+        private final int batchSize;
+        private final Function<Map<String, Serializable>, String> serializer;
+        private final Consumer<String> writer;
+        private final StringBuilder batch = new StringBuilder();
+        private int lines = 0;
+
+        BatchWriter(final int batchSize, final Function<Map<String, Serializable>, String> serializer,
+                final Consumer<String> writer) {
+            this.batchSize = Math.max(1, batchSize);
+            this.serializer = serializer;
+            this.writer = writer;
+        }
+
+        @Override
+        public void onEvent(final LogEntry entry, final long sequence, final boolean endOfBatch) {
+
+            try {
+                final String line = this.serializer.apply(entry.map);
+                if (null != line) {
+                    if (this.lines > 0) {
+                        this.batch.append(System.lineSeparator());
+                    }
+                    this.batch.append(line);
+                    this.lines++;
+                }
+            } catch (Exception e) {
+                Logger.warnAndDebug(VisitorLogQueue.class, "Unable to write a visitor log entry: " + e.getMessage(), e);
+            } finally {
+                entry.map = null;
+            }
+
+            if (this.lines > 0 && (endOfBatch || this.lines >= this.batchSize)) {
+                try {
+                    this.writer.accept(this.batch.toString());
+                } catch (Exception e) {
+                    Logger.warnAndDebug(VisitorLogQueue.class, "Unable to write the visitor log: " + e.getMessage(), e);
+                } finally {
+                    this.batch.setLength(0);
+                    this.lines = 0;
+                }
+            }
+        }
+    }
+}
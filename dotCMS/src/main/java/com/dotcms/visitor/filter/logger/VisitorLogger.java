@@ -9,10 +9,14 @@ import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.logConsole.model.LogMapper;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
+import io.vavr.Lazy;
+import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -35,6 +39,13 @@ public class VisitorLogger {
 
     private static final boolean LOG_VISITOR_LOGGER = Config.getBooleanProperty("LOG_VISITOR_LOGGER",false);
 
+    /**
+     * Writes the entries off the request threads, unless VISITOR_LOGGER_ASYNC=false
+     */
+    private static final boolean ASYNC_VISITOR_LOGGER = Config.getBooleanProperty("VISITOR_LOGGER_ASYNC", true);
+
+    private static final Lazy<VisitorLogQueue> queue = Lazy.of(() -> new VisitorLogQueue(VisitorLogger::serialize));
+
     private VisitorLogger() {
 
     }
@@ -122,15 +133,26 @@ public class VisitorLogger {
             IllegalArgumentException, InvocationTargetException {
 
         AbstractCharacter base = new BaseCharacter(request, response);
+        for (Constructor<AbstractCharacter> con : constructors) {
+            base = con.newInstance(base);
+        }
+
+        for (Constructor<AbstractCharacter> con : customConstructors) {
+            base = con.newInstance(base);
+        }
+
+        // the map is reused by the request thread, the writer thread gets a copy
+        final Map<String, Serializable> map = new LinkedHashMap<>(base.getMap());
+        if (ASYNC_VISITOR_LOGGER) {
+            queue.get().offer(map);
+        } else {
+            doLog(serialize(map));
+        }
+    }
+
+    private static String serialize(final Map<String, Serializable> map) {
         try {
-            for (Constructor<AbstractCharacter> con : constructors) {
-                base = con.newInstance(base);
-            }
-
-            for (Constructor<AbstractCharacter> con : customConstructors) {
-                base = con.newInstance(base);
-            }
-            doLog(mapper().writeValueAsString(base.getMap()));
+            return mapper().writeValueAsString(map);
         } catch (JsonProcessingException e) {
             throw new DotRuntimeException(e);
         }
@@ -140,6 +162,15 @@ public class VisitorLogger {
         Logger.info(VisitorLogger.class, message);
     }
 
+    /**
+     * Writes the visitor log entries still waiting to be written
+     */
+    public static void shutdown() {
+        if (queue.isEvaluated()) {
+            queue.get().shutdown(Config.getIntProperty("VISITOR_LOGGER_SHUTDOWN_TIMEOUT", 5000));
+        }
+    }
+
 
     private static boolean shouldLog(HttpServletRequest request, HttpServletResponse response) {
         return 500 != response.getStatus() && new VisitorAPIImpl().getVisitor(request, false).isPresent();
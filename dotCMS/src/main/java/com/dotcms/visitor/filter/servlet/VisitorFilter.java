@@ -97,6 +97,7 @@ public class VisitorFilter implements Filter {
     }
 
     public void destroy() {
+        VisitorLogger.shutdown();
         Logger.info(this.getClass(), "VisitorLogger Filter Destroyed");
     }
 
@@ -1,6 +1,7 @@
 package com.dotcms.xmlsitemap;
 
 import com.dotcms.business.CloseDBIfOpened;
+import com.dotcms.content.elasticsearch.business.ESMappingAPIImpl;
 import com.dotcms.contenttype.model.type.ContentType;
 import com.dotcms.contenttype.transform.contenttype.StructureTransformer;
 import com.dotmarketing.beans.Host;
@@ -12,10 +13,7 @@ import com.dotmarketing.business.IdentifierAPI;
 import com.dotmarketing.business.PermissionAPI;
 import com.dotmarketing.business.Permissionable;
 import com.dotmarketing.business.UserAPI;
-import com.dotmarketing.db.DbConnectionFactory;
-import com.dotmarketing.db.HibernateUtil;
 import com.dotmarketing.exception.DotDataException;
-import com.dotmarketing.exception.DotHibernateException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.filters.CMSFilter;
 import com.dotmarketing.portlets.contentlet.business.ContentletAPI;
@@ -28,23 +26,24 @@ import com.dotmarketing.portlets.htmlpageasset.model.IHTMLPage;
 import com.dotmarketing.portlets.links.model.Link;
 import com.dotmarketing.portlets.structure.model.Structure;
 import com.dotmarketing.util.Config;
+import com.dotmarketing.util.FileUtil;
 import com.dotmarketing.util.InodeUtils;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.RegEX;
 import com.dotmarketing.util.RegExMatch;
 import com.dotmarketing.util.UtilMethods;
-import com.dotmarketing.util.XMLUtils;
 import com.liferay.portal.model.User;
 import java.io.File;
-import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.nio.file.Files;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
@@ -53,22 +52,26 @@ import org.quartz.StatefulJob;
 
 /**
  * This class manage the generation of the XMLSitemap<X>.xml.gz files from every
- * host in this dotCMS site
+ * host in this dotCMS site.
+ * <p>
+ * The detail pages of the contents are read from the index with a scroll, a page at a time, and
+ * written straight into the gzipped sitemap files (see {@link XMLSitemapPartWriter}), so a host
+ * with hundreds of thousands of urls never has them in memory. A host is only regenerated if some
+ * of its contents changed since its last sitemaps were generated, or if they are older than
+ * <code>org.dotcms.XMLSitemap.FULL_REGENERATION_HOURS</code> (since the changes to folders, links
+ * and unpublished contents can not be found by date on the index).
  *
  * @author Oswaldo
  *
  */
 public class XMLSitemapJob implements Job, StatefulJob {
 
+	private static final String MOD_DATE_FIELD = "moddate";
+
 	private Host currentHost = null;
 	private User systemUser = null;
-	private File temporaryFile = null;
-	private File compressedFile = null;
-	private OutputStreamWriter out = null;
-
-	private int sitemapCounter = 1;
-	private int processedRegistries = 0;
-	private Map<String, Integer> hostFilesCounter = null;
+	private XMLSitemapPartWriter partWriter = null;
+	private boolean partsCheckedIn = true;
 
 	private static String XML_SITEMAPS_FOLDER;
 	private ContentletAPI conAPI = APILocator.getContentletAPI();
@@ -78,6 +81,8 @@ public class XMLSitemapJob implements Job, StatefulJob {
 	private HostAPI hostAPI = APILocator.getHostAPI();
 	private boolean usePermalinks = false;
 	private boolean useStructureURLMap = true;
+	private boolean incrementalRegeneration = true;
+	private long fullRegenerationMillis = TimeUnit.HOURS.toMillis(24);
 	private String modifiedDateStringValue = UtilMethods.dateToHTMLDate(
 			new java.util.Date(), "yyyy-MM-dd");
 
@@ -87,13 +92,14 @@ public class XMLSitemapJob implements Job, StatefulJob {
 		try {
 			systemUser = userAPI.getSystemUser();
 
-			hostFilesCounter = new HashMap<String, Integer>();
-
 			XML_SITEMAPS_FOLDER = Config.getStringProperty( "org.dotcms.XMLSitemap.XML_SITEMAPS_FOLDER", "/XMLSitemaps/" );
 			String usePermalinksString = Config.getStringProperty( "org.dotcms.XMLSitemap.USE_PERMALINKS=false", "false" );
 			String useStructureURLMapString = Config.getStringProperty( "org.dotcms.XMLSitemap.USE_STRUCTURE_URL_MAP", "false" );
 			usePermalinks = (UtilMethods.isSet( usePermalinksString ) ? Boolean.parseBoolean( usePermalinksString ) : false);
 			useStructureURLMap = (UtilMethods.isSet( useStructureURLMapString ) ? Boolean.parseBoolean( useStructureURLMapString ) : false);
+			incrementalRegeneration = Config.getBooleanProperty( "org.dotcms.XMLSitemap.INCREMENTAL", true );
+			fullRegenerationMillis = TimeUnit.HOURS.toMillis(
+					Config.getLongProperty( "org.dotcms.XMLSitemap.FULL_REGENERATION_HOURS", 24 ) );
 
 			modifiedDateStringValue = UtilMethods.dateToHTMLDate(
 					new java.util.Date( System.currentTimeMillis() ), "yyyy-MM-dd" );
@@ -151,7 +157,6 @@ public class XMLSitemapJob implements Job, StatefulJob {
 	 * Generate the sitemap xml based on the show on menu pages, files, link and
 	 * folder
 	 */
-	@SuppressWarnings("unchecked")
 	@CloseDBIfOpened
 	public void generateSitemapPerHost() throws DotDataException, DotSecurityException {
 
@@ -164,17 +169,16 @@ public class XMLSitemapJob implements Job, StatefulJob {
 				continue;
             }
 
-			processedRegistries = 0;
 			currentHost = host;
-			sitemapCounter = 1;
-            String stringbuf;
+			partsCheckedIn = true;
+			File partsFolder = null;
 
 			try {
 				/**
-				 * mark all the existing sitemaps generated in the XMLSitemap
-				 * folder for the host specified to be removed upon creating new ones
+				 * the existing sitemaps generated in the XMLSitemap folder for the host
+				 * are removed once the new ones are checked in
 				 */
-				List<Object> oldSiteMapsToDel = new ArrayList<Object>();
+				List<Contentlet> oldSiteMapsToDel = new ArrayList<Contentlet>();
 
 				Folder folder = folderAPI.findFolderByPath(XML_SITEMAPS_FOLDER, host, systemUser, false);
 
@@ -182,207 +186,233 @@ public class XMLSitemapJob implements Job, StatefulJob {
 					oldSiteMapsToDel.addAll(conAPI.findContentletsByFolder(folder, systemUser, false));
 				}
 
-				hostFilesCounter.put(host.getHostname(), sitemapCounter);
+				if ( !isRegenerationNeeded( host, oldSiteMapsToDel ) ) {
+					Logger.info( this, "Nothing has changed on host [" + host.getHostname() + "] since its last sitemaps, skipping it" );
+					continue;
+				}
 
-				/* adding host url */
-				stringbuf = "<url><loc>"
-						+ XMLUtils.xmlEscape("http://" + host.getHostname() + "/")
-						+ "</loc><lastmod>"
-						+ modifiedDateStringValue
-						+ "</lastmod><changefreq>daily</changefreq></url>\n";
+				partsFolder = FileUtil.createTemporaryDirectory( "xmlsitemap" );
+				partWriter = new XMLSitemapPartWriter( partsFolder, getSitemapNamePrefix(), this::checkinPart );
+
+				try {
+					/* adding host url */
+					writeUrl("http://" + host.getHostname() + "/", modifiedDateStringValue);
+
+					List<String> ignorableStructureIds = getIgnorableStrcutureIdsForHost(host);
+					/**
+					 * This part generate the detail pages sitemap links per
+					 * structure
+					 */
+					for (ContentType type : types) {
+						if (ignorableStructureIds.contains(type.variable().toLowerCase())) {
+							continue;
+						}
 
-				writeFile(stringbuf);
+						writeDetailPages( host, new StructureTransformer( type ).asStructure() );
+					}
 
-				addRegistryProcessed();
+					/*
+					 This part add the show on menu pages. similar as we do in nav tool to generate the sitemap
+					 */
+					List<Folder> itemsList = folderAPI.findSubFolders( host, true );
+					if ( itemsList != null && !itemsList.isEmpty() ) {
 
-				List<String> ignorableStructureIds = getIgnorableStrcutureIdsForHost(host);
-				/**
-				 * This part generate the detail pages sitemap links per
-				 * structure
-				 */
-				for (ContentType type : types) {
-					String stVelocityVarName = type.variable();
-					if (ignorableStructureIds.contains(stVelocityVarName.toLowerCase())) {
-						continue;
-					}
+						// /FIRST LEVEL MENU ITEMS!!!!
+						for ( Object itemChild : itemsList ) {
 
-					Structure st = new StructureTransformer(type).asStructure();
-
-                    //Continue only if have a detail
-                    if ( !InodeUtils.isSet( st.getPagedetail() ) ) {
-						continue;
-                    }
-
-					//Getting the detail page, that detail page could be a HTMLPageAsset or a legacy page
-					IHTMLPage page = null;
-					final List<Contentlet> results = APILocator.getContentletAPI()
-							.search("+identifier:" + st.getPagedetail() + " +live:true", 0, 0,
-									"moddate", systemUser, false);
-					if (results != null && !results.isEmpty()) {
-						//First lets asume it is a HTMLPageAsset
-						final Contentlet contentlet = results.get(0);
-						if (contentlet != null) {
-							page = APILocator.getHTMLPageAssetAPI().fromContentlet(contentlet);
-						}
-					}
+							if (itemChild instanceof Folder) {
 
-					if ( !UtilMethods.isSet( page ) || !UtilMethods.isSet( page.getIdentifier() ) ) {
-						Logger.error( this, "Unable to find detail page for structure [" + stVelocityVarName + "]." );
-						continue;
-					}
+								Folder folderChild = (Folder) itemChild;
 
-					Identifier pageIdentifier = identAPI.find( page.getIdentifier() );
-					if ( !UtilMethods.isSet( pageIdentifier ) || !UtilMethods.isSet( pageIdentifier.getId() ) ) {
-						Logger.error( this, "Unable to find detail page for structure [" + stVelocityVarName + "]." );
-						continue;
-					}
+								Logger.debug(this, "Folder Iteration in progress Name [" + folderChild.getName() + "], show on Menu Indicator [" + folderChild.isShowOnMenu() + "]");
 
-					Logger.debug( this, " Creating Site Map for Structure " + stVelocityVarName );
+								// recursive method here
+								buildSubFolderSiteMapMenu(folderChild, 100, 1, 1);
 
-					//Search for the content of this structure
-					String hostQuery = "+(conhost:" + host.getIdentifier() + " conhost:SYSTEM_HOST)";
-					String query = hostQuery + " +structureName:" + st.getVelocityVarName() + " +deleted:false +live:true";
+							} else if (itemChild instanceof Link) {
 
-					List<Contentlet> hits = conAPI.search( query, -1, 0, "", systemUser, true );
-					String structureURLMap = st.getUrlMapPattern();
+								writeLink( host, (Link) itemChild );
 
-					List<RegExMatch> matches = null;
+							} else if (itemChild instanceof IHTMLPage) {
 
-					if ( useStructureURLMap && UtilMethods.isSet( structureURLMap ) ) {
-						matches = RegEX.find( st.getUrlMapPattern(), "({[^{}]+})" );
-					}
+								writeHTMLPage( host, (IHTMLPage) itemChild, false );
 
-					for (Contentlet contenlet : hits) {
-						stringbuf = null;
-						try {
-							if (usePermalinks) {
-								stringbuf = "<url><loc>"
-										+ XMLUtils.xmlEscape("http://"
-												+ host.getHostname()
-												+ "/permalink/"
-												+ contenlet.getIdentifier()
-												+ "/" + st.getPagedetail()
-												+ "/")
-										+ "</loc><lastmod>"
-										+ modifiedDateStringValue
-										+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-							} else if (useStructureURLMap && UtilMethods.isSet(structureURLMap) && (matches != null)) {
-
-								String uri = structureURLMap;
-								Logger.debug(this, " Found the URL String for validation [" + uri + "]");
-
-								for (RegExMatch match : matches) {
-									String urlMapField = match.getMatch();
-									String urlMapFieldValue = contenlet
-											.getStringProperty(urlMapField
-													.substring(1, (urlMapField
-															.length() - 1)));
-									urlMapField = urlMapField.replaceFirst(
-											"\\{", "\\\\{");
-									urlMapField = urlMapField.replaceFirst(
-											"\\}", "\\\\}");
-
-									if (urlMapFieldValue != null) {
-										uri = uri.replaceAll(urlMapField,
-												urlMapFieldValue);
-									}
-									Logger.debug(this,
-											"Performing Variable replacement - urlMapField ["
-													+ match.getMatch()
-													+ "], urlMapField [ "
-													+ urlMapField
-													+ "], urlMapFieldValue ["
-													+ urlMapFieldValue
-													+ "], uri [" + uri + "]");
-								}
-
-								if ( uri == null && UtilMethods.isSet( st.getDetailPage() ) ) {
-									if ( page != null && UtilMethods.isSet( page.getIdentifier() ) ) {
-										uri = page.getURI() + "?id=" + contenlet.getInode();
-									}
-								}
-								String urlReplacementText = getUrlPatternReplacementText( host, stVelocityVarName);
-
-								uri = uri.replaceAll(urlReplacementText, "");
-
-								Logger.debug(this,
-										"Performing URL replacement - urlRelacementText ["
-												+ urlReplacementText
-												+ "], uri [" + uri + "]");
-								if(StringUtils.isNotEmpty(uri)){
-									stringbuf = "<url><loc>"
-										+ XMLUtils.xmlEscape("http://"
-												+ host.getHostname() + uri)
-										+ "</loc><lastmod>"
-										+ modifiedDateStringValue
-										+ "</lastmod><changefreq>daily</changefreq></url>\n";
-								}
-							} else {
-								stringbuf = "<url><loc>"
-										+ XMLUtils.xmlEscape("http://"
-												+ host.getHostname()
-												+ pageIdentifier.getURI()
-												+ "?id="
-												+ contenlet.getIdentifier())
-										+ "</loc><lastmod>"
-										+ modifiedDateStringValue
-										+ "</lastmod><changefreq>daily</changefreq></url>\n";
-							}
+							} else if (itemChild instanceof Contentlet) {
 
-							if (stringbuf != null) {
-								writeFile(stringbuf);
-							}
-							addRegistryProcessed();
+								writeContentlet( host, (Contentlet) itemChild );
 
-						} catch (Exception e) {
-							Logger.error(this, e.getMessage(), e);
+							}
 						}
+
 					}
+				} finally {
+					partWriter.close();
+					partWriter = null;
 				}
 
-                /*
-                 This part add the show on menu pages. similar as we do in nav tool to generate the sitemap
-                 */
-                List<Folder> itemsList = folderAPI.findSubFolders( host, true );
-                if ( itemsList != null && !itemsList.isEmpty() ) {
+				if ( partsCheckedIn && !oldSiteMapsToDel.isEmpty() ) {
+					conAPI.destroy( oldSiteMapsToDel, systemUser, false );
+				}
 
-                    // /FIRST LEVEL MENU ITEMS!!!!
-                    for ( Object itemChild : itemsList ) {
+			} catch (Exception e) {
+				Logger.error(this, e.getMessage(), e);
+			} finally {
+				if ( partsFolder != null ) {
+					FileUtils.deleteQuietly( partsFolder );
+				}
+			}
+		}
+	}
 
-						if (itemChild instanceof Folder) {
+	/**
+	 * Returns true if the host has no sitemaps, if they are older than the full regeneration
+	 * period or if any content of the host was modified after they were generated
+	 *
+	 * @param host
+	 * @param sitemaps current sitemaps of the host
+	 * @return boolean
+	 */
+	private boolean isRegenerationNeeded ( Host host, List<Contentlet> sitemaps ) throws DotDataException, DotSecurityException {
 
-							Folder folderChild = (Folder) itemChild;
+		if ( !incrementalRegeneration || sitemaps.isEmpty() ) {
+			return true;
+		}
 
-							Logger.debug(this, "Folder Iteration in progress Name [" + folderChild.getName() + "], show on Menu Indicator [" + folderChild.isShowOnMenu() + "]");
+		// the generation started before the first of the sitemaps was checked in
+		final Date lastGeneration = sitemaps.stream().map( Contentlet::getModDate ).filter( Objects::nonNull )
+				.min( Date::compareTo ).orElse( null );
+		if ( lastGeneration == null || System.currentTimeMillis() - lastGeneration.getTime() > fullRegenerationMillis ) {
+			return true;
+		}
 
-							// recursive method here
-							buildSubFolderSiteMapMenu(folderChild, 100, 1, 1);
+		final String query = "+(conhost:" + host.getIdentifier() + " conhost:SYSTEM_HOST) +modDate:["
+				+ ESMappingAPIImpl.datetimeFormat.format( lastGeneration ) + " TO 30000101000000] -parentpath:"
+				+ XML_SITEMAPS_FOLDER.toLowerCase() + "*";
+		return conAPI.indexCount( query, systemUser, false ) > 0;
+	}
 
-						} else if (itemChild instanceof Link) {
+	/**
+	 * Writes the detail page urls of the live contents of the structure on the host, the contents
+	 * are scrolled from the index reading only the fields needed for the urls
+	 *
+	 * @param host
+	 * @param st
+	 */
+	private void writeDetailPages ( Host host, Structure st ) throws DotDataException, DotSecurityException {
 
-                            writeLink( host, (Link) itemChild );
+		String stVelocityVarName = st.getVelocityVarName();
 
-						} else if (itemChild instanceof IHTMLPage) {
+		//Continue only if have a detail
+		if ( !InodeUtils.isSet( st.getPagedetail() ) ) {
+			return;
+		}
 
-                            writeHTMLPage( host, (IHTMLPage) itemChild, false );
+		//Getting the detail page, that detail page could be a HTMLPageAsset or a legacy page
+		IHTMLPage page = null;
+		final List<Contentlet> results = APILocator.getContentletAPI()
+				.search("+identifier:" + st.getPagedetail() + " +live:true", 0, 0,
+						"moddate", systemUser, false);
+		if (results != null && !results.isEmpty()) {
+			//First lets asume it is a HTMLPageAsset
+			final Contentlet contentlet = results.get(0);
+			if (contentlet != null) {
+				page = APILocator.getHTMLPageAssetAPI().fromContentlet(contentlet);
+			}
+		}
 
-						} else if (itemChild instanceof Contentlet) {
+		if ( !UtilMethods.isSet( page ) || !UtilMethods.isSet( page.getIdentifier() ) ) {
+			Logger.error( this, "Unable to find detail page for structure [" + stVelocityVarName + "]." );
+			return;
+		}
 
-							writeContentlet( host, (Contentlet) itemChild );
+		final Identifier pageIdentifier = identAPI.find( page.getIdentifier() );
+		if ( !UtilMethods.isSet( pageIdentifier ) || !UtilMethods.isSet( pageIdentifier.getId() ) ) {
+			Logger.error( this, "Unable to find detail page for structure [" + stVelocityVarName + "]." );
+			return;
+		}
 
-						}
-					}
+		Logger.debug( this, " Creating Site Map for Structure " + stVelocityVarName );
 
-				}
+		//Search for the content of this structure
+		String hostQuery = "+(conhost:" + host.getIdentifier() + " conhost:SYSTEM_HOST)";
+		String query = hostQuery + " +structureName:" + stVelocityVarName + " +deleted:false +live:true";
 
+		final IHTMLPage detailPage = page;
+		final String structureURLMap = st.getUrlMapPattern();
+		final List<RegExMatch> matches = ( !usePermalinks && useStructureURLMap && UtilMethods.isSet( structureURLMap ) ) ?
+				RegEX.find( structureURLMap, "({[^{}]+})" ) : null;
+
+		final long hits = conAPI.indexSearchScroll( query, null, new String[]{MOD_DATE_FIELD}, systemUser, true, hitsPage -> {
+			try {
+				if ( matches != null ) {
+					// the index keeps the values of the url map fields lowercased, so the contents are loaded, a page at a time
+					final List<String> inodes = hitsPage.stream().map( hit -> String.valueOf( hit.get( "inode" ) ) )
+							.collect( Collectors.toList() );
+					for ( Contentlet contentlet : conAPI.findContentlets( inodes ) ) {
+						writeURLMapPage( host, st, detailPage, matches, contentlet );
+					}
+				} else {
+					for ( Map<String, Object> hit : hitsPage ) {
+						final String identifier = String.valueOf( hit.get( "identifier" ) );
+						final String uri = usePermalinks ?
+								"/permalink/" + identifier + "/" + st.getPagedetail() + "/" :
+								pageIdentifier.getURI() + "?id=" + identifier;
+						writeUrl( "http://" + host.getHostname() + uri, getLastMod( hit.get( MOD_DATE_FIELD ) ) );
+					}
+				}
 			} catch (Exception e) {
 				Logger.error(this, e.getMessage(), e);
 			}
+		});
 
-			if (UtilMethods.isSet(temporaryFile)) {
-				closeFileWriter();
+		Logger.debug( this, "Wrote " + hits + " detail pages of the structure " + stVelocityVarName );
+	}
+
+	private void writeURLMapPage ( Host host, Structure st, IHTMLPage page, List<RegExMatch> matches, Contentlet contenlet ) {
+
+		String uri = st.getUrlMapPattern();
+		Logger.debug(this, " Found the URL String for validation [" + uri + "]");
+
+		for (RegExMatch match : matches) {
+			String urlMapField = match.getMatch();
+			String urlMapFieldValue = contenlet
+					.getStringProperty(urlMapField
+							.substring(1, (urlMapField
+									.length() - 1)));
+			urlMapField = urlMapField.replaceFirst(
+					"\\{", "\\\\{");
+			urlMapField = urlMapField.replaceFirst(
+					"\\}", "\\\\}");
+
+			if (urlMapFieldValue != null) {
+				uri = uri.replaceAll(urlMapField,
+						urlMapFieldValue);
 			}
+			Logger.debug(this,
+					"Performing Variable replacement - urlMapField ["
+							+ match.getMatch()
+							+ "], urlMapField [ "
+							+ urlMapField
+							+ "], urlMapFieldValue ["
+							+ urlMapFieldValue
+							+ "], uri [" + uri + "]");
+		}
+
+		if ( uri == null && UtilMethods.isSet( st.getDetailPage() ) ) {
+			if ( page != null && UtilMethods.isSet( page.getIdentifier() ) ) {
+				uri = page.getURI() + "?id=" + contenlet.getInode();
+			}
+		}
+		String urlReplacementText = getUrlPatternReplacementText( host, st.getVelocityVarName() );
+
+		uri = uri.replaceAll(urlReplacementText, "");
+
+		Logger.debug(this,
+				"Performing URL replacement - urlRelacementText ["
+						+ urlReplacementText
+						+ "], uri [" + uri + "]");
+		if(StringUtils.isNotEmpty(uri)){
+			writeUrl( "http://" + host.getHostname() + uri, getLastMod( contenlet.getModDate() ) );
 		}
 	}
 
@@ -399,7 +429,6 @@ public class XMLSitemapJob implements Job, StatefulJob {
 	@SuppressWarnings("unchecked")
 	private void buildSubFolderSiteMapMenu ( Folder thisFolder, int numberOfLevels, int currentLevel, int orderDirection ) throws DotDataException, DotSecurityException {
 
-		String stringbuf;
 		// gets menu items for this folder
 		List<Inode> itemsChildrenList2 = folderAPI.findMenuItems( thisFolder, orderDirection );
 
@@ -416,20 +445,11 @@ public class XMLSitemapJob implements Job, StatefulJob {
 
 		if ( (indexPageId != null) && InodeUtils.isSet( indexPageId.getInode() ) ) {
 
-			stringbuf = "<url><loc>"
-					+ XMLUtils
-					.xmlEscape( "http://"
-							+ host.getHostname()
-							+ folderIdent.getURI() )
-					+ "</loc><lastmod>" + modifiedDateStringValue
-					+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-			Logger.debug( this, "Writing the XMLConfiguration for Folder[" + XMLUtils.xmlEscape( "http://" + host.getHostname() + folderIdent.getURI() ) + "]" );
+			Logger.debug( this, "Writing the XMLConfiguration for Folder[" + "http://" + host.getHostname() + folderIdent.getURI() + "]" );
 
 			isIndexPageAlreadyConfigured = true;
 
-			writeFile( stringbuf );
-			addRegistryProcessed();
+			writeUrl( "http://" + host.getHostname() + folderIdent.getURI(), modifiedDateStringValue );
 		}
 
 		if ( currentLevel < numberOfLevels ) {
@@ -445,22 +465,10 @@ public class XMLSitemapJob implements Job, StatefulJob {
 								numberOfLevels, currentLevel + 1,
 								orderDirection );
 					} else {
-						stringbuf = "<url><loc>"
-								+ XMLUtils
-								.xmlEscape( "http://"
-										+ host.getHostname()
-										+ childChild2Ident.getURI() )
-								+ "</loc><lastmod>"
-								+ modifiedDateStringValue
-								+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-						Logger.debug( this, "Writing the XMLConfiguration Second Level Check for [" + XMLUtils
-								.xmlEscape( "http://"
-										+ host.getHostname()
-										+ childChild2Ident.getURI() ) + "]" );
-
-						writeFile( stringbuf );
-						addRegistryProcessed();
+						Logger.debug( this, "Writing the XMLConfiguration Second Level Check for ["
+								+ "http://" + host.getHostname() + childChild2Ident.getURI() + "]" );
+
+						writeUrl( "http://" + host.getHostname() + childChild2Ident.getURI(), modifiedDateStringValue );
 					}
 				} else if ( childChild2 instanceof Link ) {
 
@@ -481,64 +489,25 @@ public class XMLSitemapJob implements Job, StatefulJob {
 	}
 
 	/**
-	 * Create a new instance of the temporary file to save the index data
-	 *
+	 * Name of the sitemap files of the current generation, each one is followed by its number
 	 */
-	private void openFileWriter() {
-		try {
-			temporaryFile = new File(Config.getStringProperty("org.dotcms.XMLSitemap.SITEMAP_XML_FILENAME","XMLSitemap")
-					+ ".xml");
-			out = new OutputStreamWriter(Files.newOutputStream(temporaryFile.toPath()),
-					"UTF-8");
-
-			out.write( "<?xml version='1.0' encoding='UTF-8'?>\n" );
-			out
-					.write("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:schemaLocation=\"http://www.sitemaps.org/schemas/sitemap/0.9 http://www.sitemaps.org/schemas/sitemap/0.9/sitemap.xsd\">\n");
-			out.flush();
-
-		} catch (Exception e) {
-			Logger.error(this, e.getMessage(), e);
-		}
+	private String getSitemapNamePrefix() {
+		String dateCounter = Calendar.getInstance().get(Calendar.MONTH)
+				+""+Calendar.getInstance().get(Calendar.DAY_OF_MONTH)
+				+""+Calendar.getInstance().get(Calendar.HOUR_OF_DAY)
+				+""+Calendar.getInstance().get(Calendar.MINUTE);
+		return Config.getStringProperty("org.dotcms.XMLSitemap.SITEMAP_XML_GZ_FILENAME","XMLSitemapGenerated")
+				+ dateCounter;
 	}
 
 	/**
-	 * Save in backend the new XMLSitemapGenerated.xml file and delete the
-	 * temporary file
+	 * Save in backend the new XMLSitemapGenerated.xml.gz file written by the part writer
+	 *
+	 * @param sitemapFile
 	 */
-	private void closeFileWriter() {
+	private void checkinPart ( File sitemapFile ) {
 
-		int counter = hostFilesCounter.get(currentHost.getHostname());
 		try {
-			out.write("</urlset>");
-			out.flush();
-			out.close();
-
-			/******* Begin Generate compressed file *****************************/
-			String dateCounter = Calendar.getInstance().get(Calendar.MONTH)
-									+""+Calendar.getInstance().get(Calendar.DAY_OF_MONTH)
-									+""+Calendar.getInstance().get(Calendar.HOUR_OF_DAY)
-									+""+Calendar.getInstance().get(Calendar.MINUTE);
-			String sitemapName = Config.getStringProperty("org.dotcms.XMLSitemap.SITEMAP_XML_GZ_FILENAME","XMLSitemapGenerated")
-					+ dateCounter + counter + ".xml.gz";
-			compressedFile = new File(sitemapName);
-			GZIPOutputStream gout = new GZIPOutputStream(Files.newOutputStream(compressedFile.toPath()));
-
-			// Open the input file
-			InputStream in = Files.newInputStream(temporaryFile.toPath());
-
-			// Transfer bytes from the input file to the GZIP output stream
-			byte[] buf = new byte[1024];
-			int len;
-			while ((len = in.read(buf)) > 0) {
-				gout.write(buf, 0, len);
-			}
-			in.close();
-
-			// Complete the GZIP file
-			gout.finish();
-			gout.close();
-			/************ End Generate compressed file **********************/
-
 			/* Saving file in dotCMS */
 
 			Folder folder = folderAPI.findFolderByPath(XML_SITEMAPS_FOLDER,
@@ -549,14 +518,14 @@ public class XMLSitemapJob implements Job, StatefulJob {
 						currentHost, systemUser, true);
 			}
 
-			java.io.File uploadedFile = new java.io.File(sitemapName);
+			final String sitemapName = sitemapFile.getName();
 			// Create the new file
 			Contentlet file = new Contentlet();
 			file.setStructureInode(folder.getDefaultFileType());
 			file.setStringProperty(FileAssetAPI.TITLE_FIELD, UtilMethods.getFileName(sitemapName));
 			file.setFolder(folder.getInode());
 			file.setHost(currentHost.getIdentifier());
-			file.setBinary(FileAssetAPI.BINARY_FIELD, uploadedFile);
+			file.setBinary(FileAssetAPI.BINARY_FIELD, sitemapFile);
             if ( CacheLocator.getContentTypeCache().getStructureByInode( file.getStructureInode() ).getStructureType() == Structure.STRUCTURE_TYPE_FILEASSET ) {
 				file.setStringProperty("fileName", sitemapName);
             }
@@ -566,51 +535,44 @@ public class XMLSitemapJob implements Job, StatefulJob {
             }
 			APILocator.getVersionableAPI().setWorking(file);
 
-
 		} catch (Exception e) {
+			partsCheckedIn = false;
 			Logger.error(this, e.getMessage(), e);
 		} finally {
-			hostFilesCounter.put(currentHost.getHostname(), counter + 1);
-			temporaryFile.delete();
-			compressedFile.delete();
-			temporaryFile = null;
-			compressedFile = null;
+			sitemapFile.delete();
 		}
 	}
 
 	/**
-	 * Write inside temporary file index pages
+	 * Write the url into the current sitemap file
 	 *
-	 * @param data
+	 * @param loc
+	 * @param lastmod
 	 */
-	private void writeFile(String data) {
+	private void writeUrl ( String loc, String lastmod ) {
 
 		try {
-			if (temporaryFile == null) {
-				openFileWriter();
-			}
-
-			out.write(data);
-			out.flush();
-
-			if (temporaryFile.length() > 9437184 || processedRegistries > 49999) {
-				closeFileWriter();
-				sitemapCounter = sitemapCounter + 1;
-				processedRegistries = 0;
-				openFileWriter();
-			}
-
-		} catch (Exception e) {
+			partWriter.write( loc, lastmod );
+		} catch (IOException e) {
 			Logger.error(this, e.getMessage(), e);
 		}
-
 	}
 
 	/**
-	 * Add one to the the number of pages processed counter
+	 * Returns the <code>yyyy-MM-dd</code> lastmod of a modification date, which is a {@link Date}
+	 * or the <code>yyyy-MM-dd'T'HH:mm:ss</code> value of the index. Today if it is not set
+	 *
+	 * @param modDate
+	 * @return String
 	 */
-	private void addRegistryProcessed() {
-		processedRegistries = processedRegistries + 1;
+	private String getLastMod ( Object modDate ) {
+
+		if ( modDate instanceof Date ) {
+			return UtilMethods.dateToHTMLDate( (Date) modDate, "yyyy-MM-dd" );
+		}
+
+		final String modDateValue = modDate != null ? modDate.toString() : null;
+		return modDateValue != null && modDateValue.length() >= 10 ? modDateValue.substring( 0, 10 ) : modifiedDateStringValue;
 	}
 
 	private void writeContentlet ( Host host, Contentlet contentlet ) throws DotDataException, DotSecurityException {
@@ -620,16 +582,8 @@ public class XMLSitemapJob implements Job, StatefulJob {
 			Identifier identifier = APILocator.getIdentifierAPI().find( contentlet );
 			String url = identifier.getParentPath() + contentlet.getStringProperty( FileAssetAPI.FILE_NAME_FIELD );
 
-			String stringbuf = "<url><loc>"
-					+ XMLUtils.xmlEscape( "http://"
-					+ host.getHostname()
-					+ UtilMethods.encodeURIComponent( url ) )
-					+ "</loc><lastmod>"
-					+ modifiedDateStringValue
-					+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-			writeFile( stringbuf );
-			addRegistryProcessed();
+			writeUrl( "http://" + host.getHostname() + UtilMethods.encodeURIComponent( url ),
+					getLastMod( contentlet.getModDate() ) );
 		}
 	}
 
@@ -639,7 +593,7 @@ public class XMLSitemapJob implements Job, StatefulJob {
 		if ( page.isLive() && !page.isArchived() ) {
 
 			String indexPageConfiguration = "/" + CMSFilter.CMS_INDEX_PAGE;
-			String pathToPageUrl = XMLUtils.xmlEscape( "http://" + host.getHostname() + childChild2Ident.getURI() );
+			String pathToPageUrl = "http://" + host.getHostname() + childChild2Ident.getURI();
 
 			if ( pathToPageUrl.endsWith( indexPageConfiguration ) && isIndexPageAlreadyConfigured ) {
 				Logger.debug( this, "Index Page is already configured, skipping the process [" + pathToPageUrl + "]" );
@@ -648,14 +602,7 @@ public class XMLSitemapJob implements Job, StatefulJob {
 
 			pathToPageUrl = pathToPageUrl.replace( indexPageConfiguration, "" );
 
-			String stringbuf = "<url><loc>"
-					+ pathToPageUrl
-					+ "</loc><lastmod>"
-					+ modifiedDateStringValue
-					+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-			writeFile( stringbuf );
-			addRegistryProcessed();
+			writeUrl( pathToPageUrl, getLastMod( page.getModDate() ) );
 		}
 	}
 
@@ -664,17 +611,8 @@ public class XMLSitemapJob implements Job, StatefulJob {
 		if ( link.isLive() && !link.isDeleted() ) {
 			if ( link.getUrl().startsWith( host.getHostname() ) ) {
 
-				String stringbuf = "<url><loc>"
-						+ XMLUtils.xmlEscape( link.getProtocal()
-						+ link.getUrl() )
-						+ "</loc><lastmod>"
-						+ modifiedDateStringValue
-						+ "</lastmod><changefreq>daily</changefreq></url>\n";
-
-				writeFile( stringbuf );
-				addRegistryProcessed();
+				writeUrl( link.getProtocal() + link.getUrl(), getLastMod( link.getModDate() ) );
 			}
 		}
 	}
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package com.dotcms.xmlsitemap;
+
+import com.dotmarketing.util.XMLUtils;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the urls of the sitemap of a site straight into gzipped part files, so the urls are never
+ * held in memory. A part is closed and a new one is started every 50,000 urls or 9MB of
+ * uncompressed xml (the limits of the sitemaps protocol leave room for both), and each part is
+ * handed to the consumer once it is complete.
+ */
+class XMLSitemapPartWriter implements Closeable {
+
+	static final int MAX_URLS_PER_PART = 50000;
+	static final long MAX_CHARS_PER_PART = 9437184;
+
+	private static final String URLSET_OPEN = "<?xml version='1.0' encoding='UTF-8'?>\n"
+			+ "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:schemaLocation=\"http://www.sitemaps.org/schemas/sitemap/0.9 http://www.sitemaps.org/schemas/sitemap/0.9/sitemap.xsd\">\n";
+	private static final String URLSET_CLOSE = "</urlset>";
+
+	private final File folder;
+	private final String fileNamePrefix;
+	private final Consumer<File> partConsumer;
+
+	private Writer out = null;
+	private File part = null;
+	private int parts = 0;
+	private int urlsInPart = 0;
+	private long charsInPart = 0;
+
+	/**
+	 * @param folder         folder to write the parts into
+	 * @param fileNamePrefix name of the parts, followed by their number and <code>.xml.gz</code>
+	 * @param partConsumer   receives each part once it is complete
+	 */
+	XMLSitemapPartWriter(final File folder, final String fileNamePrefix, final Consumer<File> partConsumer) {
+		this.folder = folder;
+		this.fileNamePrefix = fileNamePrefix;
+		this.partConsumer = partConsumer;
+	}
+
+	/**
+	 * Writes the url entry, starting a new part if the current one is full
+	 *
+	 * @param loc     url, it is escaped here
+	 * @param lastmod date of the last modification as <code>yyyy-MM-dd</code>
+	 * @throws IOException
+	 */
+	void write(final String loc, final String lastmod) throws IOException {
+
+		if (out == null) {
+			open();
+		}
+
+		final String entry = "<url><loc>" + XMLUtils.xmlEscape(loc) + "</loc><lastmod>" + lastmod
+				+ "</lastmod><changefreq>daily</changefreq></url>\n";
+		out.write(entry);
+		urlsInPart++;
+		charsInPart += entry.length();
+
+		if (urlsInPart >= MAX_URLS_PER_PART || charsInPart >= MAX_CHARS_PER_PART) {
+			close();
+		}
+	}
+
+	/**
+	 * @return number of parts started so far
+	 */
+	int getParts() {
+		return parts;
+	}
+
+	private void open() throws IOException {
+
+		parts++;
+		part = new File(folder, fileNamePrefix + parts + ".xml.gz");
+		out = new BufferedWriter(new OutputStreamWriter(
+				new GZIPOutputStream(Files.newOutputStream(part.toPath()), 64 * 1024), StandardCharsets.UTF_8),
+				64 * 1024);
+		out.write(URLSET_OPEN);
+		urlsInPart = 0;
+		charsInPart = URLSET_OPEN.length();
+	}
+
+	/**
+	 * Completes the current part, if any, and hands it to the consumer
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (out == null) {
+			return;
+		}
+
+		final File completedPart = part;
+		try {
+			out.write(URLSET_CLOSE);
+		} finally {
+			out.close();
+			out = null;
+			part = null;
+		}
+		partConsumer.accept(completedPart);
+	}
+}
@@ -34,6 +34,7 @@ import com.dotmarketing.cache.FolderCacheImpl;
 import com.dotmarketing.cache.LegacyContentTypeCacheImpl;
 import com.dotmarketing.cache.MultiTreeCache;
 import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.filters.CMSRouteCache;
 import com.dotmarketing.logConsole.model.LogMapperCache;
 import com.dotmarketing.logConsole.model.LogMapperCacheImpl;
 import com.dotmarketing.plugin.business.PluginCache;
@@ -326,6 +327,14 @@ public class CacheLocator extends Locator<CacheIndex>{
 		return (MetadataCache) getInstance(CacheIndex.Metadata);
 	}
 
+	/**
+	 * This will get you an instance of the CMSRouteCache singleton cache.
+	 * @return
+	 */
+	public static CMSRouteCache getCMSRouteCache() {
+		return (CMSRouteCache) getInstance(CacheIndex.CMSRouteCache);
+	}
+
 	/**
 	 * The legacy cache administrator will invalidate cache entries within a cluster
 	 * on a put where the non legacy one will not.
@@ -433,7 +442,8 @@ enum CacheIndex
 	AppsCache("Apps"),
 	GraphQLSchemaCache("GraphQLSchemaCache"),
 	Metadata("Metadata"),
-	GraphQLCache("GraphQLCache");
+	GraphQLCache("GraphQLCache"),
+	CMSRouteCache("CMS Route Cache");
 
 	Cachable create() {
 		switch(this) {
@@ -485,6 +495,7 @@ enum CacheIndex
 	      	case GraphQLSchemaCache : return new GraphQLSchemaCache();
 			case Metadata: return new MetadataCacheImpl();
 			case GraphQLCache: return new GraphQLCache();
+			case CMSRouteCache: return new CMSRouteCache();
 
 		}
 		throw new AssertionError("Unknown Cache index: " + this);
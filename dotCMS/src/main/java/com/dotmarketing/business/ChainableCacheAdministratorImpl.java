@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import com.dotcms.business.WrapInTransaction;
 import com.dotcms.cluster.ClusterUtils;
 import com.dotcms.cluster.bean.Server;
@@ -17,6 +18,9 @@ import com.dotcms.cluster.bean.ServerPort;
 import com.dotcms.cluster.business.ServerAPI;
 import com.dotcms.enterprise.cache.provider.CacheProviderAPI;
 import com.dotcms.enterprise.cluster.ClusterFactory;
+import com.dotcms.metrics.Counter;
+import com.dotcms.metrics.MetricsRegistry;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotmarketing.business.cache.provider.CacheProviderStats;
 import com.dotmarketing.business.cache.transport.CacheTransport;
 import com.dotmarketing.business.cache.transport.CacheTransportException;
@@ -41,6 +45,9 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
 
     private CacheProviderAPI cacheProviderAPI;
 
+    private final Map<String, Counter> hitCounters  = new ConcurrentHashMap<>();
+    private final Map<String, Counter> missCounters = new ConcurrentHashMap<>();
+
     public static final String TEST_MESSAGE = "HELLO CLUSTER!";
     public static final String TEST_MESSAGE_NODE = "TESTNODE";
     public static final String VALIDATE_CACHE = "validateCacheInCluster-";
@@ -272,7 +279,32 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
         group = group.toLowerCase();
 
         // Find the Object for a given key in a given group
-        return cacheProviderAPI.get(group, key);
+        final Object value = cacheProviderAPI.get(group, key);
+        this.recordLookup(group, null != value);
+        return value;
+    }
+
+    /**
+     * Counts the hits and misses of the whole provider chain by group, the counters are kept here so
+     * the lookup does not go through the {@link MetricsRegistry}. Misses are also counted on the
+     * {@link RenderProfiler} when a page render is being profiled
+     */
+    private void recordLookup(final String group, final boolean hit) {
+
+        if (!hit) {
+            RenderProfiler.cacheMiss();
+        }
+
+        final Map<String, Counter> counters = hit ? this.hitCounters : this.missCounters;
+        Counter counter = counters.get(group);
+        if (null == counter) {
+            counter = counters.computeIfAbsent(group, key -> hit ?
+                    MetricsRegistry.getInstance().counter("dotcms_cache_hits_total",
+                            "Cache lookups that found a value in the provider chain", "group", key) :
+                    MetricsRegistry.getInstance().counter("dotcms_cache_misses_total",
+                            "Cache lookups that did not find a value in the provider chain", "group", key));
+        }
+        counter.inc();
     }
 
     /*
@@ -1,6 +1,9 @@
 package com.dotmarketing.business;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.dotmarketing.business.cache.provider.CacheProviderStats;
@@ -8,6 +11,8 @@ import com.dotmarketing.business.cache.transport.CacheTransport;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.db.FlushCacheRunnable;
 import com.dotmarketing.db.HibernateUtil;
+import com.dotmarketing.db.MergeableRunnable;
+import com.google.common.annotations.VisibleForTesting;
 
 /**
  * this class wraps our cache administrator and will automatically make cache removes and puts
@@ -18,6 +23,9 @@ import com.dotmarketing.db.HibernateUtil;
  */
 class CommitListenerCacheWrapper implements DotCacheAdministrator {
 
+    private static final String REMOVE_KEYS_ON_COMMIT = "removeCacheKeys";
+    private static final String REMOVE_KEYS_ON_ROLLBACK = "removeCacheKeysOnRollback";
+
     final DotCacheAdministrator dotcache;
 
     public CommitListenerCacheWrapper(DotCacheAdministrator dotcache) {
@@ -124,25 +132,18 @@ class CommitListenerCacheWrapper implements DotCacheAdministrator {
     public void put(final String key, final Object content, final String group) {
         dotcache.put(key, content, group);
         if (DbConnectionFactory.inTransaction()) {
-            HibernateUtil.addRollbackListener(group+key,new FlushCacheRunnable() {
-                public void run() {
-                    dotcache.remove(key, group);
-                }
-            });
+            HibernateUtil.addMergeableRollbackListener(REMOVE_KEYS_ON_ROLLBACK,
+                    new RemoveKeysRunnable(dotcache, key, group));
         }
     }
 
     @Override
     public void remove(final String key, final String group) {
         if (DbConnectionFactory.inTransaction()) {
-                final String flushKey=String.valueOf(key+group).toLowerCase();
-                final Runnable runner = new FlushCacheRunnable() {
-                    public void run() {
-                        dotcache.remove(key, group);
-                    }
-                };
-                HibernateUtil.addRollbackListener(flushKey,runner);
-                HibernateUtil.addCommitListener(flushKey, runner);
+                HibernateUtil.addMergeableRollbackListener(REMOVE_KEYS_ON_ROLLBACK,
+                        new RemoveKeysRunnable(dotcache, key, group));
+                HibernateUtil.addMergeableCommitListener(REMOVE_KEYS_ON_COMMIT,
+                        new RemoveKeysRunnable(dotcache, key, group));
 
         }
         dotcache.remove(key, group);
@@ -152,4 +153,36 @@ class CommitListenerCacheWrapper implements DotCacheAdministrator {
         return dotcache;
     }
 
+    /**
+     * Removes all the keys removed or put during a transaction, grouped by cache group and without
+     * duplicates, as a single flusher
+     */
+    @VisibleForTesting
+    static class RemoveKeysRunnable extends FlushCacheRunnable implements MergeableRunnable<RemoveKeysRunnable> {
+
+        private final DotCacheAdministrator dotcache;
+        private final Map<String, Set<String>> keysByGroup = new LinkedHashMap<>();
+
+        RemoveKeysRunnable(final DotCacheAdministrator dotcache, final String key, final String group) {
+            this.dotcache = dotcache;
+            this.keysByGroup.computeIfAbsent(group, g -> new LinkedHashSet<>()).add(key);
+        }
+
+        @Override
+        public void merge(final RemoveKeysRunnable listener) {
+            listener.keysByGroup.forEach((group, keys) ->
+                    this.keysByGroup.computeIfAbsent(group, g -> new LinkedHashSet<>()).addAll(keys));
+        }
+
+        @VisibleForTesting
+        Map<String, Set<String>> getKeysByGroup() {
+            return keysByGroup;
+        }
+
+        @Override
+        public void run() {
+            keysByGroup.forEach((group, keys) -> keys.forEach(key -> dotcache.remove(key, group)));
+        }
+    }
+
 }
@@ -98,7 +98,7 @@ public class IdentifierAPIImpl implements IdentifierAPI {
 		return identifierFactory.isIdentifier(identifierInode);
 	}
 
-	@CloseDBIfOpened
+	@CloseDBIfOpened(readOnly = true)
 	public Identifier find(final Host host, final String uri) throws DotDataException, DotStateException {
 		return identifierFactory.findByURI(host, uri);
 	}
@@ -222,7 +222,7 @@ public class IdentifierAPIImpl implements IdentifierAPI {
 		identifierFactory.updateIdentifierURI(webasset, folder);
 	}
 
-	@CloseDBIfOpened
+	@CloseDBIfOpened(readOnly = true)
 	public List<Identifier> findByParentPath(final String hostId, final String parentPath) throws DotDataException {
 
 	    return identifierFactory.findByParentPath(hostId, parentPath);
@@ -170,6 +170,7 @@ public class IdentifierCacheImpl extends IdentifierCache {
     		final String key = getPrimaryGroup() + id.getHostId() + "-" + uri;
     		cache.remove(key, getPrimaryGroup());
     		cache.remove(key, get404Group());
+    		CacheLocator.getCMSRouteCache().remove(id.getHostId(), uri);
 		}
 		
 		if(UtilMethods.isSet(id.getAssetType()) && id.getAssetType().equals("folder")) {
@@ -210,6 +211,7 @@ public class IdentifierCacheImpl extends IdentifierCache {
     		String key = getPrimaryGroup() + hostId + "-" + URI;
     		cache.remove(key, getPrimaryGroup());
     		cache.remove(key, get404Group());
+    		CacheLocator.getCMSRouteCache().remove(hostId, URI);
 		}
 		else {
 		    removeFromCacheByIdentifier(id);
@@ -233,6 +235,7 @@ public class IdentifierCacheImpl extends IdentifierCache {
 	    for(String group : getGroups()) {
 	        cache.flushGroup(group);
 	    }
+	    CacheLocator.getCMSRouteCache().clearCache();
 	}
 
     @Override
@@ -276,6 +279,12 @@ public class IdentifierCacheImpl extends IdentifierCache {
     public void removeContentletVersionInfoToCache(String identifier, long lang) {
         String key=identifier+"-lang:"+lang;
         cache.remove(getVersionInfoGroup()+key, getVersionInfoGroup());
+
+        // a new or removed language version may change how the URI of the asset is resolved
+        final Identifier id = getIdentifier(identifier);
+        if (id != null && UtilMethods.isSet(id.getId())) {
+            CacheLocator.getCMSRouteCache().remove(id.getHostId(), id.getURI());
+        }
     }
 
     @Override
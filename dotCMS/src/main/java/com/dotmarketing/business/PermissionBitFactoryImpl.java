@@ -70,8 +70,11 @@ import io.vavr.control.Try;
 import jersey.repackaged.com.google.common.collect.Lists;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -100,6 +103,17 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 
 	private static final String LOCK_PREFIX = "PermissionID:";
 
+	/*
+	 * Amount of permissionables looked up in a single query when a permission is cascaded
+	 */
+	private static final int CASCADE_BATCH_SIZE = 500;
+
+	/*
+	 * Children whose permission only needs their id to be cascaded, so it is cascaded to all of them at once
+	 */
+	private static final Set<PermissionType> BULK_CASCADED_TYPES = EnumSet.of(PermissionType.TEMPLATE,
+			PermissionType.CONTAINER, PermissionType.FOLDER, PermissionType.LINK, PermissionType.CONTENTLET);
+
 
 	//SQL Queries used to maintain permissions
 	/*
@@ -162,6 +176,34 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 	 */
 	private static final String DELETE_PERMISSIONABLE_REFERENCE_SQL = "delete from permission_reference where asset_id = ?";
 
+	/*
+	 * To load which of the given permissionables already have an individual permission for a role
+	 * Parameters
+	 * 1. The role id
+	 * 2... The permissionable ids
+	 */
+	private static final String SELECT_INDIVIDUAL_PERMISSION_BY_ROLE_SQL = "select inode_id from permission where permission_type = '" +
+		PermissionAPI.INDIVIDUAL_PERMISSION_TYPE + "' and roleid = ? and inode_id in (%s)";
+
+	/*
+	 * To update the individual permission of a role over a permissionable
+	 * Parameters
+	 * 1. The permission
+	 * 2. The role id
+	 * 3. The permissionable id
+	 */
+	private static final String UPDATE_INDIVIDUAL_PERMISSION_BY_ROLE_SQL = "update permission set permission = ? where permission_type = '" +
+		PermissionAPI.INDIVIDUAL_PERMISSION_TYPE + "' and roleid = ? and inode_id = ?";
+
+	/*
+	 * To remove the individual permission of a role over a permissionable
+	 * Parameters
+	 * 1. The role id
+	 * 2. The permissionable id
+	 */
+	private static final String DELETE_INDIVIDUAL_PERMISSION_BY_ROLE_SQL = "delete from permission where permission_type = '" +
+		PermissionAPI.INDIVIDUAL_PERMISSION_TYPE + "' and roleid = ? and inode_id = ?";
+
 	/*
 	 * To load template identifiers that are children of a host
 	 * Parameters
@@ -1196,9 +1238,8 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 				).collect(Collectors.toList());
 		final List<Integer> batchResult = Ints
 				.asList(dotConnect.executeBatch(DELETE_PERMISSION_REFERENCE_SQL, paramsList));
-		for (final Permissionable permissionable : permissionables) {
-			permissionCache.remove(permissionable.getPermissionId());
-		}
+		removeFromPermissionCache(permissionables.stream()
+				.map(Permissionable::getPermissionId).collect(Collectors.toList()));
 		Logger.debug(PermissionBitFactoryImpl.class,
 				() -> "dbDeletePermissionReferences batch results: " + batchResult.stream().map(Object::toString)
 						.collect(Collectors.joining(",")));
@@ -2223,12 +2264,14 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 		  resetPermissionReferences(permissionable);
 
 			//Clearing the caches
+			final List<String> permissionIdsToClear = new ArrayList<>(idsToClear.size());
 			for(Map<String, String> idToClear: idsToClear) {
 			    String ii=idToClear.get("inode");
 			    if(ii==null) ii=idToClear.get("id");
-			    permissionCache.remove(ii);
+			    permissionIdsToClear.add(ii);
 			}
- 
+			removeFromPermissionCache(permissionIdsToClear);
+
 
 			if(isHost) {
 				ContentletAPI contentAPI = APILocator.getContentletAPI();
@@ -2252,6 +2295,7 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 	 void cascadePermissionUnder(Permissionable permissionable, Role role) throws DotDataException {
 
 		Logger.info(this, "Starting cascade role permissions for permissionable " + permissionable.getPermissionId() + " for role " + role.getId());
+		final long start = System.currentTimeMillis();
 		if(!permissionable.isParentPermissionable()) {
 			Logger.info(this, "Ending cascade role permissions (nothing to do is not parent permissionable) for permissionable " +
 					permissionable.getPermissionId() + " for role " + role.getId());
@@ -2304,7 +2348,8 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 			 ContentletAPI contentAPI = APILocator.getContentletAPI();
 			 contentAPI.refreshContentUnderHost((Host)permissionable);
 		 }
-		 Logger.info(this, "Ending cascade role permissions for permissionable " + permissionable.getPermissionId() + " for role " + role.getId());
+		 Logger.info(this, "Ending cascade role permissions for permissionable " + permissionable.getPermissionId() + " for role " + role.getId() +
+				 ", took " + (System.currentTimeMillis() - start) + " ms");
 
 	}
 
@@ -2351,24 +2396,99 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 			if (inheritablePermission != null) {
 				permission = inheritablePermission.getPermission();
 			}
-			for (String id : idsToUpdate) {
-				List<Permissionable> childPermissionables;
-				try {
-					childPermissionables = getPermissionable(id, systemUser, permissionType);
-				} catch (DotSecurityException e) {
-					Logger.error(PermissionBitFactoryImpl.class, e.getMessage(), e);
-					throw new DotRuntimeException(e.getMessage(), e);
-				}
+			if (BULK_CASCADED_TYPES.contains(permissionType)) {
+				cascadeIndividualPermission(idsToUpdate, role, permission);
+			} else {
+				for (String id : idsToUpdate) {
+					List<Permissionable> childPermissionables;
+					try {
+						childPermissionables = getPermissionable(id, systemUser, permissionType);
+					} catch (DotSecurityException e) {
+						Logger.error(PermissionBitFactoryImpl.class, e.getMessage(), e);
+						throw new DotRuntimeException(e.getMessage(), e);
+					}
+
+					for (Permissionable childPermissionable : childPermissionables) {
+						savePermission(new Permission(id, role.getId(), permission, true), childPermissionable);
+					}
 
-				for (Permissionable childPermissionable : childPermissionables) {
-					savePermission(new Permission(id, role.getId(), permission, true), childPermissionable);
 				}
+			}
 
+			if (permissionType == PermissionType.CONTENTLET && !idsToUpdate.isEmpty()) {
+				// the contents were not loaded to cascade the permission, they are reindexed all at once
+				APILocator.getReindexQueueAPI().addIdentifierReindex(idsToUpdate);
 			}
 		}
 
 	}
 
+	/**
+	 * Sets the individual permission of the role over the given children with set based statements instead
+	 * of saving it child by child. The children the role already has a permission on are updated, or deleted
+	 * when the permission is 0, in a single batch. Only the ones the role had no permission on are saved
+	 * through {@link #savePermission(Permission, Permissionable)}, a new permission needs their references
+	 * reset. Then just the cache entries of these children are removed
+	 *
+	 * @param ids ids of the children overriding the inheritance
+	 * @param role role whose permission is cascaded
+	 * @param permission permission to set
+	 * @throws DotDataException
+	 */
+	private void cascadeIndividualPermission(final List<String> ids, final Role role, final int permission)
+			throws DotDataException {
+
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		final Set<String> idsWithPermission = new HashSet<>();
+		for (final List<String> batch : Lists.partition(ids, CASCADE_BATCH_SIZE)) {
+			final DotConnect dotConnect = new DotConnect();
+			dotConnect.setSQL(String.format(SELECT_INDIVIDUAL_PERMISSION_BY_ROLE_SQL,
+					DotConnect.createParametersPlaceholder(batch.size())));
+			dotConnect.addParam(role.getId());
+			for (final String id : batch) {
+				dotConnect.addParam(id);
+			}
+			for (final Map<String, Object> row : dotConnect.loadObjectResults()) {
+				idsWithPermission.add(row.get("inode_id").toString());
+			}
+		}
+
+		if (!idsWithPermission.isEmpty()) {
+			final List<Params> paramsList = idsWithPermission.stream()
+					.map(id -> permission == 0 ? new Params(role.getId(), id) : new Params(permission, role.getId(), id))
+					.collect(Collectors.toList());
+			new DotConnect().executeBatch(permission == 0 ? DELETE_INDIVIDUAL_PERMISSION_BY_ROLE_SQL
+					: UPDATE_INDIVIDUAL_PERMISSION_BY_ROLE_SQL, paramsList);
+		}
+
+		if (permission != 0) {
+			for (final String id : ids) {
+				if (!idsWithPermission.contains(id)) {
+					final PermissionableProxy proxy = new PermissionableProxy();
+					proxy.setIdentifier(id);
+					proxy.setInode(id);
+					savePermission(new Permission(id, role.getId(), permission, true), proxy);
+				}
+			}
+		}
+
+		removeFromPermissionCache(idsWithPermission);
+	}
+
+	/**
+	 * Removes the permissions of the given permissionables from the cache, only their entries are removed
+	 * so the permissions of the rest of the assets stay cached
+	 *
+	 * @param permissionIds ids of the permissionables
+	 */
+	private void removeFromPermissionCache(final Collection<String> permissionIds) {
+
+		permissionIds.forEach(permissionCache::remove);
+	}
+
 	/**
 	 * Return {@link Permissionable}
 	 *
@@ -2562,8 +2682,9 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 
 		dbDeletePermissionReferences(proxies);
 
-		for (final PermissionReference reference : references) {
-			APILocator.getReindexQueueAPI().addIdentifierReindex(reference.getAssetId());
+		if (!references.isEmpty()) {
+			APILocator.getReindexQueueAPI().addIdentifierReindex(references.stream()
+					.map(PermissionReference::getAssetId).collect(Collectors.toSet()));
 		}
 
 		dbDeletePermissionReferences(Collections.singletonList(permissionable));
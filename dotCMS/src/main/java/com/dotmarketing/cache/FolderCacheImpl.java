@@ -85,6 +85,9 @@ public class FolderCacheImpl extends FolderCache {
 		catch(NullPointerException npe){
 			Logger.debug(FolderCache.class, "Cache Entry not found", npe);
 		}
+
+		// a folder change (rename, move, delete) affects the routes of the whole subtree
+		CacheLocator.getCMSRouteCache().clearCache();
 	}
 	
 	
@@ -40,4 +40,14 @@ public interface URLMapAPI {
     boolean isUrlPattern(final UrlMapContext urlMapContext)
             throws DotDataException, DotSecurityException;
 
+    /**
+     * Return true if the given URI matches any of the existing URLMaps patterns, regardless of whether a contentlet
+     * exists for it or not.
+     *
+     * @param uri URI to evaluate
+     * @return True if the requested URI matches an URLMap pattern
+     * @throws DotDataException
+     */
+    boolean matchesUrlPattern(final String uri) throws DotDataException;
+
 }
\ No newline at end of file
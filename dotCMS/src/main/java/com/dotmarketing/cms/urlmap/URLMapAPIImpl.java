@@ -44,6 +44,7 @@ import java.util.Optional;
  */
 public class URLMapAPIImpl implements URLMapAPI {
 
+    private static final String NO_URL_MAPS = "NO_URL_MAPS";
     private final Collection<ContentTypeURLPattern> patternsCache= new ArrayList<>();
     private final UserWebAPI wuserAPI = WebAPILocator.getUserWebAPI();
     private final PermissionAPI permissionAPI = APILocator.getPermissionAPI();
@@ -56,6 +57,11 @@ public class URLMapAPIImpl implements URLMapAPI {
         return getContentlet(urlMapContext) != null;
     }
 
+    @Override
+    public boolean matchesUrlPattern(final String uri) throws DotDataException {
+        return !this.findMatch(uri).isEmpty();
+    }
+
     @Override
     public Optional<URLMapInfo> processURLMap(final UrlMapContext context)
             throws DotSecurityException, DotDataException {
@@ -348,7 +354,7 @@ public class URLMapAPIImpl implements URLMapAPI {
      * Determines whether the official list of URL Map Patterns must be reloaded based on any of the following conditions:
      * <ol>
      *     <li>The cached master RegEx is null.</li>
-     *     <li>The list of cached patterns is empty.</li>
+     *     <li>The list of cached patterns is empty, and it is not because there are no URL Maps at all.</li>
      * </ol>
      *
      * @return If the list of patterns must be reloaded, returns {@code true}. Otherwise, returns {@code false}.
@@ -362,7 +368,7 @@ public class URLMapAPIImpl implements URLMapAPI {
             Logger.error(URLMapAPIImpl.class, e2.getMessage(), e2);
         }
 
-        return mastRegEx == null || patternsCache.isEmpty();
+        return mastRegEx == null || (patternsCache.isEmpty() && !NO_URL_MAPS.equals(mastRegEx));
     }
 
     /**
@@ -412,6 +418,9 @@ public class URLMapAPIImpl implements URLMapAPI {
             masterRegEx.append(")");
 
             CacheLocator.getContentTypeCache().addURLMasterPattern(masterRegEx.toString());
+        } else {
+            // remembers that there are no URL Maps, so the patterns are not reloaded on every request
+            CacheLocator.getContentTypeCache().addURLMasterPattern(NO_URL_MAPS);
         }
     }
 
@@ -3,6 +3,7 @@ package com.dotmarketing.common.db;
 import static com.dotcms.util.CollectionsUtils.map;
 
 import com.dotcms.util.CloseUtils;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import java.math.BigDecimal;
@@ -23,12 +24,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.regex.Pattern;
 
 import org.apache.commons.collections.map.LRUMap;
 import org.apache.commons.lang.StringUtils;
 
 import com.dotcms.business.CloseDBIfOpened;
 import com.dotcms.business.WrapInTransaction;
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotRuntimeException;
@@ -49,6 +52,14 @@ public class DotConnect {
 
     private static Map<Connection, Map<String, PreparedStatement>> stmts = new LRUMap(200);
 
+    /*
+     * Whitespace, comments and opening parenthesis before the first keyword of a statement
+     */
+    private static final Pattern STATEMENT_PREFIX = Pattern.compile("^(\\s|\\(|--[^\\n]*|/\\*.*?\\*/)+", Pattern.DOTALL);
+    private static final Pattern DATA_MODIFYING = Pattern.compile(
+            "\\b(insert|update|delete|merge)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FOR_UPDATE = Pattern.compile("\\bfor\\s+update\\b", Pattern.CASE_INSENSITIVE);
+
     ArrayList<Object> paramList;
 
     ArrayList<Object> results;
@@ -248,6 +259,9 @@ public class DotConnect {
     }
 
     public boolean executeStatement(String sql) throws SQLException {
+        if (!isReadQuery(sql)) {
+            DbConnectionFactory.leaveReplicaIfNeeded();
+        }
         Connection conn = DbConnectionFactory.getConnection();
         Statement stmt = conn.createStatement();
         Logger.info(this, "Executing " + sql);
@@ -529,10 +543,53 @@ public class DotConnect {
     }
 
     private void executeQuery() throws SQLException {
+        if (!isReadQuery(SQL)) {
+            // writes never go to the read replica
+            DbConnectionFactory.leaveReplicaIfNeeded();
+        }
         Connection conn = DbConnectionFactory.getConnection();
         executeQuery(conn);
     }
 
+    /**
+     * Returns true if the statement only reads: a select, a parenthesized select or a WITH query that does not
+     * modify data, once the leading whitespace and comments are skipped. A select ... for update is not a read,
+     * since it locks rows the replica can not lock
+     * @param sql {@link String}
+     * @return boolean
+     */
+    @VisibleForTesting
+    static boolean isReadQuery(final String sql) {
+
+        if (StringUtils.isBlank(sql)) {
+            return false;
+        }
+
+        final String statement = STATEMENT_PREFIX.matcher(sql).replaceFirst(StringUtils.EMPTY).toLowerCase();
+        if (statement.startsWith("select")) {
+            return !FOR_UPDATE.matcher(statement).find();
+        }
+
+        return statement.startsWith("with") && !DATA_MODIFYING.matcher(statement).find()
+                && !FOR_UPDATE.matcher(statement).find();
+    }
+
+    /**
+     * If the given connection is the replica connection of the current thread, it is released and the
+     * primary connection is returned instead, since the caller is about to write
+     */
+    private Connection writableConnection(final Connection connection) {
+
+        if (DbConnectionFactory.isOnReplica() && DbConnectionFactory.connectionExists()
+                && connection == DbConnectionFactory.getConnection()) {
+
+            DbConnectionFactory.leaveReplicaIfNeeded();
+            return DbConnectionFactory.getConnection();
+        }
+
+        return connection;
+    }
+
     private void executeQuery(String dataSource) throws SQLException {
         Connection conn = DbConnectionFactory.getConnection(dataSource);
         executeQuery(conn);
@@ -551,9 +608,14 @@ public class DotConnect {
         Statement stmt = null;
         // perform some query optimizations
         String starter = SQL.substring(0, 10);
+        if (!isReadQuery(SQL)) {
+            conn = this.writableConnection(conn);
+            DbConnectionFactory.markWrite();
+        }
         PreparedStatement statement = null;
         boolean cachePreparedStatement = Config.getBooleanProperty("CACHE_PREPARED_STATEMENTS", false);
         boolean logSQL = "true".equals(System.getProperty("hibernate.show_sql"));
+        RenderProfiler.dbQuery();
         if (logSQL) {
 
             Logger.info(this.getClass(), SQL + " params:" + paramList);
@@ -1185,6 +1247,7 @@ public class DotConnect {
 
     public int executeUpdate(final String preparedStatement, Boolean logException, final Object... parameters) throws DotDataException {
 
+        DbConnectionFactory.leaveReplicaIfNeeded();
         return this.executeUpdate(DbConnectionFactory.getConnection(), preparedStatement, logException, parameters);
 
     } // executeUpdate.
@@ -1235,8 +1298,10 @@ public class DotConnect {
         PreparedStatement preparedStatement = null;
         try {
 
-            preparedStatement = connection.prepareStatement(preparedStatementString);
+            RenderProfiler.dbQuery();
+            preparedStatement = this.writableConnection(connection).prepareStatement(preparedStatementString);
             this.setParams(preparedStatement, parameters);
+            DbConnectionFactory.markWrite();
             return preparedStatement.executeUpdate();
         } catch (SQLException e) {
             if (logException) {
@@ -16,6 +16,7 @@ import com.dotcms.concurrent.DotSubmitter;
 import com.dotcms.content.elasticsearch.business.ContentletIndexAPI;
 import com.dotcms.content.elasticsearch.business.ElasticReadOnlyCommand;
 import com.dotcms.content.elasticsearch.util.ESReindexationProcessStatus;
+import com.dotcms.metrics.MetricsRegistry;
 import com.dotcms.notifications.bean.NotificationLevel;
 import com.dotcms.notifications.bean.NotificationType;
 import com.dotcms.notifications.business.NotificationAPI;
@@ -34,6 +35,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.liferay.portal.language.LanguageException;
 import com.liferay.portal.model.User;
 import io.vavr.Lazy;
+import io.vavr.control.Try;
 
 /**
  * This thread is in charge of re-indexing the contenlet information placed in the
@@ -147,6 +149,12 @@ public class ReindexThread {
         this.indexAPI = indexAPI;
         instance=this;
 
+        // counting the queue is a query, so the size is only read once every few seconds
+        MetricsRegistry.getInstance().gauge("dotcms_reindex_queue_size", "Records waiting on the reindex queue",
+                () -> Try.of(this.queueApi::recordsInQueue).getOrElse(-1L),
+                TimeUnit.SECONDS.toMillis(Config.getLongProperty("METRICS_REINDEX_QUEUE_SIZE_TTL_SECONDS", 15)));
+        MetricsRegistry.getInstance().gauge("dotcms_reindex_contentlets_indexed", "Contentlets indexed by the reindex thread",
+                () -> this.contentletsIndexed);
     }
     
 
@@ -3,6 +3,7 @@ package com.dotmarketing.db;
 
 import static com.dotmarketing.util.Constants.DATABASE_DEFAULT_DATASOURCE;
 
+import com.dotcms.metrics.MetricsRegistry;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.util.Config;
@@ -10,8 +11,10 @@ import com.dotmarketing.util.Constants;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.StringUtils;
 import com.dotmarketing.util.UtilMethods;
+import com.google.common.annotations.VisibleForTesting;
 import com.liferay.util.JNDIUtil;
 import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.zaxxer.hikari.HikariDataSource;
 import io.vavr.control.Try;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -24,6 +27,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.naming.Binding;
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -41,6 +46,13 @@ public class DbConnectionFactory {
 
     private static DataSource defaultDataSource = null;
 
+    private static volatile DataSource replicaDataSource = null;
+    private static volatile boolean replicaLoaded = false;
+
+    private static final ThreadLocal<Integer> readOnlyScopes = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Boolean> onReplica = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Long> lastWrite = ThreadLocal.withInitial(() -> 0L);
+
     /**
      * Gets the autoCommit for the current connection
      * @return boolean
@@ -115,6 +127,7 @@ public class DbConnectionFactory {
                     try {
                         defaultDataSource = DataSourceStrategyProvider.getInstance().get();
                         addDatasourceToJNDIIfNeeded();
+                        registerPoolMetrics(defaultDataSource);
                     } catch (Throwable e) {
                         Logger.error(DbConnectionFactory.class,
                                 "---------- DBConnectionFactory: error getting dbconnection " + Constants.DATABASE_DEFAULT_DATASOURCE,
@@ -133,6 +146,167 @@ public class DbConnectionFactory {
         return defaultDataSource;
     }
 
+    /**
+     * Exposes the usage of the connection pool on the {@link MetricsRegistry}, only for Hikari pools
+     */
+    private static void registerPoolMetrics(final DataSource dataSource) {
+
+        if (dataSource instanceof HikariDataSource) {
+
+            final HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+            final MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.gauge("dotcms_db_pool_active_connections", "Connections in use",
+                    () -> hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+            metrics.gauge("dotcms_db_pool_idle_connections", "Idle connections on the pool",
+                    () -> hikariDataSource.getHikariPoolMXBean().getIdleConnections());
+            metrics.gauge("dotcms_db_pool_total_connections", "Connections on the pool",
+                    () -> hikariDataSource.getHikariPoolMXBean().getTotalConnections());
+            metrics.gauge("dotcms_db_pool_pending_threads", "Threads waiting for a connection",
+                    () -> hikariDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+            metrics.gauge("dotcms_db_pool_max_connections", "Max size of the pool",
+                    hikariDataSource::getMaximumPoolSize);
+        }
+    }
+
+    /**
+     * Returns the pool of the read replica, see {@link ReplicaDataSourceStrategy}
+     * @return Optional empty if no replica is configured
+     */
+    public static Optional<DataSource> getReplicaDataSource() {
+
+        if (!replicaLoaded) {
+
+            synchronized (DbConnectionFactory.class) {
+
+                if (!replicaLoaded) {
+                    try {
+                        replicaDataSource = ReplicaDataSourceStrategy.getInstance().apply();
+                        if (null != replicaDataSource) {
+                            Logger.info(DbConnectionFactory.class, "Read only lookups routed to the read replica pool");
+                            registerReplicaPoolMetrics(replicaDataSource);
+                        }
+                    } catch (Throwable e) {
+                        Logger.error(DbConnectionFactory.class,
+                                "Unable to set up the read replica pool, every lookup stays on the primary: " + e.getMessage(), e);
+                    }
+                    replicaLoaded = true;
+                }
+            }
+        }
+
+        return Optional.ofNullable(replicaDataSource);
+    }
+
+    @VisibleForTesting
+    static synchronized void setDataSource(final DataSource dataSource) {
+
+        defaultDataSource = dataSource;
+    }
+
+    @VisibleForTesting
+    static synchronized void setReplicaDataSource(final DataSource dataSource) {
+
+        replicaDataSource = dataSource;
+        replicaLoaded = true;
+    }
+
+    private static void registerReplicaPoolMetrics(final DataSource dataSource) {
+
+        if (dataSource instanceof HikariDataSource) {
+
+            final HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+            final MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.gauge("dotcms_db_replica_pool_active_connections", "Read replica connections in use",
+                    () -> hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+            metrics.gauge("dotcms_db_replica_pool_pending_threads", "Threads waiting for a read replica connection",
+                    () -> hikariDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+        }
+    }
+
+    /**
+     * Marks the code the current thread runs from now on, until {@link #endReadOnly()}, as only reading,
+     * so a connection opened for it goes to the read replica if there is one
+     */
+    public static void startReadOnly() {
+        readOnlyScopes.set(readOnlyScopes.get() + 1);
+    }
+
+    /**
+     * Ends the scope started by {@link #startReadOnly()}
+     */
+    public static void endReadOnly() {
+
+        final int scopes = readOnlyScopes.get() - 1;
+        if (scopes > 0) {
+            readOnlyScopes.set(scopes);
+        } else {
+            readOnlyScopes.remove();
+        }
+    }
+
+    /**
+     * Records the current thread just wrote, so it reads from the primary for the next
+     * <code>DB_REPLICA_PIN_PRIMARY_SECONDS</code> and does not miss its own writes on a lagging replica
+     */
+    public static void markWrite() {
+        lastWrite.set(System.currentTimeMillis());
+    }
+
+    /**
+     * @return true if the current thread wrote recently and must not read from the replica
+     */
+    public static boolean isPinnedToPrimary() {
+
+        return System.currentTimeMillis() - lastWrite.get() < TimeUnit.SECONDS.toMillis(
+                Config.getIntProperty("DB_REPLICA_PIN_PRIMARY_SECONDS", 5));
+    }
+
+    /**
+     * @return true if the connection of the current thread is on the read replica
+     */
+    public static boolean isOnReplica() {
+        return onReplica.get();
+    }
+
+    /**
+     * Called before the current thread writes: if its connection is on the read replica, the connection
+     * (and the hibernate session on it) is closed, so the next one is opened on the primary, and the
+     * thread is pinned to the primary
+     */
+    public static void leaveReplicaIfNeeded() {
+
+        if (onReplica.get()) {
+
+            Logger.debug(DbConnectionFactory.class, () -> "Leaving the read replica to write on thread "
+                    + Thread.currentThread().getId());
+            markWrite();
+            closeSilently();
+            onReplica.remove();
+        }
+    }
+
+    private static boolean useReplica() {
+
+        return readOnlyScopes.get() > 0 && !isPinnedToPrimary() && getReplicaDataSource().isPresent();
+    }
+
+    /**
+     * Returns the connections the pool can still hand out, the idle ones plus the ones it can still
+     * open, or -1 if the pool is not a Hikari pool and its usage is not known
+     * @return int
+     */
+    public static int getFreeConnections() {
+
+        final DataSource dataSource = getDataSource();
+        if (dataSource instanceof HikariDataSource) {
+
+            final HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+            return hikariDataSource.getMaximumPoolSize()
+                    - hikariDataSource.getHikariPoolMXBean().getActiveConnections();
+        }
+        return -1;
+    }
+
     /**
      * Saves a datasource in JNDI in case <b>ADD_DATASOURCE_TO_JNDI</b> is set to true.
      * By default, <b>ADD_DATASOURCE_TO_JNDI</b> is set to false
@@ -224,8 +398,10 @@ public class DbConnectionFactory {
             connection = connectionsList.get(DATABASE_DEFAULT_DATASOURCE);
 
             if (connection == null || connection.isClosed()) {
-                DataSource db = getDataSource();
+                final boolean replica = useReplica();
+                DataSource db = replica ? getReplicaDataSource().get() : getDataSource();
                 connection = db.getConnection();
+                onReplica.set(replica);
                 connectionsList.put(DATABASE_DEFAULT_DATASOURCE, connection);
                 Logger.debug(DbConnectionFactory.class,
                     "Connection opened for thread " + Thread.currentThread().getId() + "-" +
@@ -414,6 +590,7 @@ public class DbConnectionFactory {
 
             Logger.debug(DbConnectionFactory.class, ()-> "All connections closed for " + Thread.currentThread().getId());
             connectionsList.clear();
+            onReplica.remove();
 
         } catch (Exception e) {
             Logger.error(DbConnectionFactory.class,
@@ -677,6 +854,7 @@ public class DbConnectionFactory {
      * if there is not one already open - instead, it will return false
      */
     public static boolean startTransactionIfNeeded() throws DotDataException {
+        leaveReplicaIfNeeded();
         boolean startTransaction = !inTransaction();
 
         try {
@@ -695,7 +873,7 @@ public class DbConnectionFactory {
         try {
             if (inTransaction()) {
                 DbConnectionFactory.getConnection().commit();
-
+                markWrite();
             }
         } catch (Exception e) {
             throw new DotDataException(e.getMessage(), e);
@@ -706,6 +884,7 @@ public class DbConnectionFactory {
         try {
             if (inTransaction()) {
                 DbConnectionFactory.getConnection().commit();
+                markWrite();
             }
             closeConnection();
         } catch (Exception e) {
@@ -1019,6 +1019,69 @@ public class HibernateUtil {
         }
     }
 
+    /**
+     * Adds a commit listener that is merged into the listener of the same type already registered with the
+     * same tag on the current transaction, if any, instead of being queued on its own. It runs as any other
+     * commit listener added with {@link #addCommitListener(String, Runnable)}: right away if there is no
+     * transaction, otherwise after the commit.
+     *
+     * @param tag A unique ID for the listeners to merge.
+     * @param listener The commit listener.
+     */
+    public static <T extends MergeableRunnable<T>> void addMergeableCommitListener(final String tag, final T listener) {
+
+        if (!mergeListener(syncCommitListeners.get().get(tag), listener)
+                && !mergeListener(asyncCommitListeners.get().get(tag), listener)) {
+            addCommitListener(tag, listener);
+        }
+    }
+
+    /**
+     * Same as {@link #addMergeableCommitListener(String, MergeableRunnable)} but the listener is run
+     * synchronously, as the ones added with {@link #addSyncCommitListener(Runnable)}
+     *
+     * @param tag A unique ID for the listeners to merge.
+     * @param listener The commit listener.
+     */
+    public static <T extends MergeableRunnable<T>> void addMergeableSyncCommitListener(final String tag, final T listener) {
+
+        if (!mergeListener(syncCommitListeners.get().get(tag), listener)) {
+            addCommitListener(tag, new DotSyncRunnable(listener));
+        }
+    }
+
+    /**
+     * Adds a rollback listener that is merged into the listener of the same type already registered with
+     * the same tag on the current transaction, if any
+     *
+     * @param tag A unique ID for the listeners to merge.
+     * @param listener The rollback listener.
+     */
+    public static <T extends MergeableRunnable<T>> void addMergeableRollbackListener(final String tag, final T listener) {
+
+        if (!mergeListener(rollbackListeners.get().get(tag), listener)) {
+            addRollbackListener(tag, listener);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends MergeableRunnable<T>> boolean mergeListener(final Runnable registered, final T listener) {
+
+        if (!DbConnectionFactory.inTransaction() || getTransactionListenersStatus() == TransactionListenerStatus.DISABLED) {
+            return false;
+        }
+
+        final Runnable runnable = registered instanceof DotSyncRunnable ?
+                DotSyncRunnable.class.cast(registered).getRunnable() : registered;
+
+        if (null != runnable && runnable.getClass() == listener.getClass()) {
+            ((T) runnable).merge(listener);
+            return true;
+        }
+
+        return false;
+    }
+
 	public static void addRollbackListener(Runnable listener) {
 	    addRollbackListener(UUIDGenerator.generateUuid(), listener);
     }
@@ -1154,6 +1217,7 @@ public class HibernateUtil {
 	}
 
 	public static void startTransaction()  throws DotHibernateException{
+		DbConnectionFactory.leaveReplicaIfNeeded();
 		try{
 		/*
 		 * Transactions are now used by default
@@ -1188,6 +1252,7 @@ public class HibernateUtil {
 					Logger.debug(HibernateUtil.class, "Closing session. Commiting changes!");
 					session.connection().commit();
 					session.connection().setAutoCommit(true);
+					DbConnectionFactory.markWrite();
 					if (!asyncCommitListeners.get().isEmpty() || !syncCommitListeners.get().isEmpty()) {
 						finalizeCommitListeners();
 					}
@@ -1222,6 +1287,7 @@ public class HibernateUtil {
 	public static boolean startLocalTransactionIfNeeded() throws DotDataException{
     	boolean startTransaction = false;
 
+    	DbConnectionFactory.leaveReplicaIfNeeded();
     	try {
     		startTransaction = DbConnectionFactory.getConnection().getAutoCommit();
 			if(startTransaction){
@@ -0,0 +1,18 @@
+package com.dotmarketing.db;
+
+/**
+ * A commit or rollback listener that absorbs the listeners of its own kind registered later in the same
+ * transaction, see {@link HibernateUtil#addMergeableCommitListener(String, MergeableRunnable)}. A transaction
+ * that touches thousands of objects ends up with one listener doing all the work in one batch, instead of
+ * thousands of near identical ones running one by one.
+ *
+ * @param <T> the listener type itself
+ */
+public interface MergeableRunnable<T extends MergeableRunnable<T>> extends Runnable {
+
+    /**
+     * Adds the work of the listener to this one, work already done by this one must not be repeated
+     * @param listener listener registered after this one with the same tag
+     */
+    void merge(T listener);
+}
@@ -0,0 +1,106 @@
+package com.dotmarketing.db;
+
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_DRIVER;
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_PASSWORD;
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_USERNAME;
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_VALIDATION_QUERY;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.liferay.util.SystemEnvironmentProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+
+/**
+ * Singleton class that provides the pool of the read replica, reading its properties from the system
+ * environment: <code>DB_REPLICA_BASE_URL</code> turns the replica on, the driver, the username and the
+ * password default to the ones of the primary (<code>DB_DRIVER</code>, <code>DB_USERNAME</code>,
+ * <code>DB_PASSWORD</code>). The connections of the pool are read only.
+ * <p>
+ * {@link DbConnectionFactory} routes to it the connections opened for a read only
+ * {@link com.dotcms.business.CloseDBIfOpened} method.
+ */
+public class ReplicaDataSourceStrategy implements DotDataSourceStrategy {
+
+    static final String CONNECTION_DB_REPLICA_BASE_URL = "DB_REPLICA_BASE_URL";
+    static final String CONNECTION_DB_REPLICA_USERNAME = "DB_REPLICA_USERNAME";
+    static final String CONNECTION_DB_REPLICA_PASSWORD = "DB_REPLICA_PASSWORD";
+    static final String CONNECTION_DB_REPLICA_MAX_TOTAL = "DB_REPLICA_MAX_TOTAL";
+    static final String CONNECTION_DB_REPLICA_MIN_IDLE = "DB_REPLICA_MIN_IDLE";
+
+    static final String REPLICA_POOL_NAME = "jdbc/dotCMSReplicaPool";
+
+    private final SystemEnvironmentProperties systemEnvironmentProperties;
+
+    @VisibleForTesting
+    ReplicaDataSourceStrategy(final SystemEnvironmentProperties systemEnvironmentProperties) {
+        this.systemEnvironmentProperties = systemEnvironmentProperties;
+    }
+
+    private static class SingletonHelper {
+        private static final ReplicaDataSourceStrategy INSTANCE =
+                new ReplicaDataSourceStrategy(new SystemEnvironmentProperties());
+    }
+
+    public static ReplicaDataSourceStrategy getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    /**
+     * @return true if a replica is configured
+     */
+    public boolean isConfigured() {
+        return null != systemEnvironmentProperties.getVariable(CONNECTION_DB_REPLICA_BASE_URL);
+    }
+
+    /**
+     * @return the HikariConfig of the replica pool, null if no replica is configured
+     */
+    @VisibleForTesting
+    HikariConfig getHikariConfig() {
+
+        if (!isConfigured()) {
+            return null;
+        }
+
+        final HikariConfig config = new HikariConfig();
+
+        config.setPoolName(REPLICA_POOL_NAME);
+
+        config.setDriverClassName(getVariable(CONNECTION_DB_DRIVER, "org.postgresql.Driver"));
+
+        config.setJdbcUrl(systemEnvironmentProperties.getVariable(CONNECTION_DB_REPLICA_BASE_URL));
+
+        config.setUsername(getVariable(CONNECTION_DB_REPLICA_USERNAME,
+                systemEnvironmentProperties.getVariable(CONNECTION_DB_USERNAME)));
+
+        config.setPassword(getVariable(CONNECTION_DB_REPLICA_PASSWORD,
+                systemEnvironmentProperties.getVariable(CONNECTION_DB_PASSWORD)));
+
+        config.setMaximumPoolSize(Integer.parseInt(getVariable(CONNECTION_DB_REPLICA_MAX_TOTAL, "60")));
+
+        config.setMinimumIdle(Integer.parseInt(getVariable(CONNECTION_DB_REPLICA_MIN_IDLE, "10")));
+
+        config.setConnectionTestQuery(systemEnvironmentProperties.getVariable(CONNECTION_DB_VALIDATION_QUERY));
+
+        config.setReadOnly(true);
+
+        return config;
+    }
+
+    /**
+     * @return the replica pool, null if no replica is configured
+     */
+    @Override
+    public DataSource apply() {
+
+        final HikariConfig config = getHikariConfig();
+        return null == config ? null : new HikariDataSource(config);
+    }
+
+    private String getVariable(final String variableName, final String defaultValue) {
+
+        final String value = systemEnvironmentProperties.getVariable(variableName);
+        return null != value ? value : defaultValue;
+    }
+}
@@ -231,7 +231,7 @@ public class MultiTreeAPIImpl implements MultiTreeAPI {
         return getMultiTrees(htmlPage.getId(), container.getId());
     }
 
-    @CloseDBIfOpened
+    @CloseDBIfOpened(readOnly = true)
     @Override
     public java.util.List<MultiTree> getMultiTrees(final String parentInode) throws DotDataException {
 
@@ -370,7 +370,7 @@ public class MultiTreeAPIImpl implements MultiTreeAPI {
      * @return
      * @throws DotDataException
      */
-    @CloseDBIfOpened
+    @CloseDBIfOpened(readOnly = true)
     @Override
     public List<MultiTree> getMultiTreesByPage(final String parentInode) throws DotDataException {
 
@@ -840,7 +840,7 @@ public class MultiTreeAPIImpl implements MultiTreeAPI {
         }
     }
 
-    @CloseDBIfOpened
+    @CloseDBIfOpened(readOnly = true)
     @Override
     public Table<String, String, Set<PersonalizedContentlet>> getPageMultiTrees(final IHTMLPage page, final boolean liveMode)
             throws DotDataException, DotSecurityException {
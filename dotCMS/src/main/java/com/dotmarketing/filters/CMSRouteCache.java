@@ -0,0 +1,154 @@
+package com.dotmarketing.filters;
+
+import com.dotmarketing.beans.Host;
+import com.dotmarketing.business.Cachable;
+import com.dotmarketing.business.CacheLocator;
+import com.dotmarketing.business.DotCacheAdministrator;
+import com.dotmarketing.filters.CMSFilter.IAm;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.UtilMethods;
+import com.liferay.util.StringPool;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of the resource type ({@link IAm}) resolved by {@link CMSUrlUtil#resolveResourceType(IAm, String, Host, long)}
+ * for a site, a language and a URI, including the {@link IAm#NOTHING_IN_THE_CMS} (404) results.
+ * <p>
+ * Entries are stored by site and normalized path (no trailing slash), each one holding the resolution for every
+ * language and for the slash / no slash variants of that path, so a single removal invalidates all of them.
+ * Identifier, version info, folder, vanity URL and URL Map flushes invalidate this cache.
+ * <p>
+ * The {@link IAm#NOTHING_IN_THE_CMS} results expire after <code>CMS_ROUTE_CACHE_404_TTL_SECONDS</code> (60 by
+ * default), so a 404 cached for a path that is created without a flush of this cache does not last.
+ */
+public class CMSRouteCache implements Cachable {
+
+    private static final String PRIMARY_GROUP = "CMSRouteCache";
+    private static final String[] GROUPS = {PRIMARY_GROUP};
+    private static final String NOT_FOUND_TTL_SECONDS = "CMS_ROUTE_CACHE_404_TTL_SECONDS";
+
+    private final DotCacheAdministrator cache;
+
+    public CMSRouteCache() {
+        this.cache = CacheLocator.getCacheAdministrator();
+    }
+
+    @Override
+    public String getPrimaryGroup() {
+        return PRIMARY_GROUP;
+    }
+
+    @Override
+    public String[] getGroups() {
+        return GROUPS;
+    }
+
+    /**
+     * Returns the cached resource type for the given site, language and URI (without query string)
+     * @param siteId {@link String}
+     * @param languageId long
+     * @param uri {@link String}
+     * @return Optional IAm, empty if the route has not been resolved yet
+     */
+    public Optional<IAm> get(final String siteId, final long languageId, final String uri) {
+
+        final Map<String, Route> routes = this.getRoutes(siteId, uri);
+        final Route route = null != routes ? routes.get(this.routeKey(languageId, uri)) : null;
+        return null != route && !route.isExpired() ? Optional.of(route.iAm) : Optional.empty();
+    }
+
+    /**
+     * Stores the resource type resolved for the given site, language and URI (without query string)
+     * @param siteId {@link String}
+     * @param languageId long
+     * @param uri {@link String}
+     * @param iAm {@link IAm}
+     */
+    public void put(final String siteId, final long languageId, final String uri, final IAm iAm) {
+
+        if (!UtilMethods.isSet(siteId) || !UtilMethods.isSet(uri) || null == iAm) {
+            return;
+        }
+
+        final Map<String, Route> cachedRoutes = this.getRoutes(siteId, uri);
+        final Map<String, Route> routes = null != cachedRoutes ? new HashMap<>(cachedRoutes) : new HashMap<>();
+        routes.put(this.routeKey(languageId, uri), new Route(iAm, IAm.NOTHING_IN_THE_CMS == iAm
+                ? System.currentTimeMillis() + Config.getIntProperty(NOT_FOUND_TTL_SECONDS, 60) * 1000L
+                : Long.MAX_VALUE));
+        this.cache.put(this.key(siteId, uri), routes, PRIMARY_GROUP);
+    }
+
+    /**
+     * Removes every route cached for the given site and path, in all the languages. If the path is an index page,
+     * the route of its folder is removed as well since it resolves to the same page.
+     * @param siteId {@link String}
+     * @param uri {@link String}
+     */
+    public void remove(final String siteId, final String uri) {
+
+        if (!UtilMethods.isSet(siteId) || !UtilMethods.isSet(uri)) {
+            return;
+        }
+
+        this.cache.remove(this.key(siteId, uri), PRIMARY_GROUP);
+
+        final String normalizedUri = this.normalize(uri);
+        final String indexPage     = StringPool.FORWARD_SLASH + CMSFilter.CMS_INDEX_PAGE;
+        if (normalizedUri.endsWith(indexPage)) {
+
+            final String folderUri = normalizedUri.substring(0, normalizedUri.length() - indexPage.length());
+            this.cache.remove(this.key(siteId, folderUri.isEmpty() ? StringPool.FORWARD_SLASH : folderUri), PRIMARY_GROUP);
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        this.cache.flushGroup(PRIMARY_GROUP);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Route> getRoutes(final String siteId, final String uri) {
+
+        if (!UtilMethods.isSet(siteId) || !UtilMethods.isSet(uri)) {
+            return null;
+        }
+
+        return (Map<String, Route>) this.cache.getNoThrow(this.key(siteId, uri), PRIMARY_GROUP);
+    }
+
+    private String routeKey(final long languageId, final String uri) {
+        return languageId + (uri.length() > 1 && uri.endsWith(StringPool.FORWARD_SLASH) ? StringPool.FORWARD_SLASH : StringPool.BLANK);
+    }
+
+    private String key(final String siteId, final String uri) {
+        return siteId + StringPool.COLON + this.normalize(uri);
+    }
+
+    private String normalize(final String uri) {
+        return uri.length() > 1 && uri.endsWith(StringPool.FORWARD_SLASH) ? uri.substring(0, uri.length() - 1) : uri;
+    }
+
+    /**
+     * Resource type resolved for a route, and the time it expires at
+     */
+    private static final class Route implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IAm iAm;
+        private final long expiresAt;
+
+        private Route(final IAm iAm, final long expiresAt) {
+            this.iAm = iAm;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > this.expiresAt;
+        }
+    }
+}
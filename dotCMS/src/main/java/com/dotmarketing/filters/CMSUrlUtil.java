@@ -9,6 +9,7 @@ import com.dotcms.contenttype.model.type.BaseContentType;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Identifier;
 import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.DotStateException;
 import com.dotmarketing.business.PermissionAPI;
 import com.dotmarketing.business.Permissionable;
@@ -28,6 +29,7 @@ import com.dotmarketing.util.PageMode;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
 import com.liferay.util.Xss;
+import io.vavr.control.Try;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
@@ -37,6 +39,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.servlet.ServletException;
@@ -103,7 +106,10 @@ public class CMSUrlUtil {
 
 	}
 	/**
-	 * Returns the IAm value for a url
+	 * Returns the IAm value for a url.
+	 * The resolution is cached on the {@link CMSRouteCache} by site, language and uri, except for the uris that
+	 * match a URL Map pattern since those depend on the content, not only on the identifiers, and except when one of
+	 * the lookups failed, so a database or index error is not cached as a 404.
 	 * @param iAm
 	 * @param uri
 	 * @param site
@@ -116,15 +122,47 @@ public class CMSUrlUtil {
             final long languageId) {
 
         final String uriWithoutQueryString = this.getUriWithoutQueryString (uri);
-        if (isFileAsset(uriWithoutQueryString, site, languageId)) {
+        if (null == site || !UtilMethods.isSet(uriWithoutQueryString) || this.mayBeUrlMap(uriWithoutQueryString)) {
+            return this.resolveResourceTypeNoCache(uriWithoutQueryString, site, languageId, new AtomicBoolean());
+        }
+
+        final CMSRouteCache routeCache = CacheLocator.getCMSRouteCache();
+        final Optional<IAm> cachedIAm  = routeCache.get(site.getIdentifier(), languageId, uriWithoutQueryString);
+        if (cachedIAm.isPresent()) {
+            return cachedIAm.get();
+        }
+
+        final AtomicBoolean lookupFailed = new AtomicBoolean();
+        final IAm resolvedIAm = this.resolveResourceTypeNoCache(uriWithoutQueryString, site, languageId, lookupFailed);
+        if (!lookupFailed.get()) {
+            routeCache.put(site.getIdentifier(), languageId, uriWithoutQueryString, resolvedIAm);
+        }
+        return resolvedIAm;
+    }
+
+	/**
+	 * Returns true if the uri matches a URL Map pattern, or if the patterns can not be evaluated
+	 * @param uri
+	 * @return
+	 */
+	private boolean mayBeUrlMap(final String uri) {
+		return Try.of(() -> APILocator.getURLMapAPI().matchesUrlPattern(uri)).getOrElse(true);
+	}
+
+    private IAm resolveResourceTypeNoCache(final String uriWithoutQueryString,
+            final Host site,
+            final long languageId,
+            final AtomicBoolean lookupFailed) {
+
+        if (isFileAsset(uriWithoutQueryString, site, languageId, lookupFailed)) {
             return IAm.FILE;
         } 
-        if (isPageAsset(uriWithoutQueryString, site, languageId)) {
+        if (isPageAsset(uriWithoutQueryString, site, languageId, lookupFailed)) {
             return IAm.PAGE;
         }
-        if(isFolder(uriWithoutQueryString, site)) {
+        if(isFolder(uriWithoutQueryString, site, lookupFailed)) {
             // resolves correctly for folders with index pages
-            return uriWithoutQueryString.endsWith("/") && isPageAsset(uriWithoutQueryString + CMSFilter.CMS_INDEX_PAGE, site, languageId) 
+            return uriWithoutQueryString.endsWith("/") && isPageAsset(uriWithoutQueryString + CMSFilter.CMS_INDEX_PAGE, site, languageId, lookupFailed) 
                         ? IAm.PAGE
                         : IAm.FOLDER;     
             
@@ -143,6 +181,13 @@ public class CMSUrlUtil {
 	 * @return true if the URI is a Page Asset, false if not
 	 */
 	public boolean isPageAsset(String uri, Host host, Long languageId) {
+		return isPageAsset(uri, host, languageId, new AtomicBoolean());
+	}
+
+	/**
+	 * Indicates if the uri belongs to a Page Asset, flagging <code>lookupFailed</code> if it could not be told
+	 */
+	private boolean isPageAsset(String uri, Host host, Long languageId, final AtomicBoolean lookupFailed) {
 		Identifier id;
 		if (!UtilMethods.isSet(uri)) {
 			return false;
@@ -151,6 +196,7 @@ public class CMSUrlUtil {
 			id = APILocator.getIdentifierAPI().find(host, uri);
 		} catch (Exception e) {
 			Logger.error(this.getClass(), UNABLE_TO_FIND + uri);
+			lookupFailed.set(true);
 			return false;
 		}
 		if (id == null || id.getId() == null) {
@@ -195,6 +241,7 @@ public class CMSUrlUtil {
 				
 			} catch (Exception e) {
 				Logger.error(this.getClass(), UNABLE_TO_FIND + uri);
+				lookupFailed.set(true);
 				return false;
 			}
 		}
@@ -210,6 +257,7 @@ public class CMSUrlUtil {
 			return APILocator.getURLMapAPI().isUrlPattern(urlMapContext);
 		} catch (final DotDataException | DotSecurityException e){
 			Logger.error(this.getClass(), e.getMessage());
+			lookupFailed.set(true);
 			return false;
 		}
 	}
@@ -223,6 +271,13 @@ public class CMSUrlUtil {
 	 * @return true if the URI is a File Asset, false if not
 	 */
 	public boolean isFileAsset(String uri, Host host, Long languageId) {
+		return isFileAsset(uri, host, languageId, new AtomicBoolean());
+	}
+
+	/**
+	 * Indicates if the uri belongs to a File Asset, flagging <code>lookupFailed</code> if it could not be told
+	 */
+	private boolean isFileAsset(String uri, Host host, Long languageId, final AtomicBoolean lookupFailed) {
 
 		// languageId is not used now, but will be used in future functionality. Issue #7141
 
@@ -231,6 +286,7 @@ public class CMSUrlUtil {
 			id = APILocator.getIdentifierAPI().find(host, uri);
 		} catch (Exception e) {
 			Logger.error(this.getClass(), UNABLE_TO_FIND + uri);
+			lookupFailed.set(true);
 			return false;
 		}
 		if (id == null || id.getId() == null) {
@@ -264,6 +320,7 @@ public class CMSUrlUtil {
 				}
 			} catch (Exception e) {
 				Logger.warnAndDebug(this.getClass(), UNABLE_TO_FIND + uri +":"+e.getMessage(),e);
+				lookupFailed.set(true);
 				return false;
 			}
 		}
@@ -278,6 +335,13 @@ public class CMSUrlUtil {
 	 * @return true if the URI is a folder, false if not
 	 */
 	public boolean isFolder(String uri, Host host) {
+		return isFolder(uri, host, new AtomicBoolean());
+	}
+
+	/**
+	 * Indicates if the uri belongs to a Folder, flagging <code>lookupFailed</code> if it could not be told
+	 */
+	private boolean isFolder(String uri, Host host, final AtomicBoolean lookupFailed) {
 		Identifier id;
 		if ("/".equals(uri)) {
 			return true;
@@ -300,6 +364,7 @@ public class CMSUrlUtil {
 			}
 		} catch (Exception e) {
 			Logger.debug(this.getClass(), UNABLE_TO_FIND + uri);
+			lookupFailed.set(true);
 		}
 
 		return false;
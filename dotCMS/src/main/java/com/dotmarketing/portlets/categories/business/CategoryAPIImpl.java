@@ -25,9 +25,11 @@ import com.liferay.portal.model.User;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -548,16 +550,24 @@ public class CategoryAPIImpl implements CategoryAPI {
 										 final boolean respectFrontendRoles)
 			throws DotDataException, DotSecurityException {
 
-		List<Category> categoryTree = new ArrayList<Category>();
-		LinkedList<Category> children = new LinkedList<Category>(getChildren(category, user, respectFrontendRoles));
-		if (children != null) {
-			while(children.size() > 0) {
-				Category child = children.poll();
-				children.addAll(getChildren(child, user, respectFrontendRoles));
-				categoryTree.add(child);
-			}
-		}
-		return categoryTree;
+		// the descendants of a category the user can not read are skipped, same as walking the tree level by level
+		final CategoryTreeIndex treeIndex = categoryFactory.getTreeIndex();
+		final Set<String> readable = filterReadableIds(treeIndex.getDescendants(category.getInode()),
+				user, respectFrontendRoles);
+		return treeIndex.getDescendants(category.getInode(),
+				descendant -> readable.contains(descendant.getInode()));
+	}
+
+	/**
+	 * Filters the given categories by READ permission with a single call to the permission API
+	 * @return the inodes of the categories the user can read
+	 */
+	private Set<String> filterReadableIds(final List<Category> categories, final User user,
+										  final boolean respectFrontendRoles)
+			throws DotDataException, DotSecurityException {
+
+		return permissionAPI.filterCollection(new ArrayList<>(categories), PermissionAPI.PERMISSION_READ,
+				respectFrontendRoles, user).stream().map(Category::getInode).collect(Collectors.toSet());
 	}
 
 	@CloseDBIfOpened
@@ -584,9 +594,31 @@ public class CategoryAPIImpl implements CategoryAPI {
 		categoryFactory.clearCache();
 	}
 
+	@CloseDBIfOpened
 	public List<Category> getCategoryTreeUp(Category child, User user, boolean respectFrontendRoles)
 		throws DotDataException, DotSecurityException {
-		return getCategoryTree(child, new ArrayList<>(), user, respectFrontendRoles);
+
+		final CategoryTreeIndex treeIndex = categoryFactory.getTreeIndex();
+		final Set<String> readable = filterReadableIds(treeIndex.getAncestors(child.getInode()),
+				user, respectFrontendRoles);
+
+		final List<Category> categoryTree = new LinkedList<>();
+		final Set<String> visited = new HashSet<>();
+		Category current = child;
+		while (null != current && visited.add(current.getInode())) {
+
+			if (InodeUtils.isSet(current.getInode())) {
+				categoryTree.add(0, current);
+			}
+			// same as getParents(..).get(0), the first parent the user can read
+			current = treeIndex.getParents(current.getInode()).stream()
+					.filter(parent -> readable.contains(parent.getInode())).findFirst().orElse(null);
+		}
+
+		final Category fakeCat = new Category();
+		fakeCat.setCategoryName("Top Level");
+		categoryTree.add(0, fakeCat);
+		return categoryTree;
 	}
 
 	public List<Category> getCategoryTreeDown(Categorizable categorizable,Category catToSearchFrom, User user, boolean respectFrontendRoles)throws DotDataException, DotSecurityException {
@@ -594,24 +626,6 @@ public class CategoryAPIImpl implements CategoryAPI {
 		return catList;
 	}
 
-	private List<Category> getCategoryTree(Category child, List<Category> l, User user, boolean respectFrontendRoles)
-		throws DotDataException, DotSecurityException {
-
-		if (InodeUtils.isSet(child.getInode())) {
-			l.add(0, child);
-		}
-		List<Category> parents = getParents(child, user, respectFrontendRoles);
-		if (parents.size() > 0) {
-			Category parent = (Category) parents.get(0);
-			return getCategoryTree(parent, l, user, respectFrontendRoles);
-		} else {
-			Category fakeCat = new Category();
-			fakeCat.setCategoryName("Top Level");
-			l.add(0, fakeCat);
-		}
-		return l;
-	}
-
 	@CloseDBIfOpened
 	public boolean  hasDependencies(Category cat) throws DotDataException {
 		return categoryFactory.hasDependencies(cat);
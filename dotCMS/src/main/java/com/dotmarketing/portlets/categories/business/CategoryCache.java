@@ -166,6 +166,23 @@ public abstract class CategoryCache implements Cachable{
 	 */
 	abstract protected void removeParent(Categorizable child, Category parent) throws DotDataException, DotCacheException;
 
+	/**
+	 * Gets the in-memory index of the category tree
+	 * @return the index, or null if it is not in cache
+	 */
+	abstract protected CategoryTreeIndex getTreeIndex();
+
+	/**
+	 * Puts the in-memory index of the category tree in cache
+	 * @param treeIndex
+	 */
+	abstract protected void putTreeIndex(CategoryTreeIndex treeIndex);
+
+	/**
+	 * Removes the in-memory index of the category tree, call it whenever a category or the tree changes
+	 */
+	abstract protected void removeTreeIndex();
+
 	/**
 	 * Removes all entries from cache
 	 */
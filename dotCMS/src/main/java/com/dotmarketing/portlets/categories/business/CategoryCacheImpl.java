@@ -25,9 +25,11 @@ public class CategoryCacheImpl extends CategoryCache {
 	private String categoryByKeyCacheGroup = "categoryByKeyCache";
     private String categoryChildrenCacheGroup = "categoryChildrenCache";
     private String categoryParentsCacheGroup = "categoryParentsCache";
+    private String categoryTreeIndexCacheGroup = "categoryTreeIndexCache";
+    private static final String TREE_INDEX_KEY = "categoryTreeIndex";
 	
     // region's name for the cache
-    private String[] groupNames = {primaryGroup, categoryByKeyCacheGroup, categoryChildrenCacheGroup, categoryParentsCacheGroup};
+    private String[] groupNames = {primaryGroup, categoryByKeyCacheGroup, categoryChildrenCacheGroup, categoryParentsCacheGroup, categoryTreeIndexCacheGroup};
     
     public CategoryCacheImpl() {
     	cache = CacheLocator.getCacheAdministrator();
@@ -265,17 +267,34 @@ public class CategoryCacheImpl extends CategoryCache {
     	}
 	}
 
+	@Override
+	protected CategoryTreeIndex getTreeIndex() {
+		return (CategoryTreeIndex) cache.getNoThrow(TREE_INDEX_KEY, categoryTreeIndexCacheGroup);
+	}
+
+	@Override
+	protected void putTreeIndex(final CategoryTreeIndex treeIndex) {
+		cache.put(TREE_INDEX_KEY, treeIndex, categoryTreeIndexCacheGroup);
+	}
+
+	@Override
+	protected void removeTreeIndex() {
+		cache.remove(TREE_INDEX_KEY, categoryTreeIndexCacheGroup);
+	}
+
 	@Override
 	public void clearCache() {
 		cache.flushGroup(primaryGroup);
 		cache.flushGroup(categoryChildrenCacheGroup);
 		cache.flushGroup(categoryByKeyCacheGroup);
 		cache.flushGroup(categoryParentsCacheGroup);		
+		cache.flushGroup(categoryTreeIndexCacheGroup);
 	}
 	
 	@Override
 	protected void clearChildrenCache(){
 		cache.flushGroup(categoryChildrenCacheGroup);
+		cache.flushGroup(categoryTreeIndexCacheGroup);
 	}
 	
 	public String[] getGroups() {
@@ -269,5 +269,13 @@ public abstract class CategoryFactory {
 	abstract protected String suggestVelocityVarName (String categoryVelVarName) throws DotDataException;
 
 	abstract protected  void clearCache();
+
+	/**
+	 * Returns the in-memory index of the whole category tree, loading it with a single pass over the
+	 * categories and their relationships if it is not in cache
+	 * @return CategoryTreeIndex
+	 * @throws DotDataException
+	 */
+	abstract protected CategoryTreeIndex getTreeIndex() throws DotDataException;
 	
 }
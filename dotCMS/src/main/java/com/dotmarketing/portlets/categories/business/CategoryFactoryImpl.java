@@ -11,6 +11,7 @@ import com.dotmarketing.business.PermissionAPI;
 import com.dotmarketing.common.db.DotConnect;
 import com.dotmarketing.common.util.SQLUtil;
 import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.db.HibernateUtil;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.factories.TreeFactory;
 import com.dotmarketing.portlets.categories.model.Category;
@@ -36,6 +37,8 @@ import java.util.Map;
  */
 public class CategoryFactoryImpl extends CategoryFactory {
 
+	private static final String TREE_INDEX_COMMIT_LISTENER_TAG = "category-tree-index";
+
 	CategoryCache catCache;
 	final CategorySQL categorySQL;
 
@@ -284,6 +287,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			tree.setRelationType(relationType);
 			TreeFactory.saveTree(tree);
 		}
+		removeTreeIndex(parent);
 		try {
 			catCache.removeChild(parent, child);
 		} catch (DotCacheException e) {
@@ -301,6 +305,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			tree.setRelationType("child");
 			TreeFactory.saveTree(tree);
 		}
+		removeTreeIndex(child);
 		try {
 			catCache.removeParent(child, parent);
 		} catch (DotCacheException e) {
@@ -420,6 +425,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 		if(tree != null && InodeUtils.isSet(tree.getChild())) {
 			TreeFactory.deleteTree(tree);
 		}
+		removeTreeIndex(parent);
 		try {
 			catCache.removeChild(parent, child);
 		} catch (DotCacheException e) {
@@ -435,6 +441,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 		for(Tree tree : trees) {
 			TreeFactory.deleteTree(tree);
 		}
+		removeTreeIndex(parent);
 		try {
 			catCache.removeChildren(parent);
 		} catch (DotCacheException e) {
@@ -451,6 +458,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 		if(tree != null && InodeUtils.isSet(tree.getChild())) {
 			TreeFactory.deleteTree(tree);
 		}
+		removeTreeIndex(child);
 		try {
 			catCache.removeParent(child, parent);
 		} catch (DotCacheException e) {
@@ -465,6 +473,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 		for(Tree tree : trees) {
 			TreeFactory.deleteTree(tree);
 		}
+		removeTreeIndex(child);
 		try {
 			catCache.removeParents(child);
 		} catch (DotCacheException e) {
@@ -485,6 +494,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			Tree tree = new Tree(parent.getCategoryId(), cat.getInode());
 			TreeFactory.saveTree(tree);
 		}
+		removeTreeIndex(parent);
 		try {
 			catCache.removeChildren(parent);
 		} catch (DotCacheException e) {
@@ -504,6 +514,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			final Tree tree = new Tree(cat.getInode(), child.getCategoryId());
 			TreeFactory.saveTree(tree);
 		}
+		removeTreeIndex(child);
 		try {
 			catCache.removeParents(child);
 		} catch (DotCacheException e) {
@@ -633,6 +644,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			sql.append(" tree.parent = '").append(inode).append("' and category_1_.type = 'category' and cat.inode = c.inode ) ");
 			s.executeUpdate(sql.toString());
 			conn.commit();
+			removeTreeIndex();
 		} catch (SQLException e) {
 			if (conn != null) {
 				try {
@@ -699,6 +711,54 @@ public class CategoryFactoryImpl extends CategoryFactory {
 		catCache.clearCache();
 	}
 
+	@Override
+	protected CategoryTreeIndex getTreeIndex() throws DotDataException {
+
+		CategoryTreeIndex treeIndex = catCache.getTreeIndex();
+		if (null == treeIndex) {
+
+			final List<Category> categories = convertForCategories(new DotConnect()
+					.setSQL("select category.* from inode category_1_, category where category_1_.inode = category.inode " +
+							"and category_1_.type = 'category'")
+					.loadObjectResults());
+
+			final List<String[]> relationships = new ArrayList<>();
+			new DotConnect()
+					.setSQL("select tree.parent, tree.child from tree, category parent_category, category child_category " +
+							"where tree.parent = parent_category.inode and tree.child = child_category.inode")
+					.loadObjectResults()
+					.forEach(row -> relationships.add(new String[]{(String) row.get("parent"), (String) row.get("child")}));
+
+			treeIndex = new CategoryTreeIndex(categories, relationships);
+			// an index loaded within a transaction could include changes that are rolled back
+			if (!DbConnectionFactory.inTransaction()) {
+				catCache.putTreeIndex(treeIndex);
+			}
+		}
+
+		return treeIndex;
+	}
+
+	/**
+	 * Removes the category tree index if the given categorizable is a category, relationships between
+	 * categories and contents are not part of the index
+	 */
+	private void removeTreeIndex(final Categorizable categorizable) {
+		if (categorizable instanceof Category) {
+			removeTreeIndex();
+		}
+	}
+
+	/**
+	 * Removes the category tree index now and once the current transaction is committed, otherwise a
+	 * reader could load the index again from the uncommitted tree and keep it cached after the commit
+	 */
+	private void removeTreeIndex() {
+		catCache.removeTreeIndex();
+		HibernateUtil.addCommitListener(TREE_INDEX_COMMIT_LISTENER_TAG,
+				new HibernateUtil.DotSyncRunnable(catCache::removeTreeIndex));
+	}
+
 	/**
 	 * This method tells you if there are other categories associated to the one passed as param
 	 * @param cat
@@ -731,6 +791,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			s.executeUpdate(catSQL.getUpdateSort());
 			s.executeUpdate(catSQL.getDropSort());
 			conn.commit();
+			removeTreeIndex();
 
 			rs = s.executeQuery(catSQL.getSortParents());
 
@@ -783,6 +844,7 @@ public class CategoryFactoryImpl extends CategoryFactory {
 			statement.executeUpdate(sql);
 
 			conn.commit();
+			removeTreeIndex();
 
             PreparedStatement getSortedPreparedStatement = conn.prepareStatement( catSQL.getSortedChildren() );
             getSortedPreparedStatement.setString( 1, inode );
@@ -820,6 +882,8 @@ public class CategoryFactoryImpl extends CategoryFactory {
      */
     private void cleanParentChildrenCaches ( final Category category ) throws DotDataException, DotCacheException {
 
+		removeTreeIndex();
+
 		final List<String> parentIds = catCache.getParents( category );
         if ( parentIds != null ) {
             for ( String parentId : parentIds ) {
@@ -0,0 +1,162 @@
+package com.dotmarketing.portlets.categories.business;
+
+import com.dotmarketing.portlets.categories.model.Category;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, in-memory index of the category tree, so the descendants and ancestors of a category can be resolved
+ * without a factory call per level.
+ * <p>
+ * It is built from all the categories and all the category to category relationships, see
+ * {@link CategoryFactory#getTreeIndex()}, and it is discarded from {@link CategoryCache} every time a category or the
+ * tree changes. Children are kept in the same order {@link CategoryFactory#getChildren(Categorizable)} returns them
+ * (sort order) and parents in the order of {@link CategoryFactory#getParents(Categorizable)} (sort order and name).
+ */
+public class CategoryTreeIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<Category> CATEGORY_ORDER =
+            Comparator.comparing(Category::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Category::getCategoryName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<String, Category> categories;
+    private final Map<String, List<Category>> children;
+    private final Map<String, List<Category>> parents;
+
+    /**
+     * Builds the index
+     * @param categories all the categories
+     * @param relationships pairs of parent inode (index 0) and child inode (index 1)
+     */
+    public CategoryTreeIndex(final Collection<Category> categories, final Collection<String[]> relationships) {
+
+        final Map<String, Category> categoriesById = new HashMap<>();
+        categories.forEach(category -> categoriesById.put(category.getInode(), category));
+
+        final Map<String, List<Category>> childrenById = new HashMap<>();
+        final Map<String, List<Category>> parentsById  = new HashMap<>();
+        for (final String[] relationship : relationships) {
+
+            final Category parent = categoriesById.get(relationship[0]);
+            final Category child  = categoriesById.get(relationship[1]);
+            if (null != parent && null != child) {
+                childrenById.computeIfAbsent(parent.getInode(), id -> new ArrayList<>()).add(child);
+                parentsById.computeIfAbsent(child.getInode(), id -> new ArrayList<>()).add(parent);
+            }
+        }
+
+        this.categories = ImmutableMap.copyOf(categoriesById);
+        this.children   = sorted(childrenById);
+        this.parents    = sorted(parentsById);
+    }
+
+    private static Map<String, List<Category>> sorted(final Map<String, List<Category>> categoriesById) {
+
+        final ImmutableMap.Builder<String, List<Category>> builder = ImmutableMap.builder();
+        categoriesById.forEach((id, list) -> {
+            list.sort(CATEGORY_ORDER);
+            builder.put(id, ImmutableList.copyOf(list));
+        });
+        return builder.build();
+    }
+
+    /**
+     * Returns the category with the given inode
+     * @param inode {@link String}
+     * @return Optional category
+     */
+    public Optional<Category> find(final String inode) {
+        return Optional.ofNullable(this.categories.get(inode));
+    }
+
+    /**
+     * Returns the direct children of the given category
+     * @param inode {@link String}
+     * @return List of categories, empty if there is no children
+     */
+    public List<Category> getChildren(final String inode) {
+        return this.children.getOrDefault(inode, ImmutableList.of());
+    }
+
+    /**
+     * Returns the direct parents of the given category
+     * @param inode {@link String}
+     * @return List of categories, empty for the top level categories
+     */
+    public List<Category> getParents(final String inode) {
+        return this.parents.getOrDefault(inode, ImmutableList.of());
+    }
+
+    /**
+     * Returns all the descendants of the given category, breadth-first
+     * @param inode {@link String}
+     * @return List of categories
+     */
+    public List<Category> getDescendants(final String inode) {
+        return this.getDescendants(inode, category -> true);
+    }
+
+    /**
+     * Returns the descendants of the given category that pass the filter, breadth-first. The descendants of a category
+     * that does not pass the filter are not visited.
+     * @param inode  {@link String}
+     * @param filter {@link Predicate}
+     * @return List of categories
+     */
+    public List<Category> getDescendants(final String inode, final Predicate<Category> filter) {
+
+        final List<Category> descendants   = new ArrayList<>();
+        final Set<String> visited          = new HashSet<>();
+        final LinkedList<Category> pending = new LinkedList<>(this.getChildren(inode));
+        visited.add(inode);
+
+        while (!pending.isEmpty()) {
+
+            final Category category = pending.poll();
+            if (visited.add(category.getInode()) && filter.test(category)) {
+                descendants.add(category);
+                pending.addAll(this.getChildren(category.getInode()));
+            }
+        }
+
+        return descendants;
+    }
+
+    /**
+     * Returns all the ancestors of the given category, following every parent
+     * @param inode {@link String}
+     * @return List of categories, closest first
+     */
+    public List<Category> getAncestors(final String inode) {
+
+        final List<Category> ancestors     = new ArrayList<>();
+        final Set<String> visited          = new HashSet<>();
+        final LinkedList<Category> pending = new LinkedList<>(this.getParents(inode));
+        visited.add(inode);
+
+        while (!pending.isEmpty()) {
+
+            final Category category = pending.poll();
+            if (visited.add(category.getInode())) {
+                ancestors.add(category);
+                pending.addAll(this.getParents(category.getInode()));
+            }
+        }
+
+        return ancestors;
+    }
+}
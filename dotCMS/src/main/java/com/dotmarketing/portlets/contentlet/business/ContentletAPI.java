@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Provides access to a wide range of routines aimed to interact with
@@ -2086,6 +2087,28 @@ public interface ContentletAPI {
      */
     public long indexCount(String luceneQuery, User user, boolean respectFrontendRoles) throws DotDataException, DotSecurityException;
 
+    /**
+     * Scrolls over every content that matches the lucene query and the user can read, a page at a
+     * time, handing the fields of the index of the content of each page to the consumer. Use it
+     * instead of {@link #searchIndex(String, int, int, String, User, boolean)} to go through a
+     * large number of contents, since they are never held together in memory.
+     * The fields are read as they are on the index (lowercased), the identifier and the inode are
+     * always read.
+     *
+     * @param luceneQuery
+     * @param sortBy indexName to order by, the order of the index if it is null or empty string
+     * @param fields fields of the index to read
+     * @param user
+     * @param respectFrontendRoles
+     * @param pageConsumer receives the fields of the contents of each page
+     * @return number of contents read
+     * @throws DotSecurityException if user is null and respectFrontendRoles is false
+     * @throws DotDataException
+     */
+    public long indexSearchScroll(String luceneQuery, String sortBy, String[] fields, User user,
+            boolean respectFrontendRoles, Consumer<List<Map<String, Object>>> pageConsumer)
+            throws DotDataException, DotSecurityException;
+
     /**
      * Gets the top viewed contents identifiers and numberOfViews  for a particular structure for a specified date interval
      * 
@@ -36,6 +36,7 @@ import org.elasticsearch.action.search.SearchResponse;
 import java.io.File;
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * This interceptor class allows developers to execute Java <b>code</b> before
@@ -2638,6 +2639,26 @@ public class ContentletAPIInterceptor implements ContentletAPI, Interceptor {
         return value;
     }
 
+    @Override
+    public long indexSearchScroll(String luceneQuery, String sortBy, String[] fields, User user,
+            boolean respectFrontendRoles, Consumer<List<Map<String, Object>>> pageConsumer)
+            throws DotDataException, DotSecurityException {
+        for(ContentletAPIPreHook pre : preHooks){
+            boolean preResult = pre.indexSearchScroll(luceneQuery, sortBy, fields, user, respectFrontendRoles);
+            if(!preResult){
+                Logger.error(this, "The following prehook failed " + pre.getClass().getName());
+                throw new DotRuntimeException("The following prehook failed " + pre.getClass().getName());
+            }
+        }
+
+        long value=conAPI.indexSearchScroll(luceneQuery, sortBy, fields, user, respectFrontendRoles, pageConsumer);
+
+        for(ContentletAPIPostHook post : postHooks){
+            post.indexSearchScroll(luceneQuery, sortBy, fields, user, respectFrontendRoles, value);
+        }
+        return value;
+    }
+
 	@Override
 	public List<Map<String, String>> getMostViewedContent(String structureVariableName,
 			String startDate, String endDate, User user) {
@@ -1468,6 +1468,18 @@ public interface ContentletAPIPostHook {
     public default void indexCount(String luceneQuery, User user,
             boolean respectFrontendRoles, long value){}
 
+    /**
+     * 
+     * @param luceneQuery
+     * @param sortBy
+     * @param fields
+     * @param user
+     * @param respectFrontendRoles
+     * @param value
+     */
+    public default void indexSearchScroll(String luceneQuery, String sortBy, String[] fields, User user,
+            boolean respectFrontendRoles, long value){}
+
     /**
      * Gets the top viewed content for a particular structure for a specified date interval
      * 
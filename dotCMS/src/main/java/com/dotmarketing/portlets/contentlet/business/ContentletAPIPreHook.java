@@ -1723,6 +1723,20 @@ public interface ContentletAPIPreHook {
       return true;
     }
 
+	/**
+	 * 
+	 * @param luceneQuery
+	 * @param sortBy
+	 * @param fields
+	 * @param user
+	 * @param respectFrontendRoles
+	 * @return
+	 */
+    public default boolean indexSearchScroll(String luceneQuery, String sortBy, String[] fields, User user,
+            boolean respectFrontendRoles){
+      return true;
+    }
+
     /**
      * Gets the top viewed content for a particular structure for a specified date interval
      * 
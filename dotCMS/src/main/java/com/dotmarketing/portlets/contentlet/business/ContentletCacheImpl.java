@@ -12,6 +12,7 @@ import com.dotmarketing.business.DotCacheAdministrator;
 import com.dotmarketing.business.DotCacheException;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 
 /**
@@ -28,6 +29,9 @@ public class ContentletCacheImpl extends ContentletCache {
 	// region's name for the cache
 	private String[] groupNames = {primaryGroup, HostCache.PRIMARY_GROUP, translatedQueryGroup};
 
+	// cached contentlets keep their properties on a compact, read-only storage until they are modified
+	private final boolean compactContentlets = Config.getBooleanProperty("CONTENTLET_CACHE_COMPACT_MAP", true);
+
 	public ContentletCacheImpl() {
 		cache = CacheLocator.getCacheAdministrator();
 	}
@@ -61,6 +65,10 @@ public class ContentletCacheImpl extends ContentletCache {
 
 		key = primaryGroup + key;
 
+		if (compactContentlets) {
+			content.compact();
+		}
+
 		// Add the key to the cache
 		cache.put(key, content, primaryGroup);
 
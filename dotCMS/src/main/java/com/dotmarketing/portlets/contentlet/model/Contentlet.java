@@ -64,15 +64,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang3.BooleanUtils;
 
@@ -159,7 +164,7 @@ public class Contentlet implements Serializable, Permissionable, Categorizable,
   public static final String RELATIONSHIP_KEY = "__##relationships##__";
 
   private transient ContentType contentType;
-  protected Map<String, Object> map = new ContentletHashMap();
+  protected Map<String, Object> map = new ContentletPropertiesMap();
 
   private boolean lowIndexPriority = false;
 
@@ -274,7 +279,7 @@ public class Contentlet implements Serializable, Permissionable, Categorizable,
    * Default class constructor.
    */
   public Contentlet() {
-    this.map = new ContentletHashMap();
+    this.map = new ContentletPropertiesMap();
     setInode("");
     setIdentifier("");
     setLanguageId(0);
@@ -1619,6 +1624,31 @@ public class Contentlet implements Serializable, Permissionable, Categorizable,
 	}
 
 
+	/**
+	 * Compacts the properties of this contentlet into a read-only, array-backed storage, meant for the
+	 * instances kept in cache. The properties are copied back into a regular map on the first change.
+	 */
+	public void compact() {
+		if (this.map instanceof ContentletPropertiesMap) {
+			((ContentletPropertiesMap) this.map).freeze(this.getContentTypeId());
+		}
+	}
+
+	/**
+	 * Returns true if the properties of this contentlet are compacted, see {@link #compact()}
+	 * @return boolean
+	 */
+	@VisibleForTesting
+	@JsonIgnore
+	boolean isCompacted() {
+		return this.map instanceof ContentletPropertiesMap && ((ContentletPropertiesMap) this.map).isFrozen();
+	}
+
+	/**
+	 * Serialized form of the properties of the contentlet, the one written by the java serialization and by
+	 * XStream before the properties could be compacted. Kept so bundles and serialized contentlets stay readable
+	 * by both older and newer versions, it is resolved to a {@link ContentletPropertiesMap} when read.
+	 */
 	private class ContentletHashMap extends ConcurrentHashMap<String, Object> {
 		 /**
 		 *
@@ -1629,6 +1659,10 @@ public class Contentlet implements Serializable, Permissionable, Categorizable,
 			super();
 		}
 
+		ContentletHashMap(final Map<String, Object> properties) {
+			super(properties);
+		}
+
 		public Object put(final String key, final Object newValue) {
 
 		    final Object oldValue = this.get(key);
@@ -1643,6 +1677,202 @@ public class Contentlet implements Serializable, Permissionable, Categorizable,
             return super.put(key, newValue);
 
 		 }
+
+		private Object readResolve() {
+			final ContentletPropertiesMap properties = new ContentletPropertiesMap();
+			properties.storage.putAll(this);
+			return properties;
+		}
+	}
+
+	/**
+	 * Properties map of the contentlet, backed by a {@link ConcurrentHashMap} or, once compacted, by a
+	 * {@link FrozenContentletMap} that is turned back into a {@link ConcurrentHashMap} on the first change.
+	 * It is serialized as a {@link ContentletHashMap}.
+	 */
+	private class ContentletPropertiesMap extends AbstractMap<String, Object> implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private volatile Map<String, Object> storage = new ConcurrentHashMap<>();
+
+		public ContentletPropertiesMap() {
+			super();
+		}
+
+		private Object writeReplace() {
+			return new ContentletHashMap(this.storage);
+		}
+
+		void freeze(final String contentTypeId) {
+			synchronized (this) {
+				if (this.storage instanceof ConcurrentHashMap) {
+					final Map<String, Object> frozen = FrozenContentletMap.of(contentTypeId, this.storage);
+					if (null != frozen) {
+						this.storage = frozen;
+					}
+				}
+			}
+		}
+
+		boolean isFrozen() {
+			return this.storage instanceof FrozenContentletMap;
+		}
+
+		private Map<String, Object> writable() {
+			Map<String, Object> current = this.storage;
+			if (current instanceof FrozenContentletMap) {
+				synchronized (this) {
+					if (this.storage instanceof FrozenContentletMap) {
+						this.storage = new ConcurrentHashMap<>(this.storage);
+					}
+					current = this.storage;
+				}
+			}
+			return current;
+		}
+
+		@Override
+		public Object get(final Object key) {
+			return this.storage.get(key);
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return this.storage.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return this.storage.size();
+		}
+
+		@Override
+		public Object put(final String key, final Object newValue) {
+
+		    final Object oldValue = this.get(key);
+		    if(!java.util.Objects.equals(oldValue, newValue)) {
+		        Contentlet.this.markAsDirty();
+		    } else if (this.isFrozen()) {
+		        // nothing changes, no need to thaw the storage
+		        return oldValue;
+		    }
+
+		    if(newValue==null) {
+		        return this.writable().remove(key);
+		    }
+
+            return this.writable().put(key, newValue);
+
+		 }
+
+		@Override
+		public Object remove(final Object key) {
+			return this.isFrozen() && !this.containsKey(key) ? null : this.writable().remove(key);
+		}
+
+		@Override
+		public void clear() {
+			this.storage = new ConcurrentHashMap<>();
+		}
+
+		@Override
+		public void putAll(final Map<? extends String, ?> properties) {
+			this.writable().putAll(properties);
+		}
+
+		@Override
+		public Object putIfAbsent(final String key, final Object value) {
+			final Object current = this.get(key);
+			return null != current ? current : this.writable().putIfAbsent(key, value);
+		}
+
+		@Override
+		public Object computeIfAbsent(final String key,
+				final Function<? super String, ?> mappingFunction) {
+			final Object value = this.get(key);
+			return null != value ? value : this.writable().computeIfAbsent(key, mappingFunction);
+		}
+
+		@Override
+		public Object computeIfPresent(final String key,
+				final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+			return this.writable().computeIfPresent(key, remappingFunction);
+		}
+
+		@Override
+		public Object compute(final String key,
+				final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+			return this.writable().compute(key, remappingFunction);
+		}
+
+		@Override
+		public Object merge(final String key, final Object value,
+				final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+			return this.writable().merge(key, value, remappingFunction);
+		}
+
+		@Override
+		public Object replace(final String key, final Object value) {
+			return this.containsKey(key) ? this.writable().replace(key, value) : null;
+		}
+
+		@Override
+		public boolean replace(final String key, final Object oldValue, final Object newValue) {
+			return java.util.Objects.equals(this.get(key), oldValue) && this.writable().replace(key, oldValue, newValue);
+		}
+
+		@Override
+		public void replaceAll(final BiFunction<? super String, ? super Object, ?> function) {
+			this.writable().replaceAll(function);
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return new AbstractSet<Entry<String, Object>>() {
+
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					final Iterator<Entry<String, Object>> iterator = storage.entrySet().iterator();
+					return new Iterator<Entry<String, Object>>() {
+
+						private Entry<String, Object> last;
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							final Entry<String, Object> entry = iterator.next();
+							this.last = new SimpleEntry<String, Object>(entry.getKey(), entry.getValue()) {
+								@Override
+								public Object setValue(final Object value) {
+									ContentletPropertiesMap.this.put(this.getKey(), value);
+									return super.setValue(value);
+								}
+							};
+							return this.last;
+						}
+
+						@Override
+						public void remove() {
+							if (null == this.last) {
+								throw new IllegalStateException();
+							}
+							ContentletPropertiesMap.this.remove(this.last.getKey());
+							this.last = null;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return storage.size();
+				}
+			};
+		}
 	}
 
 	/**
@@ -0,0 +1,192 @@
+package com.dotmarketing.portlets.contentlet.model;
+
+import com.dotmarketing.util.Config;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only, array-backed storage for the properties of a {@link Contentlet} kept in cache.
+ * <p>
+ * The property names are not stored on each instance but on a {@link Layout} shared by all the
+ * contentlets of the same Content Type, so every cached contentlet only holds an array with its
+ * values instead of a hash table with one node per property. The names on the layouts are
+ * interned.
+ * <p>
+ * Any modification attempt throws {@link UnsupportedOperationException}, the owner of the map is
+ * expected to copy it into a mutable map before changing it.
+ */
+final class FrozenContentletMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Max amount of properties a layout can hold, beyond that the contentlets are not compacted
+     */
+    private static final int MAX_LAYOUT_SIZE = Config.getIntProperty("CONTENTLET_COMPACT_MAP_MAX_PROPERTIES", 512);
+
+    private static final Map<String, Layout> layouts = new ConcurrentHashMap<>();
+
+    private final Layout layout;
+    private final Object[] values;
+    private final int size;
+
+    private FrozenContentletMap(final Layout layout, final Object[] values, final int size) {
+        this.layout = layout;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Creates a frozen copy of the given properties, using the layout of the given Content Type
+     * @param contentTypeId the id of the Content Type of the contentlet
+     * @param properties the properties of the contentlet
+     * @return the frozen copy, or null if the properties can not be compacted
+     */
+    static FrozenContentletMap of(final String contentTypeId, final Map<String, Object> properties) {
+
+        final Layout layout = layoutFor(null != contentTypeId ? contentTypeId : "", properties.keySet());
+        if (null == layout) {
+            return null;
+        }
+
+        final Object[] values = new Object[layout.keys.length];
+        int size = 0;
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (null != entry.getValue()) {
+                values[layout.indexOf(entry.getKey())] = entry.getValue();
+                size++;
+            }
+        }
+
+        return new FrozenContentletMap(layout, values, size);
+    }
+
+    private static Layout layoutFor(final String contentTypeId, final Set<String> keys) {
+
+        final Layout layout = layouts.get(contentTypeId);
+        if (null != layout && layout.containsAll(keys)) {
+            return layout;
+        }
+
+        // new properties showed up for this type, a wider layout replaces the current one.
+        // Contentlets already frozen keep a reference to the layout they were built with
+        final Layout extended = layouts.compute(contentTypeId, (id, current) -> {
+            if (null != current && current.containsAll(keys)) {
+                return current;
+            }
+            final Layout candidate = (null != current ? current : Layout.EMPTY).extend(keys);
+            return candidate.keys.length <= MAX_LAYOUT_SIZE ? candidate : current;
+        });
+
+        return null != extended && extended.containsAll(keys) ? extended : null;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int index = this.layout.indexOf(key);
+        return index >= 0 ? this.values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != this.get(key);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return FrozenContentletMap.this.size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next = this.advance(0);
+
+        private int advance(int index) {
+            while (index < values.length && null == values[index]) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, Object> entry =
+                    new SimpleImmutableEntry<>(layout.keys[this.next], values[this.next]);
+            this.next = this.advance(this.next + 1);
+            return entry;
+        }
+    }
+
+    /**
+     * Ordered, interned property names of a Content Type along with the position of each one
+     */
+    private static final class Layout implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final Layout EMPTY = new Layout(new String[0]);
+
+        private final String[] keys;
+        private final Map<String, Integer> index;
+
+        private Layout(final String[] keys) {
+            this.keys = keys;
+            this.index = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                this.index.put(keys[i], i);
+            }
+        }
+
+        private int indexOf(final Object key) {
+            final Integer position = this.index.get(key);
+            return null != position ? position : -1;
+        }
+
+        private boolean containsAll(final Set<String> keys) {
+            return this.index.keySet().containsAll(keys);
+        }
+
+        private Layout extend(final Set<String> keys) {
+            final String[] extended = Arrays.copyOf(this.keys, this.keys.length + keys.size());
+            int length = this.keys.length;
+            for (final String key : keys) {
+                if (!this.index.containsKey(key)) {
+                    extended[length++] = key.intern();
+                }
+            }
+            return new Layout(Arrays.copyOf(extended, length));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.dotmarketing.portlets.workflows.business;
+
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.google.common.annotations.VisibleForTesting;
+import io.vavr.control.Try;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the rounds of a workflow bulk action from the load of the server. After each round it reads
+ * the depth of the reindex queue, the free connections of the DB pool and how long each content took,
+ * and then:
+ * <ul>
+ *     <li>when any of them is over its limit, it halves the contents fetched per round and the threads
+ *     firing them, and sleeps between contents, so the reindex thread and the pool can catch up</li>
+ *     <li>otherwise it grows the contents per round by a step and the threads by one, and shortens
+ *     the sleep, up to the configured maximums</li>
+ * </ul>
+ * The rounds start with the configured settings, and they are only adapted when
+ * <code>workflow.action.bulk.adaptive</code> is turned on. It also keeps the totals, so the progress
+ * and the throughput of the bulk action can be reported.
+ */
+public class AdaptiveBulkActionsController {
+
+    public static final String BULK_ACTIONS_ADAPTIVE = "workflow.action.bulk.adaptive";
+    public static final String BULK_ACTIONS_FETCH_STEP_MIN = "workflow.action.bulk.fetch.step.min";
+    public static final String BULK_ACTIONS_FETCH_STEP_MAX = "workflow.action.bulk.fetch.step.max";
+    public static final String BULK_ACTIONS_REINDEX_QUEUE_MAX = "workflow.action.bulk.reindex.queue.max";
+    public static final String BULK_ACTIONS_FREE_CONNECTIONS_MIN = "workflow.action.bulk.free.connections.min";
+    public static final String BULK_ACTIONS_CONTENT_LATENCY_MAX = "workflow.action.bulk.content.latency.max";
+
+    /**
+     * Live signals of the load of the server
+     */
+    interface LoadSignals {
+
+        /**
+         * @return long records waiting on the reindex queue
+         */
+        long reindexQueueDepth();
+
+        /**
+         * @return int connections the DB pool can still hand out, -1 if unknown
+         */
+        int freeConnections();
+    }
+
+    private static final LoadSignals SERVER_SIGNALS = new LoadSignals() {
+
+        @Override
+        public long reindexQueueDepth() {
+            return Try.of(() -> APILocator.getReindexQueueAPI().recordsInQueue()).getOrElse(0L);
+        }
+
+        @Override
+        public int freeConnections() {
+            return Try.of(DbConnectionFactory::getFreeConnections).getOrElse(-1);
+        }
+    };
+
+    private final boolean adaptive;
+    private final int minFetchStep;
+    private final int maxFetchStep;
+    private final int fetchStepIncrement;
+    private final int maxThreads;
+    private final int maxSleep;
+    private final long maxReindexQueueDepth;
+    private final int minFreeConnections;
+    private final long maxContentLatencyMillis;
+    private final LoadSignals signals;
+
+    private int fetchStep;
+    private int threads;
+    private int sleep;
+
+    private long processed = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * Creates the controller with the limits from the configuration
+     * @param fetchStep  int contents fetched on the first round
+     * @param maxThreads int max threads firing the contents
+     * @param sleep      int max millis to sleep between contents
+     */
+    public AdaptiveBulkActionsController(final int fetchStep, final int maxThreads, final int sleep) {
+
+        this(Config.getBooleanProperty(BULK_ACTIONS_ADAPTIVE, false), fetchStep,
+                Config.getIntProperty(BULK_ACTIONS_FETCH_STEP_MIN, 50),
+                Config.getIntProperty(BULK_ACTIONS_FETCH_STEP_MAX, 2000),
+                maxThreads, sleep,
+                Config.getIntProperty(BULK_ACTIONS_REINDEX_QUEUE_MAX, 5000),
+                Config.getIntProperty(BULK_ACTIONS_FREE_CONNECTIONS_MIN, 5),
+                Config.getIntProperty(BULK_ACTIONS_CONTENT_LATENCY_MAX, 500),
+                SERVER_SIGNALS);
+    }
+
+    @VisibleForTesting
+    AdaptiveBulkActionsController(final boolean adaptive, final int fetchStep,
+            final int minFetchStep, final int maxFetchStep, final int maxThreads, final int sleep,
+            final long maxReindexQueueDepth, final int minFreeConnections,
+            final long maxContentLatencyMillis, final LoadSignals signals) {
+
+        this.adaptive = adaptive;
+        this.minFetchStep = Math.max(1, Math.min(minFetchStep, fetchStep));
+        this.maxFetchStep = Math.max(fetchStep, maxFetchStep);
+        this.fetchStepIncrement = Math.max(1, fetchStep / 4);
+        this.maxThreads = Math.max(1, maxThreads);
+        this.maxSleep = Math.max(0, sleep);
+        this.maxReindexQueueDepth = maxReindexQueueDepth;
+        this.minFreeConnections = minFreeConnections;
+        this.maxContentLatencyMillis = maxContentLatencyMillis;
+        this.signals = signals;
+
+        this.fetchStep = fetchStep;
+        this.threads = this.maxThreads;
+        // the first round keeps the configured throttle, the adaptive settings only shorten it once
+        // the server has shown it is idle
+        this.sleep = this.maxSleep;
+    }
+
+    /**
+     * @return int contents to fetch on the next round
+     */
+    public synchronized int getFetchStep() {
+        return fetchStep;
+    }
+
+    /**
+     * @return int threads to fire the contents of the next round
+     */
+    public synchronized int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return int millis to sleep between contents on the next round
+     */
+    public synchronized int getSleep() {
+        return sleep;
+    }
+
+    /**
+     * @return long contents processed so far
+     */
+    public synchronized long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * @return long millis spent on the rounds so far
+     */
+    public synchronized long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @return double contents processed per second so far
+     */
+    public synchronized double getThroughput() {
+        return elapsedNanos > 0 ? processed * 1_000_000_000d / elapsedNanos : 0d;
+    }
+
+    /**
+     * Records a finished round and sizes the next one
+     * @param contents     int contents fired on the round
+     * @param roundNanos   long nanos the round took
+     */
+    public synchronized void roundCompleted(final int contents, final long roundNanos) {
+
+        this.processed += contents;
+        this.elapsedNanos += roundNanos;
+
+        if (!adaptive || contents <= 0) {
+            return;
+        }
+
+        // each thread fired its share of the round one after another
+        final long contentLatencyMillis = TimeUnit.NANOSECONDS.toMillis(roundNanos)
+                * Math.min(threads, contents) / contents;
+        final long reindexQueueDepth = signals.reindexQueueDepth();
+        final int freeConnections = signals.freeConnections();
+
+        final boolean congested = reindexQueueDepth > maxReindexQueueDepth
+                || (freeConnections >= 0 && freeConnections < minFreeConnections)
+                || contentLatencyMillis > maxContentLatencyMillis;
+
+        if (congested) {
+
+            fetchStep = Math.max(minFetchStep, fetchStep / 2);
+            threads = Math.max(1, threads / 2);
+            sleep = Math.min(maxSleep, Math.max(sleep * 2, maxSleep / 8));
+        } else {
+
+            fetchStep = Math.min(maxFetchStep, fetchStep + fetchStepIncrement);
+            threads = Math.min(maxThreads, threads + 1);
+            sleep = sleep / 2;
+        }
+
+        Logger.debug(this, () -> String.format("Bulk action round of %d contents: latency %dms per content, " +
+                "reindex queue %d, free connections %d, %s. Next round: %d contents, %d threads, %dms sleep",
+                contents, contentLatencyMillis, reindexQueueDepth, freeConnections,
+                congested ? "backing off" : "speeding up", fetchStep, threads, sleep));
+    }
+}
@@ -61,6 +61,7 @@ import com.dotmarketing.portlets.contentlet.business.ContentletAPI;
 import com.dotmarketing.portlets.contentlet.business.DotContentletValidationException;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.model.ContentletDependencies;
+import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
 import com.dotmarketing.portlets.contentlet.model.IndexPolicy;
 import com.dotmarketing.portlets.contentlet.util.ActionletUtil;
 import com.dotmarketing.portlets.fileassets.business.IFileAsset;
@@ -164,7 +165,6 @@ import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.apache.commons.lang.time.StopWatch;
 import org.apache.commons.lang3.concurrent.ConcurrentUtils;
-import org.elasticsearch.search.query.QueryPhaseExecutionException;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -2690,25 +2690,55 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 	/**
 	 * This version of the method expects to work with a larg set of contentlets, But instead of
 	 * having all the ids set a lucene query is used.
+	 * The inodes are all read before the first action is fired: the actions move the contentlets out of
+	 * the steps of the query, so paging on the query itself while they run would skip contentlets.
 	 */
-	private List<Contentlet> findContentletsToProcess(final String luceneQuery,
-			final Iterable<String> workflowAssociatedStepIds, final User user, final int limit, final int offset) {
+	private List<String> findInodesToProcess(final String luceneQuery,
+			final Iterable<String> workflowAssociatedStepIds, final User user) {
 
+		final List<String> inodes = new ArrayList<>();
 		try{
-		final String luceneQueryWithSteps = String.format(" %s +(wfstep:%s ) ", luceneQuery,
-				String.join(" wfstep:", workflowAssociatedStepIds));
+			final String luceneQueryWithSteps = String.format(" %s +(wfstep:%s ) ", luceneQuery,
+					String.join(" wfstep:", workflowAssociatedStepIds));
 
-		return ImmutableList.<Contentlet>builder().addAll(
-				contentletAPI.search(luceneQueryWithSteps, limit, offset, null, user, !RESPECT_FRONTEND_ROLES)
-		).build();
+			contentletAPI.indexSearchScroll(luceneQueryWithSteps, null, new String[0], user, !RESPECT_FRONTEND_ROLES,
+					page -> page.forEach(hit -> inodes.add(hit.get("inode").toString())));
 		}catch (Exception e){
-			final Throwable rootCause = ExceptionUtil.getRootCause(e);
-			if(rootCause instanceof QueryPhaseExecutionException){
-				final QueryPhaseExecutionException qpe = QueryPhaseExecutionException.class.cast(rootCause);
-				Logger.debug(getClass(),()->String.format("Unable to fetch contentlets beyond an offset of %d. %s ", offset, qpe.getMessage()));
-			} else {
-				Logger.error(getClass(),"Unexpected Error fetching contentlets from ES", e);
+			Logger.error(getClass(),"Unexpected Error fetching contentlets from ES", e);
+			return Collections.emptyList();
+		}
+
+		return inodes;
+	}
+
+	/**
+	 * Loads the contentlets of the next round out of the inodes read by
+	 * {@link #findInodesToProcess(String, Iterable, User)}. A contentlet may have been edited since its
+	 * inode was read, so the current working version of each one is loaded instead of the one read.
+	 */
+	private List<Contentlet> findContentletsToProcess(final List<String> inodes) {
+
+		try{
+			final List<Contentlet> contentlets = new ArrayList<>();
+			final List<String> editedInodes = new ArrayList<>();
+			for (final Contentlet contentlet : contentletAPI.findContentlets(inodes)) {
+				final String workingInode = APILocator.getVersionableAPI()
+						.getContentletVersionInfo(contentlet.getIdentifier(), contentlet.getLanguageId())
+						.map(ContentletVersionInfo::getWorkingInode).orElse(contentlet.getInode());
+				if (workingInode.equals(contentlet.getInode())) {
+					contentlets.add(contentlet);
+				} else {
+					editedInodes.add(workingInode);
+				}
+			}
+
+			if (!editedInodes.isEmpty()) {
+				contentlets.addAll(contentletAPI.findContentlets(editedInodes));
 			}
+
+			return ImmutableList.copyOf(contentlets);
+		}catch (Exception e){
+			Logger.error(getClass(),"Unexpected Error loading the contentlets " + inodes, e);
 		}
 
 		return Collections.emptyList();
@@ -2870,10 +2900,15 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 		final int sleepThreshold = Config
 				.getIntProperty(BULK_ACTIONS_SLEEP_THRESHOLD, BULK_ACTIONS_SLEEP_THRESHOLD_DEFAULT);
 
-		//This defines the number of contentlets that gets pulled from ES on each iteration.
+		//This defines the number of contentlets that gets pulled from ES on the first iteration.
 		final int limit = Config
 				.getIntProperty(BULK_ACTIONS_CONTENTLET_FETCH_STEP, BULK_ACTIONS_CONTENTLET_FETCH_STEP_DEFAULT);
 
+		//Sizes the next iterations from the load of the server.
+		final AdaptiveBulkActionsController controller = new AdaptiveBulkActionsController(limit,
+				Config.getIntProperty(MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS, MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS_DEFAULT),
+				sleepThreshold);
+
 		//Actions Shared context.
 		final ConcurrentMap<String, Object> actionsContext = new ConcurrentHashMap<>();
 
@@ -2891,20 +2926,24 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 				workflowAssociatedStepsIds,
 				user);
 
+		final List<String> inodes = findInodesToProcess(sanitizedQuery, workflowAssociatedStepsIds, user);
 		int offset = 0;
 
-		while (!submitter.isAborting()) {
-			final List<Contentlet> contentlets = findContentletsToProcess(sanitizedQuery,
-					workflowAssociatedStepsIds,
-					user, limit, offset
-			);
+		while (!submitter.isAborting() && offset < inodes.size()) {
+			final int fetchStep = controller.getFetchStep();
+			final List<String> roundInodes = inodes.subList(offset, Math.min(offset + fetchStep, inodes.size()));
+			offset += roundInodes.size();
+			final List<Contentlet> contentlets = findContentletsToProcess(roundInodes);
 
 			if (contentlets.isEmpty()) {
-				///We're done let's get out of here.
-				break;
+				//The contentlets of the round are gone, move on to the next one.
+				continue;
 			}
 
-			final List<List<Contentlet>> partitions = partitionContentletInput(contentlets);
+			final long roundStart = System.nanoTime();
+			final List<List<Contentlet>> partitions = partitionContentletInput(contentlets, controller.getThreads());
+			final int sleep = controller.getSleep();
+			final List<Future> roundFutures = new ArrayList<>();
 
 			final Consumer<Long> sucessCallback = UtilMethods.isSet(additionalParamsBean
 					.getAdditionalParamsMap().get(SUCCESS_ACTION_CALLBACK))
@@ -2935,7 +2974,7 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 			additionalParamsBean.getAdditionalParamsMap().remove(FAIL_ACTION_CALLBACK);
 
 			for (final List<Contentlet> partition : partitions) {
-				futures.add(
+				roundFutures.add(
 						submitter.submit(() -> {
 
 							if(submitter.isAborting()){
@@ -2945,13 +2984,14 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 
 								fireBulkActionTasks(action, user, partition,
 										additionalParamsBean,sucessCallback, failCallback,
-										actionsContext, sleepThreshold);
+										actionsContext, sleep);
 								}
 						)
 				);
 			}
 
-			offset += limit;
+			completeRound(controller, contentlets.size(), roundStart, roundFutures, action, -1);
+			futures.addAll(roundFutures);
 
 		}
 
@@ -2981,7 +3021,9 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 		return new BulkActionsResultView(
 				successCount.get(),
 				skipsCount,
-				ImmutableList.copyOf(fails)
+				ImmutableList.copyOf(fails),
+				controller.getElapsedMillis(),
+				controller.getThroughput()
 		);
 	}
 
@@ -3012,10 +3054,15 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 		final int sleepThreshold = Config
 				.getIntProperty(BULK_ACTIONS_SLEEP_THRESHOLD, BULK_ACTIONS_SLEEP_THRESHOLD_DEFAULT);
 
-		//This defines the number of contentlets that gets pulled from ES on each iteration.
+		//This defines the number of contentlets that gets pulled from ES on the first iteration.
 		final int limit = Config
 				.getIntProperty(BULK_ACTIONS_CONTENTLET_FETCH_STEP, BULK_ACTIONS_CONTENTLET_FETCH_STEP_DEFAULT);
 
+		//Sizes the next iterations from the load of the server.
+		final AdaptiveBulkActionsController controller = new AdaptiveBulkActionsController(limit,
+				Config.getIntProperty(MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS, MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS_DEFAULT),
+				sleepThreshold);
+
 		//Actions Shared context.
 		final ConcurrentMap<String, Object> actionsContext = new ConcurrentHashMap<>();
 
@@ -3029,20 +3076,24 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 
 		final List<Future> futures = new ArrayList<>();
 
+		final List<String> inodes = findInodesToProcess(sanitizedQuery, workflowAssociatedStepsIds, user);
 		int offset = 0;
 
-		while (!submitter.isAborting()) {
-			final List<Contentlet> contentlets = findContentletsToProcess(sanitizedQuery,
-					workflowAssociatedStepsIds,
-					user, limit, offset
-			);
+		while (!submitter.isAborting() && offset < inodes.size()) {
+			final int fetchStep = controller.getFetchStep();
+			final List<String> roundInodes = inodes.subList(offset, Math.min(offset + fetchStep, inodes.size()));
+			offset += roundInodes.size();
+			final List<Contentlet> contentlets = findContentletsToProcess(roundInodes);
 
 			if (contentlets.isEmpty()) {
-				///We're done let's get out of here.
-				break;
+				//The contentlets of the round are gone, move on to the next one.
+				continue;
 			}
 
-			final List<List<Contentlet>> partitions = partitionContentletInput(contentlets);
+			final long roundStart = System.nanoTime();
+			final List<List<Contentlet>> partitions = partitionContentletInput(contentlets, controller.getThreads());
+			final int sleep = controller.getSleep();
+			final List<Future> roundFutures = new ArrayList<>();
 
 			final Consumer<Long> sucessCallback = UtilMethods.isSet(additionalParamsBean
 					.getAdditionalParamsMap().get(SUCCESS_ACTION_CALLBACK))
@@ -3069,7 +3120,7 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 					};
 
 			for (final List<Contentlet> partition : partitions) {
-				futures.add(
+				roundFutures.add(
 						submitter.submit(() -> {
 
 									if(submitter.isAborting()){
@@ -3079,13 +3130,14 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 
 									fireBulkActionTasks(action, user, partition,
 											additionalParamsBean,sucessCallback, failCallback,
-											actionsContext, sleepThreshold);
+											actionsContext, sleep);
 								}
 						)
 				);
 			}
 
-			offset += limit;
+			completeRound(controller, contentlets.size(), roundStart, roundFutures, action, totalCount);
+			futures.addAll(roundFutures);
 		}
 
 		sendNotification(user, futures, totalCount);
@@ -3171,11 +3223,37 @@ public class WorkflowAPIImpl implements WorkflowAPI, WorkflowAPIOsgiService {
 		batchAction.executeBatchAction(user, actionsContext, actionClass, params);
 	}
 
+	/**
+	 * Waits for the tasks of a round of a bulk action, so the next round is sized from the load this one
+	 * left, and reports the progress
+	 * @param controller {@link AdaptiveBulkActionsController}
+	 * @param contents   int contents of the round
+	 * @param roundStart long nano time the round started
+	 * @param futures    tasks of the round
+	 * @param action     {@link WorkflowAction}
+	 * @param totalCount int contents of the bulk action, -1 if not known
+	 */
+	private void completeRound(final AdaptiveBulkActionsController controller, final int contents,
+			final long roundStart, final List<Future> futures, final WorkflowAction action, final int totalCount) {
+
+		for (final Future future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException | ExecutionException e) {
+				Logger.error(this, e.getMessage(), e);
+			}
+		}
+
+		controller.roundCompleted(contents, System.nanoTime() - roundStart);
+		Logger.info(getClass(), String.format("Bulk action '%s': %d%s contents processed in %d ms, %.1f per second",
+				action.getName(), controller.getProcessed(), totalCount >= 0 ? " of " + totalCount : StringPool.BLANK,
+				controller.getElapsedMillis(), controller.getThroughput()));
+	}
+
 	/**
 	 * Takes a input list of contentlets and creates sub groups to distribute the workload
 	 */
-	private List<List<Contentlet>> partitionContentletInput(final List<Contentlet> contentlets) {
-		final int maxThreads = Config.getIntProperty(MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS, MAX_THREADS_ALLOWED_TO_HANDLE_BULK_ACTIONS_DEFAULT);
+	private List<List<Contentlet>> partitionContentletInput(final List<Contentlet> contentlets, final int maxThreads) {
 		final int partitionSize = Math
 				.max((contentlets.size() / maxThreads), 10);
 
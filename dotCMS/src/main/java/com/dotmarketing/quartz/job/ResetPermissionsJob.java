@@ -115,8 +115,11 @@ public class ResetPermissionsJob extends DotStatefulJob {
 		final String userId = (String) map.get("userId");
 
 		try {
+			final long start = System.currentTimeMillis();
 			final Permissionable permissionable = retrievePermissionable(permissionableId);
 			permissionAPI.resetPermissionsUnder(permissionable);
+			Logger.info(ResetPermissionsJob.class, String.format("ResetPermissionsJob ::: finished for `%s` in %d ms",
+					permissionableId, System.currentTimeMillis() - start));
 
 			if (UtilMethods.isSet(userId)){
 				notificationAPI.generateNotification(
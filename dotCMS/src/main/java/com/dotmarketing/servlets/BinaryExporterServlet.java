@@ -11,8 +11,8 @@ import com.google.common.collect.ImmutableMap;
 import com.liferay.portal.util.PortalUtil;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -194,8 +194,7 @@ public class BinaryExporterServlet extends HttpServlet {
 		boolean byInode = params.containsKey("byInode");
 
 		ServletOutputStream out = null;
-		RandomAccessFile input = null;
-		InputStream is = null;
+		FileChannel input = null;
 		// Default to a no-shortyId value
 		try {
 			ShortyId shorty = shortyIdApi.noShorty(uuid);
@@ -444,20 +443,34 @@ public class BinaryExporterServlet extends HttpServlet {
 			 *  Start serving the data
 			 *
 			 *******************************/
-			long _fileLength = data.getDataFile().length();
-			
 			String mimeType = fileAssetAPI.getMimeType(data.getDataFile().getName());
 
 			if (mimeType == null) {
 				mimeType = "application/octet-stream";
 			}
+
+			final boolean forceDownload = req.getParameter("dotcms_force_download") != null || req.getParameter("force_download") != null;
+
+			// text assets are served from their compressed version (built once) when the client accepts it
+			File servedFile = data.getDataFile();
+			if (!forceDownload && PrecompressedAssetUtil.isCompressible(servedFile, mimeType)) {
+				resp.setHeader("Vary", "Accept-Encoding");
+				if (!UtilMethods.isSet(req.getHeader("range"))) {
+					final Optional<File> compressed = PrecompressedAssetUtil.getVariant(req.getHeader("Accept-Encoding"), servedFile, mimeType);
+					if (compressed.isPresent()) {
+						servedFile = compressed.get();
+						resp.setHeader("Content-Encoding", PrecompressedAssetUtil.GZIP);
+					}
+				}
+			}
+			long _fileLength = servedFile.length();
 			
 			resp.setHeader("Content-Disposition", "inline; filename=\"" + UtilMethods.encodeURL(downloadName) + "\"" );
 			resp.setHeader("Content-Length", String.valueOf(_fileLength));
 
 			resp.setContentType(mimeType);
 			
-			if (req.getParameter("dotcms_force_download") != null || req.getParameter("force_download") != null) {
+			if (forceDownload) {
 
 				// if we are downloading a jpeg version of a png or gif
 				String x = UtilMethods.getFileExtension(downloadName);
@@ -556,16 +569,17 @@ public class BinaryExporterServlet extends HttpServlet {
 						SpeedyAssetServletUtil.ByteRange full = new SpeedyAssetServletUtil.ByteRange(0, data.getDataFile().length() - 1, data.getDataFile().length());
 						if (ranges.isEmpty() || ranges.get(0).equals(full)) {
 							// Return full file.
-							input = new RandomAccessFile(data.getDataFile(), "r");
 							SpeedyAssetServletUtil.ByteRange r = full;
 							resp.setContentType(fileAssetAPI.getMimeType(data.getDataFile().getName()));
 							resp.setHeader("Content-Range", "bytes " + r.start + "-" + r.end + "/" + r.total);
 							resp.setHeader("Content-Length", String.valueOf(r.length));
 							// Copy full range.
-							SpeedyAssetServletUtil.copy(input, out, r.start, r.length);
+							if (!SpeedyAssetServletUtil.sendFile(req, resp, data.getDataFile(), r.start, r.length)) {
+								input = FileChannel.open(data.getDataFile().toPath(), StandardOpenOption.READ);
+								SpeedyAssetServletUtil.copy(input, out, r.start, r.length);
+							}
 						} else if (ranges.size() == 1){
 							SpeedyAssetServletUtil.ByteRange range = ranges.get(0);
-							input = new RandomAccessFile(data.getDataFile(), "r");
 							// Check if Range is syntactically valid. If not, then return 416.
 							if (range.start > range.end) {
 								resp.setHeader("Content-Range", "bytes */" + fileLen); // Required in 416.
@@ -576,11 +590,14 @@ public class BinaryExporterServlet extends HttpServlet {
 							resp.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + range.total);
 							resp.setHeader("Content-Length", String.valueOf(range.length));
 				            resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
-							SpeedyAssetServletUtil.copy(input, out, range.start, range.length);
+							if (!SpeedyAssetServletUtil.sendFile(req, resp, data.getDataFile(), range.start, range.length)) {
+								input = FileChannel.open(data.getDataFile().toPath(), StandardOpenOption.READ);
+								SpeedyAssetServletUtil.copy(input, out, range.start, range.length);
+							}
 						}else{
 							resp.setContentType("multipart/byteranges; boundary=" + SpeedyAssetServletUtil.MULTIPART_BOUNDARY);
 							resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
-						    input = new RandomAccessFile(data.getDataFile(), "r");
+						    input = FileChannel.open(data.getDataFile().toPath(), StandardOpenOption.READ);
 							for (SpeedyAssetServletUtil.ByteRange r : ranges) {
 								if (r.start > r.end) {
 									resp.setHeader("Content-Range", "bytes */" + fileLen); // Required in 416.
@@ -608,15 +625,11 @@ public class BinaryExporterServlet extends HttpServlet {
 
 				}
 			}else{
-				is = java.nio.file.Files.newInputStream(data.getDataFile().toPath());
-	            int count = 0;
-	            byte[] buffer = new byte[4096];
-	            out = resp.getOutputStream();
-	            
-	            while((count = is.read(buffer)) > 0) {
-	            	out.write(buffer, 0, count);
-	            }
-	            
+				if (!SpeedyAssetServletUtil.sendFile(req, resp, servedFile, 0, _fileLength)) {
+					input = FileChannel.open(servedFile.toPath(), StandardOpenOption.READ);
+					out = resp.getOutputStream();
+					SpeedyAssetServletUtil.copy(input, out, 0, _fileLength);
+				}
 			}
             
 		} catch (DotRuntimeException e) {
@@ -677,7 +690,7 @@ public class BinaryExporterServlet extends HttpServlet {
 		// close our resources no matter what
 		finally{
 			
-		  CloseUtils.closeQuietly(input, is, out);
+		  CloseUtils.closeQuietly(input, out);
 
 		}
 		
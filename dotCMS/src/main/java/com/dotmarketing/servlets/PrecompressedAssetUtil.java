@@ -0,0 +1,196 @@
+package com.dotmarketing.servlets;
+
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.ConfigUtils;
+import com.dotmarketing.util.FileUtil;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UUIDGenerator;
+import com.dotmarketing.util.UtilMethods;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.liferay.util.StringPool;
+import io.vavr.Lazy;
+import io.vavr.control.Try;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds and finds the compressed versions of the text assets (css, js, svg, json...), so they are
+ * compressed once instead of on every request. The versions are built on the first request that
+ * accepts them and are stored on the dotGenerated folder by the sha256 of the asset, so every asset
+ * with the same content shares them and a new version of an asset gets new ones.
+ * <p>
+ * Only gzip is built, the JVM has no brotli encoder.
+ */
+public class PrecompressedAssetUtil {
+
+    public static final String GZIP = "gzip";
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String PRECOMPRESSED_FOLDER = "precompressed";
+
+    private static final String[] DEFAULT_MIME_TYPES = {"text/css", "text/javascript", "application/javascript",
+            "application/x-javascript", "application/json", "image/svg+xml", "text/plain", "text/html",
+            "text/xml", "application/xml"};
+
+    private static final Lazy<Set<String>> compressibleMimeTypes = Lazy.of(() ->
+            Arrays.stream(Config.getStringArrayProperty("ASSET_PRECOMPRESS_MIMETYPES", DEFAULT_MIME_TYPES))
+                    .map(String::trim).map(String::toLowerCase).collect(Collectors.toSet()));
+
+    /**
+     * sha256 by absolute path, mod date and length, so each asset is hashed once
+     */
+    private static final Cache<String, String> sha256Cache = Caffeine.newBuilder()
+            .maximumSize(Config.getLongProperty("ASSET_PRECOMPRESS_SHA256_CACHE_SIZE", 5000L))
+            .build();
+
+    private PrecompressedAssetUtil() {
+    }
+
+    /**
+     * Returns true if the asset may have a compressed version, so the response has to vary by
+     * <code>Accept-Encoding</code>
+     * @param file     {@link File} the asset
+     * @param mimeType {@link String} mime type of the asset
+     * @return boolean
+     */
+    public static boolean isCompressible(final File file, final String mimeType) {
+
+        if (!Config.getBooleanProperty("ASSET_PRECOMPRESS_ENABLED", true) || null == mimeType) {
+            return false;
+        }
+
+        final long length = file.length();
+        return length >= Config.getLongProperty("ASSET_PRECOMPRESS_MIN_SIZE", 1024)
+                && length <= Config.getLongProperty("ASSET_PRECOMPRESS_MAX_SIZE", 10 * 1024 * 1024)
+                && compressibleMimeTypes.get().contains(mimeType.toLowerCase());
+    }
+
+    /**
+     * Returns the gzip version of the asset if the client accepts it, building it if it does not
+     * exist yet
+     * @param acceptEncoding {@link String} value of the <code>Accept-Encoding</code> header
+     * @param file           {@link File} the asset
+     * @param mimeType       {@link String} mime type of the asset
+     * @return Optional file to serve with <code>Content-Encoding: gzip</code>, empty if the asset has
+     * to be served as it is
+     */
+    public static Optional<File> getVariant(final String acceptEncoding, final File file, final String mimeType) {
+        return getVariant(acceptEncoding, file, mimeType,
+                Paths.get(ConfigUtils.getDotGeneratedPath(), PRECOMPRESSED_FOLDER));
+    }
+
+    @VisibleForTesting
+    static Optional<File> getVariant(final String acceptEncoding, final File file, final String mimeType,
+            final Path folder) {
+
+        if (!isCompressible(file, mimeType) || !acceptsEncoding(acceptEncoding, GZIP)) {
+            return Optional.empty();
+        }
+
+        final String sha256 = sha256(file);
+        if (null == sha256) {
+            return Optional.empty();
+        }
+
+        final Path variant = folder.resolve(sha256.substring(0, 2)).resolve(sha256 + GZIP_EXTENSION);
+        if (!Files.exists(variant)) {
+            try {
+                gzip(file.toPath(), variant);
+            } catch (IOException e) {
+                Logger.warnAndDebug(PrecompressedAssetUtil.class,
+                        "Unable to compress the asset " + file + ": " + e.getMessage(), e);
+                return Optional.empty();
+            }
+        }
+
+        // an asset that does not get smaller is served as it is
+        final File variantFile = variant.toFile();
+        return variantFile.length() < file.length() ? Optional.of(variantFile) : Optional.empty();
+    }
+
+    /**
+     * Compresses the asset into a temporal file that is moved to the variant path once complete, so a
+     * concurrent request never sees half of it
+     */
+    private static void gzip(final Path source, final Path variant) throws IOException {
+
+        Files.createDirectories(variant.getParent());
+        final Path temporal = variant.resolveSibling(variant.getFileName() + StringPool.PERIOD
+                + UUIDGenerator.shorty() + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(source);
+                    OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporal), 64 * 1024) {
+                        {
+                            this.def.setLevel(Deflater.BEST_COMPRESSION);
+                        }
+                    }) {
+                in.transferTo(out);
+            }
+
+            Files.move(temporal, variant, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Logger.debug(PrecompressedAssetUtil.class, "Compressed " + source + " into " + variant);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Returns true if the <code>Accept-Encoding</code> header accepts the encoding, by name or else by
+     * <code>*</code>, without rejecting it with <code>q=0</code>
+     * @param acceptEncoding {@link String} value of the header
+     * @param encoding       {@link String} encoding
+     * @return boolean
+     */
+    @VisibleForTesting
+    static boolean acceptsEncoding(final String acceptEncoding, final String encoding) {
+
+        if (!UtilMethods.isSet(acceptEncoding)) {
+            return false;
+        }
+
+        boolean acceptedByStar = false;
+        for (final String token : acceptEncoding.split(StringPool.COMMA)) {
+
+            final String[] parts = token.trim().split(StringPool.SEMICOLON);
+            final String name = parts[0].trim();
+            if (name.equalsIgnoreCase(encoding)) {
+                return !isZeroQuality(parts);
+            }
+            if (name.equals(StringPool.STAR)) {
+                acceptedByStar = !isZeroQuality(parts);
+            }
+        }
+
+        return acceptedByStar;
+    }
+
+    private static boolean isZeroQuality(final String[] parts) {
+
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                return Try.of(() -> Double.parseDouble(parameter.substring(2)) == 0).getOrElse(false);
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(final File file) {
+        final String key = file.getAbsolutePath() + StringPool.COLON + file.lastModified()
+                + StringPool.COLON + file.length();
+        return sha256Cache.get(key, k -> Try.of(() -> FileUtil.sha256toUnixHash(file)).getOrNull());
+    }
+}
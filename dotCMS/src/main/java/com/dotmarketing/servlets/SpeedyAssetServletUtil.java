@@ -1,9 +1,15 @@
 package com.dotmarketing.servlets;
 
+import com.dotmarketing.util.Config;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 /**
  * @see {@link http://programmaremobile.blogspot.com/2009/01/iphone-file-download-eng-ver.html}
@@ -14,6 +20,13 @@ public class SpeedyAssetServletUtil {
 	
 	protected static final String MULTIPART_BOUNDARY = "MULTIPART_BYTERANGES";
 	protected static final int DEFAULT_BUFFER_SIZE = 10240; // ..bytes = 10KB.
+	protected static final int COPY_BUFFER_SIZE = Config.getIntProperty("ASSET_COPY_BUFFER_SIZE", 64 * 1024);
+
+	// request attributes of the Tomcat sendfile support, see org.apache.catalina.Globals
+	private static final String SENDFILE_SUPPORTED_ATTR  = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME_ATTR   = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_FILE_END_ATTR   = "org.apache.tomcat.sendfile.end";
 	
 	/**
      * Returns a substring of the given string value from the given begin index to the given end
@@ -60,36 +73,67 @@ public class SpeedyAssetServletUtil {
     } 
 	
     /**
-     * Copy the given byte range of the given input to the given output.
+     * Copy the given byte range of the given input to the given output. The file is read with
+     * positional reads on a {@link #COPY_BUFFER_SIZE} buffer, so the channel can be shared and no seek is needed.
      * @param input The input to copy the given range to the given output for.
      * @param output The output to copy the given range from the given input for.
      * @param start Start of the byte range.
      * @param length Length of the byte range.
      * @throws IOException If something fails at I/O level.
      */
-	protected static void copy(RandomAccessFile input, OutputStream output, long start, long length)throws IOException{
-		byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-		int read;
-
-		if (input.length() == length) {
-			// Write full range.
-			while ((read = input.read(buffer)) > 0) {
-				output.write(buffer, 0, read);
+	protected static void copy(final FileChannel input, final OutputStream output, final long start, final long length) throws IOException {
+
+		final ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1, Math.min(COPY_BUFFER_SIZE, length)));
+		long position = start;
+		long remaining = length;
+
+		while (remaining > 0) {
+
+			buffer.clear();
+			if (remaining < buffer.capacity()) {
+				buffer.limit((int) remaining);
 			}
-		} else {
-			// Write partial range.
-			input.seek(start);
-			long toRead = length;
-
-			while ((read = input.read(buffer)) > 0) {
-				if ((toRead -= read) > 0) {
-					output.write(buffer, 0, read);
-				} else {
-					output.write(buffer, 0, (int) toRead + read);
-					break;
-				}
+
+			final int read = input.read(buffer, position);
+			if (read <= 0) {
+				break;
 			}
+
+			output.write(buffer.array(), 0, read);
+			position  += read;
+			remaining -= read;
+		}
+	}
+
+	/**
+	 * Hands the given byte range of the file to Tomcat, so it is written straight from the file to the
+	 * socket (sendfile) instead of going through the heap. It only happens when the connector has
+	 * <code>useSendfile</code> on, the response is not wrapped by a filter that may change the body and
+	 * the range is bigger than <code>ASSET_SENDFILE_MIN_SIZE</code>.
+	 * @param request  {@link HttpServletRequest}
+	 * @param response {@link HttpServletResponse} the headers must be already set
+	 * @param file     {@link File} to send
+	 * @param start    Start of the byte range.
+	 * @param length   Length of the byte range.
+	 * @return true if Tomcat will write the body, false if the caller has to copy it
+	 * @throws IOException If the path of the file can not be resolved
+	 */
+	protected static boolean sendFile(final HttpServletRequest request, final HttpServletResponse response,
+			final File file, final long start, final long length) throws IOException {
+
+		if (!Config.getBooleanProperty("ASSET_USE_SENDFILE", true)
+				|| length < Config.getLongProperty("ASSET_SENDFILE_MIN_SIZE", 48 * 1024)
+				|| !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+				|| response instanceof ServletResponseWrapper) {
+
+			return false;
 		}
+
+		request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+		request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+		// the end is exclusive
+		request.setAttribute(SENDFILE_FILE_END_ATTR, start + length);
+		return true;
 	}
 
     
@@ -1,5 +1,7 @@
 package com.dotmarketing.util;
 
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.concurrent.DotSubmitter;
 import com.dotcms.content.elasticsearch.util.ESUtils;
 import com.dotcms.contenttype.model.field.BinaryField;
 import com.dotcms.contenttype.model.field.DataTypes;
@@ -20,6 +22,7 @@ import com.dotmarketing.business.FactoryLocator;
 import com.dotmarketing.business.PermissionAPI;
 import com.dotmarketing.cache.FieldsCache;
 import com.dotmarketing.common.model.ContentletSearch;
+import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.db.HibernateUtil;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotDataValidationException;
@@ -62,7 +65,9 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 
@@ -95,8 +100,10 @@ public class ImportUtil {
     private final static String languageCodeHeader = "languageCode";
     private final static String countryCodeHeader = "countryCode";
 
-    private final static int commitGranularity = 10;
-    private final static int sleepTime = 200;
+    private final static int commitGranularity = Config.getIntProperty("CSV_IMPORT_COMMIT_GRANULARITY", 100);
+    private final static int sleepTime = Config.getIntProperty("CSV_IMPORT_SLEEP_TIME", 0);
+    private final static String SAVE_SUBMITTER_NAME = "csvimportsubmitter";
+    private final static Pattern IDENTIFIER_PATTERN = Pattern.compile("[a-zA-Z0-9-]+");
 
     public static final String[] IMP_DATE_FORMATS = new String[] { "d-MMM-yy", "MMM-yy", "MMMM-yy", "d-MMM", "dd-MMM-yyyy",
         "MM/dd/yy hh:mm aa", "MM/dd/yyyy hh:mm aa",	"MM/dd/yy HH:mm", "MM/dd/yyyy HH:mm", "MMMM dd, yyyy", "M/d/y", "M/d",
@@ -217,79 +224,127 @@ public class ImportUtil {
                 int loggingPoint = 100;
                 //Reading the whole file
                 if (headers.size() > 0) {
-                    if (!preview) {
+                    // Lines read and looked up in the index at once
+                    final int batchSize = Config.getIntProperty("CSV_IMPORT_BATCH_SIZE", 100);
+                    // Threads saving the contents, 1 saves them on the importing thread
+                    final int saveThreads = Config.getIntProperty("CSV_IMPORT_SAVE_THREADS", 1);
+                    // Saving the contents in parallel only makes sense when they are actually saved
+                    final boolean parallelSaves = !preview && saveThreads > 1;
+                    if (!preview && !parallelSaves) {
                         HibernateUtil.startTransaction();
                     }
+                    final int identifierFieldIndex = getIdentifierFieldIndex(results);
+                    final List<PendingRow> pendingRows = new ArrayList<>();
+                    final Set<String> pendingIdentifiers = new HashSet<>();
                     String[] csvLine;
-                    while (csvreader.readRecord()) {
-                        if(ImportAuditUtil.cancelledImports.containsKey(importId)){
-                            break;
-                        }
-                        lineNumber++;
-                        if (lineNumber % loggingPoint == 0) {
-                            final String action = preview ? "previewed." : "imported.";
-                            Logger.info(ImportUtil.class, String.format("-> %d entries have been %s", lineNumber, action));
-                        }
-                        csvLine = csvreader.getValues();
-                        try {
-                            lines++;
-                            Logger.debug(ImportUtil.class, "Line " + lines + ": (" + csvreader.getRawRecord() + ").");
-
-                            //Importing a line
-                            Long languageToImport = language;
-                            if ( language == -1 ) {
-                                if ( languageCodeHeaderColumn != -1 && countryCodeHeaderColumn != -1 ) {
-                                    Language dotCMSLanguage = langAPI.getLanguage( csvLine[languageCodeHeaderColumn], csvLine[countryCodeHeaderColumn] );
-                                    languageToImport = dotCMSLanguage.getId();
-                                }
+                    boolean cancelled = false;
+                    List<CsvRow> batch;
+                    while (!cancelled && !(batch = readRows(csvreader, batchSize)).isEmpty()) {
+                        //Looking up the existing contents of the whole batch at once
+                        final Map<String, List<Contentlet>> existingContent = findExistingContent(batch,
+                                contentType, keyFields, identifierFieldIndex, user);
+                        for (final CsvRow row : batch) {
+                            if(ImportAuditUtil.cancelledImports.containsKey(importId)){
+                                cancelled = true;
+                                break;
+                            }
+                            lineNumber++;
+                            if (lineNumber % loggingPoint == 0) {
+                                final String action = preview ? "previewed." : "imported.";
+                                Logger.info(ImportUtil.class, String.format("-> %d entries have been %s", lineNumber, action));
                             }
+                            csvLine = row.values;
+                            try {
+                                lines++;
+                                Logger.debug(ImportUtil.class, "Line " + lines + ": (" + row.rawRecord + ").");
+
+                                //Importing a line
+                                Long languageToImport = language;
+                                if ( language == -1 ) {
+                                    if ( languageCodeHeaderColumn != -1 && countryCodeHeaderColumn != -1 ) {
+                                        Language dotCMSLanguage = langAPI.getLanguage( csvLine[languageCodeHeaderColumn], csvLine[countryCodeHeaderColumn] );
+                                        languageToImport = dotCMSLanguage.getId();
+                                    }
+                                }
 
-                            if ( languageToImport != -1 ) {
-                                /*
-                                Verifies if there was already imported a record with the same keys.
-                                Useful to know if we have batch uploads with the same keys, mostly visible for batch content uploads with multiple languages
-                                 */
-                                boolean sameKeyBatchInsert = true;
-                                if ( keyFields != null && !keyFields.isEmpty() ) {
-                                    for ( Integer column : keyFields.keySet() ) {
-                                        Field keyField = keyFields.get( column );
-										if (!counters.matchKey(keyField.getVelocityVarName(), csvLine[column])) {
-                                            sameKeyBatchInsert = false;
-                                            break;
+                                if ( languageToImport != -1 ) {
+                                    /*
+                                    Verifies if there was already imported a record with the same keys.
+                                    Useful to know if we have batch uploads with the same keys, mostly visible for batch content uploads with multiple languages
+                                     */
+                                    boolean sameKeyBatchInsert = true;
+                                    if ( keyFields != null && !keyFields.isEmpty() ) {
+                                        for ( Integer column : keyFields.keySet() ) {
+                                            Field keyField = keyFields.get( column );
+											if (!counters.matchKey(keyField.getVelocityVarName(), csvLine[column])) {
+                                                sameKeyBatchInsert = false;
+                                                break;
+                                            }
                                         }
                                     }
-                                }
 
-                                //Importing content record...
-                                importLine( csvLine, currentSiteId, contentType, preview, isMultilingual, user, results, lineNumber, languageToImport, headers, keyFields, choosenKeyField,
-                                        counters, keyContentUpdated, contentTypePermissions, uniqueFieldBeans, uniqueFields, relationships, onlyChild, onlyParent, sameKeyBatchInsert, wfActionId, request );
+                                    /*
+                                    A line updating a content that is still being saved must wait for it, so it finds
+                                    the saved version and the counters stay right
+                                     */
+                                    if ( parallelSaves && !pendingRows.isEmpty()
+                                            && ((keyFields != null && !keyFields.isEmpty() && sameKeyBatchInsert)
+                                            || (identifierFieldIndex > -1 && identifierFieldIndex < csvLine.length
+                                            && pendingIdentifiers.contains(csvLine[identifierFieldIndex]))) ) {
+                                        errors += saveRows(pendingRows, saveThreads, user, results, counters, keyContentUpdated);
+                                        pendingIdentifiers.clear();
+                                    }
+
+                                    //Importing content record...
+                                    final List<ContentletSave> saves = parallelSaves ? new ArrayList<>() : null;
+                                    importLine( csvLine, currentSiteId, contentType, preview, isMultilingual, user, results, lineNumber, languageToImport, headers, keyFields, choosenKeyField,
+                                            counters, keyContentUpdated, contentTypePermissions, uniqueFieldBeans, uniqueFields, relationships, onlyChild, onlyParent, sameKeyBatchInsert, wfActionId, request,
+                                            existingContent, saves );
+                                    if ( saves != null && !saves.isEmpty() ) {
+                                        pendingRows.add(new PendingRow(lineNumber, row.rawRecord, saves,
+                                                results.get("errors").size()));
+                                        if ( identifierFieldIndex > -1 && identifierFieldIndex < csvLine.length ) {
+                                            pendingIdentifiers.add(csvLine[identifierFieldIndex]);
+                                        }
+                                    }
+                                    if ( !preview ) {
+                                        // What the batch found for this line is stale now, a later line of the batch with the same keys looks it up again
+                                        forgetExistingContent(existingContent, csvLine, contentType, keyFields, identifierFieldIndex);
+                                    }
+
+                                    //Storing the record keys we just imported for a later reference...
+                                    if ( keyFields != null && !keyFields.isEmpty() ) {
+                                        for ( Integer column : keyFields.keySet() ) {
+                                            Field keyField = keyFields.get( column );
+											counters.addKey(keyField.getVelocityVarName(), csvLine[column]);
+                                        }
+                                    }
+                                } else {
+                                    results.get( "errors" ).add( LanguageUtil.get( user, "Line--" ) + lineNumber + LanguageUtil.get( user, "Locale-not-found-for-languageCode" ) + " ='" + csvLine[languageCodeHeaderColumn] + "' countryCode='" + csvLine[countryCodeHeaderColumn] + "'" );
+                                    errors++;
+                                }
 
-                                //Storing the record keys we just imported for a later reference...
-                                if ( keyFields != null && !keyFields.isEmpty() ) {
-                                    for ( Integer column : keyFields.keySet() ) {
-                                        Field keyField = keyFields.get( column );
-										counters.addKey(keyField.getVelocityVarName(), csvLine[column]);
+                                if ( !preview && !parallelSaves && (lineNumber % commitGranularity == 0) ) {
+                                    HibernateUtil.closeAndCommitTransaction();
+                                    if ( sleepTime > 0 ) {
+                                        Thread.sleep( sleepTime );
                                     }
+                                    HibernateUtil.startTransaction();
                                 }
-                            } else {
-                                results.get( "errors" ).add( LanguageUtil.get( user, "Line--" ) + lineNumber + LanguageUtil.get( user, "Locale-not-found-for-languageCode" ) + " ='" + csvLine[languageCodeHeaderColumn] + "' countryCode='" + csvLine[countryCodeHeaderColumn] + "'" );
+                            } catch (final DotRuntimeException ex) {
+                                String errorMessage = getErrorMsgFromException(user, ex);
+                                if(errorMessage.indexOf("Line #") == -1){
+                                    errorMessage = "Line #" + lineNumber + ": " + errorMessage;
+                                }
+                                results.get("errors").add(errorMessage);
                                 errors++;
+                                Logger.warn(ImportUtil.class, "Error line: " + lines + " (" + row.rawRecord
+                                        + "). Line Ignored.");
                             }
-
-                            if ( !preview && (lineNumber % commitGranularity == 0) ) {
-                                HibernateUtil.closeAndCommitTransaction();
-                                Thread.sleep( sleepTime );
-                                HibernateUtil.startTransaction();
-                            }
-                        } catch (final DotRuntimeException ex) {
-                            String errorMessage = getErrorMsgFromException(user, ex);
-                            if(errorMessage.indexOf("Line #") == -1){
-                                errorMessage = "Line #" + lineNumber + ": " + errorMessage;
-                            }
-                            results.get("errors").add(errorMessage);
-                            errors++;
-                            Logger.warn(ImportUtil.class, "Error line: " + lines + " (" + csvreader.getRawRecord()
-                                    + "). Line Ignored.");
+                        }
+                        if ( !pendingRows.isEmpty() ) {
+                            errors += saveRows(pendingRows, saveThreads, user, results, counters, keyContentUpdated);
+                            pendingIdentifiers.clear();
                         }
                     }
 
@@ -298,7 +353,9 @@ public class ImportUtil {
                         results.get("counters").add("errors="+errors);
                         results.get("counters").add("newContent="+counters.getNewContentCounter());
                         results.get("counters").add("contentToUpdate="+counters.getContentToUpdateCounter());
-                        HibernateUtil.closeAndCommitTransaction();
+                        if (!parallelSaves) {
+                            HibernateUtil.closeAndCommitTransaction();
+                        }
                     }
 
                     results.get("messages").add(lines + " "+LanguageUtil.get(user, "lines-of-data-were-read" ));
@@ -677,6 +734,13 @@ public class ImportUtil {
 	 *            content with multiple languages.
      * @param wfActionId
      *            - represent the Workflow Action Id to execute
+     * @param existingContent
+     *            - The existing contents found for the batch of this line, by
+     *            identifier or by key fields query. See
+     *            {@link #findExistingContent(List, Structure, Map, int, User)}
+     * @param saves
+     *            - If set, the contents of this line are added to it to be
+     *            saved later instead of being saved right away.
 	 * @throws DotRuntimeException
 	 *             An error was detected when importing a line from the CSV
 	 *             file.
@@ -684,7 +748,8 @@ public class ImportUtil {
     private static void importLine ( String[] line, String currentHostId, Structure contentType, boolean preview, boolean isMultilingual, User user, HashMap<String, List<String>> results, int lineNumber, long language,
             HashMap<Integer, Field> headers, HashMap<Integer, Field> keyFields, StringBuffer choosenKeyField, Counters counters,
             HashSet<String> keyContentUpdated, List<Permission> contentTypePermissions, List<UniqueFieldBean> uniqueFieldBeans, List<Field> uniqueFields, HashMap<Integer, Relationship> relationships, HashMap<Integer, Boolean> onlyChild, HashMap<Integer, Boolean> onlyParent,
-            boolean sameKeyBatchInsert, String wfActionId, final HttpServletRequest request ) throws DotRuntimeException {
+            boolean sameKeyBatchInsert, String wfActionId, final HttpServletRequest request,
+            final Map<String, List<Contentlet>> existingContent, final List<ContentletSave> saves ) throws DotRuntimeException {
 
         try {
             //Building a values HashMap based on the headers/columns position
@@ -914,7 +979,9 @@ public class ImportUtil {
 
             Logger.debug(ImportUtil.class,"Identifier is set: " + UtilMethods.isSet( identifier ));
             Logger.debug(ImportUtil.class,"Keyfields size: " + keyFields.size());
-            if ( UtilMethods.isSet( identifier ) ) {
+            if ( UtilMethods.isSet( identifier ) && UtilMethods.isSet( existingContent.get( identifier ) ) ) {
+                contentlets.addAll( existingContent.get( identifier ) );
+            } else if ( UtilMethods.isSet( identifier ) ) {
                 buffy.append(" +identifier:").append(identifier);
 
                 List<ContentletSearch> contentsSearch = conAPI.searchIndex( buffy.toString(), 0, -1, null, user, true );
@@ -937,6 +1004,7 @@ public class ImportUtil {
                     }
                 }
             } else if (keyFields.size() > 0) {
+                final int keyQueryStart = buffy.length();
                 for (Integer column : keyFields.keySet()) {
                     Field field = keyFields.get(column);
                     Object value = values.get(column);
@@ -962,20 +1030,7 @@ public class ImportUtil {
                     if(!UtilMethods.isSet(text)){
                         throw new DotRuntimeException("Line #" + lineNumber + " key field " + field.getVelocityVarName() + " is required since it was defined as a key\n");
                     }else{
-                        if(field.getFieldType().equals(Field.FieldType.HOST_OR_FOLDER.toString())) {
-                            buffy.append(" +(conhost:").append(text).append(" conFolder:")
-                                    .append(text).append(")");
-                        } else {
-                            buffy.append(" +").append(contentType.getVelocityVarName()).append(StringPool.PERIOD)
-                                    .append(field.getVelocityVarName()).append(field.isUnique()? ESUtils.SHA_256: "_dotraw")
-                                    .append(StringPool.COLON)
-                                    .append(field.isUnique()? ESUtils.sha256(contentType.getVelocityVarName()
-                                                    + StringPool.PERIOD + field.getVelocityVarName(), text,
-                                            language): escapeLuceneSpecialCharacter(text).contains(" ") ? "\""
-                                            + escapeLuceneSpecialCharacter(text) + "\""
-                                            : escapeLuceneSpecialCharacter(text));
-
-                        }
+                        buffy.append(getKeyFieldQuery(contentType, field, text, language));
                         conditionValues += conditionValues + value + "-";
                     }
 
@@ -998,30 +1053,46 @@ public class ImportUtil {
 
                 }
 
-                String noLanguageQuery = buffy.toString();
-                if ( !isMultilingual && !UtilMethods.isSet( identifier ) ) {
-                    buffy.append( " +languageId:" ).append( language );
-                }
+                final List<Contentlet> candidates = new ArrayList<>();
+                final List<Contentlet> batchCandidates = existingContent.get(buffy.substring(keyQueryStart));
+                if ( batchCandidates != null ) {
+                    // The batch query had no language, the same fallback as below is applied to its results
+                    for ( Contentlet candidate : batchCandidates ) {
+                        if ( isMultilingual || candidate.getLanguageId() == language ) {
+                            candidates.add( candidate );
+                        }
+                    }
+                    if ( candidates.isEmpty() && choosenKeyField.length() > 1 && !batchCandidates.isEmpty() ) {
+                        candidates.addAll( batchCandidates );
+                        isMultilingual = true;
+                    }
+                } else {
+                    String noLanguageQuery = buffy.toString();
+                    if ( !isMultilingual && !UtilMethods.isSet( identifier ) ) {
+                        buffy.append( " +languageId:" ).append( language );
+                    }
 
-                Logger.debug(ImportUtil.class, "buffy: " + buffy.toString());
-                List<ContentletSearch> cons = conAPI.searchIndex( buffy.toString(), 0, -1, null, user, true );
-                Logger.debug(ImportUtil.class,"Cons: " + cons.size());
-                /*
-                We need to handle the case when keys are used, we could have a contentlet already saved with the same keys but different language
-                so the above query is not going to find it.
-                 */
-                if ( cons == null || cons.isEmpty() ) {
-                    if ( choosenKeyField.length() > 1 ) {
-                        cons = conAPI.searchIndex( noLanguageQuery, 0, -1, null, user, true );
-                        if (cons != null && !cons.isEmpty()) {
-                            isMultilingual = true;
+                    Logger.debug(ImportUtil.class, "buffy: " + buffy.toString());
+                    List<ContentletSearch> cons = conAPI.searchIndex( buffy.toString(), 0, -1, null, user, true );
+                    Logger.debug(ImportUtil.class,"Cons: " + cons.size());
+                    /*
+                    We need to handle the case when keys are used, we could have a contentlet already saved with the same keys but different language
+                    so the above query is not going to find it.
+                     */
+                    if ( cons == null || cons.isEmpty() ) {
+                        if ( choosenKeyField.length() > 1 ) {
+                            cons = conAPI.searchIndex( noLanguageQuery, 0, -1, null, user, true );
+                            if (cons != null && !cons.isEmpty()) {
+                                isMultilingual = true;
+                            }
                         }
                     }
+                    Logger.debug(ImportUtil.class,"Cons: " + cons.size());
+                    for (ContentletSearch contentletSearch: cons) {
+                        candidates.add(conAPI.find(contentletSearch.getInode(), user, true));
+                    }
                 }
-                Logger.debug(ImportUtil.class,"Cons: " + cons.size());
-                Contentlet con;
-                for (ContentletSearch contentletSearch: cons) {
-                    con = conAPI.find(contentletSearch.getInode(), user, true);
+                for (Contentlet con : candidates) {
                     if ((con != null) && InodeUtils.isSet(con.getInode())) {
                         boolean columnExists = false;
                         for (Integer column : keyFields.keySet()) {
@@ -1406,101 +1477,387 @@ public class ImportUtil {
                         }
                     }
 
-                    //If not preview save the contentlet
-                    if (!preview) {
-                        cont.setLowIndexPriority(true);
-
-                        if (userCanExecuteAction) {
-                          cont.setIndexPolicy(IndexPolicy.DEFER);
-
-                          Logger.debug(ImportUtil.class, "fireContentWorkflow: " + executeWfAction.getName() + ", id: " + executeWfAction.getId());
-                            cont = workflowAPI.fireContentWorkflow(cont,
-                                    new ContentletDependencies.Builder()
-                                            .respectAnonymousPermissions(Boolean.FALSE)
-                                            .modUser(user)
-                                            .relationships(contentletRelationships)
-                                            .workflowActionId(executeWfAction.getId())
-                                            .workflowActionComments("")
-                                            .workflowAssignKey("")
-                                            .categories(new ArrayList<>(categories))
-                                            .generateSystemEvent(Boolean.FALSE).build());
-                        } else {
-                            Logger.debug(ImportUtil.class, "runWorkflowIfCould");
-                            cont = runWorkflowIfCould(user, contentTypePermissions,
-                                    categories, cont, contentletRelationships);
+                    //If not preview save the contentlet, or leave it to be saved with the rest of the batch
+                    final ContentletSave save = new ContentletSave(cont, isNew, conditionValues,
+                            userCanExecuteAction ? executeWfAction : null, user, contentTypePermissions,
+                            categories, contentletRelationships, headers, values, headersIncludeHostField);
+                    if (saves != null) {
+                        saves.add(save);
+                    } else {
+                        if (!preview) {
+                            save.save();
                         }
+                        save.apply(results, counters, keyContentUpdated);
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            Logger.error(ImportUtil.class, String.format("An error occurred when importing line # %s: %s",
+                    lineNumber, e.getMessage()), e);
+            throw new DotRuntimeException(e.getMessage(), e);
+        }
+    }
 
-                        for (Integer column : headers.keySet()) {
-                            Field field = headers.get(column);
-                            Object value = values.get(column);
-                            if (field.getFieldType().equals(Field.FieldType.TAG.toString()) &&
-                                    value instanceof String) {
-                                String[] tags = ((String)value).split(",");
-                                Host host = null;
-                                String hostId = "";
-                                if(headersIncludeHostField){
-                                    //the CSV File has a Host Or Field Column, with a valid value
-                                    try{
-                                        host = APILocator.getHostAPI().find(cont.getHost(), user, true);
-                                    }catch(Exception e){
-                                        Logger.error(ImportUtil.class, "Unable to get host from content: " + e.getMessage());
-                                    }
-                                    if(UtilMethods.isSet(host)){
-                                        if(host.getIdentifier().equals(Host.SYSTEM_HOST))
-                                            hostId = Host.SYSTEM_HOST;
-                                        else
-                                            hostId = host.getIdentifier();
-                                    } else {
-                                        hostId = Host.SYSTEM_HOST;
-                                    }
-                                    for (String tagName : tags) {
-                                        try {
-                                            if ( tagName != null && !tagName.trim().isEmpty() ) {
-                                                APILocator.getTagAPI().addContentletTagInode(tagName.trim(), cont.getInode(), hostId, field.getVelocityVarName());
-                                            }
-                                        } catch (Exception e) {
-                                            Logger.error(ImportUtil.class, "Unable to import tags: " + e.getMessage());
-                                        }
-                                    }
-                                } else {
-                                    for (String tagName : tags)
-                                        try {
-                                            if ( tagName != null && !tagName.trim().isEmpty() ) {
-                                                APILocator.getTagAPI().addContentletTagInode( tagName.trim(), cont.getInode(), Host.SYSTEM_HOST, field.getVelocityVarName() );
-                                            }
-                                        } catch (Exception e) {
-                                            Logger.error(ImportUtil.class, "Unable to import tags: " + e.getMessage());
-                                        }
-                                }
-                            }
+    /**
+     * Returns the column of the Identifier header, or -1 if the file doesn't have one.
+     */
+    private static int getIdentifierFieldIndex(final HashMap<String, List<String>> results) {
+        final List<String> identifiers = results.get("identifiers");
+        return UtilMethods.isSet(identifiers) ? Integer.parseInt(identifiers.get(0)) : -1;
+    }
+
+    /**
+     * Reads the next {@code size} records of the CSV file, or less if the file ends before.
+     */
+    private static List<CsvRow> readRows(final CsvReader csvreader, final int size) throws IOException {
+        final List<CsvRow> rows = new ArrayList<>();
+        while (rows.size() < Math.max(1, size) && csvreader.readRecord()) {
+            rows.add(new CsvRow(csvreader.getValues(), csvreader.getRawRecord()));
+        }
+        return rows;
+    }
+
+    /**
+     * Looks up the contents that a batch of lines may update with one query for all the identifiers
+     * of the batch and one for all its key fields values, instead of one query per line. The contents
+     * are returned by identifier and by the key fields query {@link #importLine} builds for the line.
+     * The key fields are only looked up here when they are text fields that are not unique, the query
+     * of any other line is not in the map and the line runs it by itself.
+     *
+     * @return The contents found by identifier or by key fields query, empty if the lookup fails.
+     */
+    private static Map<String, List<Contentlet>> findExistingContent(final List<CsvRow> rows,
+            final Structure contentType, final Map<Integer, Field> keyFields, final int identifierFieldIndex,
+            final User user) {
+
+        final Map<String, List<Contentlet>> existingContent = new HashMap<>();
+        final String baseQuery = "+structureName:" + contentType.getVelocityVarName() + " +working:true +deleted:false";
+        final boolean lookUpKeyFields = !keyFields.isEmpty() && keyFields.values().stream().allMatch(
+                field -> !field.isUnique() && (field.getFieldType().equals(Field.FieldType.TEXT.toString())
+                        || field.getFieldType().equals(Field.FieldType.TEXT_AREA.toString())
+                        || field.getFieldType().equals(Field.FieldType.WYSIWYG.toString())));
+        final Set<String> identifiers = new LinkedHashSet<>();
+        final Map<String, List<String>> keyQueries = new LinkedHashMap<>();
+
+        for (final CsvRow row : rows) {
+            final String identifier = identifierFieldIndex > -1 && identifierFieldIndex < row.values.length
+                    ? row.values[identifierFieldIndex] : null;
+            if (UtilMethods.isSet(identifier)) {
+                if (IDENTIFIER_PATTERN.matcher(identifier).matches()) {
+                    identifiers.add(identifier);
+                }
+            } else if (lookUpKeyFields) {
+                final List<String> keyValues = getKeyValues(row.values, keyFields);
+                if (null != keyValues) {
+                    keyQueries.put(getKeyQuery(contentType, keyFields, keyValues), keyValues);
+                }
+            }
+        }
+
+        try {
+            if (!identifiers.isEmpty()) {
+                for (final Contentlet contentlet : findContentlets(
+                        baseQuery + " +identifier:(" + String.join(StringPool.SPACE, identifiers) + ")", user)) {
+                    existingContent.computeIfAbsent(contentlet.getIdentifier(), key -> new ArrayList<>()).add(contentlet);
+                }
+            }
+
+            if (!keyQueries.isEmpty()) {
+                final StringBuilder query = new StringBuilder(baseQuery).append(" +(");
+                for (final String keyQuery : keyQueries.keySet()) {
+                    query.append(" (").append(keyQuery).append(")");
+                    existingContent.put(keyQuery, new ArrayList<>());
+                }
+                query.append(")");
+                // Each content goes to the lines with its key values, compared the way importLine compares them
+                for (final Contentlet contentlet : findContentlets(query.toString(), user)) {
+                    final List<String> contentValues = new ArrayList<>();
+                    for (final Field field : keyFields.values()) {
+                        contentValues.add(String.valueOf(conAPI.getFieldValue(contentlet, field)));
+                    }
+                    for (final Map.Entry<String, List<String>> keyQuery : keyQueries.entrySet()) {
+                        boolean match = true;
+                        for (int i = 0; i < contentValues.size() && match; i++) {
+                            match = contentValues.get(i).equalsIgnoreCase(keyQuery.getValue().get(i));
+                        }
+                        if (match) {
+                            existingContent.get(keyQuery.getKey()).add(contentlet);
                         }
-                        results.get("lastInode").clear();
-                        List<String> l = results.get("lastInode");
-                        l.add(cont.getInode());
-                        results.put("lastInode", l);
                     }
+                }
+            }
+        } catch (final Exception e) {
+            Logger.warnAndDebug(ImportUtil.class, "The existing contents of the lines could not be looked up "
+                    + "in one query, each line will look them up: " + e.getMessage(), e);
+            existingContent.clear();
+        }
+        return existingContent;
+    }
 
-                    if (isNew){
-                        counters.setContentCreated(counters.getContentCreated() + 1);
-                    }else{
-                        if (conditionValues.equals("") || !keyContentUpdated.contains(conditionValues)) {
-                            counters.setContentUpdated(counters.getContentUpdated() + 1);
-                            counters.setContentUpdatedDuplicated(counters.getContentUpdatedDuplicated() + 1);
-                            keyContentUpdated.add(conditionValues);
-                        }else{
-                            counters.setContentUpdatedDuplicated(counters.getContentUpdatedDuplicated() + 1);
-                        }
+    /**
+     * Removes what {@link #findExistingContent} found for a line, once the line has been imported. Its
+     * contents are being saved, so a later line of the same batch with the same identifier or keys has to
+     * look them up by itself.
+     */
+    private static void forgetExistingContent(final Map<String, List<Contentlet>> existingContent,
+            final String[] values, final Structure contentType, final Map<Integer, Field> keyFields,
+            final int identifierFieldIndex) {
 
+        if (existingContent.isEmpty()) {
+            return;
+        }
+        final String identifier = identifierFieldIndex > -1 && identifierFieldIndex < values.length
+                ? values[identifierFieldIndex] : null;
+        if (UtilMethods.isSet(identifier)) {
+            existingContent.remove(identifier);
+        } else if (!keyFields.isEmpty()) {
+            final List<String> keyValues = getKeyValues(values, keyFields);
+            if (null != keyValues) {
+                existingContent.remove(getKeyQuery(contentType, keyFields, keyValues));
+            }
+        }
+    }
+
+    /**
+     * Returns the values of the key fields of a line, the same ones importLine gets for them, or null if
+     * any of them is not set.
+     */
+    private static List<String> getKeyValues(final String[] values, final Map<Integer, Field> keyFields) {
+
+        final List<String> keyValues = new ArrayList<>();
+        for (final Integer column : keyFields.keySet()) {
+            final Field field = keyFields.get(column);
+            final String text = column < values.length ? values[column] : null;
+            final String value = null != text && text.length() > 255
+                    && field.getFieldType().equals(Field.FieldType.TEXT.toString()) ? text.substring(0, 255) : text;
+            if (!UtilMethods.isSet(value)) {
+                return null;
+            }
+            keyValues.add(value);
+        }
+        return keyValues;
+    }
+
+    /**
+     * Returns the key fields query {@link #importLine} builds for the given key values
+     */
+    private static String getKeyQuery(final Structure contentType, final Map<Integer, Field> keyFields,
+            final List<String> keyValues) {
+
+        final StringBuilder keyQuery = new StringBuilder();
+        int i = 0;
+        for (final Field field : keyFields.values()) {
+            keyQuery.append(getKeyFieldQuery(contentType, field, keyValues.get(i++), 0));
+        }
+        return keyQuery.toString();
+    }
+
+    private static List<Contentlet> findContentlets(final String query, final User user)
+            throws DotDataException, DotSecurityException {
+
+        final List<String> inodes = conAPI.searchIndex(query, 0, -1, null, user, true).stream()
+                .map(ContentletSearch::getInode).collect(Collectors.toList());
+        return inodes.isEmpty() ? new ArrayList<>() : conAPI.findContentlets(inodes);
+    }
+
+    /**
+     * Returns the query clause that matches the contents with the given value for a key field.
+     */
+    private static String getKeyFieldQuery(final Structure contentType, final Field field, final String text,
+            final long language) {
+
+        final StringBuilder query = new StringBuilder();
+        if(field.getFieldType().equals(Field.FieldType.HOST_OR_FOLDER.toString())) {
+            query.append(" +(conhost:").append(text).append(" conFolder:")
+                    .append(text).append(")");
+        } else {
+            query.append(" +").append(contentType.getVelocityVarName()).append(StringPool.PERIOD)
+                    .append(field.getVelocityVarName()).append(field.isUnique()? ESUtils.SHA_256: "_dotraw")
+                    .append(StringPool.COLON)
+                    .append(field.isUnique()? ESUtils.sha256(contentType.getVelocityVarName()
+                                    + StringPool.PERIOD + field.getVelocityVarName(), text,
+                            language): escapeLuceneSpecialCharacter(text).contains(" ") ? "\""
+                            + escapeLuceneSpecialCharacter(text) + "\""
+                            : escapeLuceneSpecialCharacter(text));
+        }
+        return query.toString();
+    }
+
+    /**
+     * Saves the contents of the pending lines on up to {@code CSV_IMPORT_SAVE_THREADS} threads, each one
+     * committing every {@code CSV_IMPORT_COMMIT_GRANULARITY} lines, and then goes through the lines in
+     * order counting the saved contents and reporting the lines that failed. The errors are inserted
+     * where they would have been reported had the lines been saved one by one, so the errors stay in
+     * line order. The pending lines are cleared.
+     *
+     * @return The number of lines that failed.
+     */
+    private static int saveRows(final List<PendingRow> rows, final int saveThreads, final User user,
+            final HashMap<String, List<String>> results, final Counters counters,
+            final HashSet<String> keyContentUpdated) throws LanguageException {
+
+        final DotSubmitter submitter = DotConcurrentFactory.getInstance().getSubmitter(SAVE_SUBMITTER_NAME,
+                new DotConcurrentFactory.SubmitterConfigBuilder().poolSize(saveThreads).maxPoolSize(saveThreads).build());
+        final int sliceSize = (rows.size() + saveThreads - 1) / saveThreads;
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < rows.size(); start += sliceSize) {
+            final List<PendingRow> slice = rows.subList(start, Math.min(start + sliceSize, rows.size()));
+            futures.add(submitter.submit(() -> saveSlice(slice)));
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DotRuntimeException(e.getMessage(), e);
+            } catch (final Exception e) {
+                // saveSlice reports its own errors on the lines
+                Logger.error(ImportUtil.class, "An error occurred when saving the imported contents: " + e.getMessage(), e);
+            }
+        }
+
+        int errors = 0;
+        for (final PendingRow row : rows) {
+            for (final ContentletSave save : row.saves) {
+                if (save.saved != null) {
+                    save.apply(results, counters, keyContentUpdated);
+                }
+            }
+            if (row.error != null) {
+                String errorMessage = getErrorMsgFromException(user, row.error);
+                if(errorMessage.indexOf("Line #") == -1){
+                    errorMessage = "Line #" + row.lineNumber + ": " + errorMessage;
+                }
+                results.get("errors").add(row.errorIndex + errors, errorMessage);
+                errors++;
+                Logger.warn(ImportUtil.class, "Error line: " + row.lineNumber + " (" + row.rawRecord
+                        + "). Line Ignored.");
+            }
+        }
+        rows.clear();
+        return errors;
+    }
+
+    /**
+     * Saves the contents of some pending lines in transactions of {@code CSV_IMPORT_COMMIT_GRANULARITY}
+     * lines, on a thread of the import submitter.
+     */
+    private static void saveSlice(final List<PendingRow> rows) {
+
+        int committed = 0;
+        try {
+            HibernateUtil.startTransaction();
+            for (int i = 0; i < rows.size(); i++) {
+                final PendingRow row = rows.get(i);
+                try {
+                    for (final ContentletSave save : row.saves) {
+                        save.save();
                     }
+                } catch (final Exception e) {
+                    Logger.error(ImportUtil.class, String.format("An error occurred when importing line # %s: %s",
+                            row.lineNumber, e.getMessage()), e);
+                    row.error = new DotRuntimeException(e.getMessage(), e);
+                }
+                if ((i + 1) % commitGranularity == 0) {
+                    HibernateUtil.closeAndCommitTransaction();
+                    committed = i + 1;
+                    HibernateUtil.startTransaction();
                 }
             }
+            HibernateUtil.closeAndCommitTransaction();
         } catch (final Exception e) {
-            Logger.error(ImportUtil.class, String.format("An error occurred when importing line # %s: %s",
-                    lineNumber, e.getMessage()), e);
-            throw new DotRuntimeException(e.getMessage(), e);
+            // Nothing after the last commit was saved
+            Logger.error(ImportUtil.class, "An error occurred when committing the imported contents: " + e.getMessage(), e);
+            for (final PendingRow row : rows.subList(committed, rows.size())) {
+                row.saves.forEach(save -> save.saved = null);
+                if (row.error == null) {
+                    row.error = new DotRuntimeException(e.getMessage(), e);
+                }
+            }
+        } finally {
+            DbConnectionFactory.closeSilently();
         }
     }
 
+    /**
+     * Saves a content of a CSV line, by the workflow action of the line or of the import if any, and
+     * adds its tags. The content is indexed by the reindex thread, along with the rest of the import.
+     */
+    private static Contentlet saveContentlet(Contentlet cont, final WorkflowAction executeWfAction, final User user,
+            final List<Permission> contentTypePermissions, final Set<Category> categories,
+            final ContentletRelationships contentletRelationships, final Map<Integer, Field> headers,
+            final Map<Integer, Object> values, final boolean headersIncludeHostField)
+            throws DotDataException, DotSecurityException {
+
+        cont.setLowIndexPriority(true);
+        cont.setIndexPolicy(IndexPolicy.DEFER);
+
+        if (executeWfAction != null) {
+
+          Logger.debug(ImportUtil.class, "fireContentWorkflow: " + executeWfAction.getName() + ", id: " + executeWfAction.getId());
+            cont = workflowAPI.fireContentWorkflow(cont,
+                    new ContentletDependencies.Builder()
+                            .respectAnonymousPermissions(Boolean.FALSE)
+                            .modUser(user)
+                            .relationships(contentletRelationships)
+                            .workflowActionId(executeWfAction.getId())
+                            .workflowActionComments("")
+                            .workflowAssignKey("")
+                            .categories(new ArrayList<>(categories))
+                            .generateSystemEvent(Boolean.FALSE).build());
+        } else {
+            Logger.debug(ImportUtil.class, "runWorkflowIfCould");
+            cont = runWorkflowIfCould(user, contentTypePermissions,
+                    categories, cont, contentletRelationships);
+        }
+
+        for (Integer column : headers.keySet()) {
+            Field field = headers.get(column);
+            Object value = values.get(column);
+            if (field.getFieldType().equals(Field.FieldType.TAG.toString()) &&
+                    value instanceof String) {
+                String[] tags = ((String)value).split(",");
+                Host host = null;
+                String hostId = "";
+                if(headersIncludeHostField){
+                    //the CSV File has a Host Or Field Column, with a valid value
+                    try{
+                        host = APILocator.getHostAPI().find(cont.getHost(), user, true);
+                    }catch(Exception e){
+                        Logger.error(ImportUtil.class, "Unable to get host from content: " + e.getMessage());
+                    }
+                    if(UtilMethods.isSet(host)){
+                        if(host.getIdentifier().equals(Host.SYSTEM_HOST))
+                            hostId = Host.SYSTEM_HOST;
+                        else
+                            hostId = host.getIdentifier();
+                    } else {
+                        hostId = Host.SYSTEM_HOST;
+                    }
+                    for (String tagName : tags) {
+                        try {
+                            if ( tagName != null && !tagName.trim().isEmpty() ) {
+                                APILocator.getTagAPI().addContentletTagInode(tagName.trim(), cont.getInode(), hostId, field.getVelocityVarName());
+                            }
+                        } catch (Exception e) {
+                            Logger.error(ImportUtil.class, "Unable to import tags: " + e.getMessage());
+                        }
+                    }
+                } else {
+                    for (String tagName : tags)
+                        try {
+                            if ( tagName != null && !tagName.trim().isEmpty() ) {
+                                APILocator.getTagAPI().addContentletTagInode( tagName.trim(), cont.getInode(), Host.SYSTEM_HOST, field.getVelocityVarName() );
+                            }
+                        } catch (Exception e) {
+                            Logger.error(ImportUtil.class, "Unable to import tags: " + e.getMessage());
+                        }
+                }
+            }
+        }
+        return cont;
+    }
+
     private static Contentlet runWorkflowIfCould(final User user, final List<Permission> contentTypePermissions,
                                                  final Set<Category> categories, final Contentlet contentlet,
                                                  final ContentletRelationships contentletRelationships) throws DotDataException, DotSecurityException {
@@ -1790,6 +2147,111 @@ public class ImportUtil {
     }
 
 
+    /**
+     * A record read from the CSV file
+     */
+    private static final class CsvRow {
+
+        private final String[] values;
+        private final String rawRecord;
+
+        private CsvRow(final String[] values, final String rawRecord) {
+            this.values = values;
+            this.rawRecord = rawRecord;
+        }
+    }
+
+    /**
+     * A line of the CSV file whose contents are waiting to be saved
+     */
+    private static final class PendingRow {
+
+        private final int lineNumber;
+        private final String rawRecord;
+        private final List<ContentletSave> saves;
+        // Position of the errors of the line, the amount of errors reported before it
+        private final int errorIndex;
+        private DotRuntimeException error;
+
+        private PendingRow(final int lineNumber, final String rawRecord, final List<ContentletSave> saves,
+                final int errorIndex) {
+            this.lineNumber = lineNumber;
+            this.rawRecord = rawRecord;
+            this.saves = saves;
+            this.errorIndex = errorIndex;
+        }
+    }
+
+    /**
+     * A content of a CSV line ready to be saved, along with what is needed to save it and to count it
+     */
+    private static final class ContentletSave {
+
+        private final Contentlet contentlet;
+        private final boolean isNew;
+        private final String conditionValues;
+        private final WorkflowAction executeWfAction;
+        private final User user;
+        private final List<Permission> contentTypePermissions;
+        private final Set<Category> categories;
+        private final ContentletRelationships contentletRelationships;
+        private final Map<Integer, Field> headers;
+        private final Map<Integer, Object> values;
+        private final boolean headersIncludeHostField;
+        private Contentlet saved;
+
+        private ContentletSave(final Contentlet contentlet, final boolean isNew, final String conditionValues,
+                final WorkflowAction executeWfAction, final User user, final List<Permission> contentTypePermissions,
+                final Set<Category> categories, final ContentletRelationships contentletRelationships,
+                final Map<Integer, Field> headers, final Map<Integer, Object> values,
+                final boolean headersIncludeHostField) {
+            this.contentlet = contentlet;
+            this.isNew = isNew;
+            this.conditionValues = conditionValues;
+            this.executeWfAction = executeWfAction;
+            this.user = user;
+            this.contentTypePermissions = contentTypePermissions;
+            this.categories = categories;
+            this.contentletRelationships = contentletRelationships;
+            this.headers = headers;
+            this.values = values;
+            this.headersIncludeHostField = headersIncludeHostField;
+        }
+
+        private void save() throws DotDataException, DotSecurityException {
+            this.saved = saveContentlet(this.contentlet, this.executeWfAction, this.user,
+                    this.contentTypePermissions, this.categories, this.contentletRelationships, this.headers,
+                    this.values, this.headersIncludeHostField);
+        }
+
+        /**
+         * Counts the content as created or updated, and keeps it as the last inode if it was saved
+         */
+        private void apply(final HashMap<String, List<String>> results, final Counters counters,
+                final HashSet<String> keyContentUpdated) {
+
+            if (this.saved != null) {
+                results.get("lastInode").clear();
+                List<String> l = results.get("lastInode");
+                l.add(this.saved.getInode());
+                results.put("lastInode", l);
+            }
+
+            if (isNew){
+                counters.setContentCreated(counters.getContentCreated() + 1);
+            }else{
+                if (conditionValues.equals("") || !keyContentUpdated.contains(conditionValues)) {
+                    counters.setContentUpdated(counters.getContentUpdated() + 1);
+                    counters.setContentUpdatedDuplicated(counters.getContentUpdatedDuplicated() + 1);
+                    keyContentUpdated.add(conditionValues);
+                }else{
+                    counters.setContentUpdatedDuplicated(counters.getContentUpdatedDuplicated() + 1);
+                }
+
+            }
+        }
+    }
+
     /**
      * 
      * @author root
@@ -74,8 +74,10 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Timer;
 import org.apache.commons.lang.StringUtils;
@@ -458,22 +460,31 @@ public class DotWebdavHelper {
 
 			//Search for child folders
 			List<Folder> folderListSubChildren = folderAPI.findSubFolders( parentFolder, user, false );
-			//Search for child files
-			List<Versionable> filesListSubChildren = new ArrayList<Versionable>();
+			//Search for child files, just their metadata, the file assets are loaded when they are opened
+			List<FileListing> filesListSubChildren = new ArrayList<FileListing>();
 			try {
-				filesListSubChildren.addAll( APILocator.getFileAssetAPI().findFileAssetsByDB(FileAssetSearcher.builder().folder(parentFolder).user(user).respectFrontendRoles(false).build()) );
+				if ( !perAPI.doesUserHavePermission( parentFolder, PERMISSION_READ, user, false ) ) {
+					throw new DotSecurityException( "user:" + user + " does not have permission to view the parent folder:" + parentFolder );
+				}
+				final List<Contentlet> permissionables = new ArrayList<Contentlet>();
+				final Map<String, FileListing> listingByInode = new HashMap<String, FileListing>();
+				for ( FileListing listing : FileListingCache.getInstance().get( parentFolder, defaultLang, false ) ) {
+					if ( !listing.isArchived() ) {
+						permissionables.add( listing.toPermissionable() );
+						listingByInode.put( listing.getInode(), listing );
+					}
+				}
+				for ( Contentlet permissionable : perAPI.filterCollection( permissionables, PERMISSION_READ, false, user ) ) {
+					filesListSubChildren.add( listingByInode.get( permissionable.getInode() ) );
+				}
 			} catch ( Exception e2 ) {
 				Logger.error( this, "Could not load files : ", e2 );
 			}
 
-			for ( Versionable file : filesListSubChildren ) {
-				if ( !file.isArchived() ) {
-					IFileAsset fileAsset = (IFileAsset) file;
-					if(fileAsset.getLanguageId()==defaultLang){
-						FileResourceImpl resource = new FileResourceImpl( fileAsset, prePath + folderHost.getHostname() + "/" + fileAsset.getPath() );
-						result.add( resource );
-					}
-				}
+			final String parentPath = parentFolder.getPath().startsWith( "/" ) ? parentFolder.getPath().substring( 1 ) : parentFolder.getPath();
+			for ( FileListing listing : filesListSubChildren ) {
+				FileResourceImpl resource = new FileResourceImpl( listing, prePath + folderHost.getHostname() + "/" + parentPath + listing.getName(), this );
+				result.add( resource );
 			}
 			for ( Folder folder : folderListSubChildren ) {
 				String path = identifierAPI.find(folder.getIdentifier()).getPath();
@@ -1293,6 +1304,8 @@ public class DotWebdavHelper {
 			}
 		}
 
+		// the events of the moved files only name the destination folder
+		FileListingCache.getInstance().invalidateAll();
 	}
 
 	public void removeObject(String uri, User user) throws IOException, DotDataException, DotSecurityException {
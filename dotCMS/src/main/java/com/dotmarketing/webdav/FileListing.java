@@ -0,0 +1,108 @@
+package com.dotmarketing.webdav;
+
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.portlets.contentlet.business.BinaryFileFilter;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.fileassets.business.FileAssetAPI;
+import java.io.File;
+import java.util.Date;
+
+/**
+ * The metadata of a file asset needed to list it on a WebDAV folder, read straight from the DB by the
+ * {@link FileListingCache}. The file asset itself is only loaded when the file is opened, see
+ * {@link FileResourceImpl#getFile()}
+ */
+public class FileListing {
+
+    private static final BinaryFileFilter binaryFileFilter = new BinaryFileFilter();
+
+    final String identifier;
+    final String inode;
+    final String name;
+    final String hostId;
+    final String folderInode;
+    final String contentTypeInode;
+    final String owner;
+    final long languageId;
+    final Date modDate;
+    final boolean archived;
+
+    /**
+     * Size of the binary, read from the disk the first time it is needed
+     */
+    private volatile Long fileSize;
+
+    FileListing(final String identifier, final String inode, final String name, final String hostId,
+            final String folderInode, final String contentTypeInode, final String owner, final long languageId,
+            final Date modDate, final boolean archived) {
+        this.identifier = identifier;
+        this.inode = inode;
+        this.name = name;
+        this.hostId = hostId;
+        this.folderInode = folderInode;
+        this.contentTypeInode = contentTypeInode;
+        this.owner = owner;
+        this.languageId = languageId;
+        this.modDate = modDate;
+        this.archived = archived;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String getInode() {
+        return inode;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLanguageId() {
+        return languageId;
+    }
+
+    public Date getModDate() {
+        return modDate;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    /**
+     * Returns the size of the binary, without loading the file asset
+     * @return long size in bytes, 0 if the binary can not be found
+     */
+    public long getFileSize() {
+
+        if (null == this.fileSize) {
+            final File binaryFolder = new File(APILocator.getFileAssetAPI().getRealAssetsRootPath()
+                    + File.separator + inode.charAt(0) + File.separator + inode.charAt(1)
+                    + File.separator + inode + File.separator + FileAssetAPI.BINARY_FIELD);
+            final File[] files = binaryFolder.listFiles(binaryFileFilter);
+            this.fileSize = null != files && files.length > 0 ? files[0].length() : 0L;
+        }
+        return this.fileSize;
+    }
+
+    /**
+     * Returns a contentlet with just the properties the permission checks need, so the listing can be
+     * filtered by permissions without loading the file assets
+     * @return {@link Contentlet}
+     */
+    Contentlet toPermissionable() {
+
+        final Contentlet contentlet = new Contentlet();
+        contentlet.setIdentifier(identifier);
+        contentlet.setInode(inode);
+        contentlet.setHost(hostId);
+        contentlet.setFolder(folderInode);
+        contentlet.setContentTypeId(contentTypeInode);
+        contentlet.setOwner(owner);
+        contentlet.setLanguageId(languageId);
+        contentlet.setModDate(modDate);
+        return contentlet;
+    }
+}
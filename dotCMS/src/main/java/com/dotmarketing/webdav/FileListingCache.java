@@ -0,0 +1,147 @@
+package com.dotmarketing.webdav;
+
+import com.dotcms.content.elasticsearch.business.event.ContentletArchiveEvent;
+import com.dotcms.content.elasticsearch.business.event.ContentletCheckinEvent;
+import com.dotcms.content.elasticsearch.business.event.ContentletDeletedEvent;
+import com.dotcms.content.elasticsearch.business.event.ContentletPublishEvent;
+import com.dotcms.system.event.local.model.Subscriber;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.liferay.util.StringPool;
+import io.vavr.Lazy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the file listings of the WebDAV folders for a few seconds, so the several PROPFIND requests a
+ * client sends when it opens a folder read the folder once. The listing is read with a single query
+ * that returns only the metadata of the files, instead of loading every file asset of the folder.
+ * The listing of a folder is dropped whenever one of its files is saved, published, archived or deleted.
+ */
+public class FileListingCache {
+
+    private static final String FIND_FILE_LISTING_BY_FOLDER_QUERY =
+            "SELECT contentlet.inode, contentlet.identifier, contentlet.structure_inode, contentlet.mod_date, " +
+                "identifier.asset_name, identifier.owner, contentlet_version_info.deleted " +
+            "FROM identifier, contentlet_version_info, contentlet, structure " +
+            "WHERE identifier.parent_path = ? and " +
+                "identifier.host_inode = ? and " +
+                "contentlet_version_info.identifier = identifier.id and " +
+                "contentlet_version_info.lang = ? and " +
+                "contentlet_version_info.%s_inode = contentlet.inode and " +
+                "contentlet.structure_inode = structure.inode and " +
+                "structure.structuretype = 4";
+
+    private static final Lazy<FileListingCache> INSTANCE = Lazy.of(FileListingCache::new);
+
+    private final Cache<String, List<FileListing>> cache = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("WEBDAV_LISTING_CACHE_SIZE", 500))
+            .expireAfterWrite(Config.getIntProperty("WEBDAV_LISTING_CACHE_SECONDS", 10), TimeUnit.SECONDS)
+            .build();
+
+    private FileListingCache() {
+    }
+
+    public static FileListingCache getInstance() {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Returns the files of the folder in the language, archived ones included. The permissions are
+     * not checked here, filter the listing with {@link FileListing#toPermissionable()}
+     * @param folder     {@link Folder} folder to list
+     * @param languageId long language of the files
+     * @param live       boolean true to list the live versions, false for the working ones
+     * @return list of {@link FileListing}
+     */
+    public List<FileListing> get(final Folder folder, final long languageId, final boolean live) {
+
+        return this.cache.get(key(folder.getHostId(), folder.getInode()) + languageId + StringPool.COLON + live,
+                key -> this.load(folder, languageId, live));
+    }
+
+    /**
+     * Drops the listing of the folder, in every language
+     * @param hostId      {@link String} host of the folder
+     * @param folderInode {@link String} inode of the folder
+     */
+    public void invalidate(final String hostId, final String folderInode) {
+
+        final String prefix = key(hostId, folderInode);
+        this.cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Drops every listing, for changes that can not be traced to a single folder, like moves
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @Subscriber
+    public void onCheckin(final ContentletCheckinEvent event) {
+        this.invalidate(event.getContentlet());
+    }
+
+    @Subscriber
+    public void onPublish(final ContentletPublishEvent event) {
+        this.invalidate(event.getContentlet());
+    }
+
+    @Subscriber
+    public void onArchive(final ContentletArchiveEvent event) {
+        this.invalidate(event.getContentlet());
+    }
+
+    @Subscriber
+    public void onDelete(final ContentletDeletedEvent event) {
+        this.invalidate(event.getContentlet());
+    }
+
+    private void invalidate(final Contentlet contentlet) {
+
+        if (null != contentlet && contentlet.isFileAsset()) {
+            this.invalidate(contentlet.getHost(), contentlet.getFolder());
+        }
+    }
+
+    private static String key(final String hostId, final String folderInode) {
+        return hostId + StringPool.COLON + folderInode + StringPool.COLON;
+    }
+
+    private List<FileListing> load(final Folder folder, final long languageId, final boolean live) {
+
+        final List<FileListing> listing = new ArrayList<>();
+        try {
+            final List<Map<String, Object>> rows = new DotConnect()
+                    .setSQL(String.format(FIND_FILE_LISTING_BY_FOLDER_QUERY, live ? "live" : "working"))
+                    .addParam(folder.getPath())
+                    .addParam(folder.getHostId())
+                    .addParam(languageId)
+                    .loadObjectResults();
+
+            for (final Map<String, Object> row : rows) {
+                listing.add(new FileListing((String) row.get("identifier"), (String) row.get("inode"),
+                        (String) row.get("asset_name"), folder.getHostId(), folder.getInode(),
+                        (String) row.get("structure_inode"), (String) row.get("owner"), languageId,
+                        (Date) row.get("mod_date"), DbConnectionFactory.isDBTrue(String.valueOf(row.get("deleted")))));
+            }
+        } catch (DotDataException e) {
+            Logger.error(this, "Could not list the files of the folder " + folder.getPath() + ": " + e.getMessage(), e);
+        }
+
+        Logger.debug(this, "Listed " + listing.size() + " files of the folder " + folder.getPath());
+        return listing;
+    }
+}
@@ -38,6 +38,7 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	private static final FileAssetAPI fileAssetAPI = APILocator.getFileAssetAPI();
 	private DotWebdavHelper dotDavHelper;
 	private IFileAsset file;
+	private FileListing listing;
 	String path;
 	private boolean isAutoPub = false;
 	private PermissionAPI perAPI;
@@ -51,12 +52,27 @@ public class FileResourceImpl implements FileResource, LockableResource {
 
 	}
 
+	/**
+	 * Creates the resource of a listed file, the file asset is loaded the first time it is needed.
+	 * The helper of the listing folder is shared, so listing a folder does not set up a helper per file
+	 * @param listing      {@link FileListing}
+	 * @param path         {@link String} WebDAV path of the file
+	 * @param dotDavHelper {@link DotWebdavHelper} helper of the folder
+	 */
+	public FileResourceImpl(FileListing listing, String path, DotWebdavHelper dotDavHelper) {
+		perAPI = APILocator.getPermissionAPI();
+		this.dotDavHelper = dotDavHelper;
+		this.isAutoPub = dotDavHelper.isAutoPub(path);
+		this.path = path;
+		this.listing = listing;
+	}
+
 	public void copyTo(CollectionResource collRes, String name) throws DotRuntimeException {
 	    User user=(User)HttpManager.request().getAuthorization().getTag();
 		if(collRes instanceof TempFolderResourceImpl){
 			TempFolderResourceImpl tr = (TempFolderResourceImpl)collRes;
 			try {
-				dotDavHelper.copyFileToTemp(file, tr.getFolder());
+				dotDavHelper.copyFileToTemp(getFile(), tr.getFolder());
 			} catch (IOException e) {
 				Logger.error(this, e.getMessage(), e);
 				return;
@@ -92,11 +108,11 @@ public class FileResourceImpl implements FileResource, LockableResource {
 			else {
 			    User user=(User)auth.getTag();
 			    if(method.isWrite && isAutoPub){
-    				return perAPI.doesUserHavePermission((Permissionable)file, PermissionAPI.PERMISSION_PUBLISH, user, false);
+    				return perAPI.doesUserHavePermission(getPermissionable(), PermissionAPI.PERMISSION_PUBLISH, user, false);
     			}else if(method.isWrite && !isAutoPub){
-    				return perAPI.doesUserHavePermission((Permissionable)file, PermissionAPI.PERMISSION_EDIT, user, false);
+    				return perAPI.doesUserHavePermission(getPermissionable(), PermissionAPI.PERMISSION_EDIT, user, false);
     			}else if(!method.isWrite){
-    				return perAPI.doesUserHavePermission((Permissionable)file, PermissionAPI.PERMISSION_READ, user, false);
+    				return perAPI.doesUserHavePermission(getPermissionable(), PermissionAPI.PERMISSION_READ, user, false);
     			}
 			}
 		} catch (DotDataException e) {
@@ -111,6 +127,9 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	}
 
 	public Long getContentLength() {
+		if(file == null && listing != null){
+			return listing.getFileSize();
+		}
 		java.io.File workingFile;
 		try {
 			workingFile = ((Contentlet)file).getBinary(FileAssetAPI.BINARY_FIELD);
@@ -122,14 +141,20 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	}
 
 	public String getContentType(String accepts) {
+		if(file == null && listing != null){
+			return fileAssetAPI.getMimeType(listing.getName());
+		}
 		return fileAssetAPI.getMimeType(file.getUnderlyingFileName());
 	}
 
 	public Date getModifiedDate() {
-		return file.getModDate();
+		return file == null && listing != null ? listing.getModDate() : file.getModDate();
 	}
 
 	public String getName() {
+		if(file == null && listing != null){
+			return UtilMethods.escapeHTMLSpecialChars(listing.getName());
+		}
 		return UtilMethods.escapeHTMLSpecialChars(dotDavHelper.getAssetName(file));
 	}
 
@@ -138,7 +163,7 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	}
 
 	public String getUniqueId() {
-		return  file.getInode();
+		return file == null && listing != null ? listing.getInode() : file.getInode();
 	}
 
   public void delete() throws DotRuntimeException {
@@ -158,7 +183,7 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	public void sendContent(OutputStream out, Range arg1, Map<String, String> arg2, String arg3) throws IOException {
 		java.io.File f;
 		try {
-			f = ((Contentlet)file).getBinary(FileAssetAPI.BINARY_FIELD);
+			f = ((Contentlet)getFile()).getBinary(FileAssetAPI.BINARY_FIELD);
 		   try(InputStream fis = Files.newInputStream(f.toPath())){
          BufferedInputStream bin = new BufferedInputStream(fis);
          final byte[] buffer = new byte[ 1024 ];
@@ -185,7 +210,7 @@ public class FileResourceImpl implements FileResource, LockableResource {
 		if(collRes instanceof TempFolderResourceImpl){
 			TempFolderResourceImpl tr = (TempFolderResourceImpl)collRes;
 			try {
-				dotDavHelper.copyFileToTemp(file, tr.getFolder());
+				dotDavHelper.copyFileToTemp(getFile(), tr.getFolder());
 				Logger.debug(this, "Webdav clients wants to move a file from dotcms to a tempory storage but we don't allow this in fear that the tranaction may break and delete a file from dotcms");
 			} catch (IOException e) {
 				Logger.error(this, e.getMessage(), e);
@@ -214,7 +239,7 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	}
 
 	public Date getCreateDate() {
-		return file.getModDate();
+		return getModifiedDate();
 	}
 
 	public int compareTo(Object o) {
@@ -223,9 +248,21 @@ public class FileResourceImpl implements FileResource, LockableResource {
 	}
 
 	public IFileAsset getFile() {
+		if(file == null && listing != null){
+			try {
+				file = fileAssetAPI.fromContentlet(APILocator.getContentletAPI().find(listing.getInode(), APILocator.systemUser(), false));
+			} catch (Exception e) {
+				Logger.error(this, e.getMessage(), e);
+				throw new DotRuntimeException(e.getMessage(), e);
+			}
+		}
 		return file;
 	}
 
+	private Permissionable getPermissionable() {
+		return file == null && listing != null ? listing.toPermissionable() : (Permissionable)file;
+	}
+
 	public void setFile(FileAsset file) {
 		this.file = file;
 	}
@@ -37,6 +37,7 @@ import org.apache.velocity.runtime.RuntimeServices;
 import org.apache.velocity.runtime.parser.node.Node;
 import org.apache.velocity.runtime.parser.node.SimpleNode;
 
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.VelocityUtil;
 
@@ -256,6 +257,7 @@ public class Parse extends InputBase
         /*
          *  and render it
          */
+        final RenderProfiler.Frame frame = RenderProfiler.enter(RenderProfiler.PARSE, arg);
         try
         {
             preRender(context);
@@ -296,6 +298,10 @@ public class Parse extends InputBase
         {
             context.popCurrentTemplateName();
             postRender(context);
+            if (null != frame)
+            {
+                frame.exit();
+            }
         }
 
         /*
@@ -19,6 +19,7 @@ package org.apache.velocity.runtime.parser.node;
  * under the License.    
  */
 
+import com.dotcms.rendering.velocity.util.RenderProfiler;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.VelocityUtil;
 import java.lang.reflect.InvocationTargetException;
@@ -173,7 +174,19 @@ public class ASTMethod extends SimpleNode
              *  all is well.
              */
 
-            Object obj = method.invoke(o, params);
+            final RenderProfiler.Frame frame = RenderProfiler.enterViewTool(o, methodName);
+            Object obj;
+            try
+            {
+                obj = method.invoke(o, params);
+            }
+            finally
+            {
+                if (null != frame)
+                {
+                    frame.exit();
+                }
+            }
 
             if (obj == null)
             {
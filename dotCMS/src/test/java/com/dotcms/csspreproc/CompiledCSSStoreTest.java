@@ -0,0 +1,94 @@
+package com.dotcms.csspreproc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class CompiledCSSStoreTest {
+
+    private static final byte[] CSS = "body{color:red}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Method to test: {@link CompiledCSSStore#put(String, String, String, Map, java.util.List, byte[])}
+     * Given Scenario: A stylesheet is stored and the store is created again on the same folder, as after a restart
+     * ExpectedResult: The new store returns the stylesheet with its css, etag, inodes and imported uris
+     */
+    @Test
+    public void test_put_survives_a_new_store() throws IOException {
+
+        final Path folder = Files.createTempDirectory("css_compiled");
+        final CompiledCSS stored = new CompiledCSSStore(folder).put("host1", "/css/main.scss", "main-id",
+                inodes(), Arrays.asList("/css/_vars.scss", "//other.com/css/_mixins.scss"), CSS);
+
+        final CompiledCSS loaded = new CompiledCSSStore(folder).get("host1", "/css/main.scss").get();
+
+        assertEquals("main-id", loaded.identifier);
+        assertEquals(stored.etag, loaded.etag);
+        assertEquals(inodes(), loaded.inodes);
+        assertEquals(Arrays.asList("/css/_vars.scss", "//other.com/css/_mixins.scss"), loaded.importedUris);
+        assertArrayEquals(CSS, Files.readAllBytes(loaded.file.toPath()));
+        assertFalse(new CompiledCSSStore(folder).get("host2", "/css/main.scss").isPresent());
+    }
+
+    /**
+     * Method to test: {@link CompiledCSSStore#put(String, String, String, Map, java.util.List, byte[])}
+     * Given Scenario: A stylesheet is stored again with a different css
+     * ExpectedResult: The css and the etag are replaced
+     */
+    @Test
+    public void test_put_replaces_the_css_and_etag() throws IOException {
+
+        final CompiledCSSStore store = new CompiledCSSStore(Files.createTempDirectory("css_compiled"));
+        final CompiledCSS first = store.put("host1", "/css/main.scss", "main-id", inodes(), Arrays.asList(), CSS);
+        final byte[] css = "body{color:blue}".getBytes(StandardCharsets.UTF_8);
+        final CompiledCSS second = store.put("host1", "/css/main.scss", "main-id", inodes(), Arrays.asList(), css);
+
+        assertNotEquals(first.etag, second.etag);
+        assertTrue(second.etag.startsWith("\"") && second.etag.endsWith("\""));
+        assertArrayEquals(css, Files.readAllBytes(store.get("host1", "/css/main.scss").get().file.toPath()));
+    }
+
+    /**
+     * Method to test: {@link CompiledCSSStore#getDependents(String)} and {@link CompiledCSSStore#remove(String, String)}
+     * Given Scenario: Two stylesheets import the same partial and one of them is removed
+     * ExpectedResult: Both depend on the partial, only one on its own file, and the removed one is gone
+     */
+    @Test
+    public void test_getDependents() throws IOException {
+
+        final CompiledCSSStore store = new CompiledCSSStore(Files.createTempDirectory("css_compiled"));
+        store.put("host1", "/css/main.scss", "main-id", inodes(), Arrays.asList(), CSS);
+        final Map<String, String> printInodes = new LinkedHashMap<>();
+        printInodes.put("print-id", "print-inode");
+        printInodes.put("vars-id", "vars-inode");
+        store.put("host1", "/css/print.scss", "print-id", printInodes, Arrays.asList(), CSS);
+
+        assertEquals(2, store.getDependents("vars-id").size());
+        assertEquals(1, store.getDependents("main-id").size());
+        assertTrue(store.getDependents("unknown-id").isEmpty());
+
+        store.remove("host1", "/css/main.scss");
+        assertEquals(1, store.getDependents("vars-id").size());
+        assertFalse(store.get("host1", "/css/main.scss").isPresent());
+    }
+
+    private static Map<String, String> inodes() {
+
+        final Map<String, String> inodes = new LinkedHashMap<>();
+        inodes.put("main-id", "main-inode");
+        inodes.put("vars-id", "vars-inode");
+        inodes.put("mixins-id", "mixins-inode");
+        return inodes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.dotcms.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.UnitTestBase;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class MethodTimingsTest extends UnitTestBase {
+
+    /**
+     * Method to test: {@link MethodTimings#getSlowest(int)}
+     * Given Scenario: Two methods are recorded, one of them is slower
+     * ExpectedResult: Both are returned with their count and the slower one goes first
+     */
+    @Test
+    public void test_getSlowest_sorts_by_p99() {
+
+        final MethodTimings timings = MethodTimings.getInstance();
+        final long now = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            timings.recordSilently(MethodTimingsTest.class, "fastMethod", now);
+        }
+        timings.recordSilently(MethodTimingsTest.class, "slowMethod", now - TimeUnit.SECONDS.toNanos(2));
+
+        final List<Map<String, Object>> slowest = timings.getSlowest(100);
+        final Optional<Map<String, Object>> fast = find(slowest, "fastMethod");
+        final Optional<Map<String, Object>> slow = find(slowest, "slowMethod");
+
+        assertTrue(fast.isPresent());
+        assertTrue(slow.isPresent());
+        assertEquals(3L, fast.get().get("count"));
+        assertEquals(1L, slow.get().get("count"));
+        assertTrue((Double) slow.get().get("p99") >= 2000d);
+        assertTrue(slowest.indexOf(slow.get()) < slowest.indexOf(fast.get()));
+    }
+
+    private static Optional<Map<String, Object>> find(final List<Map<String, Object>> timings,
+            final String methodName) {
+
+        return timings.stream()
+                .filter(timing -> timing.get("method").equals(MethodTimingsTest.class.getName() + "#" + methodName))
+                .findFirst();
+    }
+}
@@ -0,0 +1,115 @@
+package com.dotcms.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.UnitTestBase;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class MetricsRegistryTest extends UnitTestBase {
+
+    /**
+     * Method to test: {@link MetricsRegistry#writePrometheus(java.io.Writer)}
+     * Given Scenario: A labeled counter, a gauge and a histogram are registered and recorded
+     * ExpectedResult: All of them are written in the Prometheus text format
+     */
+    @Test
+    public void test_writePrometheus_writes_counters_gauges_and_histograms() throws Exception {
+
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+        final Counter counter = registry.counter("test_registry_hits_total", "Test hits", "group", "test");
+        counter.inc();
+        counter.inc(2);
+        registry.gauge("test_registry_queue_size", "Test queue", () -> 7);
+        final Histogram histogram = registry.histogram("test_registry_render_seconds", "Test render");
+        histogram.record(1_000_000);
+        histogram.record(3_000_000);
+
+        final StringWriter writer = new StringWriter();
+        registry.writePrometheus(writer);
+        final String output = writer.toString();
+
+        assertTrue(output.contains("# TYPE test_registry_hits_total counter\n"));
+        assertTrue(output.contains("test_registry_hits_total{group=\"test\"} 3\n"));
+        assertTrue(output.contains("# TYPE test_registry_queue_size gauge\n"));
+        assertTrue(output.contains("test_registry_queue_size 7\n"));
+        assertTrue(output.contains("# TYPE test_registry_render_seconds summary\n"));
+        assertTrue(output.contains("test_registry_render_seconds_count 2\n"));
+        assertTrue(output.contains("test_registry_render_seconds{quantile=\"0.5\"}"));
+    }
+
+    /**
+     * Method to test: {@link MetricsRegistry#gauge(String, String, java.util.function.Supplier, long)}
+     * Given Scenario: A gauge kept for a minute is scraped twice
+     * ExpectedResult: Its value is only read once
+     */
+    @Test
+    public void test_cached_gauge_is_read_once_per_ttl() throws Exception {
+
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+        final AtomicInteger reads = new AtomicInteger();
+        registry.gauge("test_registry_cached_size", "Test cached", reads::incrementAndGet, TimeUnit.MINUTES.toMillis(1));
+
+        registry.writePrometheus(new StringWriter());
+        final StringWriter writer = new StringWriter();
+        registry.writePrometheus(writer);
+
+        assertEquals(1, reads.get());
+        assertTrue(writer.toString().contains("test_registry_cached_size 1\n"));
+    }
+
+    /**
+     * Method to test: {@link Histogram#snapshot(long)}
+     * Given Scenario: A slow value is recorded, then a fast one once the slow one is out of the window
+     * ExpectedResult: The quantiles only see the fast value, while the count and the sum keep both
+     */
+    @Test
+    public void test_histogram_quantiles_only_cover_the_window() {
+
+        final Histogram histogram = new Histogram(60_000, 6, 0);
+        histogram.record(5_000_000);
+        assertEquals(5_000_000, histogram.snapshot(1_000).getMaxValue(), 50_000);
+
+        histogram.record(1_000);
+        final org.HdrHistogram.Histogram window = histogram.snapshot(70_000);
+
+        assertEquals(1, window.getTotalCount());
+        assertEquals(1_000, window.getMaxValue(), 10);
+        assertEquals(2, histogram.getCount());
+        assertEquals(5_001_000, histogram.getSum(), 60_000);
+    }
+
+    /**
+     * Method to test: {@link MetricsRegistry#counter(String, String, String, String)}
+     * Given Scenario: The same counter is requested twice
+     * ExpectedResult: The same instance is returned, so increments are not lost
+     */
+    @Test
+    public void test_counter_same_name_and_label_returns_same_instance() {
+
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+        final Counter first  = registry.counter("test_registry_same_total", "Test", "group", "a");
+        final Counter second = registry.counter("test_registry_same_total", "Test", "group", "a");
+        first.inc();
+        second.inc();
+
+        assertEquals(first, second);
+        assertEquals(2, first.get());
+    }
+
+    /**
+     * Method to test: {@link MetricsRegistry#histogram(String, String)}
+     * Given Scenario: A counter name is requested as a histogram
+     * ExpectedResult: IllegalArgumentException, a name can only have one type
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_histogram_with_counter_name_fails() {
+
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counter("test_registry_type_total", "Test");
+        registry.histogram("test_registry_type_total", "Test");
+    }
+}
@@ -0,0 +1,146 @@
+package com.dotcms.publisher.receiver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.dotcms.publisher.receiver.handler.IHandler;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class BundleHandlerStagesTest {
+
+    private static final File BUNDLE_FOLDER = new File("bundle");
+
+    /**
+     * Method to test: {@link BundleHandlerStages#runSequentially(File)}
+     * Given Scenario: Stages with several chains each
+     * ExpectedResult: The handlers run one after the other in the order they were added
+     */
+    @Test
+    public void test_runSequentially_keeps_the_order_the_handlers_were_added() throws Exception {
+
+        final List<String> ran = new CopyOnWriteArrayList<>();
+        final BundleHandlerStages stages = new BundleHandlerStages()
+                .stage(chain(handler("host", ran)))
+                .stage(chain(handler("folder", ran)), chain(handler("workflow", ran)))
+                .stage(chain(handler("content", ran), handler("contentWorkflow", ran)));
+
+        stages.runSequentially(BUNDLE_FOLDER);
+
+        assertEquals(Arrays.asList("host", "folder", "workflow", "content", "contentWorkflow"), ran);
+    }
+
+    /**
+     * Method to test: {@link BundleHandlerStages#runInParallel(File, java.util.concurrent.Executor, BundleHandlerStages.ChainTransaction)}
+     * Given Scenario: A stage with two chains that each wait for the other to start, between two other stages
+     * ExpectedResult: The chains of the stage run at the same time, each in its own transaction, and the stages run in order
+     */
+    @Test
+    public void test_runInParallel_runs_the_chains_of_a_stage_at_the_same_time() throws Exception {
+
+        final List<String> ran = new CopyOnWriteArrayList<>();
+        final List<List<IHandler>> transactions = new CopyOnWriteArrayList<>();
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final BundleHandlerStages stages = new BundleHandlerStages()
+                .stage(chain(handler("host", ran)))
+                .stage(chain(waiting("folder", ran, bothStarted)), chain(waiting("workflow", ran, bothStarted)))
+                .stage(chain(handler("content", ran)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            stages.runInParallel(BUNDLE_FOLDER, executor, (chain, bundleFolder) -> {
+                transactions.add(chain);
+                BundleHandlerStages.runChain(chain, bundleFolder);
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("host", ran.get(0));
+        assertTrue(ran.subList(1, 3).containsAll(Arrays.asList("folder", "workflow")));
+        assertEquals("content", ran.get(3));
+        assertEquals(4, transactions.size());
+    }
+
+    /**
+     * Method to test: {@link BundleHandlerStages#runInParallel(File, java.util.concurrent.Executor, BundleHandlerStages.ChainTransaction)}
+     * Given Scenario: A chain of a stage fails
+     * ExpectedResult: The other chains of the stage finish, the failure is thrown and the next stages do not run
+     */
+    @Test
+    public void test_runInParallel_stops_after_a_failed_stage() throws Exception {
+
+        final List<String> ran = new CopyOnWriteArrayList<>();
+        final IllegalStateException error = new IllegalStateException("folder failed");
+        final BundleHandlerStages stages = new BundleHandlerStages()
+                .stage(chain(new Handler("folder", ran) {
+                    @Override
+                    public void handle(final File bundleFolder) {
+                        throw error;
+                    }
+                }), chain(handler("workflow", ran)))
+                .stage(chain(handler("content", ran)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            stages.runInParallel(BUNDLE_FOLDER, executor, BundleHandlerStages::runChain);
+            fail("the failure of the folder handler should be thrown");
+        } catch (IllegalStateException e) {
+            assertSame(error, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Arrays.asList("workflow"), ran);
+    }
+
+    private static List<IHandler> chain(final IHandler... handlers) {
+        return Arrays.asList(handlers);
+    }
+
+    private static IHandler handler(final String name, final List<String> ran) {
+        return new Handler(name, ran);
+    }
+
+    private static IHandler waiting(final String name, final List<String> ran, final CountDownLatch bothStarted) {
+
+        return new Handler(name, ran) {
+            @Override
+            public void handle(final File bundleFolder) throws Exception {
+                bothStarted.countDown();
+                assertTrue(name + " ran alone", bothStarted.await(10, TimeUnit.SECONDS));
+                super.handle(bundleFolder);
+            }
+        };
+    }
+
+    private static class Handler implements IHandler {
+
+        private final String name;
+        private final List<String> ran;
+
+        Handler(final String name, final List<String> ran) {
+            this.name = name;
+            this.ran = ran;
+        }
+
+        @Override
+        public void handle(final File bundleFolder) throws Exception {
+            ran.add(name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
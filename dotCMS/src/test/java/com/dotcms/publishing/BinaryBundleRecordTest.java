@@ -0,0 +1,175 @@
+package com.dotcms.publishing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.dotcms.publisher.pusher.wrapper.CategoryWrapper;
+import com.dotcms.publisher.util.PushCategoryUtil;
+import com.dotcms.publishing.PublisherConfig.Operation;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.portlets.categories.model.Category;
+import com.dotmarketing.util.Config;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class BinaryBundleRecordTest {
+
+    /**
+     * Method to test: {@link BundlerUtil#xmlToObject(InputStream)}
+     * Given Scenario: A list of content maps written as a binary record
+     * ExpectedResult: The same objects are read back
+     */
+    @Test
+    public void test_xmlToObject_reads_a_binary_record() throws IOException {
+
+        final List<Map<String, Object>> contents = contents(20);
+
+        final Object read = BundlerUtil.xmlToObject(new ByteArrayInputStream(write(contents)));
+
+        assertEquals(contents, read);
+    }
+
+    /**
+     * Method to test: {@link BundlerUtil#xmlToObject(InputStream)}
+     * Given Scenario: The same objects written as XML
+     * ExpectedResult: The XML is still read
+     */
+    @Test
+    public void test_xmlToObject_still_reads_xml() throws IOException {
+
+        final List<Map<String, Object>> contents = contents(20);
+        final byte[] xml = XMLSerializerUtil.getInstance().getXmlSerializer().toXML(contents)
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(BinaryBundleRecord.isBinaryRecord(new ByteArrayInputStream(xml)));
+        assertEquals(contents, BundlerUtil.xmlToObject(new ByteArrayInputStream(xml)));
+    }
+
+    /**
+     * Method to test: {@link PushCategoryUtil#getCategoryWrapperFromInode(String)}
+     * Given Scenario: A top level category with two children written as a binary record
+     * ExpectedResult: The receiver reads the same category, children and operation back
+     */
+    @Test
+    public void test_category_wrapper_round_trip() throws Exception {
+
+        final Category category = new Category();
+        category.setInode("3297fcca-d88a-45a7-aef4-7960bc6964aa");
+        category.setCategoryName("Topic");
+        category.setKey("topic");
+        category.setCategoryVelocityVarName("topic");
+        category.setSortOrder(2);
+        final Set<String> children = new HashSet<>(Arrays.asList(
+                "b4a3a8a4-2e1f-4b0e-8b4c-1c4a1a2b3c4d", "0f4c5e1a-7d3b-4c2a-9e8f-6a5b4c3d2e1f"));
+        final CategoryWrapper wrapper = new CategoryWrapper(true, category, children, Operation.PUBLISH);
+
+        final File bundle = Files.createTempDirectory("binary-bundle").toFile();
+        final File categoryFile = new File(bundle, category.getInode() + ".category.xml");
+        Files.write(categoryFile.toPath(), write(wrapper));
+        assertTrue(BinaryBundleRecord.isBinaryRecord(new ByteArrayInputStream(Files.readAllBytes(categoryFile.toPath()))));
+
+        final PushCategoryUtil pushCategoryUtil = new PushCategoryUtil(
+                Collections.singletonList(categoryFile), ".category.xml");
+        final CategoryWrapper read = pushCategoryUtil.getCategoryWrapperFromInode(category.getInode());
+
+        assertEquals(1, pushCategoryUtil.getCategoryXMLCount());
+        assertEquals(1, pushCategoryUtil.findTopLevelWrappers().size());
+        assertEquals(category.getInode(), read.getCategory().getInode());
+        assertEquals("Topic", read.getCategory().getCategoryName());
+        assertEquals("topic", read.getCategory().getKey());
+        assertEquals("topic", read.getCategory().getCategoryVelocityVarName());
+        assertEquals(2, read.getCategory().getSortOrder().intValue());
+        assertEquals(children, read.getChildren());
+        assertEquals(Operation.PUBLISH, read.getOperation());
+        assertTrue(read.isTopLevel());
+    }
+
+    /**
+     * Method to test: {@link BinaryBundleRecord#read(InputStream)}
+     * Given Scenario: A record written by a newer version of the format
+     * ExpectedResult: It is refused with the version in the message
+     */
+    @Test
+    public void test_read_refuses_unknown_versions() {
+
+        final byte[] record = write(contents(1));
+        record[4] = 2;
+
+        try {
+            BinaryBundleRecord.read(new ByteArrayInputStream(record));
+            fail("a version 2 record should not be read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("version 2"));
+        }
+    }
+
+    /**
+     * Method to test: {@link BundlerUtil#objectToXML(Object, OutputStream)}
+     * Given Scenario: The binary bundles are enabled and the stream fails while the record is written
+     * ExpectedResult: The failure is thrown, so the bundle is not built with a truncated file
+     */
+    @Test
+    public void test_objectToXML_fails_when_the_record_can_not_be_written() {
+
+        final boolean binaryBundle = Config.getBooleanProperty("PUSH_PUBLISHING_BINARY_BUNDLE", false);
+        Config.setProperty("PUSH_PUBLISHING_BINARY_BUNDLE", true);
+        try {
+            BundlerUtil.objectToXML(contents(1), new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    throw new IOException("No space left on device");
+                }
+            });
+            fail("a record that can not be written should fail the bundle");
+        } catch (DotRuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            Config.setProperty("PUSH_PUBLISHING_BINARY_BUNDLE", binaryBundle);
+        }
+    }
+
+    private static byte[] write(final Object object) {
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            BinaryBundleRecord.write(object, outputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static List<Map<String, Object>> contents(final int size) {
+
+        final List<Map<String, Object>> contents = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Map<String, Object> content = new LinkedHashMap<>();
+            content.put("identifier", "9c5f42da-31b1-4935-9df6-153f5de1bd2" + (i % 10));
+            content.put("inode", "a5c62c4e-7a6b-4bd0-8dce-2f0d3b3a7b0" + (i % 10));
+            content.put("title", "Content number " + i);
+            content.put("body", "<p>Some text with characters to escape in XML & < ></p>");
+            content.put("languageId", 1L);
+            content.put("modDate", new Date(1600000000000L + i));
+            contents.add(content);
+        }
+        return contents;
+    }
+}
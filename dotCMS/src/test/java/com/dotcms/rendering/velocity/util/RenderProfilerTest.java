@@ -0,0 +1,74 @@
+package com.dotcms.rendering.velocity.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.velocity.tools.view.tools.ViewTool;
+import org.junit.Test;
+
+public class RenderProfilerTest {
+
+    /**
+     * Method to test: {@link RenderProfiler#enter(String, String)}
+     * Given Scenario: No render is being profiled
+     * ExpectedResult: No frame is opened and the counters are ignored
+     */
+    @Test
+    public void test_enter_without_profile_returns_null() {
+
+        assertNull(RenderProfiler.enter(RenderProfiler.PARSE, "/application/vtl/test.vtl"));
+        RenderProfiler.dbQuery();
+        RenderProfiler.cacheMiss();
+    }
+
+    /**
+     * Method to test: {@link RenderProfiler.Frame#toMap()}
+     * Given Scenario: A container renders a contentlet twice, calling the same viewtool each time and
+     * making db queries, es queries and cache misses
+     * ExpectedResult: The repeated nodes are merged, each node counts its own queries and misses
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_profile_builds_the_call_tree() {
+
+        final ViewTool tool = initData -> { };
+        final RenderProfiler.Frame root = RenderProfiler.start("/index");
+        try {
+            final RenderProfiler.Frame container = RenderProfiler.enter(RenderProfiler.CONTAINER, "container-id");
+            RenderProfiler.cacheMiss();
+            for (int i = 0; i < 2; i++) {
+                final RenderProfiler.Frame content = RenderProfiler.enter(RenderProfiler.CONTENT, "content-id");
+                RenderProfiler.dbQuery();
+                final RenderProfiler.Frame viewTool = RenderProfiler.enterViewTool(tool, "pull");
+                RenderProfiler.esQuery();
+                viewTool.exit();
+                content.exit();
+            }
+            assertNull(RenderProfiler.enterViewTool("not a tool", "length"));
+            container.exit();
+        } finally {
+            RenderProfiler.stop(root);
+        }
+
+        final Map<String, Object> tree = root.toMap();
+        assertEquals("template /index", tree.get("name"));
+
+        final Map<String, Object> container = ((List<Map<String, Object>>) tree.get("children")).get(0);
+        assertEquals(RenderProfiler.CONTAINER, container.get("type"));
+        assertEquals(1, container.get("cacheMisses"));
+
+        final List<Map<String, Object>> contents = (List<Map<String, Object>>) container.get("children");
+        assertEquals(1, contents.size());
+        assertEquals(2, contents.get(0).get("calls"));
+        assertEquals(2, contents.get(0).get("dbQueries"));
+        assertEquals(0, contents.get(0).get("esQueries"));
+
+        final Map<String, Object> viewTool = ((List<Map<String, Object>>) contents.get(0).get("children")).get(0);
+        assertEquals(RenderProfiler.VIEWTOOL, viewTool.get("type"));
+        assertEquals(2, viewTool.get("esQueries"));
+
+        assertNull(RenderProfiler.enter(RenderProfiler.PARSE, "/application/vtl/test.vtl"));
+    }
+}
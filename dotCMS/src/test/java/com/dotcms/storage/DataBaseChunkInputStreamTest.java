@@ -0,0 +1,196 @@
+package com.dotcms.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.dotcms.storage.DataBaseChunkInputStream.ChunkReader;
+import com.liferay.util.Encryptor;
+import com.liferay.util.HashBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class DataBaseChunkInputStreamTest {
+
+    /**
+     * Method to test: {@link DataBaseChunkInputStream#read(byte[], int, int)}
+     * Given Scenario: An object split in chunks of 10 bytes but the last one, read from the start
+     * ExpectedResult: The whole object is read and its hash checked
+     */
+    @Test
+    public void test_read_whole_object() throws Exception {
+
+        final byte[] object = bytes(95);
+        final List<byte[]> chunks = split(object, 10);
+
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader(chunks, new AtomicLong()), 0, 4,
+                hash(object), Encryptor.Hashing.sha256())) {
+            assertArrayEquals(object, IOUtils.toByteArray(inputStream));
+        }
+    }
+
+    /**
+     * Method to test: {@link DataBaseChunkInputStream#read(byte[], int, int)}
+     * Given Scenario: The chunks do not match the hash of the object
+     * ExpectedResult: The read fails at the end of the object
+     */
+    @Test
+    public void test_read_fails_when_the_object_hash_does_not_match() throws Exception {
+
+        final byte[] object = bytes(95);
+        final List<byte[]> chunks = split(object, 10);
+        chunks.get(3)[0]++;
+
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader(chunks, new AtomicLong()), 0, 4,
+                hash(object), Encryptor.Hashing.sha256())) {
+            IOUtils.toByteArray(inputStream);
+            fail("the object hash should not match");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains(hash(object)));
+        }
+    }
+
+    /**
+     * Method to test: {@link DataBaseChunkInputStream#skip(long)}
+     * Given Scenario: A range in the middle of the object is read after skipping to it, and from an offset
+     * ExpectedResult: The range is read, fetching only the chunks from the one holding its first byte
+     */
+    @Test
+    public void test_read_range() throws Exception {
+
+        final byte[] object = bytes(95);
+        final List<byte[]> chunks = split(object, 10);
+        final AtomicLong fetched = new AtomicLong();
+
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader(chunks, fetched), 0, 2,
+                hash(object), Encryptor.Hashing.sha256())) {
+            assertEquals(0, inputStream.read());
+            assertEquals(42, inputStream.skip(42));
+            assertArrayEquals(range(object, 43, 15), read(inputStream, 15));
+        }
+        // chunks 1 and 2 first, then 5 and 6
+        assertEquals(4, fetched.get());
+
+        fetched.set(0);
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader(chunks, fetched), 88, 2,
+                hash(object), Encryptor.Hashing.sha256())) {
+            assertArrayEquals(range(object, 88, 7), IOUtils.toByteArray(inputStream));
+        }
+        // chunk 1 to know the chunk size, then 9 and 10
+        assertEquals(3, fetched.get());
+    }
+
+    /**
+     * Method to test: {@link DataBaseChunkInputStream#read(byte[], int, int)}
+     * Given Scenario: A shorter chunk is followed by another one
+     * ExpectedResult: The read fails since the positions of the chunks can not be known
+     */
+    @Test(expected = IOException.class)
+    public void test_read_fails_when_chunks_are_not_the_same_size() throws Exception {
+
+        final List<byte[]> chunks = new ArrayList<>();
+        chunks.add(bytes(10));
+        chunks.add(bytes(5));
+        chunks.add(bytes(10));
+
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader(chunks, new AtomicLong()), 0, 4,
+                null, null)) {
+            IOUtils.toByteArray(inputStream);
+        }
+    }
+
+    /**
+     * Method to test: {@link DataBaseChunkInputStream#skip(long)}
+     * Given Scenario: A player seeks to 400MB in a 500MB object stored in 2KB chunks and reads 1MB
+     * ExpectedResult: About 1MB of chunks is fetched instead of the 500MB the temporal file used to get, and nothing is written to disk
+     */
+    @Test
+    public void test_seek_in_a_500MB_object() throws Exception {
+
+        final int chunkSize = 2048;
+        final long objectSize = 500L * 1024 * 1024;
+        final AtomicLong fetched = new AtomicLong();
+        final ChunkReader reader = (fromOrder, count) -> {
+            final List<byte[]> chunks = new ArrayList<>();
+            for (long order = fromOrder; order < fromOrder + count && (order - 1) * chunkSize < objectSize; order++) {
+                final byte[] chunk = new byte[chunkSize];
+                chunk[0] = (byte) order;
+                chunks.add(chunk);
+            }
+            fetched.addAndGet(chunks.size());
+            return chunks;
+        };
+
+        final long start = System.nanoTime();
+        try (InputStream inputStream = new DataBaseChunkInputStream(reader, 400L * 1024 * 1024, 64, null, null)) {
+            final byte[] firstByte = read(inputStream, 1);
+            final long timeToFirstByte = System.nanoTime() - start;
+            read(inputStream, 1024 * 1024 - 1);
+
+            assertEquals((byte) (400 * 512 + 1), firstByte[0]);
+            assertTrue("took " + timeToFirstByte + "ns", timeToFirstByte < 1_000_000_000L);
+        }
+
+        final long fetchedBytes = fetched.get() * chunkSize;
+        assertTrue("fetched " + fetchedBytes + " bytes", fetchedBytes <= 1024 * 1024 + 65 * chunkSize);
+    }
+
+    private static ChunkReader reader(final List<byte[]> chunks, final AtomicLong fetched) {
+
+        return (fromOrder, count) -> {
+            final List<byte[]> read = new ArrayList<>();
+            for (int i = fromOrder - 1; i < Math.min(chunks.size(), fromOrder - 1 + count); i++) {
+                read.add(chunks.get(i));
+            }
+            fetched.addAndGet(read.size());
+            return read;
+        };
+    }
+
+    private static byte[] read(final InputStream inputStream, final int length) throws IOException {
+
+        final byte[] bytes = new byte[length];
+        new DataInputStream(inputStream).readFully(bytes);
+        return bytes;
+    }
+
+    private static byte[] bytes(final int length) {
+
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static byte[] range(final byte[] bytes, final int from, final int length) {
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(bytes, from, length);
+        return outputStream.toByteArray();
+    }
+
+    private static List<byte[]> split(final byte[] bytes, final int chunkSize) {
+
+        final List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            chunks.add(range(bytes, i, Math.min(chunkSize, bytes.length - i)));
+        }
+        return chunks;
+    }
+
+    private static String hash(final byte[] bytes) throws NoSuchAlgorithmException {
+
+        final HashBuilder hashBuilder = Encryptor.Hashing.sha256();
+        return hashBuilder.append(bytes).buildUnixHash();
+    }
+}
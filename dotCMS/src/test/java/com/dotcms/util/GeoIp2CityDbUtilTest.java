@@ -1,9 +1,12 @@
 package com.dotcms.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import com.dotcms.visitor.domain.Geolocation;
@@ -70,18 +73,83 @@ public class GeoIp2CityDbUtilTest {
     
     @Test
     public void test_Geolocation_can_reload() throws Exception{
-        GeoIp2CityDbUtil geoUtil = GeoIp2CityDbUtil.getInstance();
-        
-        String dbPath = geoUtil.getDbPath();
-        long lastModified = geoUtil.getLastModified();
-        assert(lastModified>0);
-        File geoDB = new File(dbPath);
-        assert(geoDB.exists());
-        geoDB.setLastModified(System.currentTimeMillis());
-        
-        assert(lastModified<geoUtil.getLastModified());
+        final File geoDB = useDatabaseCopy();
+        try {
+            long lastModified = GeoIp2CityDbUtil.getLastModified();
+            assert(lastModified>0);
+            geoDB.setLastModified(lastModified + 1000);
+
+            assert(lastModified<GeoIp2CityDbUtil.getLastModified());
+        } finally {
+            restoreDatabase(geoDB);
+        }
+    }
+
+    @Test
+    public void test_Geolocation_is_cached_and_flushed_on_reload() throws Exception{
+        final File geoDB = useDatabaseCopy();
+        try {
+            GeoIp2CityDbUtil geoUtil = GeoIp2CityDbUtil.getInstance();
+
+            Geolocation first = geoUtil.getGeolocation("108.49.249.66");
+            Geolocation second = geoUtil.getGeolocation("108.49.249.66");
+            assertEquals(first, second);
+            assertTrue(GeoIp2CityDbUtil.getCachedLookups() > 0);
+
+            geoDB.setLastModified(geoDB.lastModified() + 1000);
+            GeoIp2CityDbUtil.getLastModified();
+
+            assertEquals(0, GeoIp2CityDbUtil.getCachedLookups());
+            assertEquals(first, geoUtil.getGeolocation("108.49.249.66"));
+        } finally {
+            restoreDatabase(geoDB);
+        }
+    }
+
+    /**
+     * Method to test: reload of the database file
+     * Given Scenario: A lookup still holds the reader when the file is updated and the reader swapped
+     * ExpectedResult: The previous reader is closed only once the lookup releases it
+     */
+    @Test
+    public void test_previous_reader_is_closed_after_running_lookups() throws Exception{
+        final File geoDB = useDatabaseCopy();
+        try {
+            final GeoIp2CityDbUtil.GeoDatabase previous = GeoIp2CityDbUtil.getCurrentDatabase();
+            assertTrue(previous.acquire());
+
+            geoDB.setLastModified(geoDB.lastModified() + 1000);
+            GeoIp2CityDbUtil.getLastModified();
+
+            assertTrue(previous != GeoIp2CityDbUtil.getCurrentDatabase());
+            assertFalse(previous.isClosed());
+
+            previous.release();
+
+            assertTrue(previous.isClosed());
+            assertFalse(previous.acquire());
+            assertEquals("Andover", GeoIp2CityDbUtil.getInstance().getGeolocation("108.49.249.66").getCity());
+        } finally {
+            restoreDatabase(geoDB);
+        }
+    }
+
+    private static String originalDbPath;
+
+    /**
+     * Points the util to a temporal copy of the bundled database, so its date can be changed
+     */
+    private static File useDatabaseCopy() throws Exception {
+        originalDbPath = GeoIp2CityDbUtil.getDbPath();
+        final File copy = File.createTempFile("GeoLite2-City", ".mmdb");
+        Files.copy(new File(originalDbPath).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        GeoIp2CityDbUtil.connectTo(copy.getAbsolutePath());
+        return copy;
+    }
+
+    private static void restoreDatabase(final File copy) {
+        GeoIp2CityDbUtil.connectTo(originalDbPath);
+        copy.delete();
     }
-    
-    
 
 }
@@ -0,0 +1,146 @@
+package com.dotcms.visitor.filter.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.metrics.MetricsRegistry;
+import com.dotcms.visitor.filter.logger.VisitorLogQueue.QueueFullPolicy;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class VisitorLogQueueTest {
+
+    /**
+     * Method to test: {@link VisitorLogQueue#offer(Map)}
+     * Given Scenario: Entries are offered while the writer is blocked on its first write
+     * ExpectedResult: The writer joins the waiting entries into batches of up to the batch size, one line per entry, in order
+     */
+    @Test
+    public void test_offer_writes_in_batches() throws Exception {
+
+        final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        final CountDownLatch firstWrite = new CountDownLatch(1);
+        final List<String> writes = new CopyOnWriteArrayList<>();
+        final VisitorLogQueue queue = new VisitorLogQueue(64, 3, QueueFullPolicy.BLOCK, 5000,
+                map -> String.valueOf(map.get("n")), message -> {
+                    writes.add(message);
+                    firstWriteStarted.countDown();
+                    await(firstWrite);
+                }, MetricsRegistry.getInstance().counter("test_visitor_log_batches_dropped_total", "test"));
+
+        queue.offer(entry(0));
+        await(firstWriteStarted);
+        for (int i = 1; i <= 7; i++) {
+            queue.offer(entry(i));
+        }
+        firstWrite.countDown();
+        queue.shutdown(5000);
+
+        assertEquals("0", writes.get(0));
+        assertEquals(String.join(System.lineSeparator(), "1", "2", "3"), writes.get(1));
+        assertEquals(String.join(System.lineSeparator(), "4", "5", "6"), writes.get(2));
+        assertEquals("7", writes.get(3));
+        assertEquals(4, writes.size());
+    }
+
+    /**
+     * Method to test: {@link VisitorLogQueue#offer(Map)}
+     * Given Scenario: With the drop policy, more entries are offered than the ring can hold while the writer is blocked
+     * ExpectedResult: The entries that do not fit are dropped and counted, and the ones that fit are written
+     */
+    @Test
+    public void test_offer_drops_when_full() throws Exception {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final VisitorLogQueue queue = new VisitorLogQueue(4, 100, QueueFullPolicy.DROP, 0,
+                map -> String.valueOf(map.get("n")), message -> {
+                    await(blocked);
+                    Collections.addAll(lines, message.split(System.lineSeparator()));
+                }, MetricsRegistry.getInstance().counter("test_visitor_log_dropped_total", "test"));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(entry(i)));
+        }
+        for (int i = 4; i < 10; i++) {
+            assertFalse(queue.offer(entry(i)));
+        }
+        assertEquals(6, queue.getDropped());
+
+        blocked.countDown();
+        queue.shutdown(5000);
+        assertEquals(4, lines.size());
+    }
+
+    /**
+     * Method to test: {@link VisitorLogQueue#offer(Map)}
+     * Given Scenario: With the block policy, the ring is full and the writer is stalled
+     * ExpectedResult: The request thread waits up to the block timeout, then the entry is dropped and counted
+     */
+    @Test
+    public void test_offer_blocks_up_to_the_timeout_when_full() throws Exception {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final VisitorLogQueue queue = new VisitorLogQueue(4, 100, QueueFullPolicy.BLOCK, 50,
+                map -> String.valueOf(map.get("n")), message -> {
+                    await(blocked);
+                    Collections.addAll(lines, message.split(System.lineSeparator()));
+                }, MetricsRegistry.getInstance().counter("test_visitor_log_blocked_dropped_total", "test"));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(entry(i)));
+        }
+        final long start = System.nanoTime();
+        assertFalse(queue.offer(entry(4)));
+        final long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("waited " + waitedMillis + "ms", waitedMillis >= 50 && waitedMillis < 5000);
+        assertEquals(1, queue.getDropped());
+
+        blocked.countDown();
+        queue.shutdown(5000);
+        assertEquals(4, lines.size());
+    }
+
+    /**
+     * Method to test: {@link VisitorLogQueue#offer(Map)}
+     * Given Scenario: With the block policy, an entry is offered once the queue is shut down
+     * ExpectedResult: The entry is dropped and counted right away instead of waiting for a writer that is gone
+     */
+    @Test
+    public void test_offer_drops_after_shutdown() {
+
+        final List<String> writes = new CopyOnWriteArrayList<>();
+        final VisitorLogQueue queue = new VisitorLogQueue(4, 100, QueueFullPolicy.BLOCK, 10000,
+                map -> String.valueOf(map.get("n")), writes::add,
+                MetricsRegistry.getInstance().counter("test_visitor_log_shutdown_dropped_total", "test"));
+        queue.shutdown(5000);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertFalse(queue.offer(entry(i)));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 10000);
+        assertEquals(10, queue.getDropped());
+        assertTrue(writes.isEmpty());
+    }
+
+    private static Map<String, Serializable> entry(final int n) {
+        return Collections.singletonMap("n", n);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
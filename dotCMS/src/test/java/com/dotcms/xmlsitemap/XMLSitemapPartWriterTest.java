@@ -0,0 +1,72 @@
+package com.dotcms.xmlsitemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+public class XMLSitemapPartWriterTest {
+
+    /**
+     * Method to test: {@link XMLSitemapPartWriter#write(String, String)}
+     * Given Scenario: 120,001 urls are written
+     * ExpectedResult: Three complete parts with 50,000, 50,000 and 20,001 urls are handed to the consumer
+     */
+    @Test
+    public void test_write_splits_parts_by_urls() throws IOException {
+
+        final File folder = Files.createTempDirectory("xmlsitemap").toFile();
+        final List<File> parts = new ArrayList<>();
+
+        try (XMLSitemapPartWriter writer = new XMLSitemapPartWriter(folder, "XMLSitemapGenerated", parts::add)) {
+            for (int i = 0; i < 120001; i++) {
+                writer.write("http://demo.dotcms.com/blog/post-" + i + "?a=1&b=2", "2022-01-31");
+            }
+            assertEquals(3, writer.getParts());
+        }
+
+        assertEquals(3, parts.size());
+        assertEquals("XMLSitemapGenerated1.xml.gz", parts.get(0).getName());
+        assertEquals(50000, StringUtils.countMatches(read(parts.get(0)), "<url>"));
+        assertEquals(50000, StringUtils.countMatches(read(parts.get(1)), "<url>"));
+
+        final String last = read(parts.get(2));
+        assertEquals(20001, StringUtils.countMatches(last, "<url>"));
+        assertTrue(last.contains("<loc>http://demo.dotcms.com/blog/post-120000?a=1&amp;b=2</loc>"
+                + "<lastmod>2022-01-31</lastmod>"));
+        assertTrue(last.endsWith("</urlset>"));
+    }
+
+    /**
+     * Method to test: {@link XMLSitemapPartWriter#close()}
+     * Given Scenario: The writer is closed without writing any url
+     * ExpectedResult: No part is written
+     */
+    @Test
+    public void test_close_without_urls() throws IOException {
+
+        final File folder = Files.createTempDirectory("xmlsitemap").toFile();
+        final List<File> parts = new ArrayList<>();
+
+        new XMLSitemapPartWriter(folder, "XMLSitemapGenerated", parts::add).close();
+
+        assertTrue(parts.isEmpty());
+        assertEquals(0, folder.list().length);
+    }
+
+    private static String read(final File part) throws IOException {
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(part.toPath()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
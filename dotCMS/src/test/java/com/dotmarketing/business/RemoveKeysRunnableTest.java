@@ -0,0 +1,36 @@
+package com.dotmarketing.business;
+
+import static org.junit.Assert.assertEquals;
+
+import com.dotmarketing.business.CommitListenerCacheWrapper.RemoveKeysRunnable;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class RemoveKeysRunnableTest {
+
+    /**
+     * Method to test: {@link RemoveKeysRunnable#merge(RemoveKeysRunnable)}
+     * Given Scenario: 5000 removals of 1000 different keys on two groups are merged
+     * ExpectedResult: Each key is removed once from its group when the merged listener runs
+     */
+    @Test
+    public void test_merge_removes_each_key_once() {
+
+        final DotCacheAdministrator cache = Mockito.mock(DotCacheAdministrator.class);
+        final RemoveKeysRunnable runnable = new RemoveKeysRunnable(cache, "key0", "group0");
+
+        for (int i = 1; i < 5000; i++) {
+            runnable.merge(new RemoveKeysRunnable(cache, "key" + (i % 1000), "group" + (i % 2)));
+        }
+
+        assertEquals(2, runnable.getKeysByGroup().size());
+        assertEquals(500, runnable.getKeysByGroup().get("group0").size());
+        assertEquals(500, runnable.getKeysByGroup().get("group1").size());
+
+        runnable.run();
+
+        Mockito.verify(cache, Mockito.times(1000)).remove(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(cache).remove("key1", "group1");
+        Mockito.verify(cache).remove("key0", "group0");
+    }
+}
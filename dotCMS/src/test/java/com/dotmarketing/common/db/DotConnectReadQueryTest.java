@@ -0,0 +1,46 @@
+package com.dotmarketing.common.db;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests how {@link DotConnect} tells the queries that can go to the read replica from the writes
+ */
+public class DotConnectReadQueryTest {
+
+    /**
+     * Method to test: {@link DotConnect#isReadQuery(String)}
+     * Given Scenario: Selects with leading whitespace, comments and parenthesis, and read only WITH queries
+     * ExpectedResult: All of them are reads
+     */
+    @Test
+    public void test_selects_are_reads() {
+
+        assertTrue(DotConnect.isReadQuery("select * from identifier"));
+        assertTrue(DotConnect.isReadQuery("  \n\tSELECT id from identifier"));
+        assertTrue(DotConnect.isReadQuery("-- the identifiers\nselect id from identifier"));
+        assertTrue(DotConnect.isReadQuery("/* the identifiers */ select id from identifier"));
+        assertTrue(DotConnect.isReadQuery("(select id from identifier) union (select inode from inode)"));
+        assertTrue(DotConnect.isReadQuery("WITH RECURSIVE tree AS (select id from folder) select * from tree"));
+        assertTrue(DotConnect.isReadQuery("select update_date from contentlet"));
+    }
+
+    /**
+     * Method to test: {@link DotConnect#isReadQuery(String)}
+     * Given Scenario: Inserts, updates, deletes, WITH queries that modify data and selects for update
+     * ExpectedResult: None of them is a read
+     */
+    @Test
+    public void test_writes_are_not_reads() {
+
+        assertFalse(DotConnect.isReadQuery("insert into identifier (id) values (?)"));
+        assertFalse(DotConnect.isReadQuery("  update identifier set asset_name = ?"));
+        assertFalse(DotConnect.isReadQuery("/* select */ delete from identifier"));
+        assertFalse(DotConnect.isReadQuery("with old as (select id from identifier) delete from tree where child in (select id from old)"));
+        assertFalse(DotConnect.isReadQuery("select * from dist_reindex_journal for update"));
+        assertFalse(DotConnect.isReadQuery(""));
+        assertFalse(DotConnect.isReadQuery(null));
+    }
+}
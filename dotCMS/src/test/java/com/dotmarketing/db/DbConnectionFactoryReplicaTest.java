@@ -0,0 +1,176 @@
+package com.dotmarketing.db;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.UnitTestBase;
+import com.dotmarketing.util.Config;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the routing of the connections of {@link DbConnectionFactory} between the primary and the read replica
+ */
+public class DbConnectionFactoryReplicaTest extends UnitTestBase {
+
+    private static final String PIN_PRIMARY_SECONDS = "DB_REPLICA_PIN_PRIMARY_SECONDS";
+
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+
+    @Before
+    public void setUp() throws SQLException {
+
+        primaryConnection = connection();
+        replicaConnection = connection();
+        final DataSource primary = Mockito.mock(DataSource.class);
+        final DataSource replica = Mockito.mock(DataSource.class);
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+        Mockito.when(replica.getConnection()).thenReturn(replicaConnection);
+
+        DbConnectionFactory.setDataSource(primary);
+        DbConnectionFactory.setReplicaDataSource(replica);
+        // the writes of a previous test do not pin this one to the primary
+        Config.setProperty(PIN_PRIMARY_SECONDS, 0);
+    }
+
+    @After
+    public void tearDown() {
+
+        DbConnectionFactory.closeSilently();
+    }
+
+    @AfterClass
+    public static void cleanUp() {
+
+        DbConnectionFactory.setDataSource(null);
+        DbConnectionFactory.setReplicaDataSource(null);
+        Config.setProperty(PIN_PRIMARY_SECONDS, 5);
+    }
+
+    /**
+     * Method to test: {@link DbConnectionFactory#getConnection()}
+     * Given Scenario: A connection is opened inside a read only scope, then another one after the scope ends
+     * ExpectedResult: The first one is a replica connection, the second one a primary connection
+     */
+    @Test
+    public void test_read_only_scope_gets_a_replica_connection() {
+
+        DbConnectionFactory.startReadOnly();
+        try {
+            assertSame(replicaConnection, DbConnectionFactory.getConnection());
+            assertTrue(DbConnectionFactory.isOnReplica());
+        } finally {
+            DbConnectionFactory.endReadOnly();
+        }
+
+        DbConnectionFactory.closeConnection();
+        assertFalse(DbConnectionFactory.isOnReplica());
+        assertSame(primaryConnection, DbConnectionFactory.getConnection());
+        assertFalse(DbConnectionFactory.isOnReplica());
+    }
+
+    /**
+     * Method to test: {@link DbConnectionFactory#leaveReplicaIfNeeded()}
+     * Given Scenario: A thread on a replica connection is about to write
+     * ExpectedResult: The replica connection is closed and the next connection of the thread is a primary one,
+     * even though the read only scope is still open
+     */
+    @Test
+    public void test_write_moves_the_thread_to_the_primary() throws SQLException {
+
+        DbConnectionFactory.startReadOnly();
+        try {
+            assertSame(replicaConnection, DbConnectionFactory.getConnection());
+
+            Config.setProperty(PIN_PRIMARY_SECONDS, 60);
+            DbConnectionFactory.leaveReplicaIfNeeded();
+
+            Mockito.verify(replicaConnection).close();
+            assertFalse(DbConnectionFactory.isOnReplica());
+            assertSame(primaryConnection, DbConnectionFactory.getConnection());
+        } finally {
+            DbConnectionFactory.endReadOnly();
+        }
+    }
+
+    /**
+     * Method to test: {@link DbConnectionFactory#startTransactionIfNeeded()}
+     * Given Scenario: A thread on a replica connection starts a transaction
+     * ExpectedResult: The transaction is started on a primary connection
+     */
+    @Test
+    public void test_startTransaction_moves_the_thread_to_the_primary() throws Exception {
+
+        DbConnectionFactory.startReadOnly();
+        try {
+            assertSame(replicaConnection, DbConnectionFactory.getConnection());
+
+            Config.setProperty(PIN_PRIMARY_SECONDS, 60);
+            assertTrue(DbConnectionFactory.startTransactionIfNeeded());
+
+            Mockito.verify(replicaConnection).close();
+            Mockito.verify(replicaConnection, Mockito.never()).setAutoCommit(false);
+            Mockito.verify(primaryConnection).setAutoCommit(false);
+            assertFalse(DbConnectionFactory.isOnReplica());
+            assertTrue(DbConnectionFactory.inTransaction());
+        } finally {
+            DbConnectionFactory.endReadOnly();
+        }
+    }
+
+    /**
+     * Method to test: {@link DbConnectionFactory#commit()}
+     * Given Scenario: A transaction is committed, then the thread reads inside a read only scope with
+     * DB_REPLICA_PIN_PRIMARY_SECONDS set to 60 and then to 0
+     * ExpectedResult: The thread is pinned to the primary for the configured seconds, and goes to the replica
+     * once they are over
+     */
+    @Test
+    public void test_commit_pins_the_thread_to_the_primary() throws Exception {
+
+        Config.setProperty(PIN_PRIMARY_SECONDS, 60);
+        DbConnectionFactory.startTransactionIfNeeded();
+        DbConnectionFactory.commit();
+        Mockito.verify(primaryConnection).commit();
+        DbConnectionFactory.closeConnection();
+
+        assertTrue(DbConnectionFactory.isPinnedToPrimary());
+        DbConnectionFactory.startReadOnly();
+        try {
+            assertSame(primaryConnection, DbConnectionFactory.getConnection());
+            assertFalse(DbConnectionFactory.isOnReplica());
+            DbConnectionFactory.closeConnection();
+
+            Config.setProperty(PIN_PRIMARY_SECONDS, 0);
+            assertFalse(DbConnectionFactory.isPinnedToPrimary());
+            assertSame(replicaConnection, DbConnectionFactory.getConnection());
+            assertTrue(DbConnectionFactory.isOnReplica());
+        } finally {
+            DbConnectionFactory.endReadOnly();
+        }
+    }
+
+    /**
+     * A connection mock that keeps its auto commit, so the transaction checks of the factory work on it
+     */
+    private static Connection connection() throws SQLException {
+
+        final Connection connection = Mockito.mock(Connection.class);
+        final AtomicBoolean autoCommit = new AtomicBoolean(true);
+        Mockito.when(connection.getAutoCommit()).thenAnswer(invocation -> autoCommit.get());
+        Mockito.doAnswer(invocation -> {
+            autoCommit.set(invocation.getArgument(0));
+            return null;
+        }).when(connection).setAutoCommit(Mockito.anyBoolean());
+        return connection;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dotmarketing.db;
+
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_PASSWORD;
+import static com.dotmarketing.db.DataSourceStrategyProvider.CONNECTION_DB_USERNAME;
+import static com.dotmarketing.db.ReplicaDataSourceStrategy.CONNECTION_DB_REPLICA_BASE_URL;
+import static com.dotmarketing.db.ReplicaDataSourceStrategy.CONNECTION_DB_REPLICA_USERNAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.liferay.util.SystemEnvironmentProperties;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for {@link ReplicaDataSourceStrategy}
+ */
+public class ReplicaDataSourceStrategyTest {
+
+    /**
+     * Method to test: {@link ReplicaDataSourceStrategy#apply()}
+     * Given Scenario: No DB_REPLICA_BASE_URL is set
+     * ExpectedResult: No replica pool is created, every connection stays on the primary
+     */
+    @Test
+    public void test_apply_without_replica() {
+
+        final SystemEnvironmentProperties properties = Mockito.mock(SystemEnvironmentProperties.class);
+        final ReplicaDataSourceStrategy strategy = new ReplicaDataSourceStrategy(properties);
+
+        assertFalse(strategy.isConfigured());
+        assertNull(strategy.getHikariConfig());
+        assertNull(strategy.apply());
+    }
+
+    /**
+     * Method to test: {@link ReplicaDataSourceStrategy#getHikariConfig()}
+     * Given Scenario: Only the url and the username of the replica are set
+     * ExpectedResult: A read only pool on the replica url, with the password of the primary
+     */
+    @Test
+    public void test_getHikariConfig_defaults_to_the_primary_credentials() {
+
+        final SystemEnvironmentProperties properties = Mockito.mock(SystemEnvironmentProperties.class);
+        Mockito.when(properties.getVariable(CONNECTION_DB_REPLICA_BASE_URL))
+                .thenReturn("jdbc:postgresql://replica/dotcms");
+        Mockito.when(properties.getVariable(CONNECTION_DB_REPLICA_USERNAME)).thenReturn("reader");
+        Mockito.when(properties.getVariable(CONNECTION_DB_USERNAME)).thenReturn("dotcms");
+        Mockito.when(properties.getVariable(CONNECTION_DB_PASSWORD)).thenReturn("secret");
+
+        final ReplicaDataSourceStrategy strategy = new ReplicaDataSourceStrategy(properties);
+        final HikariConfig config = strategy.getHikariConfig();
+
+        assertTrue(strategy.isConfigured());
+        assertEquals(ReplicaDataSourceStrategy.REPLICA_POOL_NAME, config.getPoolName());
+        assertEquals("jdbc:postgresql://replica/dotcms", config.getJdbcUrl());
+        assertEquals("reader", config.getUsername());
+        assertEquals("secret", config.getPassword());
+        assertEquals("org.postgresql.Driver", config.getDriverClassName());
+        assertEquals(60, config.getMaximumPoolSize());
+        assertEquals(10, config.getMinimumIdle());
+        assertTrue(config.isReadOnly());
+    }
+}
@@ -13,9 +13,14 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class ContentletTest {
 
@@ -39,6 +44,66 @@ public class ContentletTest {
         assertEquals(contentlet.getTitle(), expectedValue);
     }
 
+    /**
+     * Method to test: {@link Contentlet#compact()}
+     * Given Scenario: A contentlet is compacted, read and then set with the same and with a new value
+     * ExpectedResult: The properties are the same before and after compacting, setting the same value keeps the
+     * contentlet compacted and setting a new one converts it back to a regular map keeping all the properties
+     */
+    @Test
+    public void testCompact_ShouldKeepPropertiesAndThawOnChange() {
+        final Contentlet contentlet = new Contentlet();
+        contentlet.setInode("inode1");
+        contentlet.setContentTypeId("compactTestType");
+        contentlet.setStringProperty("title", "My Title");
+        contentlet.setStringProperty("body", "My Body");
+        final Map<String, Object> properties = new HashMap<>(contentlet.getMap());
+
+        contentlet.compact();
+
+        assertTrue(contentlet.isCompacted());
+        assertEquals(properties, contentlet.getMap());
+        assertEquals(properties.size(), contentlet.getMap().size());
+        assertEquals("My Title", contentlet.getStringProperty("title"));
+        assertNull(contentlet.getStringProperty("missing"));
+
+        contentlet.setStringProperty("title", "My Title");
+        assertTrue(contentlet.isCompacted());
+
+        contentlet.setStringProperty("title", "New Title");
+        assertFalse(contentlet.isCompacted());
+        assertEquals("New Title", contentlet.getStringProperty("title"));
+        assertEquals("My Body", contentlet.getStringProperty("body"));
+        assertEquals("inode1", contentlet.getInode());
+    }
+
+    /**
+     * Method to test: {@link Contentlet#compact()}
+     * Given Scenario: Two contentlets of the same type are compacted, the second one with a property the first doesn't have
+     * ExpectedResult: Both contentlets keep their own properties
+     */
+    @Test
+    public void testCompact_GivenDifferentProperties_ShouldKeepEachOne() {
+        final Contentlet first = new Contentlet();
+        first.setContentTypeId("compactTestType2");
+        first.setStringProperty("title", "First");
+        final Contentlet second = new Contentlet();
+        second.setContentTypeId("compactTestType2");
+        second.setStringProperty("title", "Second");
+        second.setStringProperty("extra", "Extra");
+
+        first.compact();
+        second.compact();
+
+        assertTrue(first.isCompacted());
+        assertTrue(second.isCompacted());
+        assertEquals("First", first.getStringProperty("title"));
+        assertNull(first.getStringProperty("extra"));
+        assertFalse(first.getMap().containsKey("extra"));
+        assertEquals("Second", second.getStringProperty("title"));
+        assertEquals("Extra", second.getStringProperty("extra"));
+    }
+
     private Field createFieldWithVarname(final String varname) {
         return ImmutableTextField.builder()
                 .name(varname)
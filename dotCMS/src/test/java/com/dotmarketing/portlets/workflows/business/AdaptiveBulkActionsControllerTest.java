@@ -0,0 +1,181 @@
+package com.dotmarketing.portlets.workflows.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.dotmarketing.portlets.workflows.business.AdaptiveBulkActionsController.LoadSignals;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AdaptiveBulkActionsControllerTest {
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: A round finishes while the reindex queue is over its limit
+     * ExpectedResult: The contents per round and the threads are halved and the controller keeps sleeping the max between contents
+     */
+    @Test
+    public void test_roundCompleted_backs_off_when_the_reindex_queue_is_full() {
+
+        final AdaptiveBulkActionsController controller = controller(signals(10000, 50));
+
+        controller.roundCompleted(400, TimeUnit.MILLISECONDS.toNanos(400));
+
+        assertEquals(200, controller.getFetchStep());
+        assertEquals(2, controller.getThreads());
+        assertEquals(400, controller.getSleep());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#getSleep()}
+     * Given Scenario: An adaptive controller before its first round
+     * ExpectedResult: It starts with the configured settings, sleeping the configured millis between contents
+     */
+    @Test
+    public void test_the_first_round_uses_the_configured_settings() {
+
+        final AdaptiveBulkActionsController controller = controller(signals(0, 50));
+
+        assertEquals(400, controller.getFetchStep());
+        assertEquals(4, controller.getThreads());
+        assertEquals(400, controller.getSleep());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: A round finishes while the DB pool is almost out of connections
+     * ExpectedResult: The controller backs off
+     */
+    @Test
+    public void test_roundCompleted_backs_off_when_the_pool_is_busy() {
+
+        final AdaptiveBulkActionsController controller = controller(signals(0, 2));
+
+        controller.roundCompleted(400, TimeUnit.MILLISECONDS.toNanos(400));
+
+        assertEquals(200, controller.getFetchStep());
+        assertEquals(2, controller.getThreads());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: A round finishes with each content taking longer than the max latency
+     * ExpectedResult: The controller backs off
+     */
+    @Test
+    public void test_roundCompleted_backs_off_when_contents_are_slow() {
+
+        final AdaptiveBulkActionsController controller = controller(signals(0, 50));
+
+        // 4 threads, 100 contents each, 1s per content
+        controller.roundCompleted(400, TimeUnit.SECONDS.toNanos(100));
+
+        assertEquals(200, controller.getFetchStep());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: Rounds finish with the server idle after backing off
+     * ExpectedResult: The contents per round grow by a step, the threads by one and the sleep is halved, up to the max
+     */
+    @Test
+    public void test_roundCompleted_speeds_up_when_the_server_is_idle() {
+
+        final MutableSignals signals = signals(10000, 50);
+        final AdaptiveBulkActionsController controller = controller(signals);
+        controller.roundCompleted(400, TimeUnit.MILLISECONDS.toNanos(400));
+        controller.roundCompleted(200, TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(100, controller.getFetchStep());
+        assertEquals(1, controller.getThreads());
+        assertEquals(400, controller.getSleep());
+
+        signals.reindexQueueDepth = 0;
+        controller.roundCompleted(100, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(200, controller.getFetchStep());
+        assertEquals(2, controller.getThreads());
+        assertEquals(200, controller.getSleep());
+
+        for (int i = 0; i < 20; i++) {
+            controller.roundCompleted(100, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertEquals(1000, controller.getFetchStep());
+        assertEquals(4, controller.getThreads());
+        assertEquals(0, controller.getSleep());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: The adaptive settings are turned off and the server is overloaded
+     * ExpectedResult: The fixed settings are kept, and the progress is still counted
+     */
+    @Test
+    public void test_roundCompleted_keeps_the_fixed_settings_when_not_adaptive() {
+
+        final AdaptiveBulkActionsController controller = new AdaptiveBulkActionsController(false, 400, 50, 1000,
+                4, 400, 5000, 5, 500, signals(10000, 0));
+
+        controller.roundCompleted(400, TimeUnit.SECONDS.toNanos(2));
+
+        assertEquals(400, controller.getFetchStep());
+        assertEquals(4, controller.getThreads());
+        assertEquals(400, controller.getSleep());
+        assertEquals(400, controller.getProcessed());
+        assertEquals(2000, controller.getElapsedMillis());
+        assertEquals(200d, controller.getThroughput(), 0.001d);
+    }
+
+    /**
+     * Method to test: {@link AdaptiveBulkActionsController#roundCompleted(int, long)}
+     * Given Scenario: A bulk publish of 100k contents on a stand-in server, whose reindex queue grows with
+     * each content and drains 300 records per round
+     * ExpectedResult: All the contents are processed and the reindex queue never grows far past its limit
+     */
+    @Test
+    public void test_100k_bulk_publish_keeps_the_reindex_queue_bounded() {
+
+        final MutableSignals signals = signals(0, 50);
+        final AdaptiveBulkActionsController controller = controller(signals);
+
+        long remaining = 100_000;
+        long maxDepth = 0;
+        while (remaining > 0) {
+
+            final int contents = (int) Math.min(remaining, controller.getFetchStep());
+            remaining -= contents;
+            signals.reindexQueueDepth = Math.max(0, signals.reindexQueueDepth + contents - 300);
+            maxDepth = Math.max(maxDepth, signals.reindexQueueDepth);
+            controller.roundCompleted(contents, TimeUnit.MILLISECONDS.toNanos(contents));
+        }
+
+        assertEquals(100_000, controller.getProcessed());
+        assertTrue("the reindex queue reached " + maxDepth, maxDepth <= 5000 + 1000);
+    }
+
+    private static AdaptiveBulkActionsController controller(final LoadSignals signals) {
+        return new AdaptiveBulkActionsController(true, 400, 50, 1000, 4, 400, 5000, 5, 500, signals);
+    }
+
+    private static MutableSignals signals(final long reindexQueueDepth, final int freeConnections) {
+
+        final MutableSignals signals = new MutableSignals();
+        signals.reindexQueueDepth = reindexQueueDepth;
+        signals.freeConnections = freeConnections;
+        return signals;
+    }
+
+    private static class MutableSignals implements LoadSignals {
+
+        long reindexQueueDepth;
+        int freeConnections;
+
+        @Override
+        public long reindexQueueDepth() {
+            return reindexQueueDepth;
+        }
+
+        @Override
+        public int freeConnections() {
+            return freeConnections;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dotmarketing.servlets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+
+public class PrecompressedAssetUtilTest {
+
+    /**
+     * Method to test: {@link PrecompressedAssetUtil#acceptsEncoding(String, String)}
+     * Given Scenario: Accept-Encoding headers naming gzip, rejecting it with q=0 or only accepting *
+     * ExpectedResult: gzip is accepted unless it is rejected by name or not listed at all
+     */
+    @Test
+    public void test_acceptsEncoding() {
+
+        assertTrue(PrecompressedAssetUtil.acceptsEncoding("gzip, deflate, br", "gzip"));
+        assertTrue(PrecompressedAssetUtil.acceptsEncoding("br;q=1.0, GZIP;q=0.5", "gzip"));
+        assertTrue(PrecompressedAssetUtil.acceptsEncoding("*", "gzip"));
+        assertFalse(PrecompressedAssetUtil.acceptsEncoding("gzip;q=0", "gzip"));
+        assertFalse(PrecompressedAssetUtil.acceptsEncoding("*, gzip;q=0", "gzip"));
+        assertFalse(PrecompressedAssetUtil.acceptsEncoding("deflate, br", "gzip"));
+        assertFalse(PrecompressedAssetUtil.acceptsEncoding(null, "gzip"));
+    }
+
+    /**
+     * Method to test: {@link PrecompressedAssetUtil#getVariant(String, File, String, Path)}
+     * Given Scenario: Two js assets with the same content are requested by a client that accepts gzip
+     * ExpectedResult: One gzip version is built and shared by both, and it inflates to the asset
+     */
+    @Test
+    public void test_getVariant_builds_one_version_by_content() throws IOException {
+
+        final Path folder = Files.createTempDirectory("precompressed");
+        final String script = String.join("\n", Collections.nCopies(500, "var dotcms = dotcms || {};"));
+        final File first = Files.writeString(Files.createTempFile("first", ".js"), script).toFile();
+        final File second = Files.writeString(Files.createTempFile("second", ".js"), script).toFile();
+
+        final Optional<File> firstVariant = PrecompressedAssetUtil.getVariant("gzip, br", first,
+                "application/javascript", folder);
+        final Optional<File> secondVariant = PrecompressedAssetUtil.getVariant("gzip, br", second,
+                "application/javascript", folder);
+
+        assertTrue(firstVariant.isPresent());
+        assertEquals(firstVariant.get(), secondVariant.get());
+        assertTrue(firstVariant.get().length() < first.length());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(firstVariant.get().toPath()))) {
+            assertArrayEquals(script.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Method to test: {@link PrecompressedAssetUtil#getVariant(String, File, String, Path)}
+     * Given Scenario: An image and a js asset requested by a client that does not accept gzip
+     * ExpectedResult: No version is returned or built
+     */
+    @Test
+    public void test_getVariant_skips_binaries_and_identity_clients() throws IOException {
+
+        final Path folder = Files.createTempDirectory("precompressed");
+        final File asset = Files.writeString(Files.createTempFile("asset", ".js"),
+                String.join("\n", Collections.nCopies(500, "body { color: red; }"))).toFile();
+
+        assertFalse(PrecompressedAssetUtil.getVariant("gzip", asset, "image/png", folder).isPresent());
+        assertFalse(PrecompressedAssetUtil.getVariant("identity", asset, "application/javascript", folder)
+                .isPresent());
+        assertEquals(0, folder.toFile().list().length);
+    }
+}